@@ -0,0 +1,70 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.buildship.internal;
+
+import java.util.Set;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.CoreException;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.utils.FileUtils;
+
+/**
+ *  Buildship has no public API to be notified about a project synchronization, but a synchronization always happens
+ *  after the build scripts were changed and it rewrites the Buildship preferences of the project. Both are used to
+ *  drop the cached Gradle build model.
+ */
+public class GradleBuildChangeListener implements IResourceChangeListener {
+  private static final Set<String> BUILD_FILE_NAMES = Set.of("build.gradle", "build.gradle.kts", "settings.gradle",
+    "settings.gradle.kts", "gradle.properties");
+  private static final String BUILDSHIP_PREFERENCES = ".settings/org.eclipse.buildship.core.prefs";
+
+  @Override
+  public void resourceChanged(IResourceChangeEvent event) {
+    if (event.getType() == IResourceChangeEvent.POST_CHANGE) {
+      try {
+        event.getDelta().accept(GradleBuildChangeListener::visitDelta);
+      } catch (CoreException e) {
+        SonarLintLogger.get().error(e.getMessage(), e);
+      }
+    }
+  }
+
+  private static boolean visitDelta(IResourceDelta delta) {
+    var resource = delta.getResource();
+    if (resource.getType() == IResource.PROJECT && !GradleUtils.checkIfGradleProject(resource.getProject())) {
+      return false;
+    }
+    if (resource.getType() == IResource.FILE && isBuildConfiguration(resource)) {
+      var projectDirectory = FileUtils.toLocalFile(resource.getProject());
+      if (projectDirectory != null) {
+        ProjectConnectionCache.invalidateModel(projectDirectory);
+      }
+    }
+    return true;
+  }
+
+  private static boolean isBuildConfiguration(IResource file) {
+    return BUILD_FILE_NAMES.contains(file.getName())
+      || BUILDSHIP_PREFERENCES.equals(file.getProjectRelativePath().toString());
+  }
+}
@@ -39,7 +39,7 @@ public class GradleProjectConfigurationExtension implements ISonarLintProjectHie
     this.isToolingApiPresent = isToolingApiPresent();
   }
 
-  private static boolean isToolingApiPresent() {
+  static boolean isToolingApiPresent() {
     try {
       Class.forName("org.gradle.tooling.GradleConnector");
       Class.forName("org.gradle.tooling.ProjectConnection");
@@ -30,8 +30,6 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.annotation.Nullable;
-import org.gradle.tooling.GradleConnector;
-import org.gradle.tooling.ProjectConnection;
 import org.gradle.tooling.model.gradle.BasicGradleProject;
 import org.gradle.tooling.model.gradle.GradleBuild;
 import org.sonarlint.eclipse.core.SonarLintLogger;
@@ -86,14 +84,13 @@ public class GradleUtils {
   public static ISonarLintProject getRootProjectInWorkspace(ISonarLintProject project) {
     var iProject = (IProject) project.getResource();
 
-    // Try to get cached project connection as it is way faster!
-    var connection = getProjectConnection(iProject);
-    if (connection == null) {
+    // Try to get cached Gradle build as it is way faster!
+    var gradleBuild = getGradleBuild(iProject);
+    if (gradleBuild == null) {
       return null;
     }
 
     // Check whether this is already the root project, we don't have to check the others then!
-    var gradleBuild = connection.model(GradleBuild.class).get();
     var rootProject = gradleBuild.getRootProject();
     if (rootProject.getProjectDirectory().equals(FileUtils.toLocalFile(iProject))) {
       return project;
@@ -114,9 +111,9 @@ public class GradleUtils {
     var iProject = (IProject) project.getResource();
     var subProjects = new ArrayList<ISonarLintProject>();
 
-    // Try to get cached project connection as it is way faster!
-    var connection = getProjectConnection(iProject);
-    if (connection == null) {
+    // Try to get cached Gradle build as it is way faster!
+    var gradleBuild = getGradleBuild(iProject);
+    if (gradleBuild == null) {
       return subProjects;
     }
 
@@ -129,7 +126,7 @@ public class GradleUtils {
       var projectPath = localFile.toPath().toRealPath().toString() + "/";
 
       // Iterate over all the projects of the build and try to find the child-projects
-      for (var child : connection.model(GradleBuild.class).get().getProjects()) {
+      for (var child : gradleBuild.getProjects()) {
         var childPath = child.getProjectDirectory().toPath().toRealPath().toString();
         if (childPath.startsWith(projectPath) && !childPath.equals(projectPath)) {
           var possibleMatchedProject = matchGradleProject(allProjects, child);
@@ -175,9 +172,9 @@ public class GradleUtils {
     // 3) The Gradle Tooling API can only access the build directory with very expensive calls
     exclusions.add(Path.fromOSString("/" + project.getName() + "/build"));
 
-    // 4) Try to get cached project connection as it is way faster!
-    var connection = getProjectConnection(project);
-    if (connection == null) {
+    // 4) Try to get cached Gradle build as it is way faster!
+    var gradleBuild = getGradleBuild(project);
+    if (gradleBuild == null) {
       traceExclusions(exclusions, projectPath);
       return exclusions;
     }
@@ -190,7 +187,7 @@ public class GradleUtils {
       var localPath = localFile.toPath().toRealPath().toString() + "/";
 
       // 5) Iterate over all the projects of the build and try to find the child-projects
-      for (var child : connection.model(GradleBuild.class).get().getProjects()) {
+      for (var child : gradleBuild.getProjects()) {
         var childPath = child.getProjectDirectory().toPath().toRealPath().toString();
         if (childPath.startsWith(localPath) && !childPath.equals(localPath)) {
           var relativePath = childPath.replace(localPath, "/" + project.getName() + "/");
@@ -213,27 +210,14 @@ public class GradleUtils {
   }
 
   @Nullable
-  private static ProjectConnection getProjectConnection(IProject project) {
-    var projectConnection = ProjectConnectionCache.getConnection(SonarLintUtils.getConfigScopeId(project));
-    if (projectConnection != null) {
-      return projectConnection;
+  private static GradleBuild getGradleBuild(IProject project) {
+    var projectDirectory = FileUtils.toLocalFile(project);
+    if (projectDirectory == null) {
+      return null;
     }
 
     try {
-      projectConnection = GradleConnector.newConnector()
-        .forProjectDirectory(FileUtils.toLocalFile(project))
-        .connect();
-
-      var configScopeIds = new ArrayList<String>();
-      var sonarLintProjects = SonarLintUtils.allProjects();
-      for (var gradleProject : projectConnection.model(GradleBuild.class).get().getProjects()) {
-        var sonarLintProject = matchGradleProject(sonarLintProjects, gradleProject);
-        if (sonarLintProject != null) {
-          configScopeIds.add(SonarLintUtils.getConfigScopeId((IProject) sonarLintProject.getResource()));
-        }
-      }
-      ProjectConnectionCache.putConnection(configScopeIds, projectConnection);
-      return projectConnection;
+      return ProjectConnectionCache.getGradleBuild(projectDirectory);
     } catch (Exception err) {
       SonarLintLogger.get().error("Project '" + project.getName()
         + "' cannot be interacted with from the Gradle Tooling API.", err);
@@ -19,66 +19,189 @@
  */
 package org.sonarlint.eclipse.buildship.internal;
 
-import java.util.List;
+import java.io.File;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.annotation.Nullable;
+import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.model.gradle.GradleBuild;
+import org.sonarlint.eclipse.core.SonarLintLogger;
 
 /**
  *  For Gradle we rely on the Eclipse Buildship plug-in that contains the Gradle Tooling API bundled with it. We have
  *  to bypass the Eclipse plug-in and directly connect to the Gradle "runtime" which is quite costly and not needed
  *  that often except for indexing (ISonarLintProject#files() / FileSystemSynchronizer).
  *
- *  Having a cache for the connections that are linked to one or multiple configuration scope ids is necessary to lower
- *  the time it takes for projects to index and perform
+ *  There is one connection per Gradle build, identified by the directory of its root project, shared by all the
+ *  projects of the build as they are independent in Eclipse due to the flat hierarchy. The {@link GradleBuild} model
+ *  is kept until the build is synchronized again, connections not used for some time are closed to not keep Gradle
+ *  daemons busy.
  */
 public class ProjectConnectionCache {
-  // Multiple configuration scope ids can share one connection, e.g. multi project builds where there is one root
-  // project and multiple sub-projects that are independent in Eclipse due to the flat hierarchy.
-  private static final ConcurrentHashMap<List<String>, ProjectConnection> cache = new ConcurrentHashMap<>();
+  private static final long IDLE_TIMEOUT_MS = 5 * 60_000L;
+  private static final long EVICTION_INTERVAL_MS = 60_000L;
 
-  private ProjectConnectionCache() {
-    // utility class
+  private static final ProjectConnectionCache INSTANCE = new ProjectConnectionCache(
+    projectDirectory -> GradleConnector.newConnector().forProjectDirectory(projectDirectory).connect(),
+    System::currentTimeMillis);
+
+  private final Map<File, PooledConnection> connectionsPerRootDirectory = new ConcurrentHashMap<>();
+  private final Map<File, File> rootDirectoryPerProjectDirectory = new ConcurrentHashMap<>();
+  private final EvictIdleConnectionsJob evictionJob = new EvictIdleConnectionsJob();
+  private final Function<File, ProjectConnection> connector;
+  private final LongSupplier clock;
+
+  // Visible for testing, public as the tests are in another bundle
+  public ProjectConnectionCache(Function<File, ProjectConnection> connector, LongSupplier clock) {
+    this.connector = connector;
+    this.clock = clock;
   }
 
-  @Nullable
-  public static ProjectConnection getConnection(String configScopeId) {
-    for (var entry : cache.entrySet()) {
-      if (entry.getKey().contains(configScopeId)) {
-        return entry.getValue();
+  /**
+   *  @param projectDirectory directory of any project of the Gradle build
+   *  @return the model of the Gradle build, only fetched when not yet cached
+   */
+  public static GradleBuild getGradleBuild(File projectDirectory) {
+    return INSTANCE.get(projectDirectory);
+  }
+
+  /** The model will be fetched again, e.g. after the Gradle build was synchronized with the workspace */
+  public static void invalidateModel(File projectDirectory) {
+    INSTANCE.invalidate(projectDirectory);
+  }
+
+  public static void closeAll() {
+    INSTANCE.close();
+  }
+
+  public GradleBuild get(File projectDirectory) {
+    var rootDirectory = rootDirectoryPerProjectDirectory.get(projectDirectory);
+    if (rootDirectory != null) {
+      var pooledConnection = connectionsPerRootDirectory.get(rootDirectory);
+      if (pooledConnection != null) {
+        return pooledConnection.getModel();
       }
     }
-    return null;
+
+    // Unknown project (or evicted build), we have to connect in order to find out to which build it belongs
+    var connection = connector.apply(projectDirectory);
+    GradleBuild gradleBuild;
+    try {
+      gradleBuild = connection.model(GradleBuild.class).get();
+    } catch (RuntimeException err) {
+      connection.close();
+      throw err;
+    }
+
+    var newRootDirectory = gradleBuild.getRootProject().getProjectDirectory();
+    var pooledConnection = new PooledConnection(newRootDirectory, connection, gradleBuild);
+    var existingConnection = connectionsPerRootDirectory.putIfAbsent(newRootDirectory, pooledConnection);
+    if (existingConnection != null) {
+      // Another project of the same build was connected concurrently
+      connection.close();
+    }
+    rootDirectoryPerProjectDirectory.put(projectDirectory, newRootDirectory);
+    index(newRootDirectory, gradleBuild);
+    evictionJob.schedule(EVICTION_INTERVAL_MS);
+    return gradleBuild;
   }
 
-  // Big projects can take up to a minute to load (e.g. SonarQube takes 30 seconds at most but only has 360 kLOC) and
-  // the Gradle project information likely won't change in that time while the project is loaded.
-  public static void putConnection(List<String> configScopeIds, ProjectConnection connection) {
-    cache.put(configScopeIds, connection);
-    new RemoveConnectionJob(configScopeIds)
-      .schedule(60000);
+  private void index(File rootDirectory, GradleBuild gradleBuild) {
+    for (var gradleProject : gradleBuild.getProjects()) {
+      rootDirectoryPerProjectDirectory.put(gradleProject.getProjectDirectory(), rootDirectory);
+    }
   }
 
-  public static void removeConnection(List<String> configScopeIds) {
-    cache.remove(configScopeIds);
+  public void invalidate(File projectDirectory) {
+    var rootDirectory = rootDirectoryPerProjectDirectory.get(projectDirectory);
+    if (rootDirectory != null) {
+      var pooledConnection = connectionsPerRootDirectory.get(rootDirectory);
+      if (pooledConnection != null) {
+        pooledConnection.invalidateModel();
+      }
+    }
   }
 
-  private static class RemoveConnectionJob extends Job {
-    private final List<String> configScopeIds;
+  public void close() {
+    evictionJob.cancel();
+    connectionsPerRootDirectory.keySet().forEach(this::evict);
+  }
 
-    public RemoveConnectionJob(List<String> configScopeIds) {
-      // INFO: We use the hash here as more or less an "id" of the job, meaningless otherwise!
-      super("Delete cache entry for: " + configScopeIds.hashCode());
-      this.configScopeIds = configScopeIds;
+  // Visible for testing, otherwise only run by the eviction job
+  public void evictIdleConnections() {
+    var now = clock.getAsLong();
+    connectionsPerRootDirectory.forEach((rootDirectory, pooledConnection) -> {
+      if (now - pooledConnection.lastAccess > IDLE_TIMEOUT_MS) {
+        evict(rootDirectory);
+      }
+    });
+  }
+
+  private void evict(File rootDirectory) {
+    var pooledConnection = connectionsPerRootDirectory.remove(rootDirectory);
+    if (pooledConnection != null) {
+      rootDirectoryPerProjectDirectory.values().removeIf(rootDirectory::equals);
+      pooledConnection.close();
+    }
+  }
+
+  private class PooledConnection {
+    private final File rootDirectory;
+    private final ProjectConnection connection;
+    @Nullable
+    private GradleBuild model;
+    private volatile long lastAccess;
+
+    private PooledConnection(File rootDirectory, ProjectConnection connection, GradleBuild model) {
+      this.rootDirectory = rootDirectory;
+      this.connection = connection;
+      this.model = model;
+      this.lastAccess = clock.getAsLong();
+    }
+
+    private synchronized GradleBuild getModel() {
+      lastAccess = clock.getAsLong();
+      if (model == null) {
+        model = connection.model(GradleBuild.class).get();
+        // Projects might have been added to the build
+        index(rootDirectory, model);
+      }
+      return model;
+    }
+
+    private synchronized void invalidateModel() {
+      model = null;
+    }
+
+    private void close() {
+      try {
+        connection.close();
+      } catch (Exception err) {
+        SonarLintLogger.get().traceIdeMessage("[ProjectConnectionCache#close] Cannot close the connection to the "
+          + "Gradle build at '" + rootDirectory + "'", err);
+      }
+    }
+  }
+
+  private class EvictIdleConnectionsJob extends Job {
+    public EvictIdleConnectionsJob() {
+      super("Close idle Gradle connections");
+      setSystem(true);
     }
 
     @Override
     protected IStatus run(IProgressMonitor monitor) {
-      removeConnection(configScopeIds);
+      evictIdleConnections();
+      if (!connectionsPerRootDirectory.isEmpty()) {
+        schedule(EVICTION_INTERVAL_MS);
+      }
       return Status.OK_STATUS;
     }
   }
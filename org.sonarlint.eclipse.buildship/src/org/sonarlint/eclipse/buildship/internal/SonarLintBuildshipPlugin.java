@@ -0,0 +1,47 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.buildship.internal;
+
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Plugin;
+import org.osgi.framework.BundleContext;
+
+public class SonarLintBuildshipPlugin extends Plugin {
+  private final GradleBuildChangeListener gradleBuildChangeListener = new GradleBuildChangeListener();
+
+  @Override
+  public void start(BundleContext context) throws Exception {
+    super.start(context);
+    // The listener invalidates the models cached by ProjectConnectionCache, that relies on the Gradle Tooling API
+    if (GradleProjectConfigurationExtension.isToolingApiPresent()) {
+      ResourcesPlugin.getWorkspace().addResourceChangeListener(gradleBuildChangeListener, IResourceChangeEvent.POST_CHANGE);
+    }
+  }
+
+  @Override
+  public void stop(BundleContext context) throws Exception {
+    if (GradleProjectConfigurationExtension.isToolingApiPresent()) {
+      ResourcesPlugin.getWorkspace().removeResourceChangeListener(gradleBuildChangeListener);
+      ProjectConnectionCache.closeAll();
+    }
+    super.stop(context);
+  }
+}
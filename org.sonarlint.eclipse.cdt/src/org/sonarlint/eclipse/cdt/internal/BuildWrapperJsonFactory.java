@@ -19,6 +19,10 @@
  */
 package org.sonarlint.eclipse.cdt.internal;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Collection;
 import java.util.Map;
 import org.eclipse.jdt.annotation.Nullable;
@@ -27,8 +31,22 @@ public class BuildWrapperJsonFactory {
   private static final String COMPILER = "clang";
 
   public String create(Collection<ConfiguredFile> files, String baseDirPath) {
-    var builder = new StringBuilder();
-    builder.append("{"
+    var writer = new StringWriter();
+    try {
+      write(files, baseDirPath, writer);
+    } catch (IOException e) {
+      // Cannot happen with a StringWriter
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
+
+  /**
+   *  Stream the build wrapper output directly to the writer, without materializing it in memory as it can get quite
+   *  big for large C/C++ projects.
+   */
+  public void write(Collection<ConfiguredFile> files, String baseDirPath, Writer writer) throws IOException {
+    writer.write("{"
       + "\"version\":0,"
       + "\"captures\":[");
 
@@ -37,31 +55,33 @@ public class BuildWrapperJsonFactory {
       if (first) {
         first = false;
       } else {
-        builder.append(",");
+        writer.write(',');
       }
-      writeFile(builder, baseDirPath, file.path(), file.includes(), file.symbols());
+      writeFile(writer, baseDirPath, file.path(), file.includes(), file.symbols());
     }
 
-    builder.append("]}");
-    return builder.toString();
+    writer.write("]}");
   }
 
-  private static void writeFile(StringBuilder builder, String baseDirPath, String filePath, String[] includes, Map<String, String> symbols) {
-    var probeStdout = probeStdout(symbols);
-    var probeStderr = probeStderr(includes);
-    writeCompilerProbe(builder, filePath, probeStdout, probeStderr);
-    builder.append(",");
-    writeCompilerProbe(builder, filePath, probeStdout, probeStderr);
-    builder.append(",");
-    builder.append("{")
-      .append("\"compiler\":\"" + COMPILER + "\",")
-      .append("\"cwd\":" + quote(baseDirPath) + ",")
-      .append("\"executable\":" + quote(filePath) + ",")
-      .append("\"cmd\":[")
-      .append("\"clang\"")
-      .append("," + quote(filePath) + "")
-      .append("]}");
-
+  private static void writeFile(Writer writer, String baseDirPath, String filePath, String[] includes, Map<String, String> symbols) throws IOException {
+    // The probe content is the same for both probes, only compute it once
+    var quotedFilePath = quote(filePath);
+    var quotedProbeStdout = quote(probeStdout(symbols));
+    var quotedProbeStderr = quote(probeStderr(includes));
+    writeCompilerProbe(writer, quotedFilePath, quotedProbeStdout, quotedProbeStderr);
+    writer.write(',');
+    writeCompilerProbe(writer, quotedFilePath, quotedProbeStdout, quotedProbeStderr);
+    writer.write(',');
+    writer.write("{");
+    writer.write("\"compiler\":\"" + COMPILER + "\",");
+    writer.write("\"cwd\":");
+    writer.write(quote(baseDirPath));
+    writer.write(",\"executable\":");
+    writer.write(quotedFilePath);
+    writer.write(",\"cmd\":[");
+    writer.write("\"clang\",");
+    writer.write(quotedFilePath);
+    writer.write("]}");
   }
 
   private static String probeStderr(String[] includes) {
@@ -76,19 +96,21 @@ public class BuildWrapperJsonFactory {
   private static String probeStdout(Map<String, String> symbols) {
     var builder = new StringBuilder();
     for (var symbol : symbols.entrySet()) {
-      builder.append("#define " + symbol.getKey() + " " + symbol.getValue()).append("\n");
+      builder.append("#define ").append(symbol.getKey()).append(" ").append(symbol.getValue()).append("\n");
     }
     return builder.toString();
   }
 
-  private static void writeCompilerProbe(StringBuilder builder, String compilerKey, String stdout, String stderr) {
-    builder
-      .append("{")
-      .append("\"compiler\":\"").append(COMPILER).append("\",")
-      .append("\"executable\":").append(quote(compilerKey)).append(",")
-      .append("\"stdout\":").append(quote(stdout)).append(",")
-      .append("\"stderr\":").append(quote(stderr))
-      .append("}");
+  private static void writeCompilerProbe(Writer writer, String quotedCompilerKey, String quotedStdout, String quotedStderr) throws IOException {
+    writer.write("{");
+    writer.write("\"compiler\":\"" + COMPILER + "\",");
+    writer.write("\"executable\":");
+    writer.write(quotedCompilerKey);
+    writer.write(",\"stdout\":");
+    writer.write(quotedStdout);
+    writer.write(",\"stderr\":");
+    writer.write(quotedStderr);
+    writer.write("}");
   }
 
   private static String quote(@Nullable String string) {
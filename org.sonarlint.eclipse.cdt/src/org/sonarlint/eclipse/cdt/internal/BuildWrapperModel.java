@@ -0,0 +1,101 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.cdt.internal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ *  Build wrapper information of all the files of a project analyzed so far, persisted in the working directory of the
+ *  project. As its content only changes when the CDT scanner information changes, the C/C++ analyzer can use its own
+ *  cache between analyses.
+ *
+ *  Files that were deleted are removed before writing, and as files that are not analyzed anymore (e.g. excluded) would
+ *  stay forever, the amount of files is capped: the least recently analyzed ones are removed first.
+ */
+class BuildWrapperModel {
+  static final int MAX_FILES = 10_000;
+
+  /** In access order for the eviction, sorted by path when serialized so that the output is stable */
+  private final Map<String, ConfiguredFile> filesPerPath = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, ConfiguredFile> eldest) {
+      return size() > MAX_FILES;
+    }
+  };
+  private boolean changed = true;
+
+  @Nullable
+  synchronized ConfiguredFile get(String path) {
+    return filesPerPath.get(path);
+  }
+
+  synchronized void put(ConfiguredFile file) {
+    filesPerPath.put(file.path(), file);
+    changed = true;
+  }
+
+  /** When the build configuration or the scanner information changes, all the files are affected */
+  synchronized void clear() {
+    filesPerPath.clear();
+    changed = true;
+  }
+
+  /**
+   *  Only serialize the model when it changed since the last time, the file is replaced atomically as other analyses
+   *  might currently read it.
+   */
+  synchronized void writeIfChanged(BuildWrapperJsonFactory jsonFactory, String baseDirPath, Path jsonFile) throws IOException {
+    if (filesPerPath.values().removeIf(f -> !f.file().exists())) {
+      changed = true;
+    }
+    if (!changed && Files.exists(jsonFile)) {
+      return;
+    }
+    var directory = jsonFile.getParent();
+    Files.createDirectories(directory);
+    var tempFile = Files.createTempFile(directory, jsonFile.getFileName().toString(), ".tmp");
+    try {
+      try (var writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+        jsonFactory.write(new TreeMap<>(filesPerPath).values(), baseDirPath, writer);
+      }
+      try {
+        Files.move(tempFile, jsonFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, jsonFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+    changed = false;
+  }
+
+  synchronized int size() {
+    return filesPerPath.size();
+  }
+}
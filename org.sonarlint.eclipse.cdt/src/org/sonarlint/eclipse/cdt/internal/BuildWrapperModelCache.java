@@ -0,0 +1,88 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.cdt.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.cdt.core.language.settings.providers.ILanguageSettingsChangeEvent;
+import org.eclipse.cdt.core.language.settings.providers.ILanguageSettingsChangeListener;
+import org.eclipse.cdt.core.language.settings.providers.LanguageSettingsManager;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.settings.model.CProjectDescriptionEvent;
+import org.eclipse.cdt.core.settings.model.ICProjectDescriptionListener;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+
+/**
+ *  Keeps the {@link BuildWrapperModel} of every C/C++ project, they are cleared when CDT reports that either the
+ *  project description (e.g. active build configuration) or the language settings (scanner discovery) changed.
+ */
+public class BuildWrapperModelCache implements ICProjectDescriptionListener, ILanguageSettingsChangeListener {
+  public static final BuildWrapperModelCache INSTANCE = new BuildWrapperModelCache();
+
+  private final Map<IProject, BuildWrapperModel> models = new ConcurrentHashMap<>();
+  private boolean listening;
+
+  private BuildWrapperModelCache() {
+  }
+
+  BuildWrapperModel get(IProject project) {
+    startListening();
+    return models.computeIfAbsent(project, p -> new BuildWrapperModel());
+  }
+
+  private synchronized void startListening() {
+    if (!listening) {
+      CoreModel.getDefault().addCProjectDescriptionListener(this, CProjectDescriptionEvent.APPLIED);
+      LanguageSettingsManager.registerLanguageSettingsChangeListener(this);
+      listening = true;
+    }
+  }
+
+  /** Called when the bundle is stopped, the CDT listeners are only registered once a model was requested */
+  public synchronized void stop() {
+    if (listening) {
+      CoreModel.getDefault().removeCProjectDescriptionListener(this);
+      LanguageSettingsManager.unregisterLanguageSettingsChangeListener(this);
+      listening = false;
+    }
+    models.clear();
+  }
+
+  @Override
+  public void handleEvent(CProjectDescriptionEvent event) {
+    invalidate(event.getProject());
+  }
+
+  @Override
+  public void handleEvent(ILanguageSettingsChangeEvent event) {
+    invalidate(ResourcesPlugin.getWorkspace().getRoot().getProject(event.getProjectName()));
+  }
+
+  public void invalidate(IProject project) {
+    var model = models.get(project);
+    if (model != null) {
+      SonarLintLogger.get().traceIdeMessage("[BuildWrapperModelCache#invalidate] CDT configuration of project '"
+        + project.getName() + "' changed");
+      model.clear();
+    }
+  }
+}
@@ -55,6 +55,7 @@ public class CdtUtils {
   private static final String CFAMILY_USE_CACHE = "sonar.cfamily.useCache";
   private static final String BUILD_WRAPPER_OUTPUT_PROP = "sonar.cfamily.build-wrapper-output";
   private static final String BUILD_WRAPPER_OUTPUT_FILENAME = "build-wrapper-dump.json";
+  private static final String BUILD_WRAPPER_OUTPUT_DIRNAME = "cfamily";
   private static final Charset BUILD_WRAPPER_OUTPUT_CHARSET = StandardCharsets.UTF_8;
   private final BuildWrapperJsonFactory jsonFactory;
   private final CCorePlugin cCorePlugin;
@@ -119,9 +120,16 @@ public class CdtUtils {
         return;
       }
 
-      var jsonPath = writeJson(context, context.getProject(), configuredFiles);
+      Path jsonPath;
+      if (canPersist(context.getProject(), configuredFiles)) {
+        jsonPath = writePersistentJson(context.getProject());
+        // The build wrapper output only changes with the CDT configuration, so the analyzer can rely on its cache
+        context.setAnalysisProperty(CFAMILY_USE_CACHE, Boolean.TRUE.toString());
+      } else {
+        jsonPath = writeJson(context, context.getProject(), configuredFiles);
+        context.setAnalysisProperty(CFAMILY_USE_CACHE, Boolean.FALSE.toString());
+      }
       logger.debug("Wrote build info to: " + jsonPath.toString());
-      context.setAnalysisProperty(CFAMILY_USE_CACHE, Boolean.FALSE.toString());
       context.setAnalysisProperty(BUILD_WRAPPER_OUTPUT_PROP, jsonPath.getParent().toString());
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
@@ -131,12 +139,19 @@ public class CdtUtils {
   private Collection<ConfiguredFile> configureCProject(IPreAnalysisContext context, ISonarLintProject project,
     Collection<ISonarLintFile> filesToAnalyze, Collection<ISonarLintFile> removedFilesFromAnalysis) {
     var files = new LinkedList<ConfiguredFile>();
-    var infoProvider = cCorePlugin.getScannerInfoProvider((IProject) project.getResource());
+    var iProject = (IProject) project.getResource();
+    var infoProvider = cCorePlugin.getScannerInfoProvider(iProject);
+    var model = BuildWrapperModelCache.INSTANCE.get(iProject);
 
     for (ISonarLintFile file : filesToAnalyze) {
-      var builder = new ConfiguredFile.Builder((IFile) file.getResource());
-
       var path = ((DefaultPreAnalysisContext) context).getLocalPath(file);
+      var knownFile = model.get(path);
+      if (knownFile != null) {
+        files.add(knownFile);
+        continue;
+      }
+
+      var builder = new ConfiguredFile.Builder((IFile) file.getResource());
       var fileInfo = infoProvider.getScannerInformation(file.getResource());
 
       // We cannot work on this file when:
@@ -155,12 +170,38 @@ public class CdtUtils {
         .symbols(fileInfo.getDefinedSymbols())
         .path(path);
 
-      files.add(builder.build());
+      var configuredFile = builder.build();
+      if (!isInTemporaryFolder(configuredFile)) {
+        model.put(configuredFile);
+      }
+      files.add(configuredFile);
     }
 
     return files;
   }
 
+  /**
+   *  Files that are not on the local file system are copied to the analysis temporary folder, their path is therefore
+   *  different for every analysis and cannot be part of the persistent build wrapper output.
+   */
+  private static boolean isInTemporaryFolder(ConfiguredFile file) {
+    return file.file().getLocation() == null;
+  }
+
+  private static boolean canPersist(ISonarLintProject project, Collection<ConfiguredFile> files) {
+    return project.getResource().getLocation() != null
+      && files.stream().noneMatch(CdtUtils::isInTemporaryFolder);
+  }
+
+  private Path writePersistentJson(ISonarLintProject project) throws IOException {
+    var model = BuildWrapperModelCache.INSTANCE.get((IProject) project.getResource());
+    var jsonFilePath = project.getWorkingDir().resolve(BUILD_WRAPPER_OUTPUT_DIRNAME).resolve(BUILD_WRAPPER_OUTPUT_FILENAME);
+    model.writeIfChanged(jsonFactory, project.getResource().getLocation().toFile().toString(), jsonFilePath);
+    SonarLintLogger.get().debug("CDT build wrapper output '" + jsonFilePath + "' for C/C++ analysis contains "
+      + model.size() + " file(s)");
+    return jsonFilePath;
+  }
+
   private Path writeJson(IPreAnalysisContext context, ISonarLintProject project, Collection<ConfiguredFile> files) throws IOException {
     var json = jsonFactory.create(files, getBaseDir(context, project));
     return createJsonFile(context.getAnalysisTemporaryFolder(), json);
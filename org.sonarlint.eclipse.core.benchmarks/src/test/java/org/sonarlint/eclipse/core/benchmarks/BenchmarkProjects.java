@@ -0,0 +1,113 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+
+/**
+ *  Synthetic workspace content shared by the benchmarks, created once per trial so that the setup does not
+ *  influence the measurements.
+ */
+final class BenchmarkProjects {
+
+  private BenchmarkProjects() {
+    // utility class
+  }
+
+  /**
+   *  Creates (or re-creates) a project with the layout "src/main/java/pkg&lt;i&gt;/File&lt;j&gt;.java" together with a
+   *  "target" folder containing the same amount of class files, as most of the real projects have generated content.
+   */
+  static IProject createProject(String name, int packages, int filesPerPackage) throws CoreException {
+    var project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+    deleteProject(project);
+    ResourcesPlugin.getWorkspace().run(monitor -> {
+      project.create(monitor);
+      project.open(monitor);
+      var sources = createFolders(project.getFolder("src/main/java"));
+      var binaries = createFolders(project.getFolder("target/classes"));
+      for (var i = 0; i < packages; i++) {
+        var sourcePackage = sources.getFolder("pkg" + i);
+        sourcePackage.create(true, true, monitor);
+        var binaryPackage = binaries.getFolder("pkg" + i);
+        binaryPackage.create(true, true, monitor);
+        for (var j = 0; j < filesPerPackage; j++) {
+          createFile(sourcePackage.getFile("File" + j + ".java"), "package pkg" + i + ";\n\npublic class File" + j + " {\n}\n");
+          createFile(binaryPackage.getFile("File" + j + ".class"), "");
+        }
+      }
+    }, new NullProgressMonitor());
+    return project;
+  }
+
+  static IFile createFile(IProject project, String relativePath, String content) throws CoreException {
+    var file = project.getFile(relativePath);
+    if (file.getParent() instanceof IFolder) {
+      createFolders((IFolder) file.getParent());
+    }
+    createFile(file, content);
+    return file;
+  }
+
+  static void deleteProject(IProject project) throws CoreException {
+    if (project.exists()) {
+      project.delete(IResource.ALWAYS_DELETE_PROJECT_CONTENT | IResource.FORCE, new NullProgressMonitor());
+    }
+  }
+
+  /** Document of the given amount of lines, each line being "lineLength" characters long (without the delimiter) */
+  static IDocument document(int lines, int lineLength) {
+    return new Document(content(lines, lineLength));
+  }
+
+  static String content(int lines, int lineLength) {
+    var line = "x".repeat(lineLength) + "\n";
+    return line.repeat(lines);
+  }
+
+  private static IFolder createFolders(IFolder folder) throws CoreException {
+    if (!folder.exists()) {
+      if (folder.getParent() instanceof IFolder) {
+        createFolders((IFolder) folder.getParent());
+      }
+      folder.create(true, true, new NullProgressMonitor());
+    }
+    return folder;
+  }
+
+  private static void createFile(IFile file, String content) throws CoreException {
+    var source = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    if (file.exists()) {
+      file.setContents(source, IResource.FORCE, new NullProgressMonitor());
+    } else {
+      file.create(source, true, new NullProgressMonitor());
+    }
+  }
+}
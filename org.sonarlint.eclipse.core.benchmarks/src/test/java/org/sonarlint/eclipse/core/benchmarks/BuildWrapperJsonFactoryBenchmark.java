@@ -0,0 +1,93 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.resources.IFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonarlint.eclipse.cdt.internal.BuildWrapperJsonFactory;
+import org.sonarlint.eclipse.cdt.internal.ConfiguredFile;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ *  Generating the build wrapper output of a C/C++ project, both in memory and streamed to a writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BuildWrapperJsonFactoryBenchmark {
+  private static final int INCLUDES_PER_FILE = 20;
+  private static final int SYMBOLS_PER_FILE = 50;
+
+  @Param({"100", "1000", "10000"})
+  public int fileCount;
+
+  private final BuildWrapperJsonFactory factory = new BuildWrapperJsonFactory();
+  private List<ConfiguredFile> files;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    var includes = new String[INCLUDES_PER_FILE];
+    for (var i = 0; i < INCLUDES_PER_FILE; i++) {
+      includes[i] = "/usr/include/library" + i + "/include";
+    }
+    var symbols = new LinkedHashMap<String, String>();
+    for (var i = 0; i < SYMBOLS_PER_FILE; i++) {
+      symbols.put("SYMBOL_" + i, "\"value \\\"" + i + "\\\"\"");
+    }
+    files = new ArrayList<>(fileCount);
+    for (var i = 0; i < fileCount; i++) {
+      files.add(new ConfiguredFile.Builder(mock(IFile.class, withSettings().stubOnly()))
+        .includes(includes)
+        .symbols(symbols)
+        .path("/home/user/project/src/module" + (i % 10) + "/file" + i + ".cpp")
+        .build());
+    }
+  }
+
+  @Benchmark
+  public String create() {
+    return factory.create(files, "/home/user/project");
+  }
+
+  @Benchmark
+  public void write() throws IOException {
+    factory.write(files, "/home/user/project", Writer.nullWriter());
+  }
+}
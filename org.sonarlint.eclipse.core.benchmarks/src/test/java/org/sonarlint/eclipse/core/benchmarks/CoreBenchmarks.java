@@ -0,0 +1,64 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import org.junit.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ *  Entry point of the benchmarks, run by Tycho Surefire with "mvn verify -Pbenchmarks". The benchmarks need the
+ *  Eclipse workspace and the SonarLint bundles, therefore they are not forked but run inside this OSGi runtime. The
+ *  results are written in JSON format to the file given by the "benchmarks.result" system property and the
+ *  benchmarks to run can be narrowed down with the "benchmarks.include" regular expression. The GC profiler is
+ *  enabled in order to also report the allocation rate of each benchmark, which is summed up at the end of the run.
+ */
+public class CoreBenchmarks {
+  private static final String ALLOCATION_PER_OPERATION = "gc.alloc.rate.norm";
+
+  @Test
+  public void run() throws RunnerException {
+    var options = new OptionsBuilder()
+      .include(System.getProperty("benchmarks.include", CoreBenchmarks.class.getPackageName() + "\\..*"))
+      .forks(0)
+      .shouldFailOnError(true)
+      // Allocation rates ("gc.alloc.rate.norm") are as relevant as the timings for some of the hot paths
+      .addProfiler(GCProfiler.class)
+      .resultFormat(ResultFormatType.JSON)
+      .result(System.getProperty("benchmarks.result", "jmh-result.json"))
+      .build();
+
+    var results = new Runner(options).run();
+    assertFalse("No benchmark was run", results.isEmpty());
+
+    System.out.println("Allocations per operation:");
+    for (var result : results) {
+      var allocations = result.getSecondaryResults().get(ALLOCATION_PER_OPERATION);
+      assertNotNull("No allocations reported for " + result.getParams().id(), allocations);
+      System.out.println(String.format("  %s: %.1f %s", result.getParams().id(), allocations.getScore(), allocations.getScoreUnit()));
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
+import org.sonarlint.eclipse.core.internal.resources.ExclusionItem;
+import org.sonarlint.eclipse.core.internal.utils.FileExclusionsChecker;
+import org.sonarlint.eclipse.core.internal.utils.PathPrefixTrie;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+
+/**
+ *  Checking all the files of a project against the user-configured exclusions (analysis of a whole project) and
+ *  against the exclusions provided by other plug-ins (resource changes synchronized with the backend).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ExclusionsBenchmark {
+  private static final int PACKAGES = 20;
+  private static final int FILES_PER_PACKAGE = 50;
+
+  @Param({"10", "100", "1000"})
+  public int exclusionCount;
+
+  private IProject project;
+  private DefaultSonarLintProjectAdapter slProject;
+  private List<ISonarLintFile> files;
+  private List<IPath> fullPaths;
+  private List<IPath> exclusionPaths;
+  private PathPrefixTrie exclusionTrie;
+
+  @Setup(Level.Trial)
+  public void setUp() throws CoreException {
+    project = BenchmarkProjects.createProject("ExclusionsBenchmark", PACKAGES, FILES_PER_PACKAGE);
+    slProject = new DefaultSonarLintProjectAdapter(project);
+
+    // A third of each kind, none of them matching so that every file has to be checked against all of them
+    var config = SonarLintCorePlugin.loadConfig(slProject);
+    config.getFileExclusions().clear();
+    exclusionPaths = new ArrayList<>(exclusionCount);
+    for (var i = 0; i < exclusionCount; i++) {
+      switch (i % 3) {
+        case 0:
+          config.getFileExclusions().add(new ExclusionItem(ExclusionItem.Type.FILE, "src/main/java/pkg" + i + "/Excluded.java"));
+          break;
+        case 1:
+          config.getFileExclusions().add(new ExclusionItem(ExclusionItem.Type.DIRECTORY, "src/main/java/excluded" + i));
+          break;
+        default:
+          config.getFileExclusions().add(new ExclusionItem(ExclusionItem.Type.GLOB, "**/generated" + i + "/**"));
+          break;
+      }
+      exclusionPaths.add(project.getFullPath().append("target/excluded" + i));
+    }
+    SonarLintCorePlugin.saveConfig(slProject, config);
+    exclusionTrie = new PathPrefixTrie(exclusionPaths);
+
+    files = new ArrayList<>(slProject.files());
+    fullPaths = new ArrayList<>(files.size());
+    for (var file : files) {
+      fullPaths.add(file.getResource().getFullPath());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws CoreException {
+    BenchmarkProjects.deleteProject(project);
+  }
+
+  @Benchmark
+  public int fileExclusionsChecker() {
+    var checker = FileExclusionsChecker.get(slProject);
+    var monitor = new NullProgressMonitor();
+    var excluded = 0;
+    for (var file : files) {
+      if (checker.isExcluded(file, false, monitor)) {
+        excluded++;
+      }
+    }
+    return excluded;
+  }
+
+  @Benchmark
+  public int isChild() {
+    var excluded = 0;
+    for (var fullPath : fullPaths) {
+      for (var exclusion : exclusionPaths) {
+        if (SonarLintUtils.isChild(fullPath, exclusion)) {
+          excluded++;
+          break;
+        }
+      }
+    }
+    return excluded;
+  }
+
+  @Benchmark
+  public int pathPrefixTrie() {
+    var excluded = 0;
+    for (var fullPath : fullPaths) {
+      if (exclusionTrie.matches(fullPath)) {
+        excluded++;
+      }
+    }
+    return excluded;
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.LogListener;
+
+/**
+ *  Debug messages logged for every file (resource changes, exclusions, ...) while the verbose output is disabled,
+ *  which is the default. The difference between eagerly built messages and the ones built by a supplier is mostly in
+ *  the allocations: see the "gc.alloc.rate.norm" (bytes per operation, so per 1000 messages) reported for each
+ *  benchmark by {@link CoreBenchmarks}. With the debug output enabled both variants allocate about the same.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoggerBenchmark {
+  private static final int FILES = 1_000;
+
+  @Param({"false", "true"})
+  public boolean debugEnabled;
+
+  private final LogListener listener = new LastMessageLogListener();
+  private String[] fileNames;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    fileNames = new String[FILES];
+    for (var i = 0; i < FILES; i++) {
+      fileNames[i] = "File" + i + ".java";
+    }
+    SonarLintLogger.get().addLogListener(listener);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    SonarLintLogger.get().removeLogListener(listener);
+  }
+
+  @Benchmark
+  public void eagerMessages() {
+    for (var fileName : fileNames) {
+      SonarLintLogger.get().debug("File content changed: " + fileName);
+    }
+  }
+
+  @Benchmark
+  public void supplierMessages() {
+    for (var fileName : fileNames) {
+      SonarLintLogger.get().debugLazy(() -> "File content changed: " + fileName);
+    }
+  }
+
+  /** Keeps the last message, so that building it cannot be optimized away */
+  private class LastMessageLogListener implements LogListener {
+    @Nullable
+    private volatile String lastMessage;
+
+    @Override
+    public void info(@Nullable String msg, boolean fromAnalyzer) {
+      // Not logged by the benchmark
+    }
+
+    @Override
+    public void error(@Nullable String msg, boolean fromAnalyzer) {
+      // Not logged by the benchmark
+    }
+
+    @Override
+    public void error(@Nullable String msg, Throwable t, boolean fromAnalyzer) {
+      // Not logged by the benchmark
+    }
+
+    @Override
+    public void debug(@Nullable String msg, boolean fromAnalyzer) {
+      lastMessage = msg;
+    }
+
+    @Override
+    public void debug(@Nullable String msg, Throwable t, boolean fromAnalyzer) {
+      // Not logged by the benchmark
+    }
+
+    @Override
+    public void traceIdeMessage(@Nullable String msg) {
+      // Not logged by the benchmark
+    }
+
+    @Override
+    public void traceIdeMessage(@Nullable String msg, Throwable t) {
+      // Not logged by the benchmark
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+      return debugEnabled;
+    }
+
+    @Override
+    public boolean isTraceIdeMessageEnabled() {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonarlint.eclipse.core.internal.jobs.SonarLintMarkerUpdater;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintFileAdapter;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.issue.RaisedIssueDto;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.Either;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.IssueSeverity;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.RuleType;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.StandardModeDetails;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.TextRangeDto;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ *  Creating the markers of a file from scratch (first analysis) and updating them when nothing changed (every
+ *  following on-the-fly analysis of the same file).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MarkerUpdaterBenchmark {
+  private static final int LINES = 10_000;
+
+  @Param({"10", "1000", "10000"})
+  public int issueCount;
+
+  private IProject project;
+  private ISonarLintFile file;
+  private List<RaisedIssueDto> issues;
+
+  @Setup(Level.Trial)
+  public void setUp() throws CoreException {
+    project = BenchmarkProjects.createProject("MarkerUpdaterBenchmark", 0, 0);
+    var resource = BenchmarkProjects.createFile(project, "src/Big.java", BenchmarkProjects.content(LINES, 80));
+    file = new DefaultSonarLintFileAdapter(new DefaultSonarLintProjectAdapter(project), resource);
+    issues = new ArrayList<>(issueCount);
+    for (var i = 0; i < issueCount; i++) {
+      issues.add(newIssue(1 + (i % LINES)));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws CoreException {
+    SonarLintMarkerUpdater.clearMarkers(file);
+    BenchmarkProjects.deleteProject(project);
+  }
+
+  /** Every invocation of {@link #createMarkers()} has to start without any marker on the file */
+  @State(Scope.Thread)
+  public static class NoMarkers {
+    @Setup(Level.Invocation)
+    public void clear(MarkerUpdaterBenchmark benchmark) {
+      SonarLintMarkerUpdater.clearMarkers(benchmark.file);
+    }
+  }
+
+  /** Every invocation of {@link #updateMarkers()} has to start with the markers of all the issues on the file */
+  @State(Scope.Thread)
+  public static class ExistingMarkers {
+    @Setup(Level.Trial)
+    public void create(MarkerUpdaterBenchmark benchmark) {
+      SonarLintMarkerUpdater.clearMarkers(benchmark.file);
+      benchmark.update();
+    }
+  }
+
+  @Benchmark
+  public void createMarkers(NoMarkers state) {
+    update();
+  }
+
+  @Benchmark
+  public void updateMarkers(ExistingMarkers state) {
+    update();
+  }
+
+  private void update() {
+    SonarLintMarkerUpdater.createOrUpdateMarkers(file, issues, true, false, false, false);
+  }
+
+  /** Stub only mocks, so that Mockito does not record the invocations done by the measured code */
+  private static RaisedIssueDto newIssue(int line) {
+    var issue = mock(RaisedIssueDto.class, withSettings().stubOnly());
+    when(issue.getId()).thenReturn(UUID.randomUUID());
+    when(issue.getRuleKey()).thenReturn("java:S" + (line % 100));
+    when(issue.getPrimaryMessage()).thenReturn("Issue on line " + line);
+    when(issue.getTextRange()).thenReturn(new TextRangeDto(line, 2, line, 40));
+    when(issue.getSeverityMode()).thenReturn(Either.forLeft(new StandardModeDetails(IssueSeverity.MAJOR, RuleType.CODE_SMELL)));
+    when(issue.getIntroductionDate()).thenReturn(Instant.now());
+    return issue;
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonarlint.eclipse.core.internal.markers.MarkerUtils;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.TextRangeDto;
+
+/**
+ *  Converting text ranges (line based) and whole lines to document positions (offset based), done for every marker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MarkerUtilsBenchmark {
+  private static final int POSITIONS = 1_000;
+  private static final int LINE_LENGTH = 80;
+
+  @Param({"1000", "100000"})
+  public int lines;
+
+  private IDocument document;
+  private TextRangeDto[] textRanges;
+  private int[] startLines;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    document = BenchmarkProjects.document(lines, LINE_LENGTH);
+    // Fixed seed, so that every run is working on the same ranges
+    var random = new Random(42);
+    textRanges = new TextRangeDto[POSITIONS];
+    startLines = new int[POSITIONS];
+    for (var i = 0; i < POSITIONS; i++) {
+      var startLine = 1 + random.nextInt(lines);
+      var endLine = Math.min(lines, startLine + random.nextInt(5));
+      var startLineOffset = random.nextInt(LINE_LENGTH);
+      var endLineOffset = endLine == startLine
+        ? startLineOffset + random.nextInt(LINE_LENGTH - startLineOffset)
+        : random.nextInt(LINE_LENGTH);
+      textRanges[i] = new TextRangeDto(startLine, startLineOffset, endLine, endLineOffset);
+      startLines[i] = startLine;
+    }
+  }
+
+  @Benchmark
+  public void getPositionOfTextRange(Blackhole blackhole) {
+    for (var textRange : textRanges) {
+      Position position = MarkerUtils.getPosition(document, textRange);
+      blackhole.consume(position);
+    }
+  }
+
+  @Benchmark
+  public void getPositionOfLine(Blackhole blackhole) {
+    for (var startLine : startLines) {
+      Position position = MarkerUtils.getPosition(document, startLine);
+      blackhole.consume(position);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
+import org.sonarlint.eclipse.core.internal.resources.ProjectFilesIndex;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+
+/**
+ *  Collecting the files of a project, once with the index being empty (full resource tree visit) and once when the
+ *  files are already indexed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProjectFilesBenchmark {
+  private static final int FILES_PER_PACKAGE = 50;
+
+  @Param({"1000", "10000"})
+  public int fileCount;
+
+  private IProject project;
+  private DefaultSonarLintProjectAdapter slProject;
+
+  @Setup(Level.Trial)
+  public void setUp() throws CoreException {
+    project = BenchmarkProjects.createProject("ProjectFilesBenchmark", fileCount / FILES_PER_PACKAGE, FILES_PER_PACKAGE);
+    slProject = new DefaultSonarLintProjectAdapter(project);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws CoreException {
+    ProjectFilesIndex.INSTANCE.invalidate(project);
+    BenchmarkProjects.deleteProject(project);
+  }
+
+  @Benchmark
+  public Collection<ISonarLintFile> filesNotIndexed() {
+    ProjectFilesIndex.INSTANCE.invalidate(project);
+    return slProject.files();
+  }
+
+  @Benchmark
+  public Collection<ISonarLintFile> filesIndexed() {
+    return slProject.files();
+  }
+}
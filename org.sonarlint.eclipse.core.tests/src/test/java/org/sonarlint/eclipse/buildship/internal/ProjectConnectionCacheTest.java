@@ -0,0 +1,200 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.buildship.internal;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.gradle.tooling.GradleConnectionException;
+import org.gradle.tooling.ModelBuilder;
+import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.model.DomainObjectSet;
+import org.gradle.tooling.model.gradle.BasicGradleProject;
+import org.gradle.tooling.model.gradle.GradleBuild;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProjectConnectionCacheTest {
+  private static final long IDLE_TIMEOUT_MS = 5 * 60_000L;
+
+  private final File rootDirectory = new File("/gradle/build");
+  private final File subProjectDirectory = new File("/gradle/build/sub");
+  private final File otherRootDirectory = new File("/gradle/other");
+
+  private final AtomicLong now = new AtomicLong(1_000_000L);
+  private final List<File> connectedDirectories = new ArrayList<>();
+  private final List<ProjectConnection> connections = new ArrayList<>();
+
+  private GradleBuild nextModel;
+  private ProjectConnectionCache underTest;
+
+  @Before
+  public void prepare() {
+    nextModel = gradleBuild(rootDirectory, subProjectDirectory);
+    underTest = new ProjectConnectionCache(projectDirectory -> {
+      connectedDirectories.add(projectDirectory);
+      var connection = connection(nextModel);
+      connections.add(connection);
+      return connection;
+    }, now::get);
+  }
+
+  @After
+  public void cleanup() {
+    underTest.close();
+  }
+
+  @Test
+  public void connection_is_reused_by_all_projects_of_the_build() {
+    var model = underTest.get(subProjectDirectory);
+
+    assertThat(underTest.get(subProjectDirectory)).isSameAs(model);
+    // The root project was indexed when connecting through the sub-project
+    assertThat(underTest.get(rootDirectory)).isSameAs(model);
+    assertThat(connectedDirectories).containsExactly(subProjectDirectory);
+    verify(connections.get(0), times(1)).model(GradleBuild.class);
+  }
+
+  @Test
+  public void builds_have_their_own_connection() {
+    var model = underTest.get(rootDirectory);
+    nextModel = gradleBuild(otherRootDirectory);
+
+    var otherModel = underTest.get(otherRootDirectory);
+
+    assertThat(otherModel).isNotSameAs(model);
+    assertThat(connectedDirectories).containsExactly(rootDirectory, otherRootDirectory);
+  }
+
+  @Test
+  public void invalidated_model_is_fetched_again_with_the_same_connection() {
+    var model = underTest.get(rootDirectory);
+    var connection = connections.get(0);
+    var newModel = gradleBuild(rootDirectory, subProjectDirectory);
+    ModelBuilder<GradleBuild> modelBuilder = modelBuilder(newModel);
+    when(connection.model(GradleBuild.class)).thenReturn(modelBuilder);
+
+    underTest.invalidate(subProjectDirectory);
+
+    assertThat(underTest.get(subProjectDirectory)).isSameAs(newModel).isNotSameAs(model);
+    assertThat(connectedDirectories).containsExactly(rootDirectory);
+    verify(connection, never()).close();
+  }
+
+  @Test
+  public void idle_connection_is_evicted_and_closed() {
+    var model = underTest.get(rootDirectory);
+    var connection = connections.get(0);
+
+    now.addAndGet(IDLE_TIMEOUT_MS + 1);
+    underTest.evictIdleConnections();
+
+    verify(connection).close();
+    nextModel = gradleBuild(rootDirectory, subProjectDirectory);
+    assertThat(underTest.get(subProjectDirectory)).isNotSameAs(model);
+    assertThat(connectedDirectories).containsExactly(rootDirectory, subProjectDirectory);
+  }
+
+  @Test
+  public void recently_used_connection_is_not_evicted() {
+    underTest.get(rootDirectory);
+    var connection = connections.get(0);
+
+    now.addAndGet(IDLE_TIMEOUT_MS);
+    underTest.get(subProjectDirectory);
+    now.addAndGet(IDLE_TIMEOUT_MS);
+    underTest.evictIdleConnections();
+
+    verify(connection, never()).close();
+    underTest.get(rootDirectory);
+    assertThat(connectedDirectories).containsExactly(rootDirectory);
+  }
+
+  @Test
+  public void close_closes_all_connections() {
+    underTest.get(rootDirectory);
+    nextModel = gradleBuild(otherRootDirectory);
+    underTest.get(otherRootDirectory);
+
+    underTest.close();
+
+    verify(connections.get(0)).close();
+    verify(connections.get(1)).close();
+  }
+
+  @Test
+  public void connection_is_closed_when_model_cannot_be_fetched() {
+    var connection = connection(nextModel);
+    when(connection.model(GradleBuild.class).get()).thenThrow(new GradleConnectionException("Could not fetch model"));
+    underTest = new ProjectConnectionCache(projectDirectory -> connection, now::get);
+
+    assertThatThrownBy(() -> underTest.get(rootDirectory)).isInstanceOf(GradleConnectionException.class);
+
+    verify(connection).close();
+  }
+
+  private static ProjectConnection connection(GradleBuild model) {
+    var connection = mock(ProjectConnection.class);
+    ModelBuilder<GradleBuild> modelBuilder = modelBuilder(model);
+    when(connection.model(GradleBuild.class)).thenReturn(modelBuilder);
+    return connection;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ModelBuilder<GradleBuild> modelBuilder(GradleBuild model) {
+    ModelBuilder<GradleBuild> modelBuilder = mock(ModelBuilder.class);
+    when(modelBuilder.get()).thenReturn(model);
+    return modelBuilder;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static GradleBuild gradleBuild(File rootDirectory, File... subProjectDirectories) {
+    var rootProject = gradleProject(rootDirectory);
+    var projects = new ArrayList<BasicGradleProject>();
+    projects.add(rootProject);
+    for (var subProjectDirectory : subProjectDirectories) {
+      projects.add(gradleProject(subProjectDirectory));
+    }
+    DomainObjectSet<BasicGradleProject> projectSet = mock(DomainObjectSet.class);
+    when(projectSet.iterator()).thenAnswer(invocation -> projects.iterator());
+
+    var gradleBuild = mock(GradleBuild.class);
+    when(gradleBuild.getRootProject()).thenReturn(rootProject);
+    doReturn(projectSet).when(gradleBuild).getProjects();
+    return gradleBuild;
+  }
+
+  private static BasicGradleProject gradleProject(File projectDirectory) {
+    var project = mock(BasicGradleProject.class);
+    when(project.getProjectDirectory()).thenReturn(projectDirectory);
+    return project;
+  }
+}
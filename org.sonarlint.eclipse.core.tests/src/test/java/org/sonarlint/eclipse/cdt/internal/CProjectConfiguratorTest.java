@@ -19,14 +19,19 @@
  */
 package org.sonarlint.eclipse.cdt.internal;
 
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.language.settings.providers.ILanguageSettingsChangeEvent;
 import org.eclipse.cdt.core.parser.IScannerInfo;
 import org.eclipse.cdt.core.parser.IScannerInfoProvider;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.junit.Before;
@@ -36,13 +41,17 @@ import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentMatchers;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.analysis.IPreAnalysisContext;
+import org.sonarlint.eclipse.core.internal.jobs.DefaultPreAnalysisContext;
 import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -94,14 +103,133 @@ public class CProjectConfiguratorTest {
 
     // build-wrapper-dump.json was not created as no useful file was provided to the CDT integraton
     verify(jsonFactory, never()).create(ArgumentMatchers.any(), ArgumentMatchers.any());
+    verify(jsonFactory, never()).write(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
 
     // properties were not set
     verify(context, never()).setAnalysisProperty("sonar.cfamily.build-wrapper-output", temp.getRoot().toPath().toString());
     verify(context, never()).setAnalysisProperty("sonar.cfamily.useCache", "false");
+    verify(context, never()).setAnalysisProperty("sonar.cfamily.useCache", "true");
 
     // no errors
     verify(logger, never()).error(ArgumentMatchers.any(), ArgumentMatchers.any());
     verify(logger, never()).error(ArgumentMatchers.any());
   }
 
+  @Test
+  public void should_reuse_cached_build_wrapper_model_until_language_settings_change() throws Exception {
+    var projectBaseDir = temp.newFolder().toPath();
+    var workingDir = temp.newFolder().toPath();
+    var projectName = "cdtModelCache" + System.nanoTime();
+    // A handle is enough, the model cache is keyed by project and invalidated by project name
+    var project = ResourcesPlugin.getWorkspace().getRoot().getProject(projectName);
+    var file = mock(IFile.class);
+    when(file.getProject()).thenReturn(project);
+    when(file.exists()).thenReturn(true);
+    when(file.getLocation()).thenReturn(Path.fromOSString(projectBaseDir.resolve("file1.c").toString()));
+    var monitor = mock(IProgressMonitor.class);
+    var infoProvider = mock(IScannerInfoProvider.class);
+    var info = mock(IScannerInfo.class);
+    when(info.getDefinedSymbols()).thenReturn(Map.of("SONARLINT_FIRST", "1"));
+    when(info.getIncludePaths()).thenReturn(new String[] {"/usr/include"});
+
+    when(cCorePlugin.getScannerInfoProvider(project)).thenReturn(infoProvider);
+    when(infoProvider.getScannerInformation(file)).thenReturn(info);
+    when(fileValidator.test(file)).thenReturn(true);
+    configurator = new CdtUtils(new BuildWrapperJsonFactory(), cCorePlugin, fileValidator, (proj, path) -> null, logger);
+
+    var slProject = mock(ISonarLintProject.class);
+    when(slProject.getResource()).thenReturn(project);
+    when(slProject.getWorkingDir()).thenReturn(workingDir);
+    var slFile = mock(ISonarLintFile.class);
+    when(slFile.getResource()).thenReturn(file);
+    var context = mock(DefaultPreAnalysisContext.class);
+    when(context.getProject()).thenReturn(slProject);
+    when(context.getFilesToAnalyze()).thenReturn(Collections.singleton(slFile));
+    when(context.getLocalPath(slFile)).thenReturn(projectBaseDir.resolve("file1.c").toString());
+    when(context.getAnalysisTemporaryFolder()).thenReturn(temp.newFolder().toPath());
+    var jsonFile = workingDir.resolve("cfamily").resolve("build-wrapper-dump.json");
+
+    try {
+      configurator.configure(context, monitor);
+      var firstJson = Files.readString(jsonFile);
+      assertThat(firstJson).contains("SONARLINT_FIRST");
+
+      configurator.configure(context, monitor);
+
+      // The scanner information was only asked once, the second analysis used the cached model
+      verify(infoProvider, times(1)).getScannerInformation(file);
+      assertThat(Files.readString(jsonFile)).isEqualTo(firstJson);
+      verify(context, times(2)).setAnalysisProperty("sonar.cfamily.build-wrapper-output", jsonFile.getParent().toString());
+      verify(context, times(2)).setAnalysisProperty("sonar.cfamily.useCache", "true");
+
+      when(info.getDefinedSymbols()).thenReturn(Map.of("SONARLINT_SECOND", "1"));
+      var event = mock(ILanguageSettingsChangeEvent.class);
+      when(event.getProjectName()).thenReturn(projectName);
+      BuildWrapperModelCache.INSTANCE.handleEvent(event);
+
+      configurator.configure(context, monitor);
+
+      verify(infoProvider, times(2)).getScannerInformation(file);
+      assertThat(Files.readString(jsonFile))
+        .contains("SONARLINT_SECOND")
+        .doesNotContain("SONARLINT_FIRST");
+      verify(logger, never()).error(ArgumentMatchers.any(), ArgumentMatchers.any());
+    } finally {
+      BuildWrapperModelCache.INSTANCE.invalidate(project);
+    }
+  }
+
+  @Test
+  public void should_remove_deleted_files_from_persisted_build_wrapper_model() throws Exception {
+    var projectBaseDir = temp.newFolder().toPath();
+    var workingDir = temp.newFolder().toPath();
+    var project = ResourcesPlugin.getWorkspace().getRoot().getProject("cdtModelDeletedFile" + System.nanoTime());
+    var file1 = mock(IFile.class);
+    var file2 = mock(IFile.class);
+    var infoProvider = mock(IScannerInfoProvider.class);
+    var info = mock(IScannerInfo.class);
+    when(info.getDefinedSymbols()).thenReturn(Map.of("SONARLINT", "1"));
+    when(cCorePlugin.getScannerInfoProvider(project)).thenReturn(infoProvider);
+    configurator = new CdtUtils(new BuildWrapperJsonFactory(), cCorePlugin, fileValidator, (proj, path) -> null, logger);
+
+    var slProject = mock(ISonarLintProject.class);
+    when(slProject.getResource()).thenReturn(project);
+    when(slProject.getWorkingDir()).thenReturn(workingDir);
+    var context = mock(DefaultPreAnalysisContext.class);
+    when(context.getProject()).thenReturn(slProject);
+    when(context.getAnalysisTemporaryFolder()).thenReturn(temp.newFolder().toPath());
+    var slFile1 = mockCFile(context, project, file1, infoProvider, info, projectBaseDir.resolve("file1.c"));
+    var slFile2 = mockCFile(context, project, file2, infoProvider, info, projectBaseDir.resolve("file2.c"));
+    var jsonFile = workingDir.resolve("cfamily").resolve("build-wrapper-dump.json");
+
+    try {
+      when(context.getFilesToAnalyze()).thenReturn(List.of(slFile1, slFile2));
+      configurator.configure(context, mock(IProgressMonitor.class));
+      assertThat(Files.readString(jsonFile)).contains("file1.c", "file2.c");
+
+      when(file2.exists()).thenReturn(false);
+      when(context.getFilesToAnalyze()).thenReturn(List.of(slFile1));
+      configurator.configure(context, mock(IProgressMonitor.class));
+
+      assertThat(Files.readString(jsonFile))
+        .contains("file1.c")
+        .doesNotContain("file2.c");
+    } finally {
+      BuildWrapperModelCache.INSTANCE.invalidate(project);
+    }
+  }
+
+  private ISonarLintFile mockCFile(DefaultPreAnalysisContext context, IProject project, IFile file, IScannerInfoProvider infoProvider,
+    IScannerInfo info, java.nio.file.Path location) {
+    when(file.getProject()).thenReturn(project);
+    when(file.exists()).thenReturn(true);
+    when(file.getLocation()).thenReturn(Path.fromOSString(location.toString()));
+    when(infoProvider.getScannerInformation(file)).thenReturn(info);
+    when(fileValidator.test(file)).thenReturn(true);
+    var slFile = mock(ISonarLintFile.class);
+    when(slFile.getResource()).thenReturn(file);
+    when(context.getLocalPath(slFile)).thenReturn(location.toString());
+    return slFile;
+  }
+
 }
@@ -0,0 +1,99 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.backend;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.sonarlint.eclipse.tests.common.SonarTestCase;
+import org.sonarsource.sonarlint.core.rpc.protocol.SonarLintRpcServer;
+import org.sonarsource.sonarlint.core.rpc.protocol.backend.file.DidUpdateFileSystemParams;
+import org.sonarsource.sonarlint.core.rpc.protocol.backend.file.FileRpcService;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.ClientFileDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class FileSystemSynchronizerTest extends SonarTestCase {
+  private IProject project;
+  private FileRpcService fileService;
+  private FileSystemSynchronizer underTest;
+
+  @Before
+  public void prepare() throws Exception {
+    project = importEclipseProject("SimpleNonJdtProject");
+    var backend = mock(SonarLintRpcServer.class);
+    fileService = mock(FileRpcService.class);
+    when(backend.getFileService()).thenReturn(fileService);
+    underTest = new FileSystemSynchronizer(backend);
+    workspace.addResourceChangeListener(underTest, IResourceChangeEvent.POST_CHANGE);
+  }
+
+  @After
+  public void cleanup() throws CoreException {
+    workspace.removeResourceChangeListener(underTest);
+    project.delete(IResource.ALWAYS_DELETE_PROJECT_CONTENT | IResource.FORCE, MONITOR);
+  }
+
+  @Test
+  public void coalesce_changes_of_the_same_files() throws Exception {
+    var added = project.getFile("src/main/Added.js");
+    var changed = project.getFile("src/main/sample.js");
+    var removed = project.getFile("src/main/Program.cbl");
+    var removedUri = removed.getLocationURI();
+
+    // Every operation is its own resource change event, all of them inside the coalescing window
+    added.create(stream("var a;"), true, MONITOR);
+    added.setContents(stream("var a = 1;"), IResource.FORCE, MONITOR);
+    changed.setContents(stream("var b;"), IResource.FORCE, MONITOR);
+    changed.setContents(stream("var b = 2;"), IResource.FORCE, MONITOR);
+    removed.setContents(stream("       IDENTIFICATION DIVISION."), IResource.FORCE, MONITOR);
+    removed.delete(true, MONITOR);
+
+    var captor = ArgumentCaptor.forClass(DidUpdateFileSystemParams.class);
+    verify(fileService, timeout(5000)).didUpdateFileSystem(captor.capture());
+    var params = captor.getValue();
+    // Added and then changed is still new for the backend, changed and then removed is only removed
+    assertThat(params.getAddedFiles()).extracting(ClientFileDto::getUri).containsExactly(added.getLocationURI());
+    assertThat(params.getChangedFiles()).extracting(ClientFileDto::getUri).containsExactly(changed.getLocationURI());
+    assertThat(params.getRemovedFiles()).containsExactly(removedUri);
+
+    // Nothing else is propagated once the window is over
+    Thread.sleep(1000);
+    verifyNoMoreInteractions(fileService);
+    assertThat(underTest.getReceivedEventsCount()).isGreaterThanOrEqualTo(6);
+    assertThat(underTest.getSentUpdatesCount()).isEqualTo(1);
+  }
+
+  private static ByteArrayInputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
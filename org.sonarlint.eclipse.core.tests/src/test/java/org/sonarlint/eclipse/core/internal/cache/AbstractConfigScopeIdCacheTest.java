@@ -0,0 +1,119 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AbstractConfigScopeIdCacheTest {
+
+  private TestCache underTest;
+
+  @Before
+  public void prepare() {
+    underTest = new TestCache();
+  }
+
+  @Test
+  public void testEntryExpires() {
+    underTest.putEntry("file:/project", "value");
+    assertThat(underTest.getEntry("file:/project")).isEqualTo("value");
+
+    underTest.time += 999;
+    assertThat(underTest.getEntry("file:/project")).isEqualTo("value");
+
+    underTest.time += 1;
+    assertThat(underTest.getEntry("file:/project")).isNull();
+
+    var statistics = underTest.getStatistics();
+    assertThat(statistics.getHitCount()).isEqualTo(2);
+    assertThat(statistics.getMissCount()).isEqualTo(1);
+    assertThat(statistics.getEvictionCount()).isEqualTo(1);
+    assertThat(statistics.getSize()).isZero();
+  }
+
+  @Test
+  public void testSweep() {
+    underTest.putEntry("file:/project1", "value1");
+    underTest.time += 500;
+    underTest.putEntry("file:/project2", "value2");
+
+    assertThat(underTest.sweepNow()).isEqualTo(500);
+
+    underTest.time += 500;
+    assertThat(underTest.sweepNow()).isEqualTo(500);
+    assertThat(underTest.getStatistics().getSize()).isEqualTo(1);
+
+    underTest.time += 500;
+    assertThat(underTest.sweepNow()).isEqualTo(-1);
+    assertThat(underTest.getStatistics().getEvictionCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testLeastRecentlyUsedIsEvicted() {
+    underTest.maxSize = 2;
+    underTest.putEntry("file:/project1", "value1");
+    underTest.time++;
+    underTest.putEntry("file:/project2", "value2");
+    underTest.time++;
+    underTest.getEntry("file:/project1");
+    underTest.time++;
+    underTest.putEntry("file:/project3", "value3");
+
+    assertThat(underTest.getEntry("file:/project1")).isEqualTo("value1");
+    assertThat(underTest.getEntry("file:/project2")).isNull();
+    assertThat(underTest.getEntry("file:/project3")).isEqualTo("value3");
+    assertThat(underTest.getStatistics().getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testRemoveEntry() {
+    underTest.putEntry("file:/project", "value");
+    underTest.removeEntry("file:/project");
+
+    assertThat(underTest.getEntry("file:/project")).isNull();
+  }
+
+  private static class TestCache extends AbstractConfigScopeIdCache<String> {
+    private long time = 1_000;
+    private int maxSize;
+
+    @Override
+    protected long getCacheDuration() {
+      return 1_000;
+    }
+
+    @Override
+    protected int getMaxSize() {
+      return maxSize;
+    }
+
+    @Override
+    protected long now() {
+      return time;
+    }
+
+    private long sweepNow() {
+      return sweep();
+    }
+  }
+}
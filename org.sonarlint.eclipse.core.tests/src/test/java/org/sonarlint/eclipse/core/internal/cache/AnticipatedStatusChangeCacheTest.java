@@ -0,0 +1,174 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.backend.ConfigScopeSynchronizer;
+import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration.EclipseProjectBinding;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+import org.sonarlint.eclipse.tests.common.SonarTestCase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AnticipatedStatusChangeCacheTest extends SonarTestCase {
+
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicLong clock = new AtomicLong();
+  private CompletableFuture<Boolean> response;
+  private AnticipatedStatusChangeCache underTest;
+  private IProject eclipseProject;
+  private ISonarLintProject project;
+
+  @Before
+  public void prepare() throws Exception {
+    eclipseProject = importEclipseProject("SimpleNonJdtProject");
+    project = SonarLintUtils.adapt(eclipseProject, ISonarLintProject.class, "Get SonarLint project for test");
+    response = new CompletableFuture<>();
+    underTest = new AnticipatedStatusChangeCache() {
+      @Override
+      protected CompletableFuture<Boolean> checkSupported(ISonarLintProject project) {
+        requests.incrementAndGet();
+        return response;
+      }
+
+      @Override
+      protected long now() {
+        return clock.get();
+      }
+    };
+  }
+
+  @After
+  public void deleteProject() throws CoreException {
+    bind(null);
+    eclipseProject.delete(IResource.ALWAYS_DELETE_PROJECT_CONTENT | IResource.FORCE, MONITOR);
+  }
+
+  @Test
+  public void no_request_when_not_bound() {
+    assertThat(underTest.isSupported(project)).isFalse();
+    assertThat(requests).hasValue(0);
+  }
+
+  @Test
+  public void no_request_on_repeated_updates_with_unchanged_binding() {
+    bind(new EclipseProjectBinding("myConnection", "myProjectKey"));
+
+    // Not blocking while the backend did not answer yet
+    assertThat(underTest.isSupported(project)).isFalse();
+    response.complete(true);
+    for (var i = 0; i < 10; i++) {
+      assertThat(underTest.isSupported(project)).isTrue();
+    }
+
+    assertThat(requests).hasValue(1);
+  }
+
+  @Test
+  public void request_again_when_binding_or_connection_changed() {
+    bind(new EclipseProjectBinding("myConnection", "myProjectKey"));
+    response.complete(true);
+    underTest.isSupported(project);
+
+    bind(new EclipseProjectBinding("myConnection", "myOtherProjectKey"));
+    underTest.isSupported(project);
+    assertThat(requests).hasValue(2);
+
+    underTest.removeConnection("myConnection");
+    underTest.isSupported(project);
+    assertThat(requests).hasValue(3);
+
+    underTest.removeEntry(ConfigScopeSynchronizer.getConfigScopeId(project));
+    underTest.isSupported(project);
+    assertThat(requests).hasValue(4);
+  }
+
+  @Test
+  public void keep_previous_answer_while_expired_entry_is_requested_again() {
+    bind(new EclipseProjectBinding("myConnection", "myProjectKey"));
+    response.complete(true);
+    assertThat(underTest.isSupported(project)).isTrue();
+
+    clock.addAndGet(31 * 60_000L);
+    response = new CompletableFuture<>();
+    assertThat(underTest.isSupported(project)).isTrue();
+    assertThat(requests).hasValue(2);
+
+    response.complete(false);
+    assertThat(underTest.isSupported(project)).isFalse();
+    assertThat(requests).hasValue(2);
+  }
+
+  @Test
+  public void do_not_keep_previous_answer_when_binding_changed() {
+    bind(new EclipseProjectBinding("myConnection", "myProjectKey"));
+    response.complete(true);
+    assertThat(underTest.isSupported(project)).isTrue();
+
+    clock.addAndGet(31 * 60_000L);
+    bind(new EclipseProjectBinding("myConnection", "myOtherProjectKey"));
+    response = new CompletableFuture<>();
+    assertThat(underTest.isSupported(project)).isFalse();
+  }
+
+  @Test
+  public void request_again_after_failure() {
+    bind(new EclipseProjectBinding("myConnection", "myProjectKey"));
+    response.completeExceptionally(new IllegalStateException("Backend not available"));
+
+    assertThat(underTest.isSupported(project)).isFalse();
+    response = CompletableFuture.completedFuture(true);
+    assertThat(underTest.isSupported(project)).isTrue();
+
+    assertThat(requests).hasValue(2);
+  }
+
+  @Test
+  public void failure_of_outdated_request_does_not_remove_newer_entry() {
+    bind(new EclipseProjectBinding("myConnection", "myProjectKey"));
+    var outdatedResponse = response;
+    underTest.isSupported(project);
+
+    bind(new EclipseProjectBinding("myConnection", "myOtherProjectKey"));
+    response = CompletableFuture.completedFuture(true);
+    assertThat(underTest.isSupported(project)).isTrue();
+    outdatedResponse.completeExceptionally(new IllegalStateException("Backend not available"));
+
+    assertThat(underTest.isSupported(project)).isTrue();
+    assertThat(requests).hasValue(2);
+  }
+
+  private void bind(@Nullable EclipseProjectBinding binding) {
+    var config = SonarLintCorePlugin.loadConfig(project);
+    config.setProjectBinding(binding);
+    SonarLintCorePlugin.saveConfig(project, config);
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.cache;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintFileAdapter;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.tests.common.SonarTestCase;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.Language;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileClassificationCacheTest extends SonarTestCase {
+  private final AtomicInteger classifications = new AtomicInteger();
+  private final AtomicInteger detections = new AtomicInteger();
+
+  private FileClassificationCache underTest;
+  private IProject project;
+  private DefaultSonarLintProjectAdapter slProject;
+
+  @Before
+  public void importProject() throws Exception {
+    underTest = new FileClassificationCache() {
+    };
+    project = importEclipseProject("SimpleNonJdtProject");
+    slProject = new DefaultSonarLintProjectAdapter(project);
+  }
+
+  @After
+  public void deleteProject() throws CoreException {
+    underTest.stop();
+    project.delete(IResource.ALWAYS_DELETE_PROJECT_CONTENT | IResource.FORCE, MONITOR);
+  }
+
+  @Test
+  public void classify_file_only_once() {
+    var file = file("src/main/sample.js");
+
+    assertThat(isTest(file)).isFalse();
+    assertThat(isTest(file("src/main/sample.js"))).isFalse();
+    assertThat(language(file)).isEqualTo(Language.JS);
+    assertThat(language(file)).isEqualTo(Language.JS);
+
+    assertThat(classifications.get()).isEqualTo(1);
+    assertThat(detections.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void classify_again_after_file_was_removed() throws CoreException {
+    var file = file("src/main/sample.js");
+    isTest(file);
+    language(file);
+
+    project.getFile("src/main/sample.js").delete(true, MONITOR);
+    project.getFile("src/main/sample.js").create(stream("var a = 1;"), true, MONITOR);
+    isTest(file);
+    language(file);
+
+    assertThat(classifications.get()).isEqualTo(2);
+    assertThat(detections.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void content_changes_do_not_invalidate() throws CoreException {
+    var file = file("src/main/sample.js");
+    isTest(file);
+
+    project.getFile("src/main/sample.js").setContents(stream("var a = 1;"), IResource.FORCE, MONITOR);
+    isTest(file);
+
+    assertThat(classifications.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void classify_again_after_project_metadata_changed() throws CoreException {
+    var file = file("src/main/sample.js");
+    isTest(file);
+
+    project.getFile(".project").touch(MONITOR);
+    isTest(file);
+
+    assertThat(classifications.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void test_patterns_change_only_invalidates_test_classification() {
+    var file = file("src/main/sample.js");
+    isTest(file);
+    language(file);
+
+    underTest.invalidateTestFiles();
+    isTest(file);
+    language(file);
+
+    assertThat(classifications.get()).isEqualTo(2);
+    assertThat(detections.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void classification_racing_with_invalidation_is_not_cached() {
+    var file = file("src/main/sample.js");
+    underTest.isTest(file, f -> {
+      classifications.incrementAndGet();
+      underTest.invalidate(project);
+      return false;
+    });
+
+    isTest(file);
+
+    assertThat(classifications.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void nothing_cached_once_stopped() {
+    var file = file("src/main/sample.js");
+    underTest.stop();
+
+    isTest(file);
+    isTest(file);
+
+    assertThat(classifications.get()).isEqualTo(2);
+  }
+
+  private boolean isTest(ISonarLintFile file) {
+    return underTest.isTest(file, f -> {
+      classifications.incrementAndGet();
+      return false;
+    });
+  }
+
+  private Language language(ISonarLintFile file) {
+    return underTest.getLanguage(file, f -> {
+      detections.incrementAndGet();
+      return Language.JS;
+    });
+  }
+
+  private ISonarLintFile file(String path) {
+    return new DefaultSonarLintFileAdapter(slProject, project.getFile(path));
+  }
+
+  private static ByteArrayInputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.engine.connected;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration.EclipseProjectBinding;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+import org.sonarlint.eclipse.tests.common.SonarTestCase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundProjectsIndexTest extends SonarTestCase {
+
+  private static final String CONNECTION_ID = "boundProjectsIndexConnection";
+
+  private final BoundProjectsIndex underTest = BoundProjectsIndex.INSTANCE;
+  private ISonarLintProject project1;
+  private ISonarLintProject project2;
+
+  @Before
+  public void prepare() throws Exception {
+    project1 = SonarLintUtils.adapt(importEclipseProject("SimpleNonJdtProject"), ISonarLintProject.class, "Get SonarLint project for test");
+    project2 = SonarLintUtils.adapt(importEclipseProject("SimpleProject"), ISonarLintProject.class, "Get SonarLint project for test");
+  }
+
+  @After
+  public void unbind() {
+    bind(project1, null);
+    bind(project2, null);
+  }
+
+  @Test
+  public void index_follows_binding_changes() {
+    assertThat(underTest.getBoundProjects(CONNECTION_ID)).isEmpty();
+
+    bind(project1, "key1");
+    bind(project2, "key1");
+    assertThat(underTest.getBoundProjects(CONNECTION_ID)).containsExactlyInAnyOrder(project1, project2);
+    assertThat(underTest.getBoundProjects(CONNECTION_ID, "key1")).containsExactlyInAnyOrder(project1, project2);
+    assertThat(underTest.getBoundProjectKeys(CONNECTION_ID)).containsExactly("key1");
+
+    bind(project2, "key2");
+    assertThat(underTest.getBoundProjects(CONNECTION_ID, "key1")).containsExactly(project1);
+    assertThat(underTest.getBoundProjects(CONNECTION_ID, "key2")).containsExactly(project2);
+    assertThat(underTest.getBoundProjectKeys(CONNECTION_ID)).containsExactlyInAnyOrder("key1", "key2");
+
+    bind(project1, null);
+    assertThat(underTest.getBoundProjects(CONNECTION_ID)).containsExactly(project2);
+    assertThat(underTest.getBoundProjects(CONNECTION_ID, "key1")).isEmpty();
+    assertThat(underTest.getBoundProjectKeys(CONNECTION_ID)).containsExactly("key2");
+  }
+
+  @Test
+  public void repeated_reads_reuse_the_same_snapshot() {
+    bind(project1, "key1");
+
+    var first = underTest.getBoundProjects(CONNECTION_ID);
+    assertThat(underTest.getBoundProjects(CONNECTION_ID)).isSameAs(first);
+
+    underTest.invalidate();
+    assertThat(underTest.getBoundProjects(CONNECTION_ID)).isNotSameAs(first).isEqualTo(first);
+  }
+
+  @Test
+  public void concurrent_reads_and_binding_changes() throws Exception {
+    var executor = Executors.newFixedThreadPool(5);
+    var stop = new AtomicBoolean();
+    var start = new CountDownLatch(1);
+    var errors = new ConcurrentLinkedQueue<Throwable>();
+    var readers = new ArrayList<Future<?>>();
+    try {
+      for (var i = 0; i < 4; i++) {
+        readers.add(executor.submit(() -> {
+          try {
+            start.await();
+            while (!stop.get()) {
+              var projects = underTest.getBoundProjects(CONNECTION_ID);
+              assertThat(projects).doesNotHaveDuplicates();
+              assertThat(underTest.getBoundProjectKeys(CONNECTION_ID)).isSubsetOf("key1", "key2");
+              for (var key : List.of("key1", "key2")) {
+                assertThat(underTest.getBoundProjects(CONNECTION_ID, key)).doesNotHaveDuplicates().isSubsetOf(project1, project2);
+              }
+            }
+          } catch (Throwable t) {
+            errors.add(t);
+          }
+          return null;
+        }));
+      }
+
+      start.countDown();
+      for (var i = 0; i < 50; i++) {
+        bind(project1, i % 2 == 0 ? "key1" : "key2");
+        bind(project2, i % 3 == 0 ? null : "key2");
+      }
+      stop.set(true);
+      for (var reader : readers) {
+        reader.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      stop.set(true);
+      executor.shutdownNow();
+    }
+
+    assertThat(errors).isEmpty();
+    // Last iteration (i = 49) bound project1 to key2 and project2 to key2
+    assertThat(underTest.getBoundProjects(CONNECTION_ID, "key2")).containsExactlyInAnyOrder(project1, project2);
+    assertThat(underTest.getBoundProjects(CONNECTION_ID, "key1")).isEmpty();
+    assertThat(underTest.getBoundProjectKeys(CONNECTION_ID)).containsExactly("key2");
+  }
+
+  private static void bind(ISonarLintProject project, @Nullable String projectKey) {
+    var config = SonarLintCorePlugin.loadConfig(project);
+    config.setProjectBinding(projectKey != null ? new EclipseProjectBinding(CONNECTION_ID, projectKey) : null);
+    SonarLintCorePlugin.saveConfig(project, config);
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.jobs;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AnalysisFingerprintCacheTest {
+  private static final Map<String, String> PROPERTIES = Map.of("sonar.java.libraries", "/lib/a.jar");
+
+  private AnalysisFingerprintCache underTest;
+  private ISonarLintProject project;
+  private ISonarLintFile file;
+
+  @Before
+  public void prepare() throws CoreException {
+    underTest = new AnalysisFingerprintCache() {
+    };
+    project = mock(ISonarLintProject.class);
+    file = mockFile(project, "Foo.java");
+  }
+
+  @Test
+  public void file_is_unchanged_with_same_content_and_properties() {
+    var fingerprints = fingerprints(file, "class Foo {}", PROPERTIES);
+    underTest.analyzed(fingerprints, underTest.getGeneration());
+    underTest.markersUpdated(file);
+
+    assertThat(underTest.isUnchanged(file, fingerprints(file, "class Foo {}", PROPERTIES).get(file))).isTrue();
+    assertThat(underTest.isUnchanged(file, fingerprints(file, "class Foo { }", PROPERTIES).get(file))).isFalse();
+    assertThat(underTest.isUnchanged(file, fingerprints(file, "class Foo {}", Map.of("sonar.java.libraries", "/lib/b.jar")).get(file)))
+      .isFalse();
+  }
+
+  @Test
+  public void file_whose_markers_were_deleted_is_not_unchanged() throws CoreException {
+    var fingerprints = fingerprints(file, "class Foo {}", PROPERTIES);
+    underTest.analyzed(fingerprints, underTest.getGeneration());
+    stubMarkers(file, 2);
+    underTest.markersUpdated(file);
+    assertThat(underTest.isUnchanged(file, fingerprints.get(file))).isTrue();
+
+    stubMarkers(file, 1);
+
+    assertThat(underTest.isUnchanged(file, fingerprints.get(file))).isFalse();
+  }
+
+  @Test
+  public void file_whose_markers_were_never_updated_is_not_unchanged() {
+    var fingerprints = fingerprints(file, "class Foo {}", PROPERTIES);
+    underTest.analyzed(fingerprints, underTest.getGeneration());
+
+    assertThat(underTest.isUnchanged(file, fingerprints.get(file))).isFalse();
+  }
+
+  @Test
+  public void file_never_analyzed_is_not_unchanged() {
+    assertThat(underTest.isUnchanged(file, fingerprints(file, "class Foo {}", PROPERTIES).get(file))).isFalse();
+  }
+
+  @Test
+  public void fingerprints_of_analysis_racing_with_invalidation_are_not_kept() {
+    var generation = underTest.getGeneration();
+    var fingerprints = fingerprints(file, "class Foo {}", PROPERTIES);
+
+    underTest.invalidate();
+    underTest.analyzed(fingerprints, generation);
+
+    assertThat(underTest.isUnchanged(file, fingerprints.get(file))).isFalse();
+  }
+
+  @Test
+  public void invalidate_project_only_drops_its_files() throws CoreException {
+    var otherFile = mockFile(mock(ISonarLintProject.class), "Bar.java");
+    var fingerprints = new HashMap<ISonarLintFile, byte[]>();
+    fingerprints.putAll(fingerprints(file, "class Foo {}", PROPERTIES));
+    fingerprints.putAll(fingerprints(otherFile, "class Bar {}", PROPERTIES));
+    underTest.analyzed(fingerprints, underTest.getGeneration());
+    underTest.markersUpdated(file);
+    underTest.markersUpdated(otherFile);
+
+    underTest.invalidate(project);
+
+    assertThat(underTest.isUnchanged(file, fingerprints.get(file))).isFalse();
+    assertThat(underTest.isUnchanged(otherFile, fingerprints.get(otherFile))).isTrue();
+  }
+
+  @Test
+  public void forget_drops_file() {
+    var fingerprints = fingerprints(file, "class Foo {}", PROPERTIES);
+    underTest.analyzed(fingerprints, underTest.getGeneration());
+    underTest.markersUpdated(file);
+
+    underTest.forget(file);
+
+    assertThat(underTest.isUnchanged(file, fingerprints.get(file))).isFalse();
+  }
+
+  @Test
+  public void forget_during_analysis_only_drops_fingerprint_of_forgotten_file() throws CoreException {
+    var otherFile = mockFile(project, "Bar.java");
+    var fileOfOtherProject = mockFile(mock(ISonarLintProject.class), "Baz.java");
+    var generation = underTest.getGeneration();
+    var fingerprints = new HashMap<ISonarLintFile, byte[]>();
+    fingerprints.putAll(fingerprints(file, "class Foo {}", PROPERTIES));
+    fingerprints.putAll(fingerprints(otherFile, "class Bar {}", PROPERTIES));
+    fingerprints.putAll(fingerprints(fileOfOtherProject, "class Baz {}", PROPERTIES));
+
+    underTest.forget(file);
+    underTest.analyzed(fingerprints, generation);
+    underTest.markersUpdated(file);
+    underTest.markersUpdated(otherFile);
+    underTest.markersUpdated(fileOfOtherProject);
+
+    assertThat(underTest.isUnchanged(file, fingerprints.get(file))).isFalse();
+    assertThat(underTest.isUnchanged(otherFile, fingerprints.get(otherFile))).isTrue();
+    assertThat(underTest.isUnchanged(fileOfOtherProject, fingerprints.get(fileOfOtherProject))).isTrue();
+  }
+
+  @Test
+  public void invalidate_project_during_analysis_only_drops_fingerprints_of_its_files() throws CoreException {
+    var fileOfOtherProject = mockFile(mock(ISonarLintProject.class), "Baz.java");
+    var generation = underTest.getGeneration();
+    var fingerprints = new HashMap<ISonarLintFile, byte[]>();
+    fingerprints.putAll(fingerprints(file, "class Foo {}", PROPERTIES));
+    fingerprints.putAll(fingerprints(fileOfOtherProject, "class Baz {}", PROPERTIES));
+
+    underTest.invalidate(project);
+    underTest.analyzed(fingerprints, generation);
+    underTest.markersUpdated(file);
+    underTest.markersUpdated(fileOfOtherProject);
+
+    assertThat(underTest.isUnchanged(file, fingerprints.get(file))).isFalse();
+    assertThat(underTest.isUnchanged(fileOfOtherProject, fingerprints.get(fileOfOtherProject))).isTrue();
+  }
+
+  @Test
+  public void forgotten_file_is_kept_again_by_later_analysis() {
+    underTest.forget(file);
+    var fingerprints = fingerprints(file, "class Foo {}", PROPERTIES);
+    underTest.analyzed(fingerprints, underTest.getGeneration());
+    underTest.markersUpdated(file);
+
+    assertThat(underTest.isUnchanged(file, fingerprints.get(file))).isTrue();
+  }
+
+  private static Map<ISonarLintFile, byte[]> fingerprints(ISonarLintFile file, String content, Map<String, String> properties) {
+    Map<ISonarLintFile, IDocument> files = Map.of(file, new Document(content));
+    return AnalysisFingerprintCache.computeFingerprints(files, properties);
+  }
+
+  private static ISonarLintFile mockFile(ISonarLintProject project, String name) throws CoreException {
+    var file = mock(ISonarLintFile.class);
+    when(file.getProject()).thenReturn(project);
+    when(file.getName()).thenReturn(name);
+    when(file.getResource()).thenReturn(mock(IFile.class));
+    stubMarkers(file, 0);
+    return file;
+  }
+
+  private static void stubMarkers(ISonarLintFile file, int count) throws CoreException {
+    var markers = new IMarker[count];
+    for (var i = 0; i < count; i++) {
+      markers[i] = mock(IMarker.class);
+    }
+    when(file.getResource().findMarkers(SonarLintCorePlugin.MARKER_ON_THE_FLY_ID, false, IResource.DEPTH_ZERO)).thenReturn(markers);
+  }
+}
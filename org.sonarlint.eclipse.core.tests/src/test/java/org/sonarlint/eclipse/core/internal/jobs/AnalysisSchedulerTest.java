@@ -0,0 +1,326 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.jobs;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.TriggerType;
+import org.sonarlint.eclipse.core.internal.jobs.AnalyzeProjectRequest.FileWithDocument;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AnalysisSchedulerTest {
+  /** Jobs using this rule cannot start as long as the blocking job is running */
+  private final ISchedulingRule rule = new ISchedulingRule() {
+    @Override
+    public boolean contains(ISchedulingRule other) {
+      return other == this;
+    }
+
+    @Override
+    public boolean isConflicting(ISchedulingRule other) {
+      return other == this;
+    }
+  };
+  private final CountDownLatch releaseBlockingJob = new CountDownLatch(1);
+  private final CountDownLatch releaseAnalyses = new CountDownLatch(1);
+  private final List<TestAnalysisJob> jobs = new CopyOnWriteArrayList<>();
+
+  private boolean blockAnalyses;
+  private AnalysisScheduler underTest;
+  private ISonarLintProject project;
+  private ISonarLintFile fileA;
+  private ISonarLintFile fileB;
+
+  @Before
+  public void prepare() throws CoreException {
+    underTest = new AnalysisScheduler(request -> {
+      var job = new TestAnalysisJob(request);
+      if (blockAnalyses) {
+        job.setRule(rule);
+      }
+      jobs.add(job);
+      return job;
+    });
+    project = mock(ISonarLintProject.class);
+    fileA = mockFile("A.java");
+    fileB = mockFile("B.java");
+  }
+
+  @After
+  public void cleanup() throws InterruptedException {
+    releaseBlockingJob.countDown();
+    releaseAnalyses.countDown();
+    for (var job : jobs) {
+      job.cancel();
+      job.join();
+    }
+    AnalysisFingerprintCache.INSTANCE.forget(fileA);
+    AnalysisFingerprintCache.INSTANCE.forget(fileB);
+  }
+
+  @Test
+  public void pending_analysis_is_merged_into_new_one() throws InterruptedException {
+    holdPendingAnalyses();
+
+    underTest.schedule(request(TriggerType.EDITOR_CHANGE, fileA));
+    underTest.schedule(request(TriggerType.EDITOR_CHANGE, fileB));
+
+    assertThat(jobs).hasSize(2);
+    assertThat(jobs.get(0).getState()).isEqualTo(Job.NONE);
+    assertThat(filesOf(jobs.get(1))).containsExactly(fileA, fileB);
+    assertThat(jobs.get(1).request.getTriggerType()).isEqualTo(TriggerType.EDITOR_CHANGE);
+    assertThat(jobs.get(1).getState()).isEqualTo(Job.WAITING);
+  }
+
+  @Test
+  public void most_recent_document_wins_when_merging() throws InterruptedException {
+    holdPendingAnalyses();
+    var oldDocument = new Document("class A {}");
+    var newDocument = new Document("class A { }");
+
+    underTest.schedule(new AnalyzeProjectRequest(project, List.of(new FileWithDocument(fileA, oldDocument)), TriggerType.EDITOR_CHANGE, false));
+    underTest.schedule(new AnalyzeProjectRequest(project, List.of(new FileWithDocument(fileA, newDocument)), TriggerType.EDITOR_CHANGE, false));
+
+    var files = jobs.get(1).request.getFiles();
+    assertThat(files).hasSize(1);
+    assertThat(files.iterator().next().getDocument()).isSameAs(newDocument);
+  }
+
+  @Test
+  public void analyses_of_other_projects_are_not_merged() throws InterruptedException {
+    holdPendingAnalyses();
+    var otherProject = mock(ISonarLintProject.class);
+
+    underTest.schedule(request(TriggerType.EDITOR_CHANGE, fileA));
+    underTest.schedule(new AnalyzeProjectRequest(otherProject, List.of(new FileWithDocument(fileB, null)), TriggerType.EDITOR_CHANGE, false));
+
+    assertThat(jobs).hasSize(2);
+    assertThat(jobs.get(0).getState()).isEqualTo(Job.WAITING);
+    assertThat(filesOf(jobs.get(1))).containsExactly(fileB);
+  }
+
+  @Test
+  public void manual_analyses_are_neither_merged_nor_cancelled() throws InterruptedException {
+    holdPendingAnalyses();
+
+    underTest.schedule(request(TriggerType.EDITOR_CHANGE, fileA));
+    underTest.schedule(request(TriggerType.MANUAL, fileA));
+
+    assertThat(jobs).hasSize(2);
+    assertThat(jobs.get(0).getState()).isEqualTo(Job.WAITING);
+    assertThat(filesOf(jobs.get(1))).containsExactly(fileA);
+
+    underTest.schedule(request(TriggerType.EDITOR_CHANGE, fileB));
+
+    // Only the pending on-the-fly analysis was merged
+    assertThat(jobs).hasSize(3);
+    assertThat(jobs.get(1).getState()).isEqualTo(Job.WAITING);
+    assertThat(filesOf(jobs.get(2))).containsExactly(fileA, fileB);
+  }
+
+  @Test
+  public void running_analysis_is_cancelled_when_superseded() throws InterruptedException {
+    underTest.schedule(request(TriggerType.EDITOR_CHANGE, fileA));
+    var running = jobs.get(0);
+    running.awaitStarted();
+
+    underTest.schedule(request(TriggerType.EDITOR_CHANGE, fileA, fileB));
+
+    running.join();
+    assertThat(running.getResult()).isNotNull();
+    assertThat(running.getResult().getSeverity()).isEqualTo(IStatus.CANCEL);
+    // A running analysis is not merged, the new one only has its own files
+    assertThat(filesOf(jobs.get(1))).containsExactly(fileA, fileB);
+  }
+
+  @Test
+  public void running_analysis_is_not_cancelled_when_only_partly_requested_again() throws InterruptedException {
+    underTest.schedule(request(TriggerType.EDITOR_CHANGE, fileA, fileB));
+    var running = jobs.get(0);
+    running.awaitStarted();
+
+    underTest.schedule(request(TriggerType.EDITOR_CHANGE, fileA));
+
+    assertThat(running.getState()).isEqualTo(Job.RUNNING);
+    assertThat(running.isCancelRequested()).isFalse();
+    assertThat(filesOf(jobs.get(1))).containsExactly(fileA);
+  }
+
+  @Test
+  public void trigger_fetching_server_issues_is_kept_when_merging() throws InterruptedException {
+    holdPendingAnalyses();
+
+    underTest.schedule(request(TriggerType.EDITOR_OPEN, fileA));
+    underTest.schedule(request(TriggerType.EDITOR_CHANGE, fileB));
+
+    assertThat(jobs.get(1).request.getTriggerType()).isEqualTo(TriggerType.EDITOR_OPEN);
+  }
+
+  @Test
+  public void requested_trigger_is_used_when_pending_one_does_not_fetch() throws InterruptedException {
+    holdPendingAnalyses();
+
+    underTest.schedule(request(TriggerType.EDITOR_CHANGE, fileA));
+    underTest.schedule(request(TriggerType.EDITOR_OPEN, fileB));
+
+    assertThat(jobs.get(1).request.getTriggerType()).isEqualTo(TriggerType.EDITOR_OPEN);
+  }
+
+  @Test
+  public void merging_into_skippable_analysis_forgets_fingerprints_of_not_skippable_files() throws InterruptedException {
+    holdPendingAnalyses();
+    var fingerprints = fingerprints(fileA, fileB);
+    AnalysisFingerprintCache.INSTANCE.analyzed(fingerprints, AnalysisFingerprintCache.INSTANCE.getGeneration());
+    AnalysisFingerprintCache.INSTANCE.markersUpdated(fileA);
+    AnalysisFingerprintCache.INSTANCE.markersUpdated(fileB);
+
+    underTest.schedule(request(TriggerType.EDITOR_CHANGE, fileA));
+    underTest.schedule(request(TriggerType.POST_BUILD, fileB));
+
+    assertThat(jobs.get(1).request.getTriggerType()).isEqualTo(TriggerType.POST_BUILD);
+    // The file of the editor change has to be analyzed again, the one of the build can still be skipped
+    assertThat(AnalysisFingerprintCache.INSTANCE.isUnchanged(fileA, fingerprints.get(fileA))).isFalse();
+    assertThat(AnalysisFingerprintCache.INSTANCE.isUnchanged(fileB, fingerprints.get(fileB))).isTrue();
+  }
+
+  @Test
+  public void merging_into_not_skippable_analysis_keeps_fingerprints() throws InterruptedException {
+    holdPendingAnalyses();
+    var fingerprints = fingerprints(fileA, fileB);
+    AnalysisFingerprintCache.INSTANCE.analyzed(fingerprints, AnalysisFingerprintCache.INSTANCE.getGeneration());
+    AnalysisFingerprintCache.INSTANCE.markersUpdated(fileA);
+    AnalysisFingerprintCache.INSTANCE.markersUpdated(fileB);
+
+    underTest.schedule(request(TriggerType.POST_BUILD, fileA));
+    underTest.schedule(request(TriggerType.EDITOR_CHANGE, fileB));
+
+    // The merged analysis does not skip anything, there is no need to forget about the files
+    assertThat(jobs.get(1).request.getTriggerType()).isEqualTo(TriggerType.EDITOR_CHANGE);
+    assertThat(AnalysisFingerprintCache.INSTANCE.isUnchanged(fileA, fingerprints.get(fileA))).isTrue();
+    assertThat(AnalysisFingerprintCache.INSTANCE.isUnchanged(fileB, fingerprints.get(fileB))).isTrue();
+  }
+
+  /** Keeps the scheduling rule of the analyses busy, so that they stay pending */
+  private void holdPendingAnalyses() throws InterruptedException {
+    blockAnalyses = true;
+    var blockingJobStarted = new CountDownLatch(1);
+    var blockingJob = Job.create("Blocking job", monitor -> {
+      blockingJobStarted.countDown();
+      try {
+        releaseBlockingJob.await(30, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    blockingJob.setRule(rule);
+    blockingJob.schedule();
+    assertThat(blockingJobStarted.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private AnalyzeProjectRequest request(TriggerType triggerType, ISonarLintFile... files) {
+    var filesWithDocument = List.of(files).stream()
+      .map(f -> new FileWithDocument(f, null))
+      .collect(Collectors.toList());
+    return new AnalyzeProjectRequest(project, filesWithDocument, triggerType, false);
+  }
+
+  private static List<ISonarLintFile> filesOf(TestAnalysisJob job) {
+    return job.request.getFiles().stream().map(FileWithDocument::getFile).collect(Collectors.toList());
+  }
+
+  private static Map<ISonarLintFile, byte[]> fingerprints(ISonarLintFile... files) {
+    Map<ISonarLintFile, IDocument> filesWithDocument = List.of(files).stream()
+      .collect(Collectors.toMap(f -> f, f -> new Document(f.getName())));
+    return AnalysisFingerprintCache.computeFingerprints(filesWithDocument, Map.of());
+  }
+
+  private ISonarLintFile mockFile(String name) throws CoreException {
+    var file = mock(ISonarLintFile.class);
+    when(file.getProject()).thenReturn(project);
+    when(file.getName()).thenReturn(name);
+    var resource = mock(IFile.class);
+    when(resource.findMarkers(SonarLintCorePlugin.MARKER_ON_THE_FLY_ID, false, IResource.DEPTH_ZERO)).thenReturn(new IMarker[0]);
+    when(file.getResource()).thenReturn(resource);
+    return file;
+  }
+
+  private class TestAnalysisJob extends Job {
+    private final AnalyzeProjectRequest request;
+    private final CountDownLatch started = new CountDownLatch(1);
+    private volatile boolean cancelRequested;
+
+    private TestAnalysisJob(AnalyzeProjectRequest request) {
+      super("Analysis of " + request.getFiles().size() + " file(s)");
+      this.request = request;
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      started.countDown();
+      try {
+        while (!monitor.isCanceled()) {
+          if (releaseAnalyses.await(10, TimeUnit.MILLISECONDS)) {
+            return Status.OK_STATUS;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return Status.CANCEL_STATUS;
+    }
+
+    @Override
+    protected void canceling() {
+      cancelRequested = true;
+    }
+
+    private void awaitStarted() throws InterruptedException {
+      assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private boolean isCancelRequested() {
+      return cancelRequested;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.jobs;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.Test;
+import org.sonarlint.eclipse.core.internal.TriggerType;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.issue.RaisedIssueDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class AnalysisStateTest {
+
+  private static final URI FILE_1 = URI.create("file:///project/File1.java");
+  private static final URI FILE_2 = URI.create("file:///project/File2.java");
+
+  private final AnalysisState underTest = new AnalysisState(UUID.randomUUID(), List.of(FILE_1, FILE_2), TriggerType.MANUAL);
+
+  @Test
+  public void intermediate_publications_are_coalesced_per_file() {
+    var outdated = mock(RaisedIssueDto.class);
+    var latest = mock(RaisedIssueDto.class);
+    var other = mock(RaisedIssueDto.class);
+
+    assertThat(underTest.addIntermediateIssues(Map.of(FILE_1, List.of(outdated)))).isTrue();
+    assertThat(underTest.addIntermediateIssues(Map.of(FILE_1, List.of(latest), FILE_2, List.of(other)))).isFalse();
+
+    assertThat(underTest.takeIntermediateIssues()).containsOnly(
+      Map.entry(FILE_1, List.of(latest)),
+      Map.entry(FILE_2, List.of(other)));
+    assertThat(underTest.takeIntermediateIssues()).isEmpty();
+
+    // Once applied, the next publication has to be scheduled again
+    assertThat(underTest.addIntermediateIssues(Map.of(FILE_1, List.of(outdated)))).isTrue();
+  }
+
+  @Test
+  public void final_publication_supersedes_intermediate_ones() {
+    underTest.addIntermediateIssues(Map.of(FILE_1, List.of(mock(RaisedIssueDto.class))));
+
+    underTest.finalPublicationReceived();
+
+    assertThat(underTest.takeIntermediateIssues()).isEmpty();
+    assertThat(underTest.addIntermediateIssues(Map.of(FILE_2, List.of(mock(RaisedIssueDto.class))))).isFalse();
+    assertThat(underTest.takeIntermediateIssues()).isEmpty();
+  }
+
+  @Test
+  public void intermediate_issues_of_cancelled_analysis_are_dropped() {
+    underTest.addIntermediateIssues(Map.of(FILE_1, List.of(mock(RaisedIssueDto.class))));
+
+    underTest.cancel();
+
+    assertThat(underTest.takeIntermediateIssues()).isEmpty();
+  }
+
+  @Test
+  public void time_to_first_issue_is_only_measured_once_there_are_issues() {
+    underTest.issuesPublished(0);
+    assertThat(underTest.getTimeToFirstIssueMillis()).isEqualTo(-1);
+
+    underTest.issuesPublished(3);
+    var timeToFirstIssue = underTest.getTimeToFirstIssueMillis();
+    assertThat(timeToFirstIssue).isNotNegative();
+
+    underTest.issuesPublished(5);
+    assertThat(underTest.getTimeToFirstIssueMillis()).isEqualTo(timeToFirstIssue);
+  }
+}
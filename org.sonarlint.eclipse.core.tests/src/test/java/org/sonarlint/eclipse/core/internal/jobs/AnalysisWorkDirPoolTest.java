@@ -0,0 +1,365 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.jobs;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.filesystem.IFileStore;
+import org.eclipse.core.filesystem.provider.FileInfo;
+import org.eclipse.core.filesystem.provider.FileStore;
+import org.eclipse.core.filesystem.provider.FileSystem;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonarlint.eclipse.core.internal.utils.FileUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AnalysisWorkDirPoolTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private TestPool underTest;
+  private ISonarLintProject project;
+
+  @Before
+  public void prepare() throws Exception {
+    underTest = new TestPool();
+    project = mock(ISonarLintProject.class);
+    when(project.getWorkingDir()).thenReturn(temp.newFolder().toPath());
+    when(project.exists(anyString())).thenReturn(true);
+    MemoryFileSystem.CONTENTS.clear();
+    MemoryFileSystem.READS.set(0);
+  }
+
+  @Test
+  public void unchanged_files_are_only_copied_once() throws Exception {
+    var file = memoryFile("src/Foo.java", "class Foo {}", 1);
+
+    Path firstCopy;
+    Path firstWorkDir;
+    try (var workDir = acquireForCompletedAnalysis()) {
+      firstWorkDir = workDir.getPath();
+      firstCopy = workDir.getLocalCopy(file, EFS.getStore(file.getResource().getLocationURI()));
+    }
+    for (var i = 0; i < 10; i++) {
+      try (var workDir = acquireForCompletedAnalysis()) {
+        assertThat(workDir.getPath()).isEqualTo(firstWorkDir);
+        assertThat(workDir.getLocalCopy(file, EFS.getStore(file.getResource().getLocationURI()))).isEqualTo(firstCopy);
+      }
+    }
+
+    assertThat(MemoryFileSystem.READS).hasValue(1);
+    assertThat(firstCopy).hasContent("class Foo {}");
+    assertThat(firstWorkDir.relativize(firstCopy)).hasToString(Path.of("src", "Foo.java").toString());
+  }
+
+  @Test
+  public void changed_files_are_copied_again() throws Exception {
+    var file = memoryFile("src/Foo.java", "class Foo {}", 1);
+    try (var workDir = acquireForCompletedAnalysis()) {
+      workDir.getLocalCopy(file, EFS.getStore(file.getResource().getLocationURI()));
+    }
+
+    var changedFile = memoryFile("src/Foo.java", "class Foo { int i; }", 2);
+    try (var workDir = acquireForCompletedAnalysis()) {
+      var copy = workDir.getLocalCopy(changedFile, EFS.getStore(changedFile.getResource().getLocationURI()));
+      assertThat(copy).hasContent("class Foo { int i; }");
+    }
+
+    assertThat(MemoryFileSystem.READS).hasValue(2);
+  }
+
+  @Test
+  public void concurrent_analyses_get_different_work_dirs() throws Exception {
+    try (var first = acquireForCompletedAnalysis(); var second = acquireForCompletedAnalysis()) {
+      assertThat(first.getPath()).isNotEqualTo(second.getPath());
+    }
+    assertThat(underTest.getIdleCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void idle_work_dirs_are_deleted_after_timeout() throws Exception {
+    Path path;
+    try (var workDir = acquireForCompletedAnalysis()) {
+      path = workDir.getPath();
+    }
+
+    underTest.time += Duration.ofMinutes(1).toMillis();
+    assertThat(underTest.cleanUpNow()).isEqualTo(Duration.ofMinutes(1).toMillis());
+    assertThat(path).isDirectory();
+
+    underTest.time += Duration.ofMinutes(1).toMillis();
+    assertThat(underTest.cleanUpNow()).isEqualTo(-1);
+    assertThat(path).doesNotExist();
+    assertThat(underTest.getIdleCount()).isZero();
+
+    try (var workDir = acquireForCompletedAnalysis()) {
+      assertThat(workDir.getPath()).isNotEqualTo(path).isDirectory();
+    }
+  }
+
+  @Test
+  public void work_dir_deleted_from_the_outside_is_created_again() throws Exception {
+    var file = memoryFile("src/Foo.java", "class Foo {}", 1);
+    Path path;
+    try (var workDir = acquireForCompletedAnalysis()) {
+      path = workDir.getPath();
+      workDir.getLocalCopy(file, EFS.getStore(file.getResource().getLocationURI()));
+    }
+    FileUtils.deleteRecursively(path);
+
+    try (var workDir = acquireForCompletedAnalysis()) {
+      assertThat(workDir.getPath()).isEqualTo(path).isDirectory();
+      assertThat(workDir.getLocalCopy(file, EFS.getStore(file.getResource().getLocationURI()))).hasContent("class Foo {}");
+    }
+    assertThat(MemoryFileSystem.READS).hasValue(2);
+  }
+
+  @Test
+  public void temporary_folder_is_empty_for_every_analysis_and_deleted_afterwards() throws Exception {
+    Path firstTemporaryFolder;
+    try (var workDir = acquireForCompletedAnalysis()) {
+      firstTemporaryFolder = workDir.getTemporaryFolder();
+      assertThat(firstTemporaryFolder).isEmptyDirectory();
+      Files.writeString(firstTemporaryFolder.resolve("build-wrapper-dump.json"), "{}");
+    }
+    assertThat(firstTemporaryFolder).doesNotExist();
+
+    try (var workDir = acquireForCompletedAnalysis()) {
+      assertThat(workDir.getTemporaryFolder()).isEmptyDirectory().isNotEqualTo(workDir.getPath());
+    }
+  }
+
+  @Test
+  public void left_over_work_dirs_are_deleted_on_first_use() throws Exception {
+    var projectWorkingDir = project.getWorkingDir();
+    var leftover = Files.createTempDirectory(projectWorkingDir, "sonarlint");
+    Files.writeString(leftover.resolve("Foo.java"), "class Foo {}");
+    var otherFolder = Files.createDirectories(projectWorkingDir.resolve("sonarlint"));
+
+    try (var workDir = acquireForCompletedAnalysis()) {
+      assertThat(leftover).doesNotExist();
+    }
+    assertThat(otherFolder).isDirectory();
+
+    // Only on first use, the work directories of the analyses of this session are kept
+    Path path;
+    try (var workDir = acquireForCompletedAnalysis()) {
+      path = workDir.getPath();
+      try (var concurrent = acquireForCompletedAnalysis()) {
+        assertThat(path).isDirectory();
+      }
+    }
+    assertThat(path).isDirectory();
+  }
+
+  @Test
+  public void work_dirs_are_deleted_when_stopped() throws Exception {
+    Path idle;
+    try (var workDir = acquireForCompletedAnalysis()) {
+      idle = workDir.getPath();
+    }
+    var inUse = acquireForCompletedAnalysis();
+
+    underTest.stop();
+
+    assertThat(idle).doesNotExist();
+    assertThat(underTest.getIdleCount()).isZero();
+    assertThat(inUse.getPath()).isDirectory();
+    inUse.close();
+    assertThat(inUse.getPath()).doesNotExist();
+    assertThat(underTest.getIdleCount()).isZero();
+  }
+
+  @Test
+  public void copies_of_deleted_files_are_removed_when_reused() throws Exception {
+    var deleted = memoryFile("src/Foo.java", "class Foo {}", 1);
+    var kept = memoryFile("src/Bar.java", "class Bar {}", 1);
+    Path deletedCopy;
+    Path keptCopy;
+    try (var workDir = acquireForCompletedAnalysis()) {
+      deletedCopy = workDir.getLocalCopy(deleted, EFS.getStore(deleted.getResource().getLocationURI()));
+      keptCopy = workDir.getLocalCopy(kept, EFS.getStore(kept.getResource().getLocationURI()));
+    }
+    when(project.exists("src/Foo.java")).thenReturn(false);
+
+    try (var workDir = acquireForCompletedAnalysis()) {
+      assertThat(deletedCopy).doesNotExist();
+      assertThat(workDir.getLocalCopy(kept, EFS.getStore(kept.getResource().getLocationURI()))).isEqualTo(keptCopy).hasContent("class Bar {}");
+    }
+    assertThat(MemoryFileSystem.READS).hasValue(2);
+
+    // Created again with the same name, it has to be copied again even with the same modification stamp
+    when(project.exists("src/Foo.java")).thenReturn(true);
+    try (var workDir = acquireForCompletedAnalysis()) {
+      assertThat(workDir.getLocalCopy(deleted, EFS.getStore(deleted.getResource().getLocationURI()))).hasContent("class Foo {}");
+    }
+    assertThat(MemoryFileSystem.READS).hasValue(3);
+  }
+
+  @Test
+  public void work_dir_of_cancelled_analysis_is_not_reused() throws Exception {
+    var file = memoryFile("src/Foo.java", "class Foo {}", 1);
+    Path path;
+    try (var workDir = underTest.acquire(project)) {
+      path = workDir.getPath();
+      workDir.getLocalCopy(file, EFS.getStore(file.getResource().getLocationURI()));
+      // Cancelled, the analysis was never marked as completed
+    }
+
+    assertThat(path).doesNotExist();
+    assertThat(underTest.getIdleCount()).isZero();
+    try (var workDir = acquireForCompletedAnalysis()) {
+      assertThat(workDir.getPath()).isNotEqualTo(path);
+    }
+    assertThat(underTest.getIdleCount()).isOne();
+  }
+
+  /** The analysis is marked as completed right away, so the work directory is given back to the pool when closed */
+  private AnalysisWorkDirPool.WorkDir acquireForCompletedAnalysis() throws IOException {
+    var workDir = underTest.acquire(project);
+    workDir.analysisCompleted();
+    return workDir;
+  }
+
+  private static ISonarLintFile memoryFile(String relativePath, String content, long modificationStamp) throws URISyntaxException {
+    MemoryFileSystem.CONTENTS.put("/" + relativePath, content.getBytes(StandardCharsets.UTF_8));
+    var resource = mock(IFile.class);
+    when(resource.getLocationURI()).thenReturn(new URI(MemoryFileSystem.SCHEME, null, "/" + relativePath, null));
+    when(resource.getModificationStamp()).thenReturn(modificationStamp);
+    var file = mock(ISonarLintFile.class);
+    when(file.getProjectRelativePath()).thenReturn(relativePath);
+    when(file.getResource()).thenReturn(resource);
+    return file;
+  }
+
+  private static class TestPool extends AnalysisWorkDirPool {
+    private long time;
+
+    private TestPool() {
+      super(Duration.ofMinutes(2));
+    }
+
+    @Override
+    protected long now() {
+      return time;
+    }
+
+    private long cleanUpNow() {
+      return cleanUp();
+    }
+  }
+
+  /** File system only kept in memory, registered in the plugin.xml, counting how often a file was read */
+  public static class MemoryFileSystem extends FileSystem {
+    static final String SCHEME = "sonarlint-test-memory";
+    static final Map<String, byte[]> CONTENTS = new ConcurrentHashMap<>();
+    static final AtomicInteger READS = new AtomicInteger();
+
+    @Override
+    public IFileStore getStore(URI uri) {
+      return new MemoryFileStore(uri.getPath());
+    }
+  }
+
+  private static class MemoryFileStore extends FileStore {
+    private final String path;
+
+    private MemoryFileStore(String path) {
+      this.path = path;
+    }
+
+    @Override
+    public String[] childNames(int options, @Nullable IProgressMonitor monitor) {
+      return EMPTY_STRING_ARRAY;
+    }
+
+    @Override
+    public IFileInfo fetchInfo(int options, @Nullable IProgressMonitor monitor) {
+      var info = new FileInfo(getName());
+      var content = MemoryFileSystem.CONTENTS.get(path);
+      info.setExists(content != null);
+      info.setLength(content != null ? content.length : 0);
+      return info;
+    }
+
+    @Override
+    public IFileStore getChild(String name) {
+      return new MemoryFileStore(path + "/" + name);
+    }
+
+    @Override
+    public String getName() {
+      return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    @Nullable
+    public IFileStore getParent() {
+      var index = path.lastIndexOf('/');
+      return index > 0 ? new MemoryFileStore(path.substring(0, index)) : null;
+    }
+
+    @Override
+    public InputStream openInputStream(int options, @Nullable IProgressMonitor monitor) throws CoreException {
+      var content = MemoryFileSystem.CONTENTS.get(path);
+      if (content == null) {
+        throw new CoreException(new Status(IStatus.ERROR, "org.sonarlint.eclipse.core.tests", "File not found: " + path));
+      }
+      MemoryFileSystem.READS.incrementAndGet();
+      return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public URI toURI() {
+      try {
+        return new URI(MemoryFileSystem.SCHEME, null, path, null);
+      } catch (URISyntaxException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
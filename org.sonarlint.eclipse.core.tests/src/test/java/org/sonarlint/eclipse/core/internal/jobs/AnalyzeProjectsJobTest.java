@@ -0,0 +1,141 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.jobs;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.assertj.core.groups.Tuple;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.preferences.ConfigurationScope;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.osgi.service.prefs.BackingStoreException;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.jobs.AnalyzeProjectRequest.FileWithDocument;
+import org.sonarlint.eclipse.core.internal.markers.MarkerUtils;
+import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfiguration;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintFileAdapter;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+import org.sonarlint.eclipse.tests.common.SonarTestCase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.sonarlint.eclipse.core.internal.jobs.AnalyzeStandaloneProjectJobTest.markerAttributes;
+
+public class AnalyzeProjectsJobTest extends SonarTestCase {
+
+  private static IProject jdtProject;
+  private static IProject simpleProject;
+
+  @BeforeClass
+  public static void importProjects() throws IOException, CoreException, InterruptedException {
+    jdtProject = importEclipseProject("SimpleJdtProject");
+    simpleProject = importEclipseProject("SimpleProject");
+
+    awaitProjectsReadyForAnalysis();
+  }
+
+  @Before
+  public void clean() throws BackingStoreException {
+    ConfigurationScope.INSTANCE.getNode(SonarLintCorePlugin.UI_PLUGIN_ID).clear();
+  }
+
+  @After
+  public void cleanup() throws BackingStoreException {
+    ConfigurationScope.INSTANCE.getNode(SonarLintCorePlugin.UI_PLUGIN_ID).clear();
+    SonarLintMarkerUpdater.deleteAllMarkersFromReport();
+  }
+
+  @Test
+  public void analyzing_projects_concurrently_should_report_the_same_issues_as_one_after_the_other() throws Exception {
+    var filesPerProject = new LinkedHashMap<ISonarLintProject, Collection<FileWithDocument>>();
+    addFiles(filesPerProject, jdtProject, "src/main/java/com/sonarsource/NpeWithFlow.java", "src/main/java/com/sonarsource/NpeWithFlow2.java");
+    addFiles(filesPerProject, simpleProject, "src/main/java/ViolationOnFile.java");
+
+    setAnalysisParallelism(1);
+    runAnalysis(filesPerProject);
+    awaitAssertions(() -> {
+      assertThat(reportMarkers(jdtProject, "src/main/java/com/sonarsource/NpeWithFlow.java")).hasSize(6);
+      assertThat(reportMarkers(jdtProject, "src/main/java/com/sonarsource/NpeWithFlow2.java")).hasSize(6);
+      assertThat(reportMarkers(simpleProject, "src/main/java/ViolationOnFile.java")).isNotEmpty();
+    });
+    var issuesAnalyzedOneAfterTheOther = reportedIssues();
+
+    setAnalysisParallelism(2);
+    runAnalysis(filesPerProject);
+    awaitAssertions(() -> assertThat(reportedIssues()).containsExactlyInAnyOrderElementsOf(issuesAnalyzedOneAfterTheOther));
+  }
+
+  private static void addFiles(Map<ISonarLintProject, Collection<FileWithDocument>> filesPerProject, IProject project, String... paths) {
+    var slProject = new DefaultSonarLintProjectAdapter(project);
+    var files = new ArrayList<FileWithDocument>();
+    for (var path : paths) {
+      var file = (IFile) project.findMember(path);
+      files.add(new FileWithDocument(new DefaultSonarLintFileAdapter(slProject, file), null));
+    }
+    filesPerProject.put(slProject, files);
+  }
+
+  private static void setAnalysisParallelism(int parallelism) {
+    ConfigurationScope.INSTANCE.getNode(SonarLintCorePlugin.UI_PLUGIN_ID).putInt(SonarLintGlobalConfiguration.PREF_ANALYSIS_PARALLELISM, parallelism);
+    assertThat(SonarLintGlobalConfiguration.getAnalysisParallelism()).isEqualTo(parallelism);
+  }
+
+  private static void runAnalysis(Map<ISonarLintProject, Collection<FileWithDocument>> filesPerProject) throws InterruptedException {
+    var underTest = new AnalyzeProjectsJob(filesPerProject);
+    underTest.schedule();
+    assertThat(underTest.join(100_000, new NullProgressMonitor())).isTrue();
+    assertThat(underTest.getResult().isOK()).isTrue();
+  }
+
+  private static List<IMarker> reportMarkers(IProject project, String path) {
+    try {
+      return List.of(project.findMember(path).findMarkers(SonarLintCorePlugin.MARKER_REPORT_ID, true, IResource.DEPTH_ZERO));
+    } catch (CoreException ignored) {
+      throw new RuntimeException("Dummy exception to circumvent CoreException");
+    }
+  }
+
+  private static List<Tuple> reportedIssues() {
+    var issues = new ArrayList<Tuple>();
+    for (var project : List.of(jdtProject, simpleProject)) {
+      try {
+        for (var marker : project.findMarkers(SonarLintCorePlugin.MARKER_REPORT_ID, true, IResource.DEPTH_INFINITE)) {
+          issues.add(markerAttributes(IMarker.LINE_NUMBER, IMarker.MESSAGE, MarkerUtils.SONAR_MARKER_RULE_KEY_ATTR).apply(marker));
+        }
+      } catch (CoreException ignored) {
+        throw new RuntimeException("Dummy exception to circumvent CoreException");
+      }
+    }
+    return issues;
+  }
+
+}
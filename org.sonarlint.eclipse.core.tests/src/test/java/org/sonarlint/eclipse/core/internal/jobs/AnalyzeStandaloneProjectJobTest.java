@@ -19,13 +19,13 @@
  */
 package org.sonarlint.eclipse.core.internal.jobs;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -145,24 +145,7 @@ public class AnalyzeStandaloneProjectJobTest extends SonarTestCase {
 
     project = importEclipseProject("SimpleJdtProject");
 
-    // After importing projects we have to await them being readied by SLCORE:
-    // -> first they are not yet ready when imported
-    var allProjectsReady = new CountDownLatch(1);
-    Executors.newSingleThreadExecutor().submit(() -> {
-      while (true) {
-        var map = new HashMap<String, Boolean>(AnalysisReadyStatusCache.getCache());
-        if (!map.isEmpty() && map.values().stream().allMatch(Boolean::booleanValue)) {
-          allProjectsReady.countDown();
-          break;
-        }
-        try {
-          Thread.sleep(200);
-        } catch (InterruptedException e) {
-          Thread.currentThread().interrupt();
-        }
-      }
-    });
-    assertThat(allProjectsReady.await(5, TimeUnit.SECONDS)).isTrue();
+    awaitProjectsReadyForAnalysis();
   }
 
   @AfterClass
@@ -311,6 +294,54 @@ public class AnalyzeStandaloneProjectJobTest extends SonarTestCase {
 
   }
 
+  @Test
+  public void analyze_after_build_should_skip_unchanged_files_unless_markers_were_deleted() throws Exception {
+    var slProject = new DefaultSonarLintProjectAdapter(project);
+    var fileToAnalyze = prepareFile1(project, slProject);
+    var resource = fileToAnalyze.getFile().getResource();
+    AnalysisFingerprintCache.INSTANCE.invalidate();
+
+    // First analysis after a build: the file was never analyzed before
+    markerUpdateListener.prepareOneAnalysis();
+    runAnalysis(slProject, fileToAnalyze, TriggerType.POST_BUILD);
+    assertThat(markerUpdateListener.waitForMarkers()).isTrue();
+    awaitAssertions(() -> assertThat(onTheFlyMarkers(resource)).hasSize(6));
+
+    // Second analysis after a build: the file did not change and its markers are still up-to-date
+    markerUpdateListener.prepareOneAnalysis();
+    runAnalysis(slProject, fileToAnalyze, TriggerType.POST_BUILD);
+    assertThat(markerUpdateListener.markersUpdatedLatch.await(5, TimeUnit.SECONDS)).isFalse();
+    assertThat(onTheFlyMarkers(resource)).hasSize(6);
+
+    // Triggers fetching the server issues are never skipped
+    markerUpdateListener.prepareOneAnalysis();
+    runAnalysis(slProject, fileToAnalyze, TriggerType.EDITOR_OPEN);
+    assertThat(markerUpdateListener.waitForMarkers()).isTrue();
+
+    // Markers deleted by the user (e.g. from the Problems view) have to come back with the next analysis
+    resource.deleteMarkers(SonarLintCorePlugin.MARKER_ON_THE_FLY_ID, false, IResource.DEPTH_ZERO);
+    markerUpdateListener.prepareOneAnalysis();
+    runAnalysis(slProject, fileToAnalyze, TriggerType.POST_BUILD);
+    assertThat(markerUpdateListener.waitForMarkers()).isTrue();
+    awaitAssertions(() -> assertThat(onTheFlyMarkers(resource)).hasSize(6));
+  }
+
+  private static void runAnalysis(DefaultSonarLintProjectAdapter slProject, FileWithDocument fileToAnalyze, TriggerType triggerType)
+    throws InterruptedException {
+    var underTest = new AnalyzeProjectJob(new AnalyzeProjectRequest(slProject, List.of(fileToAnalyze), triggerType, false));
+    underTest.schedule();
+    assertThat(underTest.join(100_000, new NullProgressMonitor())).isTrue();
+    assertThat(underTest.getResult().isOK()).isTrue();
+  }
+
+  private static List<IMarker> onTheFlyMarkers(IResource resource) {
+    try {
+      return List.of(resource.findMarkers(SonarLintCorePlugin.MARKER_ON_THE_FLY_ID, false, IResource.DEPTH_ZERO));
+    } catch (CoreException ignored) {
+      throw new RuntimeException("Dummy exception to circumvent CoreException");
+    }
+  }
+
   @Test
   public void analyzeWithQuickFixesWhenFileIsClosed() throws Exception {
     var file = (IFile) project.findMember("src/main/java/com/quickfix/FileWithQuickFixes.java");
@@ -346,11 +377,69 @@ public class AnalyzeStandaloneProjectJobTest extends SonarTestCase {
     assertThat(markerQuickFix.getTextEdits()).hasSize(1);
     var markerTextEdit = markerQuickFix.getTextEdits().get(0);
     assertThat(markerTextEdit.getNewText()).isEqualTo("<>");
+    // Checking the quick fix when computing the resolutions of the issue doesn't create the marker
+    assertThat(markerQuickFix.isValid()).isTrue();
+    assertThat(markerTextEdit.getMarker()).isNull();
+    assertThat(markerQuickFix.materializeMarkers()).isTrue();
     assertThat(markerTextEdit.getMarker()).extracting(markerAttributes(IMarker.LINE_NUMBER, IMarker.MESSAGE, IMarker.CHAR_START, IMarker.CHAR_END))
       .isEqualTo(tuple("/SimpleJdtProject/src/main/java/com/quickfix/FileWithQuickFixes.java", 8, null, 158, 166));
 
   }
 
+  @Test
+  public void applyQuickFixAfterEditAboveTheIssue() throws Exception {
+    var file = (IFile) project.findMember("src/main/java/com/quickfix/FileWithQuickFixes.java");
+    var slProject = new DefaultSonarLintProjectAdapter(project);
+    var fileToAnalyze = new FileWithDocument(new DefaultSonarLintFileAdapter(slProject, file), null);
+
+    markerUpdateListener.prepareOneAnalysis();
+    var underTest = new AnalyzeProjectJob(
+      new AnalyzeProjectRequest(slProject, List.of(fileToAnalyze), TriggerType.EDITOR_CHANGE, false));
+    underTest.schedule();
+    assertThat(underTest.join(20_000, new NullProgressMonitor())).isTrue();
+    assertThat(underTest.getResult().isOK()).isTrue();
+    assertThat(markerUpdateListener.waitForMarkers()).isTrue();
+
+    awaitAssertions(() -> assertThat(onTheFlyMarkers(file)).extracting(markerAttributes(MarkerUtils.SONAR_MARKER_RULE_KEY_ATTR))
+      .contains(tuple("/SimpleJdtProject/src/main/java/com/quickfix/FileWithQuickFixes.java", "java:S2293")));
+    var markerWithQuickFix = onTheFlyMarkers(file).stream().filter(m -> m.getAttribute(MarkerUtils.SONAR_MARKER_RULE_KEY_ATTR, "").equals("java:S2293")).findFirst().get();
+    var issueStartOffset = markerWithQuickFix.getAttribute(IMarker.CHAR_START, -1);
+    var markerQuickFix = MarkerUtils.getIssueQuickFixes(markerWithQuickFix).getQuickFixes().get(0);
+
+    var originalContent = new String(file.getContents().readAllBytes(), StandardCharsets.UTF_8);
+    var addedLine = "// Added after the analysis\n";
+    try {
+      var editedContent = addedLine + originalContent;
+      file.setContents(new ByteArrayInputStream(editedContent.getBytes(StandardCharsets.UTF_8)), true, false, MONITOR);
+
+      // The text edit is not found at its location from analysis time anymore
+      assertThat(markerQuickFix.materializeMarkers()).isFalse();
+      // It is found again when moved along with the issue, as the editor tracks the position of the issue marker
+      assertThat(markerQuickFix.materializeMarkers(issueStartOffset + addedLine.length())).isTrue();
+      var markerTextEdit = markerQuickFix.getTextEdits().get(0);
+      assertThat(markerTextEdit.getMarker()).extracting(markerAttributes(IMarker.LINE_NUMBER, IMarker.CHAR_START, IMarker.CHAR_END))
+        .isEqualTo(tuple("/SimpleJdtProject/src/main/java/com/quickfix/FileWithQuickFixes.java", 9, 158 + addedLine.length(), 166 + addedLine.length()));
+
+      var editMarker = markerTextEdit.getMarker();
+      var start = editMarker.getAttribute(IMarker.CHAR_START, -1);
+      var end = editMarker.getAttribute(IMarker.CHAR_END, -1);
+      var fixedContent = new StringBuilder(editedContent).replace(start, end, markerTextEdit.getNewText()).toString();
+      assertThat(fixedContent).contains("    List<String> list = new ArrayList<>();");
+    } finally {
+      markerQuickFix.getTextEdits().forEach(textEdit -> {
+        var editMarker = textEdit.getMarker();
+        if (editMarker != null) {
+          try {
+            editMarker.delete();
+          } catch (CoreException ignored) {
+            // Deleted with the markers of the issue anyway
+          }
+        }
+      });
+      file.setContents(new ByteArrayInputStream(originalContent.getBytes(StandardCharsets.UTF_8)), true, false, MONITOR);
+    }
+  }
+
   private void verifyMarkers(FileWithDocument file1ToAnalyze, FileWithDocument file2ToAnalyze, String markerType) throws CoreException {
     var markers1 = List.of(file1ToAnalyze.getFile().getResource().findMarkers(markerType, true, IResource.DEPTH_ONE));
     assertThat(markers1).extracting(markerAttributes(IMarker.LINE_NUMBER, IMarker.MESSAGE)).hasSize(6);
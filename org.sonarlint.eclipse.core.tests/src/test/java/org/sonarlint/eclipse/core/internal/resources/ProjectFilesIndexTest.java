@@ -0,0 +1,160 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.resources;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintFileAdapterParticipant;
+import org.sonarlint.eclipse.tests.common.SonarTestCase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProjectFilesIndexTest extends SonarTestCase {
+  private IProject project;
+  private DefaultSonarLintProjectAdapter slProject;
+
+  @Before
+  public void importProject() throws Exception {
+    project = importEclipseProject("SimpleNonJdtProject");
+    slProject = new DefaultSonarLintProjectAdapter(project);
+  }
+
+  @After
+  public void deleteProject() throws CoreException {
+    DuringVisitFileAdapterParticipant.duringVisit = null;
+    ProjectFilesIndex.INSTANCE.invalidate(project);
+    project.delete(IResource.ALWAYS_DELETE_PROJECT_CONTENT | IResource.FORCE, MONITOR);
+  }
+
+  @Test
+  public void list_files_of_project() {
+    assertThat(paths(slProject.files())).containsOnly(
+      "src/main/sample.js",
+      "src/main/Program.cbl",
+      "src/main/ClassOnDefaultPackage.java");
+  }
+
+  @Test
+  public void reuse_snapshot_until_files_change() throws CoreException {
+    var files = slProject.files();
+    assertThat(slProject.files()).isSameAs(files);
+
+    project.getFile("src/main/sample.js").setContents(stream("var a = 1;"), IResource.FORCE, MONITOR);
+    assertThat(slProject.files()).isSameAs(files);
+
+    project.getFile("src/main/Added.java").create(stream("class Added {}"), true, MONITOR);
+    assertThat(slProject.files()).isNotSameAs(files);
+  }
+
+  @Test
+  public void update_index_from_resource_deltas() throws CoreException {
+    slProject.files();
+
+    var folder = project.getFolder("src/other");
+    folder.create(true, true, MONITOR);
+    folder.getFile("Added.java").create(stream("class Added {}"), true, MONITOR);
+    project.getFolder(".hidden").create(true, true, MONITOR);
+    project.getFolder(".hidden").getFile("Hidden.java").create(stream("class Hidden {}"), true, MONITOR);
+    project.getFile("src/main/sample.js").delete(true, MONITOR);
+
+    assertThat(paths(slProject.files())).containsOnly(
+      "src/main/Program.cbl",
+      "src/main/ClassOnDefaultPackage.java",
+      "src/other/Added.java");
+
+    project.getFolder("src/main").delete(true, MONITOR);
+
+    assertThat(paths(slProject.files())).containsOnly("src/other/Added.java");
+  }
+
+  @Test
+  public void rebuild_index_after_project_is_reopened() throws CoreException {
+    slProject.files();
+
+    project.close(MONITOR);
+    project.open(MONITOR);
+
+    assertThat(paths(slProject.files())).containsOnly(
+      "src/main/sample.js",
+      "src/main/Program.cbl",
+      "src/main/ClassOnDefaultPackage.java");
+  }
+
+  @Test
+  public void keep_index_when_markers_change_during_the_full_visit() throws CoreException {
+    var markerCreated = new AtomicBoolean();
+    DuringVisitFileAdapterParticipant.duringVisit = file -> {
+      if (markerCreated.compareAndSet(false, true)) {
+        file.createMarker(IMarker.PROBLEM);
+      }
+    };
+
+    var files = slProject.files();
+    DuringVisitFileAdapterParticipant.duringVisit = null;
+
+    assertThat(markerCreated).isTrue();
+    assertThat(slProject.files()).isSameAs(files);
+  }
+
+  private static Collection<String> paths(Collection<ISonarLintFile> files) {
+    return files.stream().map(ISonarLintFile::getProjectRelativePath).collect(Collectors.toList());
+  }
+
+  private static ByteArrayInputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @FunctionalInterface
+  interface FileCallback {
+    void accept(IFile file) throws CoreException;
+  }
+
+  /** Called for every file adapted during the full visit of a project, to change the workspace in the meantime */
+  public static class DuringVisitFileAdapterParticipant implements ISonarLintFileAdapterParticipant {
+    @Nullable
+    static volatile FileCallback duringVisit;
+
+    @Override
+    public boolean exclude(IFile file) {
+      var callback = duringVisit;
+      if (callback != null) {
+        try {
+          callback.accept(file);
+        } catch (CoreException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+      return false;
+    }
+  }
+}
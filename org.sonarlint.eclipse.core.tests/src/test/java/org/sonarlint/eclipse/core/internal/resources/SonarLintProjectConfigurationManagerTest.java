@@ -24,15 +24,21 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.core.resources.ProjectScope;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.preferences.IScopeContext;
 import org.eclipse.jdt.annotation.Nullable;
 import org.junit.Before;
 import org.junit.Test;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.LogListener;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration.EclipseProjectBinding;
+import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfigurationManager;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 import org.sonarlint.eclipse.tests.common.SonarTestCase;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -97,4 +103,44 @@ public class SonarLintProjectConfigurationManagerTest extends SonarTestCase {
     SonarLintCorePlugin.getInstance().getProjectConfigManager().save(projectScope, configuration);
     assertThat(projectScope.getLocation().append("org.sonarlint.eclipse.core.prefs").toFile()).exists();
   }
+
+  @Test
+  public void configuration_is_cached_until_preferences_change() throws IOException, CoreException {
+    var project = importEclipseProject("SimpleNonJdtProject");
+    var slProject = SonarLintUtils.adapt(project, ISonarLintProject.class, "Get SonarLint project for test");
+    var preferenceReads = new AtomicInteger();
+    var manager = new SonarLintProjectConfigurationManager() {
+      @Override
+      public SonarLintProjectConfiguration load(IScopeContext projectScope) {
+        preferenceReads.incrementAndGet();
+        return super.load(projectScope);
+      }
+    };
+
+    manager.load(slProject);
+    manager.load(slProject);
+    assertThat(preferenceReads).hasValue(1);
+
+    // Every caller gets its own copy, changing it does not alter the cached configuration
+    var configuration = manager.load(slProject);
+    configuration.setAutoEnabled(false);
+    configuration.getExtraProperties().add(new SonarLintProperty("sonar.foo", "bar"));
+    var otherConfiguration = manager.load(slProject);
+    assertThat(otherConfiguration.isAutoEnabled()).isTrue();
+    assertThat(otherConfiguration.getExtraProperties()).isEmpty();
+    assertThat(preferenceReads).hasValue(1);
+
+    manager.save(slProject, configuration);
+    var savedConfiguration = manager.load(slProject);
+    assertThat(savedConfiguration.isAutoEnabled()).isFalse();
+    assertThat(savedConfiguration.getExtraProperties()).containsExactly(new SonarLintProperty("sonar.foo", "bar"));
+    assertThat(preferenceReads).hasValue(2);
+    manager.load(slProject);
+    assertThat(preferenceReads).hasValue(2);
+
+    // Changes not made through the manager are also taken into account
+    new ProjectScope(project).getNode(SonarLintCorePlugin.PLUGIN_ID).putBoolean("autoEnabled", true);
+    assertThat(manager.load(slProject).isAutoEnabled()).isTrue();
+    assertThat(preferenceReads).hasValue(3);
+  }
 }
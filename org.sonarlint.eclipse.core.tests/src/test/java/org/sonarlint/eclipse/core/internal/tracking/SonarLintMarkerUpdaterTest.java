@@ -24,10 +24,16 @@ import java.io.StringWriter;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.annotation.Nullable;
@@ -40,6 +46,7 @@ import org.sonarlint.eclipse.core.internal.LogListener;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.TriggerType;
 import org.sonarlint.eclipse.core.internal.jobs.SonarLintMarkerUpdater;
+import org.sonarlint.eclipse.core.internal.markers.DeferredMarker;
 import org.sonarlint.eclipse.core.internal.markers.MarkerUtils;
 import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintFileAdapter;
 import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
@@ -272,4 +279,95 @@ public class SonarLintMarkerUpdaterTest extends SonarTestCase {
     assertThat(markers[0].getAttribute(MarkerUtils.SONAR_MARKER_CREATION_DATE_ATTR))
       .isEqualTo(Long.toString(introduction.toEpochMilli()));
   }
+
+  @Test
+  public void test_update_of_multiple_markers_triggers_single_resource_change_event() throws Exception {
+    var kept = newIssueWithMessage(newMockRaisedIssueDto(), "Kept");
+    var changed = newIssueWithMessage(newMockRaisedIssueDto(), "Before");
+    var removed = newIssueWithMessage(newMockRaisedIssueDto(), "Removed");
+    assertThat(processRaisedIssueDto(kept, changed, removed)).hasSize(3);
+
+    var events = new AtomicInteger();
+    var deltaKinds = ConcurrentHashMap.<Integer>newKeySet();
+    IResourceChangeListener listener = event -> {
+      var deltas = event.findMarkerDeltas(SonarLintCorePlugin.MARKER_ON_THE_FLY_ID, false);
+      if (deltas.length > 0) {
+        events.incrementAndGet();
+        for (var delta : deltas) {
+          deltaKinds.add(delta.getKind());
+        }
+      }
+    };
+    workspace.addResourceChangeListener(listener, IResourceChangeEvent.POST_CHANGE);
+    try {
+      when(changed.getPrimaryMessage()).thenReturn("After");
+      var added = newIssueWithMessage(newMockRaisedIssueDto(), "Added");
+
+      var markers = processRaisedIssueDto(kept, changed, added);
+
+      assertThat(markers).extracting(m -> m.getAttribute(IMarker.MESSAGE, "")).containsExactlyInAnyOrder("Kept", "After", "Added");
+      // Markers added, changed and removed, all notified in a single resource change event
+      assertThat(events).hasValue(1);
+      assertThat(deltaKinds).containsExactlyInAnyOrder(IResourceDelta.ADDED, IResourceDelta.CHANGED, IResourceDelta.REMOVED);
+    } finally {
+      workspace.removeResourceChangeListener(listener);
+    }
+  }
+
+  @Test
+  public void test_update_preserves_marker_and_attributes() throws Exception {
+    var issue = newIssueWithMessage(newMockRaisedIssueDto(), "Before");
+    when(issue.getRuleDescriptionContextKey()).thenReturn("struts");
+    var markers = processRaisedIssueDto(issue);
+    assertThat(markers).hasSize(1);
+    var marker = markers[0];
+    var creationDate = marker.getAttribute(MarkerUtils.SONAR_MARKER_CREATION_DATE_ATTR);
+    // Set by someone else than the analysis, e.g. a plug-in contributing to the markers
+    marker.setAttribute("externalAttribute", "external");
+
+    when(issue.getPrimaryMessage()).thenReturn("After");
+    var updatedMarkers = processRaisedIssueDto(issue);
+
+    assertThat(updatedMarkers).containsExactly(marker);
+    assertThat(marker.getAttribute(IMarker.MESSAGE)).isEqualTo("After");
+    assertThat(marker.getAttribute(MarkerUtils.SONAR_MARKER_RULE_DESC_CONTEXT_KEY_ATTR)).isEqualTo("struts");
+    assertThat(marker.getAttribute(MarkerUtils.SONAR_MARKER_CREATION_DATE_ATTR)).isEqualTo(creationDate);
+    assertThat(marker.getAttribute(MarkerUtils.SONAR_MARKER_TRACKED_ISSUE_ID_ATTR)).isEqualTo(issue.getId().toString());
+    assertThat(marker.getAttribute("externalAttribute")).isEqualTo("external");
+  }
+
+  private static RaisedIssueDto newIssueWithMessage(RaisedIssueDto issue, String message) {
+    when(issue.getSeverityMode()).thenReturn(Either.forLeft(new StandardModeDetails(IssueSeverity.MAJOR, RuleType.CODE_SMELL)));
+    when(issue.getPrimaryMessage()).thenReturn(message);
+    return issue;
+  }
+
+  @Test
+  public void test_deferred_marker_only_created_on_demand() throws Exception {
+    var file = project.getFile("src/Findbugs.java");
+    var deferredMarker = new DeferredMarker(file, SonarLintCorePlugin.MARKER_ON_THE_FLY_FLOW_ID,
+      Map.of(IMarker.LINE_NUMBER, 5, IMarker.CHAR_START, 78, IMarker.CHAR_END, 88), null);
+    assertThat(deferredMarker.getMarker()).isNull();
+    assertThat(deferredMarker.isValid()).isTrue();
+    assertThat(file.findMarkers(SonarLintCorePlugin.MARKER_ON_THE_FLY_FLOW_ID, false, IResource.DEPTH_ZERO)).isEmpty();
+
+    var marker = deferredMarker.materialize();
+    assertThat(marker).isNotNull();
+    assertThat(deferredMarker.materialize()).isEqualTo(marker);
+    assertThat(file.findMarkers(SonarLintCorePlugin.MARKER_ON_THE_FLY_FLOW_ID, false, IResource.DEPTH_ZERO)).containsExactly(marker);
+
+    deferredMarker.delete();
+    assertThat(marker.exists()).isFalse();
+    assertThat(deferredMarker.getMarker()).isNull();
+  }
+
+  @Test
+  public void test_deferred_marker_not_created_when_code_changed() throws Exception {
+    var file = project.getFile("src/Findbugs.java");
+    var deferredMarker = new DeferredMarker(file, SonarLintCorePlugin.MARKER_ON_THE_FLY_FLOW_ID,
+      Map.of(IMarker.LINE_NUMBER, 5, IMarker.CHAR_START, 78, IMarker.CHAR_END, 88), "not the code");
+
+    assertThat(deferredMarker.materialize()).isNull();
+    assertThat(file.findMarkers(SonarLintCorePlugin.MARKER_ON_THE_FLY_FLOW_ID, false, IResource.DEPTH_ZERO)).isEmpty();
+  }
 }
@@ -0,0 +1,66 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.utils;
+
+import java.util.List;
+import org.eclipse.core.runtime.Path;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathPrefixTrieTest {
+
+  @Test
+  public void testMatches() {
+    var trie = new PathPrefixTrie(List.of(new Path("/project/target"), new Path("/project/src/generated/")));
+
+    assertThat(trie.matches(new Path("/project/target"))).isTrue();
+    assertThat(trie.matches(new Path("/project/target/classes/Foo.class"))).isTrue();
+    assertThat(trie.matches(new Path("/project/src/generated/Foo.java"))).isTrue();
+    assertThat(trie.matches(new Path("/project/src/main/Foo.java"))).isFalse();
+    assertThat(trie.matches(new Path("/project/src"))).isFalse();
+    assertThat(trie.matches(new Path("/project"))).isFalse();
+    assertThat(trie.matches(new Path("/other/target/Foo.class"))).isFalse();
+  }
+
+  @Test
+  public void testMatchesWholeSegmentsOnly() {
+    var trie = new PathPrefixTrie(List.of(new Path("/project/target")));
+
+    assertThat(trie.matches(new Path("/project/target2/Foo.class"))).isFalse();
+    assertThat(trie.matches(new Path("/project/targe"))).isFalse();
+  }
+
+  @Test
+  public void testEmpty() {
+    assertThat(PathPrefixTrie.EMPTY.isEmpty()).isTrue();
+    assertThat(PathPrefixTrie.EMPTY.matches(new Path("/project/Foo.java"))).isFalse();
+    assertThat(new PathPrefixTrie(List.of())).isEqualTo(PathPrefixTrie.EMPTY);
+  }
+
+  @Test
+  public void testEquality() {
+    var trie = new PathPrefixTrie(List.of(new Path("/a"), new Path("/b")));
+
+    assertThat(trie).isEqualTo(new PathPrefixTrie(List.of(new Path("/b"), new Path("/a"))))
+      .hasSameHashCodeAs(new PathPrefixTrie(List.of(new Path("/b"), new Path("/a"))))
+      .isNotEqualTo(new PathPrefixTrie(List.of(new Path("/a"))));
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.vcs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.api.Git;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.api.errors.GitAPIException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GitChangedFilesTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private Path workTree;
+  private Git git;
+
+  @Before
+  public void initRepository() throws Exception {
+    workTree = temp.newFolder().toPath();
+    git = Git.init().setDirectory(workTree.toFile()).setInitialBranch("main").call();
+  }
+
+  @After
+  public void closeRepository() {
+    git.close();
+  }
+
+  @Test
+  public void changes_compared_to_head() throws Exception {
+    write("Committed.java", "class Committed {}");
+    write("Modified.java", "class Modified {}");
+    commitAll("Initial commit");
+
+    write("Modified.java", "class Modified { int i; }");
+    write("Added.java", "class Added {}");
+    git.add().addFilepattern("Added.java").call();
+    write("Untracked.java", "class Untracked {}");
+
+    assertThat(GitChangedFiles.collect(git.getRepository(), "", null))
+      .containsExactlyInAnyOrder("Modified.java", "Added.java", "Untracked.java");
+  }
+
+  @Test
+  public void changes_compared_to_merge_base_with_target_branch() throws Exception {
+    write("Base.java", "class Base {}");
+    commitAll("Initial commit");
+    git.checkout().setCreateBranch(true).setName("feature").call();
+    write("Feature.java", "class Feature {}");
+    commitAll("Feature commit");
+    git.checkout().setName("main").call();
+    write("Main.java", "class Main {}");
+    commitAll("Main commit");
+    git.checkout().setName("feature").call();
+    write("Untracked.java", "class Untracked {}");
+
+    // Only the changes of the branch since it was created, not the ones done on the target branch in the meantime
+    assertThat(GitChangedFiles.collect(git.getRepository(), "", "main"))
+      .containsExactlyInAnyOrder("Feature.java", "Untracked.java");
+    assertThat(GitChangedFiles.collect(git.getRepository(), "", null))
+      .containsExactly("Untracked.java");
+  }
+
+  @Test
+  public void unknown_target_branch_falls_back_to_head() throws Exception {
+    write("Committed.java", "class Committed {}");
+    commitAll("Initial commit");
+    write("Untracked.java", "class Untracked {}");
+
+    assertThat(GitChangedFiles.collect(git.getRepository(), "", "unknown"))
+      .containsExactly("Untracked.java");
+  }
+
+  @Test
+  public void all_files_are_changed_when_head_is_unborn() throws Exception {
+    write("Added.java", "class Added {}");
+    git.add().addFilepattern("Added.java").call();
+    write("Untracked.java", "class Untracked {}");
+
+    assertThat(GitChangedFiles.collect(git.getRepository(), "", null))
+      .containsExactlyInAnyOrder("Added.java", "Untracked.java");
+    assertThat(GitChangedFiles.collect(git.getRepository(), "", "main"))
+      .containsExactlyInAnyOrder("Added.java", "Untracked.java");
+  }
+
+  @Test
+  public void only_changes_below_path_prefix() throws Exception {
+    write("module/src/Modified.java", "class Modified {}");
+    write("other/src/Modified.java", "class Modified {}");
+    commitAll("Initial commit");
+
+    write("module/src/Modified.java", "class Modified { int i; }");
+    write("module/src/Untracked.java", "class Untracked {}");
+    write("other/src/Modified.java", "class Modified { int i; }");
+    write("moduleSibling/Untracked.java", "class Untracked {}");
+
+    assertThat(GitChangedFiles.collect(git.getRepository(), "module", null))
+      .containsExactlyInAnyOrder("module/src/Modified.java", "module/src/Untracked.java");
+  }
+
+  private void write(String relativePath, String content) throws IOException {
+    var file = workTree.resolve(relativePath);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, content);
+  }
+
+  private void commitAll(String message) throws GitAPIException {
+    git.add().addFilepattern(".").call();
+    git.commit().setMessage(message).setAuthor("SonarLint", "sonarlint@sonarsource.com")
+      .setCommitter("SonarLint", "sonarlint@sonarsource.com").setSign(false).call();
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.vcs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.api.Git;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.lib.Constants;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.lib.Repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GitIgnoreMatcherTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private Path workTree;
+  private Repository repository;
+
+  @Before
+  public void initRepository() throws Exception {
+    workTree = temp.newFolder().toPath();
+    repository = Git.init().setDirectory(workTree.toFile()).call().getRepository();
+  }
+
+  @After
+  public void closeRepository() {
+    repository.close();
+  }
+
+  @Test
+  public void pattern_without_slash_matches_at_any_level() throws IOException {
+    write(".gitignore", "*.log\n");
+
+    var underTest = GitIgnoreMatcher.load(repository);
+
+    assertThat(underTest.isIgnored("app.log", false)).isTrue();
+    assertThat(underTest.isIgnored("src/main/app.log", false)).isTrue();
+    assertThat(underTest.isIgnored("src/main/App.java", false)).isFalse();
+  }
+
+  @Test
+  public void negated_pattern_includes_file_again() throws IOException {
+    write(".gitignore", "*.log\n!keep.log\n");
+
+    var underTest = GitIgnoreMatcher.load(repository);
+
+    assertThat(underTest.isIgnored("app.log", false)).isTrue();
+    assertThat(underTest.isIgnored("keep.log", false)).isFalse();
+    assertThat(underTest.isIgnored("src/keep.log", false)).isFalse();
+  }
+
+  @Test
+  public void negated_pattern_cannot_include_file_of_ignored_directory() throws IOException {
+    write(".gitignore", "logs/\n!logs/keep.log\n");
+
+    var underTest = GitIgnoreMatcher.load(repository);
+
+    assertThat(underTest.isIgnored("logs/keep.log", false)).isTrue();
+  }
+
+  @Test
+  public void directory_pattern_only_matches_directories() throws IOException {
+    write(".gitignore", "build/\n");
+
+    var underTest = GitIgnoreMatcher.load(repository);
+
+    assertThat(underTest.isIgnored("build", true)).isTrue();
+    assertThat(underTest.isIgnored("build", false)).isFalse();
+    assertThat(underTest.isIgnored("build/classes/App.class", false)).isTrue();
+    assertThat(underTest.isIgnored("module/build/App.class", false)).isTrue();
+    assertThat(underTest.isIgnored("builder/App.java", false)).isFalse();
+  }
+
+  @Test
+  public void anchored_pattern_only_matches_relative_to_its_gitignore() throws IOException {
+    write(".gitignore", "/root.txt\ndoc/*.txt\n");
+    write("module/.gitignore", "/generated\n");
+
+    var underTest = GitIgnoreMatcher.load(repository);
+
+    assertThat(underTest.isIgnored("root.txt", false)).isTrue();
+    assertThat(underTest.isIgnored("src/root.txt", false)).isFalse();
+    assertThat(underTest.isIgnored("doc/readme.txt", false)).isTrue();
+    assertThat(underTest.isIgnored("src/doc/readme.txt", false)).isFalse();
+    assertThat(underTest.isIgnored("module/generated/Foo.java", false)).isTrue();
+    assertThat(underTest.isIgnored("generated/Foo.java", false)).isFalse();
+    assertThat(underTest.isIgnored("module/src/generated/Foo.java", false)).isFalse();
+  }
+
+  @Test
+  public void deepest_gitignore_wins_and_info_exclude_comes_last() throws IOException {
+    write(".gitignore", "*.log\n!keep.tmp\n");
+    write("module/.gitignore", "!important.log\n");
+    write(Constants.DOT_GIT + "/" + Constants.INFO_EXCLUDE, "*.tmp\n");
+
+    var underTest = GitIgnoreMatcher.load(repository);
+
+    assertThat(underTest.isIgnored("module/important.log", false)).isFalse();
+    assertThat(underTest.isIgnored("important.log", false)).isTrue();
+    assertThat(underTest.isIgnored("cache.tmp", false)).isTrue();
+    assertThat(underTest.isIgnored("keep.tmp", false)).isFalse();
+  }
+
+  private void write(String relativePath, String content) throws IOException {
+    var file = workTree.resolve(relativePath);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, content);
+  }
+}
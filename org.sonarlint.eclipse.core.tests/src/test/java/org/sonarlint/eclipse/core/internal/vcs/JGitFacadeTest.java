@@ -0,0 +1,104 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.vcs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.tests.common.SonarTestCase;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.api.Git;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JGitFacadeTest extends SonarTestCase {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final JGitFacade underTest = new JGitFacade();
+  private IProject project;
+
+  @Before
+  public void prepare() {
+    project = workspace.getRoot().getProject("JGitFacadeTest");
+  }
+
+  @After
+  public void deleteProject() throws CoreException {
+    project.delete(IResource.ALWAYS_DELETE_PROJECT_CONTENT | IResource.FORCE, MONITOR);
+  }
+
+  @Test
+  public void changed_files_of_project_in_subdirectory_of_repository() throws Exception {
+    var workTree = temp.newFolder().toPath();
+    try (var git = Git.init().setDirectory(workTree.toFile()).setInitialBranch("main").call()) {
+      write(workTree.resolve("module/src/Committed.java"), "class Committed {}");
+      write(workTree.resolve("module/src/Modified.java"), "class Modified {}");
+      write(workTree.resolve("other/src/Modified.java"), "class Modified {}");
+      createProject(workTree.resolve("module"));
+      git.add().addFilepattern(".").call();
+      git.commit().setMessage("Initial commit").setAuthor("SonarLint", "sonarlint@sonarsource.com")
+        .setCommitter("SonarLint", "sonarlint@sonarsource.com").setSign(false).call();
+
+      write(workTree.resolve("module/src/Modified.java"), "class Modified { int i; }");
+      write(workTree.resolve("module/src/Untracked.java"), "class Untracked {}");
+      write(workTree.resolve("other/src/Modified.java"), "class Modified { int i; }");
+      project.refreshLocal(IResource.DEPTH_INFINITE, MONITOR);
+
+      var changedFiles = underTest.getChangedFiles(new DefaultSonarLintProjectAdapter(project), null);
+
+      // The paths relative to the repository are resolved to the files of the project
+      assertThat(changedFiles).isPresent();
+      assertThat(changedFiles.get()).extracting(ISonarLintFile::getProjectRelativePath)
+        .containsExactlyInAnyOrder("src/Modified.java", "src/Untracked.java");
+    }
+  }
+
+  @Test
+  public void no_changed_files_for_project_outside_of_repository() throws Exception {
+    var location = temp.newFolder().toPath();
+    write(location.resolve("src/Foo.java"), "class Foo {}");
+    createProject(location);
+
+    assertThat(underTest.getChangedFiles(new DefaultSonarLintProjectAdapter(project), null)).isEmpty();
+  }
+
+  private void createProject(Path location) throws CoreException {
+    var description = workspace.newProjectDescription(project.getName());
+    description.setLocation(org.eclipse.core.runtime.Path.fromOSString(location.toString()));
+    project.create(description, MONITOR);
+    project.open(MONITOR);
+  }
+
+  private static void write(Path file, String content) throws IOException {
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, content);
+  }
+}
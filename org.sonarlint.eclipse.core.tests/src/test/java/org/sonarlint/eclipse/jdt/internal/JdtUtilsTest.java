@@ -19,8 +19,10 @@
  */
 package org.sonarlint.eclipse.jdt.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.regex.Pattern;
 import org.eclipse.core.resources.IFile;
@@ -378,4 +380,74 @@ public class JdtUtilsTest extends SonarTestCase {
     assertThat(JdtUtils.shouldExclude(nonJava)).isFalse();
     assertThat(JdtUtils.shouldExclude(contentTypeExtendingJava)).isFalse();
   }
+
+  @Test
+  public void reuseClasspathUntilDependentProjectClasspathChanges() throws Exception {
+    var libProject = createJavaProject("CachedClasspathLib");
+    var appProject = createJavaProject("CachedClasspathApp");
+    addClasspathEntry(appProject, JavaCore.newProjectEntry(libProject.getPath(), true));
+    var jar = libProject.getProject().getFile("lib.jar");
+    jar.create(new ByteArrayInputStream(new byte[0]), true, MONITOR);
+    var libOutput = libProject.getProject().getFolder("bin").getLocation().toString();
+
+    assertThat(configureAndGetLibraries(appProject)).contains(libOutput).doesNotContain(jar.getLocation().toOSString());
+    var cached = JavaProjectConfigurationCache.INSTANCE.getCached(appProject);
+    assertThat(cached).isNotNull();
+    configureAndGetLibraries(appProject);
+    assertThat(JavaProjectConfigurationCache.INSTANCE.getCached(appProject)).isSameAs(cached);
+
+    // Changing the classpath of the dependency has to invalidate the project depending on it
+    addClasspathEntry(libProject, JavaCore.newLibraryEntry(jar.getFullPath(), null, null, true));
+    assertThat(JavaProjectConfigurationCache.INSTANCE.getCached(libProject)).isNull();
+    assertThat(JavaProjectConfigurationCache.INSTANCE.getCached(appProject)).isNull();
+
+    assertThat(configureAndGetLibraries(appProject)).contains(libOutput, jar.getLocation().toOSString());
+  }
+
+  @Test
+  public void recomputeClasspathAfterRemovingProjectDependency() throws Exception {
+    var libProject = createJavaProject("RemovedDependencyLib");
+    var appProject = createJavaProject("RemovedDependencyApp");
+    var rawClasspath = appProject.getRawClasspath();
+    addClasspathEntry(appProject, JavaCore.newProjectEntry(libProject.getPath(), true));
+    var libOutput = libProject.getProject().getFolder("bin").getLocation().toString();
+
+    assertThat(configureAndGetLibraries(appProject)).contains(libOutput);
+
+    appProject.setRawClasspath(rawClasspath, MONITOR);
+
+    assertThat(configureAndGetLibraries(appProject)).doesNotContain(libOutput);
+  }
+
+  private Collection<String> configureAndGetLibraries(IJavaProject javaProject) {
+    var context = mock(IPreAnalysisContext.class);
+    jdtUtils.configureJavaProject(javaProject, context);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+    verify(context).setAnalysisProperty(ArgumentMatchers.eq("sonar.java.libraries"), captor.capture());
+    return captor.getValue();
+  }
+
+  private static IJavaProject createJavaProject(String name) throws CoreException {
+    var project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+    project.create(MONITOR);
+    project.open(MONITOR);
+    var description = project.getDescription();
+    description.setNatureIds(new String[] {JavaCore.NATURE_ID});
+    project.setDescription(description, MONITOR);
+    var src = project.getFolder("src");
+    src.create(true, true, MONITOR);
+    var bin = project.getFolder("bin");
+    bin.create(true, true, MONITOR);
+    var javaProject = JavaCore.create(project);
+    javaProject.setRawClasspath(new IClasspathEntry[] {JavaCore.newSourceEntry(src.getFullPath())}, bin.getFullPath(), MONITOR);
+    return javaProject;
+  }
+
+  private static void addClasspathEntry(IJavaProject javaProject, IClasspathEntry entry) throws JavaModelException {
+    var rawClasspath = javaProject.getRawClasspath();
+    var newClasspath = Arrays.copyOf(rawClasspath, rawClasspath.length + 1);
+    newClasspath[rawClasspath.length] = entry;
+    javaProject.setRawClasspath(newClasspath, MONITOR);
+  }
 }
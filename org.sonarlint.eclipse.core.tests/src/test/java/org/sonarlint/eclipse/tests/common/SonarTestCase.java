@@ -32,7 +32,11 @@ import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.eclipse.core.resources.IProject;
@@ -46,6 +50,7 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.jobs.AnalysisReadyStatusCache;
 
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
@@ -101,6 +106,34 @@ public abstract class SonarTestCase {
     }
   }
 
+  /**
+   * After importing projects they are not ready for an analysis yet, they have to be readied by the backend first.
+   */
+  protected static void awaitProjectsReadyForAnalysis() throws InterruptedException {
+    var allProjectsReady = new CountDownLatch(1);
+    var executor = Executors.newSingleThreadExecutor();
+    executor.submit(() -> {
+      while (true) {
+        var map = new HashMap<String, Boolean>(AnalysisReadyStatusCache.getCache());
+        if (!map.isEmpty() && map.values().stream().allMatch(Boolean::booleanValue)) {
+          allProjectsReady.countDown();
+          break;
+        }
+        try {
+          Thread.sleep(200);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+    });
+    try {
+      assertTrue("Projects not ready for analysis", allProjectsReady.await(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   /**
    * Installs specified project to specified directory.
    *
@@ -0,0 +1,154 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.ui.internal.console;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Test;
+import org.sonarlint.eclipse.ui.internal.console.ConsoleLogWriter.LogEntry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConsoleLogWriterTest {
+  private static final int CAPACITY = 10_000;
+
+  private final List<String> written = new CopyOnWriteArrayList<>();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicInteger writeCalls = new AtomicInteger();
+  private final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+  private CountDownLatch releaseFirstWrite = new CountDownLatch(0);
+  private int failingWrites;
+
+  private ConsoleLogWriter underTest;
+
+  @After
+  public void shutdown() {
+    if (underTest != null) {
+      underTest.shutdown();
+    }
+  }
+
+  @Test
+  public void messages_are_written_in_order() throws InterruptedException {
+    underTest = new TestWriter();
+
+    for (var i = 0; i < 1000; i++) {
+      underTest.info("message " + i, false);
+    }
+
+    awaitWritten(1000);
+    assertThat(written).startsWith("message 0", "message 1", "message 2").endsWith("message 999");
+    assertThat(dropped).hasValue(0);
+  }
+
+  @Test
+  public void failure_to_write_does_not_stop_draining() throws InterruptedException {
+    failingWrites = 1;
+    underTest = new TestWriter();
+
+    underTest.error("lost", null, false);
+    awaitWriteCalls(1);
+    underTest.info("written", false);
+
+    awaitWritten(1);
+    assertThat(written).containsExactly("written");
+  }
+
+  @Test
+  public void queued_messages_are_written_on_shutdown() throws InterruptedException {
+    releaseFirstWrite = new CountDownLatch(1);
+    underTest = new TestWriter();
+
+    underTest.info("first", false);
+    assertThat(firstWriteStarted.await(10, TimeUnit.SECONDS)).isTrue();
+    for (var i = 0; i < 1000; i++) {
+      underTest.debug("queued " + i, null, false);
+    }
+    underTest.shutdown();
+    releaseFirstWrite.countDown();
+
+    awaitWritten(1001);
+    assertThat(written).startsWith("first", "queued 0").endsWith("queued 999");
+  }
+
+  @Test
+  public void messages_are_dropped_when_buffer_is_full() throws InterruptedException {
+    releaseFirstWrite = new CountDownLatch(1);
+    underTest = new TestWriter();
+
+    underTest.info("first", false);
+    assertThat(firstWriteStarted.await(10, TimeUnit.SECONDS)).isTrue();
+    for (var i = 0; i < CAPACITY + 5; i++) {
+      underTest.traceIdeMessage("queued " + i, null);
+    }
+    assertThat(underTest.getDroppedCount()).isEqualTo(5);
+    releaseFirstWrite.countDown();
+
+    awaitWritten(CAPACITY + 1);
+    assertThat(written).endsWith("queued " + (CAPACITY - 1));
+    assertThat(dropped).hasValue(5);
+  }
+
+  private void awaitWritten(int count) throws InterruptedException {
+    var limit = System.currentTimeMillis() + 10_000;
+    while (written.size() < count && System.currentTimeMillis() < limit) {
+      Thread.sleep(10);
+    }
+    assertThat(written).hasSize(count);
+  }
+
+  private void awaitWriteCalls(int count) throws InterruptedException {
+    var limit = System.currentTimeMillis() + 10_000;
+    while (writeCalls.get() < count && System.currentTimeMillis() < limit) {
+      Thread.sleep(10);
+    }
+    assertThat(writeCalls).hasValue(count);
+  }
+
+  /** Writes to a list instead of the console, blocking on the first write and failing on demand */
+  private class TestWriter extends ConsoleLogWriter {
+    private TestWriter() {
+      super(() -> null);
+    }
+
+    @Override
+    protected void write(List<LogEntry> entries, long newlyDroppedCount) {
+      var call = writeCalls.incrementAndGet();
+      if (call == 1) {
+        firstWriteStarted.countDown();
+        try {
+          releaseFirstWrite.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      if (call <= failingWrites) {
+        throw new IllegalStateException("Widget is disposed");
+      }
+      entries.forEach(entry -> written.add(entry.getMessage()));
+      dropped.addAndGet(newlyDroppedCount);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.ui.internal.job;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.eclipse.core.runtime.jobs.Job;
+import org.junit.Test;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.progress.ProgressUpdateNotification;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.progress.StartProgressParams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BackendProgressJobSchedulerTest {
+  private static final String TASK_ID = "idleTask";
+  private static final String TITLE = "Idle backend task";
+
+  @Test
+  public void idle_progress_job_does_not_consume_cpu() throws InterruptedException {
+    var threadMXBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadMXBean.isThreadCpuTimeSupported());
+    threadMXBean.setThreadCpuTimeEnabled(true);
+
+    var params = mock(StartProgressParams.class);
+    when(params.getTaskId()).thenReturn(TASK_ID);
+    when(params.getTitle()).thenReturn(TITLE);
+    when(params.getMessage()).thenReturn("Starting");
+    BackendProgressJobScheduler.get().startProgress(params);
+
+    var job = awaitRunningJob();
+    var threadId = job.getThread().getId();
+    var cpuTimeBefore = threadMXBean.getThreadCpuTime(threadId);
+    Thread.sleep(2000);
+    var cpuTimeAfter = threadMXBean.getThreadCpuTime(threadId);
+
+    // Only a few wake-ups to check for cancellation are expected, not a busy loop pinning a core for 2 seconds
+    assertThat(TimeUnit.NANOSECONDS.toMillis(cpuTimeAfter - cpuTimeBefore)).isLessThan(100);
+
+    var notification = mock(ProgressUpdateNotification.class);
+    when(notification.getMessage()).thenReturn("Halfway");
+    when(notification.getPercentage()).thenReturn(50);
+    BackendProgressJobScheduler.get().update(TASK_ID, notification);
+    BackendProgressJobScheduler.get().complete(TASK_ID);
+
+    job.join(5000, null);
+    assertThat(job.getState()).isEqualTo(Job.NONE);
+    assertThat(job.getResult().isOK()).isTrue();
+  }
+
+  private static Job awaitRunningJob() throws InterruptedException {
+    var limit = System.currentTimeMillis() + 10_000;
+    while (System.currentTimeMillis() < limit) {
+      var job = Stream.of(Job.getJobManager().find(null))
+        .filter(j -> TITLE.equals(j.getName()) && j.getThread() != null)
+        .findFirst();
+      if (job.isPresent()) {
+        return job.get();
+      }
+      Thread.sleep(10);
+    }
+    throw new AssertionError("Backend progress job never started");
+  }
+}
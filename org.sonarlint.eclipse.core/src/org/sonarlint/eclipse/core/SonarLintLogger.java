@@ -19,14 +19,21 @@
  */
 package org.sonarlint.eclipse.core;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 import org.eclipse.jdt.annotation.Nullable;
 import org.sonarlint.eclipse.core.internal.LogListener;
 
 public class SonarLintLogger {
   private static final SonarLintLogger instance = new SonarLintLogger();
-  private final List<LogListener> logListeners = new ArrayList<>();
+  private final List<LogListener> logListeners = new CopyOnWriteArrayList<>();
+  /**
+   *  Whether at least one listener is interested in debug messages / IDE-specific traces. These are cached as they are
+   *  checked for every message and only computed again when the listeners change or notify a change of their level.
+   */
+  private volatile boolean debugEnabled;
+  private volatile boolean traceIdeMessageEnabled;
 
   private SonarLintLogger() {
     // singleton
@@ -38,10 +45,26 @@ public class SonarLintLogger {
 
   public void addLogListener(LogListener listener) {
     logListeners.add(listener);
+    logLevelChanged();
   }
 
   public void removeLogListener(LogListener listener) {
     logListeners.remove(listener);
+    logLevelChanged();
+  }
+
+  /** Has to be called by the listeners when the messages they are interested in changed, e.g. based on preferences */
+  public void logLevelChanged() {
+    debugEnabled = logListeners.stream().anyMatch(LogListener::isDebugEnabled);
+    traceIdeMessageEnabled = logListeners.stream().anyMatch(LogListener::isTraceIdeMessageEnabled);
+  }
+
+  public boolean isDebugEnabled() {
+    return debugEnabled;
+  }
+
+  public boolean isTraceIdeMessageEnabled() {
+    return traceIdeMessageEnabled;
   }
 
   public void error(@Nullable String msg) {
@@ -75,30 +98,59 @@ public class SonarLintLogger {
   }
 
   public void debug(@Nullable String msg) {
+    if (!debugEnabled) {
+      return;
+    }
     for (LogListener listener : logListeners) {
       listener.debug(msg, false);
     }
   }
 
+  /** The message is only computed when debug logging is enabled, to be used on hot paths */
+  public void debugLazy(Supplier<String> msgSupplier) {
+    if (debugEnabled) {
+      debug(msgSupplier.get());
+    }
+  }
+
   public void analyzerDebug(String msg) {
+    if (!debugEnabled) {
+      return;
+    }
     for (LogListener listener : logListeners) {
       listener.debug(msg, true);
     }
   }
 
   public void debug(String msg, Throwable t) {
+    if (!debugEnabled) {
+      return;
+    }
     for (var listener : logListeners) {
       listener.debug(msg, t, false);
     }
   }
 
   public void traceIdeMessage(String msg) {
+    if (!traceIdeMessageEnabled) {
+      return;
+    }
     for (LogListener listener : logListeners) {
       listener.traceIdeMessage(msg);
     }
   }
 
+  /** The message is only computed when IDE-specific tracing is enabled, to be used on hot paths */
+  public void traceIdeMessageLazy(Supplier<String> msgSupplier) {
+    if (traceIdeMessageEnabled) {
+      traceIdeMessage(msgSupplier.get());
+    }
+  }
+
   public void traceIdeMessage(String msg, Throwable t) {
+    if (!traceIdeMessageEnabled) {
+      return;
+    }
     for (var listener : logListeners) {
       listener.traceIdeMessage(msg, t);
     }
@@ -41,4 +41,17 @@ public interface LogListener {
   void traceIdeMessage(@Nullable String msg);
 
   void traceIdeMessage(@Nullable String msg, Throwable t);
+
+  /**
+   *  Whether debug messages are written somewhere, they are not even computed when no listener is interested in them.
+   *  When this changes, {@link org.sonarlint.eclipse.core.SonarLintLogger#logLevelChanged()} has to be called.
+   */
+  default boolean isDebugEnabled() {
+    return true;
+  }
+
+  /** Same as {@link #isDebugEnabled()} but for IDE-specific traces */
+  default boolean isTraceIdeMessageEnabled() {
+    return true;
+  }
 }
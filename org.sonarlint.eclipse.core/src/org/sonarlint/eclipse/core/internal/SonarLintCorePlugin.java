@@ -26,13 +26,16 @@ import org.osgi.framework.BundleContext;
 import org.osgi.framework.FrameworkUtil;
 import org.osgi.util.tracker.ServiceTracker;
 import org.sonarlint.eclipse.core.internal.backend.SonarLintBackendService;
+import org.sonarlint.eclipse.core.internal.cache.FileClassificationCache;
 import org.sonarlint.eclipse.core.internal.engine.connected.ConnectionManager;
 import org.sonarlint.eclipse.core.internal.event.AnalysisListenerManager;
 import org.sonarlint.eclipse.core.internal.extension.AbstractSonarLintExtensionTracker;
 import org.sonarlint.eclipse.core.internal.extension.SonarLintExtensionTracker;
+import org.sonarlint.eclipse.core.internal.jobs.AnalysisWorkDirPool;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfiguration;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfigurationManager;
+import org.sonarlint.eclipse.core.internal.resources.ProjectFilesIndex;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 
 public class SonarLintCorePlugin extends Plugin {
@@ -82,6 +85,9 @@ public class SonarLintCorePlugin extends Plugin {
   @Override
   public void stop(BundleContext context) throws Exception {
     SonarLintBackendService.get().stop();
+    ProjectFilesIndex.INSTANCE.stop();
+    FileClassificationCache.INSTANCE.stop();
+    AnalysisWorkDirPool.INSTANCE.stop();
     proxyTracker.close();
 
     if (connectionsManager != null) {
@@ -112,11 +118,11 @@ public class SonarLintCorePlugin extends Plugin {
   }
 
   public static SonarLintProjectConfiguration loadConfig(ISonarLintProject project) {
-    return getInstance().getProjectConfigManager().load(project.getScopeContext());
+    return getInstance().getProjectConfigManager().load(project);
   }
 
   public static void saveConfig(ISonarLintProject project, SonarLintProjectConfiguration config) {
-    getInstance().getProjectConfigManager().save(project.getScopeContext(), config);
+    getInstance().getProjectConfigManager().save(project, config);
   }
 
 }
@@ -25,6 +25,7 @@ public enum TriggerType {
   MANUAL("Manual trigger", ServerIssueFetchStrategy.FETCH),
   MANUAL_CHANGESET("Manual trigger changeset", ServerIssueFetchStrategy.FETCH),
   EDITOR_CHANGE("Editor change", ServerIssueFetchStrategy.DONT_FETCH),
+  POST_BUILD("Post build", ServerIssueFetchStrategy.DONT_FETCH),
   BINDING_CHANGE("Binding change", ServerIssueFetchStrategy.FETCH),
   STANDALONE_CONFIG_CHANGE("Standalone config change", ServerIssueFetchStrategy.DONT_FETCH),
   QUICK_FIX("Quick fix", ServerIssueFetchStrategy.DONT_FETCH),
@@ -55,4 +56,14 @@ public enum TriggerType {
   public boolean isOnTheFly() {
     return this != MANUAL && this != MANUAL_CHANGESET;
   }
+
+  /**
+   *  Re-triggered analyses that don't come with a change of their own: files that did not change since their last
+   *  analysis can be skipped. Edits, configuration changes, quick fixes and issue status changes are always analyzed,
+   *  the same goes for the triggers fetching the server issues as the resolutions / status changes done on the server
+   *  in the meantime would not be applied to the markers otherwise.
+   */
+  public boolean canSkipUnchangedFiles() {
+    return this == POST_BUILD;
+  }
 }
@@ -21,14 +21,19 @@ package org.sonarlint.eclipse.core.internal.backend;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.CoreException;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.cache.AnticipatedStatusChangeCache;
+import org.sonarlint.eclipse.core.internal.engine.connected.BoundProjectsIndex;
+import org.sonarlint.eclipse.core.internal.jobs.AnalysisFingerprintCache;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration.EclipseProjectBinding;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfigurationManager;
+import org.sonarlint.eclipse.core.internal.utils.FileExclusionsChecker;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 import org.sonarsource.sonarlint.core.rpc.protocol.SonarLintRpcServer;
@@ -69,6 +74,9 @@ public class ConfigScopeSynchronizer implements IResourceChangeListener {
       if (project != null) {
         SonarLintLogger.get().debug("Project about to be closed: " + project.getName());
         SonarLintProjectConfigurationManager.removePreferenceChangeListenerForBindingProperties(project);
+        AnticipatedStatusChangeCache.INSTANCE.removeEntry(getConfigScopeId(project));
+        BoundProjectsIndex.INSTANCE.invalidate();
+        AnalysisFingerprintCache.INSTANCE.invalidate(project);
         backend.getConfigurationService()
           .didRemoveConfigurationScope(new DidRemoveConfigurationScopeParams(getConfigScopeId(project)));
       }
@@ -79,6 +87,10 @@ public class ConfigScopeSynchronizer implements IResourceChangeListener {
       if (project != null) {
         SonarLintLogger.get().debug("Project about to be deleted: " + project.getName());
         SonarLintProjectConfigurationManager.removePreferenceChangeListenerForBindingProperties(project);
+        AnticipatedStatusChangeCache.INSTANCE.removeEntry(getConfigScopeId(project));
+        BoundProjectsIndex.INSTANCE.invalidate();
+        AnalysisFingerprintCache.INSTANCE.invalidate(project);
+        FileExclusionsChecker.forget(project);
         backend.getConfigurationService()
           .didRemoveConfigurationScope(new DidRemoveConfigurationScopeParams(getConfigScopeId(project)));
       }
@@ -86,6 +98,10 @@ public class ConfigScopeSynchronizer implements IResourceChangeListener {
   }
 
   private static boolean visitDeltaPostChange(IResourceDelta delta, List<ISonarLintProject> projectsToAdd) {
+    if (delta.getResource() instanceof IProject
+      && (delta.getKind() == IResourceDelta.ADDED || delta.getKind() == IResourceDelta.REMOVED || (delta.getFlags() & IResourceDelta.OPEN) != 0)) {
+      BoundProjectsIndex.INSTANCE.invalidate();
+    }
     if ((delta.getFlags() & IResourceDelta.OPEN) != 0) {
       var project = SonarLintUtils.adapt(delta.getResource(), ISonarLintProject.class,
         "[ConfigScopeSynchronizer#resourceChanged] Try get SonarLint project from event '"
@@ -113,8 +129,11 @@ public class ConfigScopeSynchronizer implements IResourceChangeListener {
 
   private void projectPreferencesChanged(ISonarLintProject project) {
     SonarLintLogger.get().debug("Project binding preferences changed: " + project.getName());
+    BoundProjectsIndex.INSTANCE.invalidate();
+    AnalysisFingerprintCache.INSTANCE.invalidate(project);
     backend.getConfigurationService()
       .didUpdateBinding(new DidUpdateBindingParams(getConfigScopeId(project), toBindingDto(project)));
+    AnticipatedStatusChangeCache.INSTANCE.refresh(project);
   }
 
   private static ConfigurationScopeDto toConfigScopeDto(ISonarLintProject p) {
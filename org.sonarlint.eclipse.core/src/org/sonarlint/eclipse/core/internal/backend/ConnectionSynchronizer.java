@@ -21,6 +21,7 @@ package org.sonarlint.eclipse.core.internal.backend;
 
 import java.util.List;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.cache.AnticipatedStatusChangeCache;
 import org.sonarlint.eclipse.core.internal.engine.connected.ConnectionFacade;
 import org.sonarlint.eclipse.core.internal.engine.connected.IConnectionManagerListener;
 import org.sonarsource.sonarlint.core.rpc.protocol.SonarLintRpcServer;
@@ -41,11 +42,13 @@ class ConnectionSynchronizer implements IConnectionManagerListener {
   @Override
   public void connectionRemoved(ConnectionFacade facade) {
     didUpdateConnections();
+    AnticipatedStatusChangeCache.INSTANCE.removeConnection(facade.getId());
   }
 
   @Override
   public void connectionChanged(ConnectionFacade facade) {
     didUpdateConnections();
+    AnticipatedStatusChangeCache.INSTANCE.removeConnection(facade.getId());
   }
 
   @Override
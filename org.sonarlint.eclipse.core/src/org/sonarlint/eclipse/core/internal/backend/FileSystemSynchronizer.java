@@ -25,10 +25,13 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.resources.IProject;
@@ -46,10 +49,11 @@ import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.analysis.SonarLintLanguage;
 import org.sonarlint.eclipse.core.documentation.SonarLintDocumentation;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
-import org.sonarlint.eclipse.core.internal.cache.DefaultSonarLintProjectAdapterCache;
+import org.sonarlint.eclipse.core.internal.cache.FileClassificationCache;
 import org.sonarlint.eclipse.core.internal.cache.IProjectScopeProviderCache;
 import org.sonarlint.eclipse.core.internal.extension.SonarLintExtensionTracker;
 import org.sonarlint.eclipse.core.internal.jobs.TestFileClassifier;
+import org.sonarlint.eclipse.core.internal.utils.PathPrefixTrie;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
@@ -68,10 +72,63 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
   public static final String SONARLINT_CONFIG_FILE = "connectedMode.json";
   public static final Pattern SONARLINT_JSON_REGEX = Pattern.compile("^\\" + SONARLINT_FOLDER + "/.*\\.json$", Pattern.CASE_INSENSITIVE);
 
+  /** Events are coalesced until no new one arrived for this amount of time ... */
+  private static final long QUIET_WINDOW_MS = 300;
+  /** ... but never for longer than this, in order to not delay the propagation forever on a constant flood of events */
+  private static final long MAX_COALESCING_DELAY_MS = 2000;
+
   private final SonarLintRpcServer backend;
 
-  FileSystemSynchronizer(SonarLintRpcServer backend) {
+  private final Object pendingChangesLock = new Object();
+  private final Map<URI, PendingFileChange> pendingChanges = new LinkedHashMap<>();
+  private long firstPendingChangeTime;
+  private long lastPendingChangeTime;
+
+  private final AtomicLong receivedEventsCount = new AtomicLong();
+  private final AtomicLong sentUpdatesCount = new AtomicLong();
+
+  private final Job propagationJob = new Job("SonarLint - Propagate FileSystem changes") {
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      Map<URI, PendingFileChange> changes;
+      synchronized (pendingChangesLock) {
+        var now = System.currentTimeMillis();
+        var remainingQuietTime = lastPendingChangeTime + QUIET_WINDOW_MS - now;
+        if (remainingQuietTime > 0 && now - firstPendingChangeTime < MAX_COALESCING_DELAY_MS) {
+          schedule(remainingQuietTime);
+          return Status.OK_STATUS;
+        }
+        changes = new LinkedHashMap<>(pendingChanges);
+        pendingChanges.clear();
+      }
+      if (!changes.isEmpty()) {
+        propagate(changes.values(), monitor);
+      }
+      return Status.OK_STATUS;
+    }
+  };
+
+  // Visible for testing, public as the tests are in another bundle
+  public FileSystemSynchronizer(SonarLintRpcServer backend) {
     this.backend = backend;
+    propagationJob.setSystem(true);
+  }
+
+  /** Number of resource change events containing changes relevant for the backend */
+  public long getReceivedEventsCount() {
+    return receivedEventsCount.get();
+  }
+
+  /** Number of "didUpdateFileSystem" notifications sent to the backend */
+  public long getSentUpdatesCount() {
+    return sentUpdatesCount.get();
+  }
+
+  void stop() {
+    propagationJob.cancel();
+    synchronized (pendingChangesLock) {
+      pendingChanges.clear();
+    }
   }
 
   @Override
@@ -89,79 +146,87 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
     if (addedFiles.isEmpty() && changedFiles.isEmpty() && removedFiles.isEmpty()) {
       return;
     }
+    receivedEventsCount.incrementAndGet();
 
-    // In order to not intervene with the DefaultSonarLintProjectAdapter we have to invalidate the cache as early as
-    // possible! Otherwise "importing a project", then "analyzing whole project" wouldn't work because the initial
-    // "DefaultSonarLintProjectAdapter#files()" call will always include no files after an import, they have to be
-    // "added" first and that is done the first time this is called!
-    final ISonarLintProject project;
-    if (!addedFiles.isEmpty()) {
-      project = addedFiles.get(0).getProject();
-    } else if (!changedFiles.isEmpty()) {
-      project = changedFiles.get(0).getProject();
-    } else {
-      // The variable has to be "final" to be usable in the thread spawned by the job, therefore we set it here
-      // to null in order to not have it in a "uninitialized" state as it doesn't default to "null"!
-      project = null;
+    synchronized (pendingChangesLock) {
+      var now = System.currentTimeMillis();
+      if (pendingChanges.isEmpty()) {
+        firstPendingChangeTime = now;
+      }
+      lastPendingChangeTime = now;
+      addedFiles.forEach(f -> mergePendingChange(f.uri(), FileChangeKind.ADDED, f));
+      changedFiles.forEach(f -> mergePendingChange(f.uri(), FileChangeKind.CHANGED, f));
+      removedFiles.forEach(uri -> mergePendingChange(uri, FileChangeKind.REMOVED, null));
     }
+    propagationJob.schedule(QUIET_WINDOW_MS);
+  }
 
-    if (project != null) {
-      // Invalidate cache if files were added, or changed as otherwise importing another related hierarchical project
-      // as well as manually selecting multiple projects for analysis would be affected and could potentially lead to
-      // incorrect results!
-      DefaultSonarLintProjectAdapterCache.INSTANCE.removeEntry(
-        ConfigScopeSynchronizer.getConfigScopeId(project));
+  /**
+   *  The last change of a file wins, except that a file added and then changed inside the same window is still new for
+   *  the backend. The file content is only read when propagating the changes, so it will be up-to-date anyway.
+   */
+  private void mergePendingChange(@Nullable URI uri, FileChangeKind kind, @Nullable ISonarLintFile file) {
+    if (uri == null) {
+      return;
     }
+    var previous = pendingChanges.remove(uri);
+    var mergedKind = previous != null && previous.kind == FileChangeKind.ADDED && kind == FileChangeKind.CHANGED
+      ? FileChangeKind.ADDED
+      : kind;
+    pendingChanges.put(uri, new PendingFileChange(uri, mergedKind, file));
+  }
 
-    var job = new Job("SonarLint - Propagate FileSystem changes") {
-      @Override
-      protected IStatus run(IProgressMonitor monitor) {
-        // For added files this won't include SonarLint configuration files in order to not suggest connections twice
-        // after a project import (everything after an import is also considered "added"). In case of changes done
-        // either inside or outside the IDE, the files will be included.
-        var addedDto = addedFiles.stream()
-          .map(f -> FileSystemSynchronizer.toFileDto(f, monitor))
-          .filter(Objects::nonNull)
-          .collect(toList());
-        var changedDto = changedFiles.stream()
-          .map(f -> FileSystemSynchronizer.toFileDto(f, monitor))
-          .filter(Objects::nonNull)
-          .collect(toList());
-
-        // In order to add additional "changes" for informing the sub-projects we have to make the lists modifiable!
-        var allAddedDtos = new ArrayList<>(addedDto);
-        var allChangedDtos = new ArrayList<>(changedDto);
-
-        var addedSonarLintDto = allAddedDtos.stream()
-          .filter(dto -> SONARLINT_JSON_REGEX.matcher(dto.getIdeRelativePath().toString()).find())
-          .collect(toList());
-        var changedSonarLintDto = allChangedDtos.stream()
-          .filter(dto -> SONARLINT_JSON_REGEX.matcher(dto.getIdeRelativePath().toString()).find())
-          .collect(toList());
-
-        // Only if there were actual changes to SonarLint configuration files we want to do the hussle and check for
-        // sub-projects and inform them as well!
-        if (!addedSonarLintDto.isEmpty() || !changedSonarLintDto.isEmpty()) {
-          // INFO: "project" cannot be null in this case!
-          for (var subProject : getSubProjects(project)) {
-            var addedSubProjectDto = addedSonarLintDto.stream()
-              .map(dto -> toSubProjectFileDto(subProject, dto))
-              .collect(toList());
-            var changedSubProjectDto = changedSonarLintDto.stream()
-              .map(dto -> toSubProjectFileDto(subProject, dto))
-              .collect(toList());
-            allAddedDtos.addAll(addedSubProjectDto);
-            allChangedDtos.addAll(changedSubProjectDto);
-          }
+  private void propagate(Collection<PendingFileChange> changes, IProgressMonitor monitor) {
+    var addedDtos = new ArrayList<ClientFileDto>();
+    var changedDtos = new ArrayList<ClientFileDto>();
+    var removedFiles = new ArrayList<URI>();
+    var subProjectsCache = new HashMap<ISonarLintProject, Set<ISonarLintProject>>();
+    for (var change : changes) {
+      if (change.kind == FileChangeKind.REMOVED) {
+        removedFiles.add(change.uri);
+        continue;
+      }
+      // For added files this won't include SonarLint configuration files in order to not suggest connections twice
+      // after a project import (everything after an import is also considered "added"). In case of changes done
+      // either inside or outside the IDE, the files will be included.
+      var dto = toFileDto(change.file, monitor);
+      if (dto == null) {
+        continue;
+      }
+      var dtos = change.kind == FileChangeKind.ADDED ? addedDtos : changedDtos;
+      dtos.add(dto);
+
+      // Only if there were actual changes to SonarLint configuration files we want to do the hussle and check for
+      // sub-projects and inform them as well!
+      if (SONARLINT_JSON_REGEX.matcher(dto.getIdeRelativePath().toString()).find()) {
+        var subProjects = subProjectsCache.computeIfAbsent(change.file.getProject(), FileSystemSynchronizer::getSubProjects);
+        for (var subProject : subProjects) {
+          dtos.add(toSubProjectFileDto(subProject, dto));
         }
-
-        backend.getFileService().didUpdateFileSystem(new DidUpdateFileSystemParams(allAddedDtos, allChangedDtos, removedFiles));
-        return Status.OK_STATUS;
       }
-    };
+    }
+
+    backend.getFileService().didUpdateFileSystem(new DidUpdateFileSystemParams(addedDtos, changedDtos, removedFiles));
+    var sentUpdates = sentUpdatesCount.incrementAndGet();
+    SonarLintLogger.get().traceIdeMessageLazy(() -> "[FileSystemSynchronizer#propagate] Propagated " + changes.size()
+      + " file change(s), " + receivedEventsCount.get() + " event(s) received and " + sentUpdates + " update(s) sent so far");
+  }
 
-    job.setSystem(true);
-    job.schedule();
+  private enum FileChangeKind {
+    ADDED, CHANGED, REMOVED
+  }
+
+  private static class PendingFileChange {
+    private final URI uri;
+    private final FileChangeKind kind;
+    @Nullable
+    private final ISonarLintFile file;
+
+    private PendingFileChange(URI uri, FileChangeKind kind, @Nullable ISonarLintFile file) {
+      this.uri = uri;
+      this.kind = kind;
+      this.file = file;
+    }
   }
 
   private static boolean visitDeltaPostChange(IResourceDelta delta, List<ISonarLintFile> addedFiles,
@@ -183,13 +248,13 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
       var fileUri = res.getLocationURI();
       if (fileUri != null) {
         removedFiles.add(fileUri);
-        SonarLintLogger.get().debug("File removed: " + fileUri);
+        SonarLintLogger.get().debugLazy(() -> "File removed: " + fileUri);
       }
       return true;
     }
 
     var slFile = SonarLintUtils.adapt(res, ISonarLintFile.class,
-      "[FileSystemSynchronizer#visitDeltaPostChange] Try get file from event '" + res + "' (added/changed)");
+      () -> "[FileSystemSynchronizer#visitDeltaPostChange] Try get file from event '" + res + "' (added/changed)");
     if (slFile == null) {
       // Whatever happened here, try to dig deeper. If nothing is there, then okey - if there is, we can check anyway
       // and care in the next iteration of this method with the child element.
@@ -200,7 +265,7 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
     }
 
     var project = slFile.getProject();
-    Set<IPath> exclusions;
+    PathPrefixTrie exclusions;
     if (SonarLintCorePlugin.loadConfig(project).isIndexingBasedOnEclipsePlugIns()) {
       var configScopeId = ConfigScopeSynchronizer.getConfigScopeId(project);
       exclusions = IProjectScopeProviderCache.INSTANCE.getEntry(configScopeId);
@@ -209,37 +274,35 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
         IProjectScopeProviderCache.INSTANCE.putEntry(configScopeId, exclusions);
       }
     } else {
-      SonarLintLogger.get().traceIdeMessage("[FileSystemSynchronizer#visitDeltaPostChange] No exclusions calculated "
+      SonarLintLogger.get().traceIdeMessageLazy(() -> "[FileSystemSynchronizer#visitDeltaPostChange] No exclusions calculated "
         + "as '" + project.getName() + "' opted out of indexing based on other Eclipse plug-ins!");
-      exclusions = new HashSet<>();
+      exclusions = PathPrefixTrie.EMPTY;
     }
 
     // Compared to "DefaultSonarLintProjectAdapter#files" this is only on a resource delta, therefore we won't visit
-    // the folders containing the files that were added / changed. And therefore we have to iterate over the exclusions
-    // instead of just checking whether the "whole" path is in there (as it would be the case for a folder).
-    for (var exclusion : exclusions) {
-      if (SonarLintUtils.isChild(fullPath, exclusion)) {
-        return false;
-      }
+    // the folders containing the files that were added / changed. And therefore we have to check whether one of the
+    // parents of the file is excluded instead of just checking whether the "whole" path is in there.
+    if (exclusions.matches(fullPath)) {
+      return false;
     }
 
     if (delta.getKind() == IResourceDelta.ADDED) {
-      SonarLintLogger.get().debug("File added: " + slFile.getName());
+      SonarLintLogger.get().debugLazy(() -> "File added: " + slFile.getName());
       addedFiles.add(slFile);
     } else if (delta.getKind() == IResourceDelta.CHANGED) {
       var interestingChangeForSlBackend = false;
       var flags = delta.getFlags();
       if ((flags & IResourceDelta.CONTENT) != 0) {
         interestingChangeForSlBackend = true;
-        SonarLintLogger.get().debug("File content changed: " + slFile.getName());
+        SonarLintLogger.get().debugLazy(() -> "File content changed: " + slFile.getName());
       }
       if ((flags & IResourceDelta.REPLACED) != 0) {
         interestingChangeForSlBackend = true;
-        SonarLintLogger.get().debug("File content replaced: " + slFile.getName());
+        SonarLintLogger.get().debugLazy(() -> "File content replaced: " + slFile.getName());
       }
       if ((flags & IResourceDelta.ENCODING) != 0) {
         interestingChangeForSlBackend = true;
-        SonarLintLogger.get().debug("File encoding changed: " + slFile.getName());
+        SonarLintLogger.get().debugLazy(() -> "File encoding changed: " + slFile.getName());
       }
       if (interestingChangeForSlBackend) {
         changedFiles.add(slFile);
@@ -337,6 +400,11 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
 
   @Nullable
   private static Language tryDetectLanguage(ISonarLintFile file) {
+    return FileClassificationCache.INSTANCE.getLanguage(file, FileSystemSynchronizer::detectLanguage);
+  }
+
+  @Nullable
+  private static Language detectLanguage(ISonarLintFile file) {
     SonarLintLanguage language = null;
     for (var languageProvider : SonarLintExtensionTracker.getInstance().getLanguageProviders()) {
       var detectedLanguage = languageProvider.language(file);
@@ -351,11 +419,11 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
     return language != null ? Language.valueOf(language.name()) : null;
   }
 
-  private static Set<IPath> getExclusions(IProject project) {
+  private static PathPrefixTrie getExclusions(IProject project) {
     var exclusions = new HashSet<IPath>();
     for (var projectScopeProvider : SonarLintExtensionTracker.getInstance().getProjectScopeProviders()) {
       exclusions.addAll(projectScopeProvider.getExclusions(project));
     }
-    return exclusions;
+    return new PathPrefixTrie(exclusions);
   }
 }
@@ -381,6 +381,7 @@ public class SonarLintBackendService {
     VcsService.removeBranchChangeListener();
     if (fileSystemSynchronizer != null) {
       ResourcesPlugin.getWorkspace().removeResourceChangeListener(fileSystemSynchronizer);
+      fileSystemSynchronizer.stop();
       fileSystemSynchronizer = null;
     }
     if (configScopeSynchronizer != null) {
@@ -44,6 +44,7 @@ import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.engine.AnalysisRequirementNotifications;
 import org.sonarlint.eclipse.core.internal.engine.connected.ConnectionFacade;
 import org.sonarlint.eclipse.core.internal.extension.SonarLintExtensionTracker;
+import org.sonarlint.eclipse.core.internal.jobs.AnalysisFingerprintCache;
 import org.sonarlint.eclipse.core.internal.jobs.IssuesMarkerUpdateJob;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarlint.eclipse.core.internal.vcs.VcsService;
@@ -70,6 +71,8 @@ import org.sonarsource.sonarlint.core.rpc.protocol.common.UsernamePasswordDto;
  *
  */
 public abstract class SonarLintEclipseHeadlessRpcClient implements SonarLintRpcClientDelegate {
+  /** Time window in which the intermediate publications of an analysis are coalesced before updating the markers */
+  private static final long INTERMEDIATE_PUBLICATION_DELAY_MS = 500;
 
   @Override
   public Path getBaseDir(String configurationScopeId) throws ConfigScopeNotFoundException {
@@ -177,12 +180,18 @@ public abstract class SonarLintEclipseHeadlessRpcClient implements SonarLintRpcC
 
   @Override
   public void didSynchronizeConfigurationScopes(Set<String> configurationScopeIds) {
-    // After a sync happened on backend side, we can refresh the project list
-    var allAffectedConnections = configurationScopeIds.stream()
+    var affectedProjects = configurationScopeIds.stream()
       .map(SonarLintUtils::tryResolveProject)
       .filter(Optional::isPresent)
       .map(Optional::get)
       .distinct()
+      .collect(Collectors.toList());
+
+    // The quality profiles or the server issues might have changed, previous analyses can be outdated
+    affectedProjects.forEach(AnalysisFingerprintCache.INSTANCE::invalidate);
+
+    // After a sync happened on backend side, we can refresh the project list
+    var allAffectedConnections = affectedProjects.stream()
       .map(SonarLintCorePlugin.getConnectionManager()::resolveBinding)
       .filter(Optional::isPresent)
       .map(Optional::get)
@@ -236,13 +245,22 @@ public abstract class SonarLintEclipseHeadlessRpcClient implements SonarLintRpcC
       return;
     }
 
+    // Due to the AnalysisTracker using a ConcurrentHashMap, we have to explicitly check that the key ("analysisId") is
+    // not null before trying to get the value associated to this key.
+    var currentAnalysis = analysisId == null ? null : RunningAnalysesTracker.get().getById(analysisId);
     if (isIntermediatePublication) {
+      // Issues already found during a long analysis are displayed without waiting for the whole analysis to finish.
+      // They are coalesced per file for a short time and overridden by the final publication afterwards.
+      if (currentAnalysis != null && !currentAnalysis.isCancelled() && currentAnalysis.addIntermediateIssues(issuesByFileUri)) {
+        IssuesMarkerUpdateJob.forIntermediatePublication(project, currentAnalysis).schedule(INTERMEDIATE_PUBLICATION_DELAY_MS);
+      }
       return;
     }
 
-    // Due to the AnalysisTracker using a ConcurrentHashMap, we have to explicitly check that the key ("analysisId") is
-    // not null before trying to get the value associated to this key.
-    var currentAnalysis = analysisId == null ? null : RunningAnalysesTracker.get().getById(analysisId);
+    if (currentAnalysis != null && currentAnalysis.isCancelled()) {
+      RunningAnalysesTracker.get().finish(currentAnalysis);
+      return;
+    }
     if (currentAnalysis != null) {
       // For all the file URIs that might not be present in "issuesByFileUri" (maybe due to issue removed, no issues
       // present before or afterwards), we still have to include them! Otherwise situations like server-sent events for
@@ -252,6 +270,7 @@ public abstract class SonarLintEclipseHeadlessRpcClient implements SonarLintRpcC
         issuesByFileUri.computeIfAbsent(fileURI, k -> Collections.<RaisedIssueDto>emptyList());
       }
 
+      currentAnalysis.finalPublicationReceived();
       RunningAnalysesTracker.get().finish(currentAnalysis);
     }
 
@@ -260,7 +279,7 @@ public abstract class SonarLintEclipseHeadlessRpcClient implements SonarLintRpcC
     // show an immutable state.
     final var issuesAreOnTheFly = currentAnalysis == null || currentAnalysis.getTriggerType().isOnTheFly();
 
-    new IssuesMarkerUpdateJob(project, issuesByFileUri, issuesAreOnTheFly).schedule();
+    new IssuesMarkerUpdateJob(project, issuesByFileUri, issuesAreOnTheFly, currentAnalysis).schedule();
   }
 
   @Override
@@ -20,7 +20,10 @@
 package org.sonarlint.eclipse.core.internal.cache;
 
 import java.util.concurrent.ConcurrentHashMap;
-import org.eclipse.core.runtime.CoreException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -32,46 +35,183 @@ import org.sonarlint.eclipse.core.internal.jobs.AbstractSonarJob;
  *  ISonarLintProject as "configScopeId" is generated by `IProject#getLocationURI().toString()`. The actual cache
  *  implementation will provide the duration for how long the cache is valid before the entry is removed
  *
+ *  Reading and writing doesn't lock: every entry carries its own expiry timestamp, expired entries are never returned
+ *  and a single sweeper job per cache removes them in the background. Optionally the amount of entries can be limited,
+ *  in which case the least recently used one is evicted first.
+ *
  *  @param <T> values stored per configuration scope id
  */
 public abstract class AbstractConfigScopeIdCache<T> {
-  private final ConcurrentHashMap<String, T> cache = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Entry<T>> cache = new ConcurrentHashMap<>();
+  private final AtomicBoolean sweeperScheduled = new AtomicBoolean();
+  private final SweeperJob sweeper = new SweeperJob();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
 
   @Nullable
-  public synchronized T getEntry(String configScopeId) {
-    if (!cache.containsKey(configScopeId)) {
+  public T getEntry(String configScopeId) {
+    var entry = cache.get(configScopeId);
+    if (entry == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    var now = now();
+    if (entry.isExpired(now)) {
+      if (cache.remove(configScopeId, entry)) {
+        evictions.incrementAndGet();
+      }
+      misses.incrementAndGet();
       return null;
     }
-    return cache.get(configScopeId);
+    entry.lastAccess = now;
+    hits.incrementAndGet();
+    return entry.value;
   }
 
-  public synchronized void putEntry(String configScopeId, T entry) {
-    cache.put(configScopeId, entry);
-    new DeleteCacheEntryJob<T>(this, configScopeId)
-      .schedule(getCacheDuration());
+  public void putEntry(String configScopeId, T entry) {
+    var now = now();
+    cache.put(configScopeId, new Entry<>(entry, now, now + getCacheDuration()));
+    var maxSize = getMaxSize();
+    while (maxSize > 0 && cache.size() > maxSize) {
+      evictLeastRecentlyUsed();
+    }
+    if (sweeperScheduled.compareAndSet(false, true)) {
+      sweeper.schedule(getCacheDuration());
+    }
   }
 
-  public synchronized void removeEntry(String configScopeId) {
+  public void removeEntry(String configScopeId) {
     cache.remove(configScopeId);
   }
 
+  /** Only removes the entry if it was not replaced in the meantime, e.g. by a newer computation */
+  public void removeEntry(String configScopeId, T value) {
+    cache.computeIfPresent(configScopeId, (key, entry) -> entry.value == value ? null : entry);
+  }
+
+  /** Remove all the entries matching, e.g. the ones linked to a connection that changed */
+  public void removeEntries(Predicate<T> predicate) {
+    cache.values().removeIf(entry -> predicate.test(entry.value));
+  }
+
+  public Statistics getStatistics() {
+    return new Statistics(hits.get(), misses.get(), evictions.get(), cache.size());
+  }
+
   /** Should be a meaningful period based on the actual cache implementation */
   protected abstract long getCacheDuration();
 
-  private static class DeleteCacheEntryJob<T> extends AbstractSonarJob {
-    private final AbstractConfigScopeIdCache<T> cache;
-    private final String configScopeId;
+  /** Maximum amount of entries before the least recently used one is evicted, zero or less means unbounded */
+  protected int getMaxSize() {
+    return 0;
+  }
+
+  /** Monotonic time in milliseconds, only to be overridden by tests */
+  protected long now() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+  }
+
+  /** The number of entries is expected to be small (one per project), therefore a linear scan is good enough */
+  private void evictLeastRecentlyUsed() {
+    String eldestKey = null;
+    Entry<T> eldest = null;
+    for (var mapEntry : cache.entrySet()) {
+      var candidate = mapEntry.getValue();
+      if (eldest == null || candidate.lastAccess < eldest.lastAccess) {
+        eldestKey = mapEntry.getKey();
+        eldest = candidate;
+      }
+    }
+    if (eldestKey != null && cache.remove(eldestKey, eldest)) {
+      evictions.incrementAndGet();
+    }
+  }
+
+  /** Removes all the expired entries and returns the delay until the next entry expires, or -1 if the cache is empty */
+  protected final long sweep() {
+    var now = now();
+    var nextExpiry = Long.MAX_VALUE;
+    for (var mapEntry : cache.entrySet()) {
+      var entry = mapEntry.getValue();
+      if (entry.isExpired(now)) {
+        if (cache.remove(mapEntry.getKey(), entry)) {
+          evictions.incrementAndGet();
+        }
+      } else {
+        nextExpiry = Math.min(nextExpiry, entry.expiresAt);
+      }
+    }
+    return nextExpiry == Long.MAX_VALUE ? -1 : Math.max(0, nextExpiry - now);
+  }
+
+  private static class Entry<T> {
+    private final T value;
+    private final long expiresAt;
+    private volatile long lastAccess;
+
+    private Entry(T value, long now, long expiresAt) {
+      this.value = value;
+      this.lastAccess = now;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isExpired(long now) {
+      return now >= expiresAt;
+    }
+  }
 
-    public DeleteCacheEntryJob(AbstractConfigScopeIdCache<T> cache, String configScopeId) {
-      super("Delete cache entry for: " + configScopeId);
-      this.cache = cache;
-      this.configScopeId = configScopeId;
+  private class SweeperJob extends AbstractSonarJob {
+    private SweeperJob() {
+      super("Delete expired cache entries of " + AbstractConfigScopeIdCache.this.getClass().getSimpleName());
+      setSystem(true);
     }
 
     @Override
-    protected IStatus doRun(IProgressMonitor monitor) throws CoreException {
-      cache.removeEntry(configScopeId);
+    protected IStatus doRun(IProgressMonitor monitor) {
+      // Reset first, so that an entry put while sweeping schedules the sweeper again
+      sweeperScheduled.set(false);
+      var delay = sweep();
+      if (delay >= 0 && sweeperScheduled.compareAndSet(false, true)) {
+        schedule(delay);
+      }
       return Status.OK_STATUS;
     }
   }
+
+  public static final class Statistics {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+
+    private Statistics(long hitCount, long missCount, long evictionCount, int size) {
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+      this.evictionCount = evictionCount;
+      this.size = size;
+    }
+
+    public long getHitCount() {
+      return hitCount;
+    }
+
+    public long getMissCount() {
+      return missCount;
+    }
+
+    /** Entries removed because they expired or because the maximum size was reached */
+    public long getEvictionCount() {
+      return evictionCount;
+    }
+
+    public int getSize() {
+      return size;
+    }
+
+    @Override
+    public String toString() {
+      return "hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + ", size=" + size;
+    }
+  }
 }
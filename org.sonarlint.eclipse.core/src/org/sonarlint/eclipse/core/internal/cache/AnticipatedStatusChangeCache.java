@@ -0,0 +1,165 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.backend.ConfigScopeSynchronizer;
+import org.sonarlint.eclipse.core.internal.backend.SonarLintBackendService;
+import org.sonarlint.eclipse.core.internal.jobs.AbstractSonarJob;
+import org.sonarlint.eclipse.core.internal.markers.MarkerUtils;
+import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration.EclipseProjectBinding;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+/**
+ *  For caching whether the connection a project is bound to supports changing the status of anticipated issues
+ *  (SonarQube 10.2+). Checking it is a request to the backend, that was done on every update of the markers.
+ *
+ *  The information is linked to the binding of the project: it is removed when the binding of the project changes
+ *  (see {@link ConfigScopeSynchronizer}) or when the connection changes (see ConnectionSynchronizer). It is fetched
+ *  asynchronously, until the answer is there the capability is considered not supported. In case it then turns out to
+ *  be supported, the markers already created for the project are updated. When an expired entry is fetched again for
+ *  the same binding, the previous answer is used until the new one is there, so that the markers don't flip.
+ */
+public class AnticipatedStatusChangeCache extends AbstractConfigScopeIdCache<AnticipatedStatusChangeCache.Entry> {
+  public static final AnticipatedStatusChangeCache INSTANCE = new AnticipatedStatusChangeCache();
+
+  /** The last answer per configuration scope id, still available after the entry expired */
+  private final Map<String, Entry> lastAnswers = new ConcurrentHashMap<>();
+
+  /** Connections are not upgraded often, and a change to the connection itself removes the entries anyway */
+  @Override
+  protected long getCacheDuration() {
+    return 30 * 60_000L;
+  }
+
+  /** Never blocks, if the information is not available yet it is fetched in the background */
+  public boolean isSupported(ISonarLintProject project) {
+    var binding = SonarLintCorePlugin.loadConfig(project).getProjectBinding();
+    if (binding.isEmpty()) {
+      return false;
+    }
+    var configScopeId = ConfigScopeSynchronizer.getConfigScopeId(project);
+    var entry = getEntry(configScopeId);
+    if (entry == null || !entry.isFor(binding.get())) {
+      var lastAnswer = lastAnswers.get(configScopeId);
+      var previouslySupported = lastAnswer != null && lastAnswer.isFor(binding.get()) && lastAnswer.supported.getNow(false);
+      entry = new Entry(binding.get(), previouslySupported);
+      // Before fetching, as a failure might already be known and has to remove the entry
+      putEntry(configScopeId, entry);
+      fetch(project, configScopeId, entry);
+    }
+    return entry.supported.getNow(entry.previouslySupported);
+  }
+
+  /** When the binding of the project changed, fetch the information right away to have it for the next analysis */
+  public void refresh(ISonarLintProject project) {
+    var configScopeId = ConfigScopeSynchronizer.getConfigScopeId(project);
+    removeEntry(configScopeId);
+    lastAnswers.remove(configScopeId);
+    isSupported(project);
+  }
+
+  public void removeConnection(String connectionId) {
+    removeEntries(entry -> entry.connectionId.equals(connectionId));
+    lastAnswers.values().removeIf(entry -> entry.connectionId.equals(connectionId));
+  }
+
+  /** Overridden by tests to not rely on the backend */
+  protected CompletableFuture<Boolean> checkSupported(ISonarLintProject project) {
+    return SonarLintBackendService.get().checkAnticipatedStatusChangeSupported(project)
+      .thenApply(response -> response.isSupported());
+  }
+
+  private void fetch(ISonarLintProject project, String configScopeId, Entry entry) {
+    checkSupported(project).whenComplete((supported, err) -> {
+      if (err != null) {
+        SonarLintLogger.get().error("Could not check if project is bound and if connection is supporting anticipated issues", err);
+        // Don't keep the failure, so that the next update of the markers tries again, but only remove this entry and
+        // not a newer one, e.g. after the binding changed
+        removeEntry(configScopeId, entry);
+        entry.supported.complete(entry.previouslySupported);
+        return;
+      }
+      entry.supported.complete(supported);
+      lastAnswers.put(configScopeId, entry);
+      if (Boolean.TRUE.equals(supported) && !entry.previouslySupported) {
+        new UpdateAnticipatedIssueMarkersJob(project).schedule();
+      }
+    });
+  }
+
+  public static class Entry {
+    private final String connectionId;
+    private final String projectKey;
+    /** The answer for the same binding before this entry was created, used until this one is there */
+    private final boolean previouslySupported;
+    private final CompletableFuture<Boolean> supported = new CompletableFuture<>();
+
+    private Entry(EclipseProjectBinding binding, boolean previouslySupported) {
+      this.connectionId = binding.getConnectionId();
+      this.projectKey = binding.getProjectKey();
+      this.previouslySupported = previouslySupported;
+    }
+
+    private boolean isFor(EclipseProjectBinding binding) {
+      return connectionId.equals(binding.getConnectionId()) && projectKey.equals(binding.getProjectKey());
+    }
+  }
+
+  /** Markers created while the information was not available yet were not marked as viable for a status change */
+  private static class UpdateAnticipatedIssueMarkersJob extends AbstractSonarJob {
+    private final ISonarLintProject project;
+
+    private UpdateAnticipatedIssueMarkersJob(ISonarLintProject project) {
+      super("Update anticipated issues markers of project " + project.getName());
+      this.project = project;
+      setSystem(true);
+    }
+
+    @Override
+    protected IStatus doRun(IProgressMonitor monitor) throws CoreException {
+      var resource = project.getResource();
+      if (!resource.isAccessible()) {
+        return Status.OK_STATUS;
+      }
+      ResourcesPlugin.getWorkspace().run(m -> {
+        for (var markerId : List.of(SonarLintCorePlugin.MARKER_ON_THE_FLY_ID, SonarLintCorePlugin.MARKER_REPORT_ID)) {
+          for (var marker : resource.findMarkers(markerId, false, IResource.DEPTH_INFINITE)) {
+            if (!marker.getAttribute(MarkerUtils.SONAR_MARKER_ANTICIPATED_ISSUE_ATTR, false)) {
+              marker.setAttribute(MarkerUtils.SONAR_MARKER_ANTICIPATED_ISSUE_ATTR, true);
+            }
+          }
+        }
+      }, null, 0, monitor);
+      return Status.OK_STATUS;
+    }
+  }
+}
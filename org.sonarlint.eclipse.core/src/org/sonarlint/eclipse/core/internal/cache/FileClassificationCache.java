@@ -0,0 +1,180 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.cache;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.jobs.TestFileClassifier;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.Language;
+
+/**
+ *  For caching, per file, whether it is a test file ({@link TestFileClassifier}) and the language detected by the
+ *  language providers. Both are computed for every file on every file system synchronization and analysis and require
+ *  asking all the implementations of the extension points, e.g. resolving the classpath entry of a file with JDT.
+ *
+ *  The entries of a project are removed when the project is closed, removed or its description or metadata (e.g.
+ *  ".classpath", ".settings") changed, or when other plug-ins notify about a change (e.g. the classpath computed by JDT).
+ *  The test classification of all the files is removed when the test file patterns change.
+ */
+public class FileClassificationCache implements IResourceChangeListener {
+  public static final FileClassificationCache INSTANCE = new FileClassificationCache();
+
+  private final Map<IProject, ProjectEntries> entriesPerProject = new ConcurrentHashMap<>();
+  /** Incremented on every invalidation so that a computation racing with it is not cached */
+  private final AtomicLong generation = new AtomicLong();
+  private final AtomicBoolean listening = new AtomicBoolean();
+  /** Once stopped nothing is cached anymore, as the resource changes are not followed */
+  private volatile boolean stopped;
+
+  protected FileClassificationCache() {
+  }
+
+  public boolean isTest(ISonarLintFile file, Predicate<ISonarLintFile> classifier) {
+    var entries = entriesOf(file);
+    var cached = entries.isTest.get(file.getResource());
+    if (cached != null) {
+      return cached;
+    }
+    var generationBefore = generation.get();
+    var isTest = classifier.test(file);
+    if (generation.get() == generationBefore) {
+      entries.isTest.put(file.getResource(), isTest);
+    }
+    return isTest;
+  }
+
+  @Nullable
+  public Language getLanguage(ISonarLintFile file, Function<ISonarLintFile, Language> detector) {
+    var entries = entriesOf(file);
+    var cached = entries.languages.get(file.getResource());
+    if (cached != null) {
+      return cached.orElse(null);
+    }
+    var generationBefore = generation.get();
+    var language = Optional.ofNullable(detector.apply(file));
+    if (generation.get() == generationBefore) {
+      entries.languages.put(file.getResource(), language);
+    }
+    return language.orElse(null);
+  }
+
+  private ProjectEntries entriesOf(ISonarLintFile file) {
+    if (stopped) {
+      return new ProjectEntries();
+    }
+    // Files removed before the listener is registered would otherwise keep their entry
+    if (listening.compareAndSet(false, true)) {
+      ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+    }
+    return entriesPerProject.computeIfAbsent(file.getResource().getProject(), p -> new ProjectEntries());
+  }
+
+  /** To be called when something the classification of the files of the project relies on changed, e.g. the classpath */
+  public void invalidate(IProject project) {
+    generation.incrementAndGet();
+    entriesPerProject.remove(project);
+  }
+
+  /** To be called when the test file patterns changed */
+  public void invalidateTestFiles() {
+    generation.incrementAndGet();
+    entriesPerProject.values().forEach(entries -> entries.isTest.clear());
+  }
+
+  public void stop() {
+    stopped = true;
+    if (listening.compareAndSet(true, false)) {
+      ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+    }
+    generation.incrementAndGet();
+    entriesPerProject.clear();
+  }
+
+  @Override
+  public void resourceChanged(IResourceChangeEvent event) {
+    var delta = event.getDelta();
+    if (delta == null || entriesPerProject.isEmpty()) {
+      return;
+    }
+    for (var projectDelta : delta.getAffectedChildren()) {
+      var project = (IProject) projectDelta.getResource();
+      var entries = entriesPerProject.get(project);
+      if (entries == null) {
+        continue;
+      }
+      if (projectDelta.getKind() != IResourceDelta.CHANGED
+        || (projectDelta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0) {
+        invalidate(project);
+      } else {
+        apply(project, entries, projectDelta);
+      }
+    }
+  }
+
+  private void apply(IProject project, ProjectEntries entries, IResourceDelta projectDelta) {
+    var metadataChanged = new boolean[1];
+    try {
+      projectDelta.accept(delta -> {
+        if (metadataChanged[0]) {
+          return false;
+        }
+        var resource = delta.getResource();
+        if (SonarLintUtils.isProjectMetadata(resource)) {
+          metadataChanged[0] = true;
+          return false;
+        }
+        if (delta.getKind() == IResourceDelta.REMOVED && resource.getType() == IResource.FILE) {
+          entries.isTest.remove(resource);
+          entries.languages.remove(resource);
+          return false;
+        }
+        return true;
+      });
+    } catch (CoreException e) {
+      SonarLintLogger.get().error("Error updating the file classification of project " + project.getName(), e);
+      metadataChanged[0] = true;
+    }
+    if (metadataChanged[0]) {
+      invalidate(project);
+    }
+  }
+
+  /** Keyed by the Eclipse resource of the files, so that removed files can be found without iterating */
+  private static class ProjectEntries {
+    private final Map<IResource, Boolean> isTest = new ConcurrentHashMap<>();
+    private final Map<IResource, Optional<Language>> languages = new ConcurrentHashMap<>();
+  }
+}
@@ -19,10 +19,9 @@
  */
 package org.sonarlint.eclipse.core.internal.cache;
 
-import java.util.Set;
-import org.eclipse.core.runtime.IPath;
 import org.sonarlint.eclipse.core.internal.backend.FileSystemSynchronizer;
 import org.sonarlint.eclipse.core.internal.backend.SonarLintEclipseHeadlessRpcClient;
+import org.sonarlint.eclipse.core.internal.utils.PathPrefixTrie;
 
 /**
  *  For caching the information aggregated from the implementations of the extension point. Currently, only used for
@@ -31,9 +30,10 @@ import org.sonarlint.eclipse.core.internal.backend.SonarLintEclipseHeadlessRpcCl
  *
  *  But due to computation over the extension points is quite costly, having a cache in place for something that isn't
  *  changing too often is helpful. E.g. in case multiple changes are coming in at a time and the file system
- *  synchronization needs to happen one after another.
+ *  synchronization needs to happen one after another. The exclusions are stored as a trie, so that checking a path
+ *  against them doesn't depend on the amount of exclusions.
  */
-public class IProjectScopeProviderCache extends AbstractConfigScopeIdCache<Set<IPath>> {
+public class IProjectScopeProviderCache extends AbstractConfigScopeIdCache<PathPrefixTrie> {
   public static final IProjectScopeProviderCache INSTANCE = new IProjectScopeProviderCache();
 
   /**
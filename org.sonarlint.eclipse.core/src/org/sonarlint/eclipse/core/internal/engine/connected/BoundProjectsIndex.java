@@ -0,0 +1,139 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.engine.connected;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+/**
+ *  Index of the opened projects bound to each connection (and project key), used instead of loading the configuration
+ *  of every project of the workspace each time the bound projects of a connection are requested (bindings view,
+ *  notifications, analysis scheduling, ...).
+ *
+ *  The index is built lazily and thrown away as soon as a project configuration is invalidated or a project is
+ *  added, removed, opened or closed. The returned lists are immutable, the same ones are handed out to every caller
+ *  until the bindings change.
+ */
+public class BoundProjectsIndex {
+
+  public static final BoundProjectsIndex INSTANCE = new BoundProjectsIndex();
+
+  /** Only taken to compare the binding changes with the snapshot being published, lookups go to the snapshot directly */
+  private final Object lock = new Object();
+  /**
+   *  Number of binding changes (project configuration saved, project opened, closed, added or removed) seen so far. A
+   *  snapshot started before one of them might contain the previous binding of a project and is only returned to the
+   *  caller that built it.
+   */
+  private long modificationCount;
+  @Nullable
+  private volatile Snapshot snapshot;
+
+  private BoundProjectsIndex() {
+    // singleton
+  }
+
+  public List<ISonarLintProject> getBoundProjects(String connectionId) {
+    return getSnapshot().projectsPerConnection.getOrDefault(connectionId, List.of());
+  }
+
+  public List<ISonarLintProject> getBoundProjects(String connectionId, String projectKey) {
+    return getSnapshot().projectsPerConnectionAndKey.getOrDefault(connectionId, Map.of()).getOrDefault(projectKey, List.of());
+  }
+
+  public Set<String> getBoundProjectKeys(String connectionId) {
+    return getSnapshot().projectsPerConnectionAndKey.getOrDefault(connectionId, Map.of()).keySet();
+  }
+
+  /** To be called whenever the binding of a project might have changed, or the set of open projects changed */
+  public void invalidate() {
+    synchronized (lock) {
+      modificationCount++;
+      snapshot = null;
+    }
+  }
+
+  private Snapshot getSnapshot() {
+    var current = snapshot;
+    if (current != null) {
+      return current;
+    }
+
+    long modificationCountBeforeBuild;
+    synchronized (lock) {
+      modificationCountBeforeBuild = modificationCount;
+    }
+
+    // The configuration of every project is loaded from its preferences, not while holding the lock so that a binding
+    // change is never blocked by it
+    var built = build();
+
+    synchronized (lock) {
+      if (modificationCount == modificationCountBeforeBuild) {
+        snapshot = built;
+      }
+    }
+    return built;
+  }
+
+  private static Snapshot build() {
+    var projectsPerConnection = new HashMap<String, List<ISonarLintProject>>();
+    var projectsPerConnectionAndKey = new HashMap<String, Map<String, List<ISonarLintProject>>>();
+    for (var project : SonarLintUtils.allProjects()) {
+      if (!project.isOpen()) {
+        continue;
+      }
+      SonarLintCorePlugin.loadConfig(project).getProjectBinding().ifPresent(binding -> {
+        projectsPerConnection.computeIfAbsent(binding.getConnectionId(), k -> new ArrayList<>()).add(project);
+        projectsPerConnectionAndKey.computeIfAbsent(binding.getConnectionId(), k -> new HashMap<>())
+          .computeIfAbsent(binding.getProjectKey(), k -> new ArrayList<>()).add(project);
+      });
+    }
+
+    var immutablePerConnection = new HashMap<String, List<ISonarLintProject>>();
+    projectsPerConnection.forEach((connectionId, projects) -> immutablePerConnection.put(connectionId, List.copyOf(projects)));
+    var immutablePerConnectionAndKey = new HashMap<String, Map<String, List<ISonarLintProject>>>();
+    projectsPerConnectionAndKey.forEach((connectionId, perKey) -> {
+      var immutablePerKey = new HashMap<String, List<ISonarLintProject>>();
+      perKey.forEach((projectKey, projects) -> immutablePerKey.put(projectKey, List.copyOf(projects)));
+      immutablePerConnectionAndKey.put(connectionId, Map.copyOf(immutablePerKey));
+    });
+    return new Snapshot(Map.copyOf(immutablePerConnection), Map.copyOf(immutablePerConnectionAndKey));
+  }
+
+  private static class Snapshot {
+    private final Map<String, List<ISonarLintProject>> projectsPerConnection;
+    private final Map<String, Map<String, List<ISonarLintProject>>> projectsPerConnectionAndKey;
+
+    private Snapshot(Map<String, List<ISonarLintProject>> projectsPerConnection,
+      Map<String, Map<String, List<ISonarLintProject>>> projectsPerConnectionAndKey) {
+      this.projectsPerConnection = projectsPerConnection;
+      this.projectsPerConnectionAndKey = projectsPerConnectionAndKey;
+    }
+  }
+
+}
@@ -26,15 +26,12 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.eclipse.equinox.security.storage.StorageException;
 import org.eclipse.jdt.annotation.Nullable;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.backend.SonarLintBackendService;
-import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration;
-import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration.EclipseProjectBinding;
+import org.sonarlint.eclipse.core.internal.jobs.AnalysisFingerprintCache;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarlint.eclipse.core.internal.utils.StringUtils;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
@@ -147,6 +144,7 @@ public class ConnectionFacade {
     project.deleteAllMarkers(SonarLintCorePlugin.MARKER_ON_THE_FLY_FLOW_ID);
     project.deleteAllMarkers(SonarLintCorePlugin.MARKER_REPORT_ID);
     project.deleteAllMarkers(SonarLintCorePlugin.MARKER_REPORT_FLOW_ID);
+    AnalysisFingerprintCache.INSTANCE.invalidate(project);
   }
 
   public void updateConfig(String url, @Nullable String organization, String token, boolean notificationsDisabled) {
@@ -157,37 +155,16 @@ public class ConnectionFacade {
     SonarLintCorePlugin.getConnectionManager().updateConnection(this, token);
   }
 
-  private static Stream<ISonarLintProject> getOpenedProjects() {
-    return SonarLintUtils.allProjects().stream()
-      .filter(ISonarLintProject::isOpen);
-  }
-
   public Set<String> getBoundProjectKeys() {
-    return getOpenedProjects()
-      .map(project -> SonarLintCorePlugin.loadConfig(project).getProjectBinding())
-      .filter(binding -> binding.filter(b -> id.equals(b.getConnectionId())).isPresent())
-      .map(Optional::get)
-      .map(EclipseProjectBinding::getProjectKey)
-      .collect(Collectors.toSet());
+    return BoundProjectsIndex.INSTANCE.getBoundProjectKeys(id);
   }
 
   public List<ISonarLintProject> getBoundProjects() {
-    return getOpenedProjects()
-      .filter(p -> {
-        var config = SonarLintCorePlugin.loadConfig(p);
-        return config.getProjectBinding().filter(b -> id.equals(b.getConnectionId())).isPresent();
-      }).collect(toList());
+    return BoundProjectsIndex.INSTANCE.getBoundProjects(id);
   }
 
   public List<SonarProject> getBoundSonarProjects() {
-    return SonarLintUtils.allProjects().stream()
-      .filter(ISonarLintProject::isOpen)
-      .map(SonarLintCorePlugin::loadConfig)
-      .map(SonarLintProjectConfiguration::getProjectBinding)
-      .flatMap(Optional::stream)
-      .filter(c -> c.getConnectionId().equals(id))
-      .map(EclipseProjectBinding::getProjectKey)
-      .distinct()
+    return getBoundProjectKeys().stream()
       .sorted()
       .map(projectKey -> {
         var sonarProject = cachedSonarProjectsByKey.get(projectKey);
@@ -205,12 +182,7 @@ public class ConnectionFacade {
   }
 
   public List<ISonarLintProject> getBoundProjects(String projectKey) {
-    return SonarLintUtils.allProjects().stream()
-      .filter(ISonarLintProject::isOpen)
-      .filter(p -> {
-        var config = SonarLintCorePlugin.loadConfig(p);
-        return config.getProjectBinding().filter(b -> id.equals(b.getConnectionId()) && projectKey.equals(b.getProjectKey())).isPresent();
-      }).collect(toList());
+    return BoundProjectsIndex.INSTANCE.getBoundProjects(id, projectKey);
   }
 
   /**
@@ -0,0 +1,192 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.jobs;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.text.IDocument;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ *  Fingerprints of the files as they were when their last on-the-fly analysis succeeded. A fingerprint combines the
+ *  content of the file (the editor document if there is one) with the analysis properties, which contain the
+ *  configuration provided by the other plug-ins like the classpath. When an analysis is re-triggered for a file whose
+ *  fingerprint did not change (e.g. after a build), the markers of the file are still up-to-date and the file does not
+ *  have to be analyzed again.
+ *
+ *  Everything that has an influence on the issues but is not part of the fingerprint (rules configuration, binding,
+ *  synchronization with the server, analyzers being reloaded, markers being deleted) has to invalidate the cache. As
+ *  markers can also be deleted by the user (e.g. from the Problems view), the number of on-the-fly markers is recorded
+ *  every time they are updated and a file whose markers are not there anymore is not considered unchanged. The
+ *  fingerprints of an analysis running concurrently to an invalidation are only dropped for the files concerned by it
+ *  (the file, its project or all of them).
+ */
+public class AnalysisFingerprintCache {
+  private static final SonarLintLogger LOG = SonarLintLogger.get();
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+
+  public static final AnalysisFingerprintCache INSTANCE = new AnalysisFingerprintCache();
+
+  private final Map<ISonarLintFile, byte[]> fingerprintPerFile = new ConcurrentHashMap<>();
+  private final Map<ISonarLintFile, Integer> markerCountPerFile = new ConcurrentHashMap<>();
+  /** Guards the generation and the generations of the last invalidations, the generation is incremented on each one */
+  private final Object lock = new Object();
+  private long generation;
+  private long lastGlobalInvalidation;
+  /** Only invalidations done after the last global one are kept, older ones are covered by it */
+  private final Map<ISonarLintProject, Long> lastInvalidationPerProject = new HashMap<>();
+  private final Map<ISonarLintFile, Long> lastInvalidationPerFile = new HashMap<>();
+
+  protected AnalysisFingerprintCache() {
+  }
+
+  /** To be taken before reading any configuration of the analysis and then given back to {@link #analyzed} */
+  public long getGeneration() {
+    synchronized (lock) {
+      return generation;
+    }
+  }
+
+  /**
+   *  @param analysisProperties all the properties the files are analyzed with
+   *  @return fingerprint of the files that could be read, the others cannot be skipped
+   */
+  public static Map<ISonarLintFile, byte[]> computeFingerprints(Map<ISonarLintFile, IDocument> filesWithDocument,
+    Map<String, String> analysisProperties) {
+    var properties = new TreeMap<>(analysisProperties).toString().getBytes(UTF_8);
+    var fingerprints = new HashMap<ISonarLintFile, byte[]>(filesWithDocument.size());
+    for (var entry : filesWithDocument.entrySet()) {
+      var fingerprint = computeFingerprint(entry.getKey(), entry.getValue(), properties);
+      if (fingerprint != null) {
+        fingerprints.put(entry.getKey(), fingerprint);
+      }
+    }
+    return fingerprints;
+  }
+
+  @Nullable
+  private static byte[] computeFingerprint(ISonarLintFile file, @Nullable IDocument document, byte[] properties) {
+    try {
+      var digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+      digest.update(properties);
+      if (document != null) {
+        digest.update(document.get().getBytes(UTF_8));
+      } else {
+        try (var inputStream = EFS.getStore(file.getResource().getLocationURI()).openInputStream(EFS.NONE, null)) {
+          var buffer = new byte[8192];
+          int read;
+          while ((read = inputStream.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+          }
+        }
+      }
+      return digest.digest();
+    } catch (CoreException | IOException | NoSuchAlgorithmException err) {
+      LOG.debug("Unable to compute the fingerprint of file " + file.getName(), err);
+      return null;
+    }
+  }
+
+  public boolean isUnchanged(ISonarLintFile file, byte[] fingerprint) {
+    if (!Arrays.equals(fingerprintPerFile.get(file), fingerprint)) {
+      return false;
+    }
+    var expectedMarkerCount = markerCountPerFile.get(file);
+    return expectedMarkerCount != null && expectedMarkerCount == countOnTheFlyMarkers(file);
+  }
+
+  private static int countOnTheFlyMarkers(ISonarLintFile file) {
+    try {
+      return file.getResource().findMarkers(SonarLintCorePlugin.MARKER_ON_THE_FLY_ID, false, IResource.DEPTH_ZERO).length;
+    } catch (CoreException err) {
+      LOG.debug("Unable to count the markers of file " + file.getName(), err);
+      return -1;
+    }
+  }
+
+  /** To be called every time the on-the-fly markers of the file were updated */
+  public void markersUpdated(ISonarLintFile file) {
+    markerCountPerFile.put(file, countOnTheFlyMarkers(file));
+  }
+
+  /**
+   *  @param generationAtStart if the file, its project or the global configuration was invalidated in the meantime,
+   *                           the analysis might have been done with an outdated configuration and the fingerprint of
+   *                           the file is not kept
+   */
+  public void analyzed(Map<ISonarLintFile, byte[]> fingerprints, long generationAtStart) {
+    synchronized (lock) {
+      if (lastGlobalInvalidation > generationAtStart) {
+        return;
+      }
+      fingerprints.forEach((file, fingerprint) -> {
+        if (lastInvalidationPerProject.getOrDefault(file.getProject(), 0L) <= generationAtStart
+          && lastInvalidationPerFile.getOrDefault(file, 0L) <= generationAtStart) {
+          fingerprintPerFile.put(file, fingerprint);
+        }
+      });
+    }
+  }
+
+  /** To be called when the markers of the file were deleted, analyses of other files are not affected */
+  public void forget(ISonarLintFile file) {
+    synchronized (lock) {
+      lastInvalidationPerFile.put(file, ++generation);
+      fingerprintPerFile.remove(file);
+      markerCountPerFile.remove(file);
+    }
+  }
+
+  /** To be called when the binding or the server configuration of the project changed, or when it was closed */
+  public void invalidate(ISonarLintProject project) {
+    synchronized (lock) {
+      lastInvalidationPerProject.put(project, ++generation);
+      lastInvalidationPerFile.keySet().removeIf(file -> project.equals(file.getProject()));
+      fingerprintPerFile.keySet().removeIf(file -> project.equals(file.getProject()));
+      markerCountPerFile.keySet().removeIf(file -> project.equals(file.getProject()));
+    }
+  }
+
+  /** To be called when the global configuration (e.g. the rules) changed */
+  public void invalidate() {
+    synchronized (lock) {
+      lastGlobalInvalidation = ++generation;
+      lastInvalidationPerProject.clear();
+      lastInvalidationPerFile.clear();
+      fingerprintPerFile.clear();
+      markerCountPerFile.clear();
+    }
+  }
+}
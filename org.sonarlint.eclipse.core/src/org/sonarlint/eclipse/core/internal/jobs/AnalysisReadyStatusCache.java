@@ -21,6 +21,7 @@ package org.sonarlint.eclipse.core.internal.jobs;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 
 /**
  *  Because we have to await SonarLint out of Process to get ready (e.g. on startup or when a new connection/binding
@@ -43,6 +44,10 @@ public class AnalysisReadyStatusCache {
 
   public static void changeAnalysisReadiness(String configurationScopeId, boolean readiness) {
     analysisReadyByConfigurationScopeId.put(configurationScopeId, readiness);
+    if (!readiness) {
+      // The analyzers or their configuration are being reloaded, the previous analyses might be outdated
+      SonarLintUtils.tryResolveProject(configurationScopeId).ifPresent(AnalysisFingerprintCache.INSTANCE::invalidate);
+    }
   }
 
   public static boolean getAnalysisReadiness(String configurationScopeId) {
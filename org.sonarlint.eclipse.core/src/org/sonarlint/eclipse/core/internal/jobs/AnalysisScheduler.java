@@ -0,0 +1,162 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.jobs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.TriggerType;
+import org.sonarlint.eclipse.core.internal.jobs.AnalyzeProjectRequest.FileWithDocument;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+/**
+ *  On-the-fly analyses are requested very often (saving files, opening editors, after builds, ...). In order to not
+ *  queue redundant analyses of the same files, there is at most one pending on-the-fly analysis per project: files
+ *  newly requested are merged into it. Running on-the-fly analyses whose files are all requested again are cancelled,
+ *  their result would be outdated anyway.
+ *  Manual analyses are not merged or cancelled, they are only prioritized over the on-the-fly ones.
+ */
+public class AnalysisScheduler {
+  private static final AnalysisScheduler INSTANCE = new AnalysisScheduler();
+
+  public static AnalysisScheduler get() {
+    return INSTANCE;
+  }
+
+  private final Map<ISonarLintProject, List<ScheduledAnalysis>> onTheFlyAnalysesByProject = new HashMap<>();
+  private final Function<AnalyzeProjectRequest, Job> jobFactory;
+
+  private AnalysisScheduler() {
+    this(AnalyzeProjectJob::create);
+  }
+
+  // Visible for testing, public as the tests are in another bundle
+  public AnalysisScheduler(Function<AnalyzeProjectRequest, Job> jobFactory) {
+    this.jobFactory = jobFactory;
+  }
+
+  public void schedule(AnalyzeProjectRequest request) {
+    if (!request.getTriggerType().isOnTheFly()) {
+      jobFactory.apply(request).schedule();
+      return;
+    }
+
+    ScheduledAnalysis scheduled;
+    synchronized (this) {
+      var project = request.getProject();
+      var filesWithDocument = new LinkedHashMap<ISonarLintFile, FileWithDocument>();
+      var triggerType = request.getTriggerType();
+
+      var pending = analysesOf(project).stream().filter(a -> !a.started).findFirst();
+      // When cancelling fails the analysis just started, it will be handled like any other running analysis
+      if (pending.isPresent() && pending.get().job.cancel()) {
+        var pendingRequest = pending.get().request;
+        pendingRequest.getFiles().forEach(f -> filesWithDocument.put(f.getFile(), f));
+        triggerType = mergeTriggerTypes(pendingRequest.getTriggerType(), triggerType);
+        if (triggerType.canSkipUnchangedFiles()) {
+          forgetFingerprintsIfNotSkippable(pendingRequest);
+          forgetFingerprintsIfNotSkippable(request);
+        }
+        done(pending.get());
+      }
+      // The most recent document of a file wins
+      request.getFiles().forEach(f -> filesWithDocument.put(f.getFile(), f));
+
+      var files = filesWithDocument.keySet();
+      for (var analysis : analysesOf(project)) {
+        if (files.containsAll(analysis.files)) {
+          SonarLintLogger.get().debug("Cancel analysis superseded by a new one: " + analysis.job.getName());
+          analysis.job.cancel();
+        }
+      }
+
+      var mergedRequest = new AnalyzeProjectRequest(project, new ArrayList<>(filesWithDocument.values()), triggerType,
+        request.shouldClearReport());
+      scheduled = new ScheduledAnalysis(mergedRequest);
+      onTheFlyAnalysesByProject.computeIfAbsent(project, p -> new ArrayList<>()).add(scheduled);
+    }
+    scheduled.job.schedule();
+  }
+
+  /** Fetching server issues is more expensive, but when one of the triggers requires it, it cannot be skipped */
+  private static TriggerType mergeTriggerTypes(TriggerType pending, TriggerType requested) {
+    return pending.shouldFetch() && !requested.shouldFetch() ? pending : requested;
+  }
+
+  /** The merged analysis could otherwise skip files that one of the merged requests wants to be analyzed again */
+  private static void forgetFingerprintsIfNotSkippable(AnalyzeProjectRequest request) {
+    if (!request.getTriggerType().canSkipUnchangedFiles()) {
+      request.getFiles().forEach(f -> AnalysisFingerprintCache.INSTANCE.forget(f.getFile()));
+    }
+  }
+
+  private List<ScheduledAnalysis> analysesOf(ISonarLintProject project) {
+    return new ArrayList<>(onTheFlyAnalysesByProject.getOrDefault(project, List.of()));
+  }
+
+  private synchronized void started(ScheduledAnalysis analysis) {
+    analysis.started = true;
+  }
+
+  private synchronized void done(ScheduledAnalysis analysis) {
+    var project = analysis.request.getProject();
+    var analyses = onTheFlyAnalysesByProject.get(project);
+    if (analyses != null) {
+      analyses.remove(analysis);
+      if (analyses.isEmpty()) {
+        onTheFlyAnalysesByProject.remove(project);
+      }
+    }
+  }
+
+  private class ScheduledAnalysis {
+    private final AnalyzeProjectRequest request;
+    private final Set<ISonarLintFile> files;
+    private final Job job;
+    private boolean started = false;
+
+    private ScheduledAnalysis(AnalyzeProjectRequest request) {
+      this.request = request;
+      this.files = request.getFiles().stream().map(FileWithDocument::getFile).collect(Collectors.toSet());
+      this.job = jobFactory.apply(request);
+      this.job.addJobChangeListener(new JobChangeAdapter() {
+        @Override
+        public void running(IJobChangeEvent event) {
+          started(ScheduledAnalysis.this);
+        }
+
+        @Override
+        public void done(IJobChangeEvent event) {
+          AnalysisScheduler.this.done(ScheduledAnalysis.this);
+        }
+      });
+    }
+  }
+}
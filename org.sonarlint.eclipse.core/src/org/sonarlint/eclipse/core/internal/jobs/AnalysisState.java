@@ -20,19 +20,40 @@
 package org.sonarlint.eclipse.core.internal.jobs;
 
 import java.net.URI;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.TriggerType;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.issue.RaisedIssueDto;
 
 public class AnalysisState {
   private final UUID id;
   private final List<URI> fileURIs;
   private final TriggerType triggerType;
+  private volatile boolean cancelled = false;
+  private final long startNanos = System.nanoTime();
+  /** Time between the start of the analysis and the first issue markers being updated, -1 until then */
+  private volatile long timeToFirstIssueMillis = -1;
+
+  /**
+   *  The marker updates of the intermediate publications and the final one are applied one after the other, in the
+   *  order they were scheduled. The intermediate publications are coalesced per file until they are applied.
+   */
+  private final JobGroup markerUpdates;
+  /** Guards the intermediate issues and whether the final publication was received */
+  private final Object lock = new Object();
+  private Map<URI, List<RaisedIssueDto>> intermediateIssuesByFileUri = new HashMap<>();
+  private boolean finalPublicationReceived;
 
   public AnalysisState(UUID analysisId, List<URI> fileURIs, TriggerType triggerType) {
     this.id = analysisId;
     this.fileURIs = fileURIs;
     this.triggerType = triggerType;
+    this.markerUpdates = new JobGroup("Update issue markers of analysis " + analysisId, 1, 0);
   }
 
   public List<URI> getFileURIs() {
@@ -46,4 +67,69 @@ public class AnalysisState {
   public TriggerType getTriggerType() {
     return triggerType;
   }
+
+  /** The analysis was cancelled (e.g. superseded by a newer one), its issues must not be published anymore */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  public JobGroup getMarkerUpdates() {
+    return markerUpdates;
+  }
+
+  /**
+   *  Only the latest issues per file are kept, as every publication contains all the issues of the file.
+   *
+   *  @return true when there were no pending intermediate issues before, so the marker update has to be scheduled
+   */
+  public boolean addIntermediateIssues(Map<URI, List<RaisedIssueDto>> issuesByFileUri) {
+    synchronized (lock) {
+      if (finalPublicationReceived) {
+        return false;
+      }
+      var wasEmpty = intermediateIssuesByFileUri.isEmpty();
+      intermediateIssuesByFileUri.putAll(issuesByFileUri);
+      return wasEmpty;
+    }
+  }
+
+  /**
+   *  @return the pending intermediate issues, nothing when the final publication already superseded them or the
+   *          analysis was cancelled
+   */
+  public Map<URI, List<RaisedIssueDto>> takeIntermediateIssues() {
+    synchronized (lock) {
+      if (finalPublicationReceived || cancelled || intermediateIssuesByFileUri.isEmpty()) {
+        return Map.of();
+      }
+      var pending = intermediateIssuesByFileUri;
+      intermediateIssuesByFileUri = new HashMap<>();
+      return pending;
+    }
+  }
+
+  /** The final publication contains the issues of all the files, pending intermediate ones are outdated */
+  public void finalPublicationReceived() {
+    synchronized (lock) {
+      finalPublicationReceived = true;
+      intermediateIssuesByFileUri = new HashMap<>();
+    }
+  }
+
+  /** Called whenever issue markers of this analysis were updated */
+  public void issuesPublished(int issueCount) {
+    if (issueCount > 0 && timeToFirstIssueMillis < 0) {
+      timeToFirstIssueMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+      SonarLintLogger.get().debugLazy(() -> "First issue(s) of analysis " + id + " displayed after " + timeToFirstIssueMillis + " ms");
+    }
+  }
+
+  /** @return time between the start of the analysis and the first issue markers, -1 when there were none yet */
+  public long getTimeToFirstIssueMillis() {
+    return timeToFirstIssueMillis;
+  }
 }
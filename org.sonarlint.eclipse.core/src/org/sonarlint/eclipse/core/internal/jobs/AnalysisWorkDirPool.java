@@ -0,0 +1,279 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.jobs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileStore;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.analysis.IPreAnalysisContext;
+import org.sonarlint.eclipse.core.internal.utils.FileUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+/**
+ *  Work directories of the analyses, inside the working directory of each project. Instead of creating and deleting
+ *  one for every analysis (e.g. on every save with the on-the-fly analysis), they are given back to the pool after the
+ *  analysis and reused by the next one of the same project. Every work directory is only used by one analysis at a
+ *  time, concurrent analyses of the same project get different ones.
+ *
+ *  Files that are not available on the local file system are copied into the work directory for the analyzers. These
+ *  copies are kept together with the modification stamp of the resource, so unchanged files are not copied again.
+ *  Only these copies are reused, the temporary folder given to the analysis configurators is a fresh one for every
+ *  analysis and is deleted after it. Copies of files deleted in the meantime are removed when the work directory is
+ *  taken from the pool again.
+ *
+ *  A work directory is only given back to the pool when the analysis was completed. When it was cancelled the backend
+ *  might still be reading the copies, so it is deleted instead of being handed to the next analysis.
+ *
+ *  Work directories not used for some time are deleted in the background, the remaining ones when the plug-in is
+ *  stopped. Work directories left over by a previous session (e.g. when Eclipse crashed) are deleted when the project
+ *  is analyzed for the first time.
+ */
+public class AnalysisWorkDirPool {
+  private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+  private static final String WORK_DIR_PREFIX = "sonarlint";
+  /** Names generated by Files.createTempDirectory(...) for the prefix */
+  private static final Pattern WORK_DIR_NAME = Pattern.compile(Pattern.quote(WORK_DIR_PREFIX) + "\\d+");
+
+  public static final AnalysisWorkDirPool INSTANCE = new AnalysisWorkDirPool(IDLE_TIMEOUT);
+
+  private final long idleTimeoutMillis;
+  /** Most recently used first, so that the copies that are most likely up-to-date are reused */
+  private final Map<Path, Deque<WorkDir>> idleWorkDirsPerProject = new ConcurrentHashMap<>();
+  /** Project working directories whose left over work directories were already deleted */
+  private final Map<Path, Boolean> leftoversDeleted = new ConcurrentHashMap<>();
+  private final AtomicBoolean cleanupScheduled = new AtomicBoolean();
+  private final CleanupJob cleanupJob = new CleanupJob();
+  private volatile boolean stopped;
+
+  protected AnalysisWorkDirPool(Duration idleTimeout) {
+    this.idleTimeoutMillis = idleTimeout.toMillis();
+  }
+
+  /**
+   *  The work directory has to be closed at the end of the analysis. It is only given back to the pool when it was
+   *  marked with {@link WorkDir#analysisCompleted()} before, otherwise it is deleted.
+   */
+  public WorkDir acquire(ISonarLintProject project) throws IOException {
+    var projectWorkingDir = project.getWorkingDir();
+    // Blocks concurrent analyses of the same project until the left overs are deleted
+    leftoversDeleted.computeIfAbsent(projectWorkingDir, AnalysisWorkDirPool::deleteLeftovers);
+
+    var workDir = idleWorkDirs(projectWorkingDir).pollFirst();
+    if (workDir == null) {
+      workDir = new WorkDir(projectWorkingDir, Files.createTempDirectory(projectWorkingDir, WORK_DIR_PREFIX));
+    } else if (!Files.isDirectory(workDir.path)) {
+      // Deleted from the outside in the meantime, e.g. when cleaning the workspace
+      workDir.copiedStamps.clear();
+      Files.createDirectories(workDir.path);
+    } else {
+      workDir.deleteCopiesOfDeletedFiles(project);
+    }
+    workDir.temporaryFolder = Files.createTempDirectory(projectWorkingDir, WORK_DIR_PREFIX);
+    return workDir;
+  }
+
+  private static Boolean deleteLeftovers(Path projectWorkingDir) {
+    if (!Files.isDirectory(projectWorkingDir)) {
+      return Boolean.TRUE;
+    }
+    try (var children = Files.list(projectWorkingDir)) {
+      children
+        .filter(child -> WORK_DIR_NAME.matcher(child.getFileName().toString()).matches() && Files.isDirectory(child))
+        .forEach(FileUtils::deleteRecursively);
+    } catch (IOException e) {
+      SonarLintLogger.get().error("Unable to delete the left over work directories in " + projectWorkingDir, e);
+    }
+    return Boolean.TRUE;
+  }
+
+  private Deque<WorkDir> idleWorkDirs(Path projectWorkingDir) {
+    return idleWorkDirsPerProject.computeIfAbsent(projectWorkingDir, k -> new ConcurrentLinkedDeque<>());
+  }
+
+  private void release(WorkDir workDir) {
+    var temporaryFolder = workDir.temporaryFolder;
+    workDir.temporaryFolder = null;
+    if (temporaryFolder != null && Files.exists(temporaryFolder)) {
+      FileUtils.deleteRecursively(temporaryFolder);
+    }
+    if (stopped || !workDir.analysisCompleted) {
+      FileUtils.deleteRecursively(workDir.path);
+      return;
+    }
+    workDir.analysisCompleted = false;
+    workDir.lastUsed = now();
+    idleWorkDirs(workDir.projectWorkingDir).addFirst(workDir);
+    if (cleanupScheduled.compareAndSet(false, true)) {
+      cleanupJob.schedule(idleTimeoutMillis);
+    }
+  }
+
+  /**
+   *  Deletes the work directories that were not used for longer than the timeout.
+   *
+   *  @return delay in milliseconds until the next work directory times out, -1 when there are no idle ones left
+   */
+  protected final long cleanUp() {
+    var now = now();
+    var nextTimeout = Long.MAX_VALUE;
+    for (var idleWorkDirs : idleWorkDirsPerProject.values()) {
+      for (var workDir : idleWorkDirs) {
+        var timeout = workDir.lastUsed + idleTimeoutMillis;
+        // Only delete it when it was not acquired again in the meantime
+        if (timeout <= now && idleWorkDirs.remove(workDir)) {
+          FileUtils.deleteRecursively(workDir.path);
+        } else if (timeout > now) {
+          nextTimeout = Math.min(nextTimeout, timeout);
+        }
+      }
+    }
+    idleWorkDirsPerProject.values().removeIf(Deque::isEmpty);
+    return nextTimeout == Long.MAX_VALUE ? -1 : (nextTimeout - now);
+  }
+
+  /** Deletes all the idle work directories, the ones still in use are deleted when the analysis gives them back */
+  public void stop() {
+    stopped = true;
+    cleanupJob.cancel();
+    for (var idleWorkDirs : idleWorkDirsPerProject.values()) {
+      WorkDir workDir;
+      while ((workDir = idleWorkDirs.pollFirst()) != null) {
+        FileUtils.deleteRecursively(workDir.path);
+      }
+    }
+    idleWorkDirsPerProject.clear();
+  }
+
+  /** Number of idle work directories of all the projects */
+  public int getIdleCount() {
+    return idleWorkDirsPerProject.values().stream().mapToInt(Deque::size).sum();
+  }
+
+  /** Milliseconds from an arbitrary origin, overridden by tests */
+  protected long now() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+  }
+
+  public class WorkDir implements AutoCloseable {
+    private final Path projectWorkingDir;
+    private final Path path;
+    /** Modification stamps of the resources copied into this work directory, per project relative path */
+    private final Map<String, Long> copiedStamps = new ConcurrentHashMap<>();
+    private volatile long lastUsed;
+    private volatile boolean analysisCompleted;
+    @Nullable
+    private volatile Path temporaryFolder;
+
+    private WorkDir(Path projectWorkingDir, Path path) {
+      this.projectWorkingDir = projectWorkingDir;
+      this.path = path;
+    }
+
+    public Path getPath() {
+      return path;
+    }
+
+    /** Empty folder only used by the current analysis, see {@link IPreAnalysisContext#getAnalysisTemporaryFolder()} */
+    public Path getTemporaryFolder() {
+      var folder = temporaryFolder;
+      if (folder == null) {
+        throw new IllegalStateException("Work directory was already given back to the pool");
+      }
+      return folder;
+    }
+
+    /**
+     *  Copy of a file that is not available on the local file system. For analyzers to properly work the copy has a
+     *  "correct" name, and not a generated one.
+     */
+    public Path getLocalCopy(ISonarLintFile file, IFileStore fileStore) throws IOException, CoreException {
+      var relativePath = file.getProjectRelativePath();
+      var localFile = path.resolve(relativePath);
+      var stamp = file.getResource().getModificationStamp();
+      var copiedStamp = copiedStamps.get(relativePath);
+      if (stamp == IResource.NULL_STAMP || copiedStamp == null || copiedStamp != stamp || !Files.exists(localFile)) {
+        copiedStamps.remove(relativePath);
+        Files.createDirectories(localFile.getParent());
+        fileStore.copy(EFS.getStore(localFile.toUri()), EFS.OVERWRITE, null);
+        copiedStamps.put(relativePath, stamp);
+      }
+      return localFile;
+    }
+
+    /** The backend is done with the copies, only then the work directory can be reused by the next analysis */
+    public void analysisCompleted() {
+      analysisCompleted = true;
+    }
+
+    private void deleteCopiesOfDeletedFiles(ISonarLintProject project) {
+      for (var relativePath : copiedStamps.keySet()) {
+        if (!project.exists(relativePath)) {
+          copiedStamps.remove(relativePath);
+          try {
+            Files.deleteIfExists(path.resolve(relativePath));
+          } catch (IOException e) {
+            SonarLintLogger.get().debug("Unable to delete the copy of the deleted file " + relativePath, e);
+          }
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      release(this);
+    }
+  }
+
+  private class CleanupJob extends AbstractSonarJob {
+    private CleanupJob() {
+      super("Delete unused SonarLint analysis work directories");
+      setSystem(true);
+    }
+
+    @Override
+    protected IStatus doRun(IProgressMonitor monitor) {
+      // Reset first, so that a work directory released while cleaning up schedules the job again
+      cleanupScheduled.set(false);
+      var delay = cleanUp();
+      if (delay >= 0 && cleanupScheduled.compareAndSet(false, true)) {
+        schedule(delay);
+      }
+      return Status.OK_STATUS;
+    }
+  }
+}
@@ -33,6 +33,7 @@ import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.TriggerType;
 import org.sonarlint.eclipse.core.internal.jobs.AnalyzeProjectRequest.FileWithDocument;
 import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
+import org.sonarlint.eclipse.core.internal.vcs.VcsService;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 
@@ -102,7 +103,11 @@ public class AnalyzeChangedFilesJob extends WorkspaceJob {
       if (monitor.isCanceled()) {
         break;
       }
-      if (project instanceof DefaultSonarLintProjectAdapter) {
+      var gitChangedFiles = VcsService.getChangedFiles(project);
+      if (gitChangedFiles.isPresent()) {
+        changedFiles.addAll(gitChangedFiles.get());
+      } else if (project instanceof DefaultSonarLintProjectAdapter) {
+        // Not a Git project, rely on the Team provider (e.g. SVN) that has to refresh and visit the whole project
         changedFiles.addAll(((DefaultSonarLintProjectAdapter) project).getScmChangedFiles(monitor));
       }
     }
@@ -19,7 +19,6 @@
  */
 package org.sonarlint.eclipse.core.internal.jobs;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -49,15 +48,17 @@ import org.sonarlint.eclipse.core.internal.backend.ConfigScopeSynchronizer;
 import org.sonarlint.eclipse.core.internal.backend.RunningAnalysesTracker;
 import org.sonarlint.eclipse.core.internal.backend.SonarLintBackendService;
 import org.sonarlint.eclipse.core.internal.extension.SonarLintExtensionTracker;
+import org.sonarlint.eclipse.core.internal.jobs.AnalysisWorkDirPool.WorkDir;
 import org.sonarlint.eclipse.core.internal.jobs.AnalyzeProjectRequest.FileWithDocument;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfiguration;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintFileAdapter;
 import org.sonarlint.eclipse.core.internal.resources.SonarLintProperty;
 import org.sonarlint.eclipse.core.internal.utils.CanceledException;
 import org.sonarlint.eclipse.core.internal.utils.FileExclusionsChecker;
-import org.sonarlint.eclipse.core.internal.utils.FileUtils;
 import org.sonarlint.eclipse.core.internal.utils.JobUtils;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarlint.eclipse.core.internal.utils.StringUtils;
+import org.sonarlint.eclipse.core.internal.vcs.VcsService;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 import org.sonarsource.sonarlint.core.rpc.protocol.backend.analysis.AnalyzeFilesResponse;
@@ -79,6 +80,10 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
     this.files = request.getFiles();
     this.triggerType = request.getTriggerType();
     this.shouldClearReport = request.shouldClearReport();
+    if (!triggerType.isOnTheFly()) {
+      // The user explicitly asked for this analysis, it should not wait behind on-the-fly ones
+      setPriority(LONG);
+    }
   }
 
   public static AbstractSonarProjectJob create(AnalyzeProjectRequest request) {
@@ -108,15 +113,33 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
     SonarLintLogger.get().debug("Analysis started with the engines being ready");
 
     var startTime = System.currentTimeMillis();
-    Path analysisWorkDir = null;
+    var fingerprintGeneration = AnalysisFingerprintCache.INSTANCE.getGeneration();
+    WorkDir analysisWorkDir = null;
     try {
       var excludedFiles = new ArrayList<ISonarLintFile>();
       var filesToAnalyze = new ArrayList<FileWithDocument>();
 
-      var exclusionsChecker = new FileExclusionsChecker(getProject());
+      var exclusionsChecker = FileExclusionsChecker.get(getProject());
+      var notExcludedFiles = new ArrayList<FileWithDocument>();
       files.forEach(fWithDoc -> {
         var file = fWithDoc.getFile();
-        if (exclusionsChecker.isExcluded(file, true, monitor) || isScmIgnored(file)) {
+        if (exclusionsChecker.isExcluded(file, true, monitor)) {
+          excludedFiles.add(file);
+        } else {
+          notExcludedFiles.add(fWithDoc);
+        }
+      });
+      // Other implementations of the files can have their own notion of being ignored, only the default ones are
+      // checked all at once
+      var scmIgnoredFiles = VcsService.getIgnoredFiles(notExcludedFiles.stream()
+        .map(FileWithDocument::getFile)
+        .filter(DefaultSonarLintFileAdapter.class::isInstance)
+        .collect(Collectors.toList()));
+      notExcludedFiles.forEach(fWithDoc -> {
+        var file = fWithDoc.getFile();
+        var isScmIgnored = file instanceof DefaultSonarLintFileAdapter ? scmIgnoredFiles.contains(file) : file.isScmIgnored();
+        if (isScmIgnored) {
+          SonarLintLogger.get().debugLazy(() -> "File '" + file.getName() + "' skipped from analysis because it is ignored by SCM");
           excludedFiles.add(file);
         } else {
           filesToAnalyze.add(fWithDoc);
@@ -135,9 +158,9 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
       // Configure
       var mergedExtraProps = new LinkedHashMap<String, String>();
 
-      analysisWorkDir = Files.createTempDirectory(getProject().getWorkingDir(), "sonarlint");
+      analysisWorkDir = AnalysisWorkDirPool.INSTANCE.acquire(getProject());
       var inputFiles = buildInputFiles(analysisWorkDir, filesToAnalyzeMap);
-      var usedConfigurators = configure(getProject(), inputFiles, mergedExtraProps, analysisWorkDir, monitor);
+      var usedConfigurators = configure(getProject(), inputFiles, mergedExtraProps, analysisWorkDir.getTemporaryFolder(), monitor);
 
       extraProps.forEach(sonarProperty -> mergedExtraProps.put(sonarProperty.getName(), sonarProperty.getValue()));
 
@@ -171,10 +194,29 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
         }
       }
 
+      // Only the on-the-fly markers are kept up-to-date, analyses for the report always have to run
+      var fingerprints = triggerType.isOnTheFly()
+        ? AnalysisFingerprintCache.computeFingerprints(filesToAnalyzeMap, mergedExtraProps)
+        : Map.<ISonarLintFile, byte[]>of();
+      if (triggerType.canSkipUnchangedFiles()) {
+        inputFiles = skipUnchangedFiles(inputFiles, filesToAnalyzeMap, fingerprints);
+      }
+
       if (!inputFiles.isEmpty()) {
         var start = System.currentTimeMillis();
         var result = run(filesToAnalyzeMap.keySet(), mergedExtraProps, start, monitor);
+        if (!fingerprints.isEmpty()) {
+          var failedFiles = result.getFailedAnalysisFiles();
+          var analyzedFingerprints = new HashMap<ISonarLintFile, byte[]>();
+          inputFiles.stream()
+            .map(EclipseInputFile::getFile)
+            .filter(file -> fingerprints.containsKey(file) && !failedFiles.contains(file.getResource().getLocationURI()))
+            .forEach(file -> analyzedFingerprints.put(file, fingerprints.get(file)));
+          AnalysisFingerprintCache.INSTANCE.analyzed(analyzedFingerprints, fingerprintGeneration);
+        }
       }
+      // Only now the backend is done with the work directory, after a cancellation it might still be reading it
+      analysisWorkDir.analysisCompleted();
 
       analysisCompleted(usedConfigurators, mergedExtraProps, monitor);
       SonarLintLogger.get().debug(String.format("Done in %d ms", System.currentTimeMillis() - startTime));
@@ -185,7 +227,7 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
       return new Status(IStatus.WARNING, SonarLintCorePlugin.PLUGIN_ID, "Error when executing SonarLint analysis", e);
     } finally {
       if (analysisWorkDir != null) {
-        FileUtils.deleteRecursively(analysisWorkDir);
+        analysisWorkDir.close();
       }
     }
 
@@ -219,20 +261,32 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
     return true;
   }
 
-  private static boolean isScmIgnored(ISonarLintFile file) {
-    var ignored = file.isScmIgnored();
-    if (ignored) {
-      SonarLintLogger.get().debug("File '" + file.getName() + "' skipped from analysis because it is ignored by SCM");
+  /**
+   *  Files whose content and analysis configuration did not change since their last successful analysis already have
+   *  up-to-date markers, they are removed from the analysis.
+   */
+  private static List<EclipseInputFile> skipUnchangedFiles(List<EclipseInputFile> inputFiles,
+    Map<ISonarLintFile, IDocument> filesToAnalyze, Map<ISonarLintFile, byte[]> fingerprints) {
+    var changedInputFiles = new ArrayList<EclipseInputFile>(inputFiles.size());
+    for (var inputFile : inputFiles) {
+      var file = inputFile.getFile();
+      var fingerprint = fingerprints.get(file);
+      if (fingerprint != null && AnalysisFingerprintCache.INSTANCE.isUnchanged(file, fingerprint)) {
+        SonarLintLogger.get().debugLazy(() -> "File '" + file.getName() + "' skipped from analysis because it is unchanged since its last analysis");
+        filesToAnalyze.remove(file);
+      } else {
+        changedInputFiles.add(inputFile);
+      }
     }
-    return ignored;
+    return changedInputFiles;
   }
 
-  private static List<EclipseInputFile> buildInputFiles(Path tempDirectory, final Map<ISonarLintFile, IDocument> filesToAnalyze) {
+  private static List<EclipseInputFile> buildInputFiles(WorkDir workDir, final Map<ISonarLintFile, IDocument> filesToAnalyze) {
     var inputFiles = new ArrayList<EclipseInputFile>(filesToAnalyze.size());
 
     for (final var fileWithDoc : filesToAnalyze.entrySet()) {
       var file = fileWithDoc.getKey();
-      var inputFile = new EclipseInputFile(file, tempDirectory, fileWithDoc.getValue());
+      var inputFile = new EclipseInputFile(file, workDir, fileWithDoc.getValue());
       inputFiles.add(inputFile);
     }
     return inputFiles;
@@ -286,6 +340,12 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
 
       var future = SonarLintBackendService.get().analyzeFilesAndTrack(getProject(), analysisId, fileURIs, extraProps, triggerType.shouldFetch(), startTime);
       return JobUtils.waitForFutureInJob(monitor, future);
+    } catch (CanceledException err) {
+      // Cancelling the future also cancels the analysis in the backend, issues that might still be raised for it are
+      // outdated and ignored. The state is kept for a few seconds to be able to recognize them.
+      analysisState.cancel();
+      new FinishAnalysisStateJob(analysisState).schedule(5000);
+      throw err;
     } catch (Exception err) {
       // If the analysis fails we assume that there will also be no "raiseIssues(...)" called. If so, we only handle it
       // incorrectly if this fails on a manual analysis invocation (we assume it is an update coming from SonarLint
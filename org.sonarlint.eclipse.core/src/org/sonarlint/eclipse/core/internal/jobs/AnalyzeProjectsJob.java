@@ -19,22 +19,36 @@
  */
 package org.sonarlint.eclipse.core.internal.jobs;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.TriggerType;
 import org.sonarlint.eclipse.core.internal.jobs.AnalyzeProjectRequest.FileWithDocument;
+import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfiguration;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 
+import static java.text.MessageFormat.format;
+
+/**
+ *  Analysis of multiple projects, the projects are analyzed concurrently (up to the configured limit) so that the
+ *  client side preparation of a project (exclusions, input files, configurators) happens while the backend is busy
+ *  analyzing another one.
+ */
 public class AnalyzeProjectsJob extends WorkspaceJob {
   private static final String UNABLE_TO_ANALYZE_FILES = "Unable to analyze files";
+  private static final long PROGRESS_REFRESH_INTERVAL_MS = 200;
   private final Map<ISonarLintProject, Collection<FileWithDocument>> filesPerProject;
 
   public AnalyzeProjectsJob(Map<ISonarLintProject, Collection<FileWithDocument>> filesPerProject) {
@@ -50,25 +64,37 @@ public class AnalyzeProjectsJob extends WorkspaceJob {
       global.setTaskName("Analysis");
       SonarLintMarkerUpdater.deleteAllMarkersFromReport();
       var analysisMonitor = SubMonitor.convert(global.newChild(100), filesPerProject.size());
+
+      var jobs = new ArrayList<Job>();
+      ISonarLintProject lastProject = null;
       for (var entry : filesPerProject.entrySet()) {
-        if (monitor.isCanceled()) {
-          return Status.CANCEL_STATUS;
-        }
         var project = entry.getKey();
         if (!project.isOpen()) {
           analysisMonitor.worked(1);
           continue;
         }
-        global.setTaskName("Analyzing project " + project.getName());
-
         var req = new AnalyzeProjectRequest(project, entry.getValue(), TriggerType.MANUAL, false);
-
-        var job = AnalyzeProjectJob.create(req);
-        var subMonitor = analysisMonitor.newChild(1);
-        job.run(subMonitor);
-        subMonitor.done();
+        jobs.add(AnalyzeProjectJob.create(req));
+        lastProject = project;
+      }
+      if (lastProject == null) {
+        return Status.OK_STATUS;
       }
 
+      var parallelism = Math.min(SonarLintGlobalConfiguration.getAnalysisParallelism(), jobs.size());
+      global.setTaskName(jobs.size() == 1
+        ? "Analyzing project " + lastProject.getName()
+        : format("Analyzing {0} projects", jobs.size()));
+      var startTime = System.currentTimeMillis();
+      var completed = runConcurrently(jobs, parallelism, analysisMonitor, monitor);
+      if (completed < jobs.size()) {
+        return Status.CANCEL_STATUS;
+      }
+      SonarLintLogger.get().debug(format("Analysis of {0} projects ({1} in parallel) done in {2} ms", jobs.size(), parallelism,
+        System.currentTimeMillis() - startTime));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Status.CANCEL_STATUS;
     } catch (Exception e) {
       SonarLintLogger.get().error(UNABLE_TO_ANALYZE_FILES, e);
       return new Status(IStatus.ERROR, SonarLintCorePlugin.PLUGIN_ID, UNABLE_TO_ANALYZE_FILES, e);
@@ -76,6 +102,48 @@ public class AnalyzeProjectsJob extends WorkspaceJob {
     return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
   }
 
+  /**
+   *  Runs the per-project analysis jobs in a group limited to the given amount of concurrent jobs, the progress of
+   *  this job is advanced by one for every finished project and cancelling this job cancels the whole group.
+   *
+   *  @return the amount of analyses finished, lower than the amount of jobs if cancelled
+   */
+  private static int runConcurrently(Collection<Job> jobs, int parallelism, SubMonitor analysisMonitor, IProgressMonitor monitor)
+    throws InterruptedException {
+    var group = new JobGroup("SonarQube analysis of multiple projects", parallelism, jobs.size());
+    var finished = new AtomicInteger();
+    var listener = new JobChangeAdapter() {
+      @Override
+      public void done(IJobChangeEvent event) {
+        finished.incrementAndGet();
+      }
+    };
+    for (var job : jobs) {
+      job.setJobGroup(group);
+      job.setSystem(true);
+      job.addJobChangeListener(listener);
+      job.schedule();
+    }
+
+    var reported = 0;
+    var done = false;
+    while (!done) {
+      done = group.join(PROGRESS_REFRESH_INTERVAL_MS, null);
+      if (monitor.isCanceled()) {
+        group.cancel();
+        return finished.get();
+      }
+      // The monitor is not thread-safe, therefore only this thread reports the progress
+      var current = finished.get();
+      if (current > reported) {
+        analysisMonitor.worked(current - reported);
+        analysisMonitor.subTask(format("{0} of {1} projects analyzed", current, jobs.size()));
+        reported = current;
+      }
+    }
+    return finished.get();
+  }
+
   @Override
   public final boolean belongsTo(Object family) {
     return "org.sonarlint.eclipse.projectsJob".equals(family);
@@ -19,13 +19,12 @@
  */
 package org.sonarlint.eclipse.core.internal.jobs;
 
-import java.io.File;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension4;
+import org.sonarlint.eclipse.core.internal.jobs.AnalysisWorkDirPool.WorkDir;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 
 /**
@@ -38,14 +37,14 @@ class EclipseInputFile {
   private final ISonarLintFile file;
   @Nullable
   private final IDocument editorDocument;
-  private final Path tempDirectory;
+  private final WorkDir workDir;
   @Nullable
   private Path filePath;
   private final long documentModificationStamp;
 
-  EclipseInputFile(ISonarLintFile file, Path tempDirectory, @Nullable IDocument editorDocument) {
+  EclipseInputFile(ISonarLintFile file, WorkDir workDir, @Nullable IDocument editorDocument) {
     this.file = file;
-    this.tempDirectory = tempDirectory;
+    this.workDir = workDir;
     this.editorDocument = editorDocument;
     this.documentModificationStamp = editorDocument != null ? ((IDocumentExtension4) editorDocument).getModificationStamp() : 0;
   }
@@ -56,22 +55,17 @@ class EclipseInputFile {
 
   public String getPath() {
     if (filePath == null) {
-      initFromFS(file, tempDirectory);
+      initFromFS(file, workDir);
     }
     return filePath.toString();
   }
 
-  private synchronized void initFromFS(ISonarLintFile file, Path temporaryDirectory) {
+  private synchronized void initFromFS(ISonarLintFile file, WorkDir workDir) {
     try {
       var fileStore = EFS.getStore(file.getResource().getLocationURI());
       var localFile = fileStore.toLocalFile(EFS.NONE, null);
-      if (localFile == null) {
-        // For analyzers to properly work we should ensure the temporary file has a "correct" name, and not a generated one
-        localFile = new File(temporaryDirectory.toFile(), file.getProjectRelativePath());
-        Files.createDirectories(localFile.getParentFile().toPath());
-        fileStore.copy(EFS.getStore(localFile.toURI()), EFS.OVERWRITE, null);
-      }
-      filePath = localFile.toPath().toRealPath();
+      var localPath = localFile != null ? localFile.toPath() : workDir.getLocalCopy(file, fileStore);
+      filePath = localPath.toRealPath();
     } catch (Exception e) {
       throw new IllegalStateException("Unable to find path for file " + file, e);
     }
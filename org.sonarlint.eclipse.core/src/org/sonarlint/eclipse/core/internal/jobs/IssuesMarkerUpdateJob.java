@@ -28,8 +28,10 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.annotation.Nullable;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.cache.AnticipatedStatusChangeCache;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfiguration;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
@@ -37,20 +39,55 @@ import org.sonarsource.sonarlint.core.rpc.protocol.client.issue.RaisedIssueDto;
 
 public class IssuesMarkerUpdateJob extends AbstractSonarJob {
   private final ISonarLintProject project;
+  @Nullable
   private final Map<URI, List<RaisedIssueDto>> issuesByFileUri;
   private final boolean issuesAreOnTheFly;
+  /** Analysis the issues were raised for, null when it is an update triggered by SonarLint Core */
+  @Nullable
+  private final AnalysisState analysisState;
 
-  public IssuesMarkerUpdateJob(ISonarLintProject project, Map<URI, List<RaisedIssueDto>> issuesByFileUri, boolean issuesAreOnTheFly) {
-    super("Update issues markers for project " + project.getName());
+  public IssuesMarkerUpdateJob(ISonarLintProject project, Map<URI, List<RaisedIssueDto>> issuesByFileUri, boolean issuesAreOnTheFly,
+    @Nullable AnalysisState analysisState) {
+    this("Update issues markers for project " + project.getName(), project, issuesByFileUri, issuesAreOnTheFly, analysisState);
+  }
+
+  private IssuesMarkerUpdateJob(String title, ISonarLintProject project, @Nullable Map<URI, List<RaisedIssueDto>> issuesByFileUri,
+    boolean issuesAreOnTheFly, @Nullable AnalysisState analysisState) {
+    super(title);
     this.project = project;
     this.issuesByFileUri = issuesByFileUri;
     this.issuesAreOnTheFly = issuesAreOnTheFly;
+    this.analysisState = analysisState;
+    if (analysisState != null) {
+      setJobGroup(analysisState.getMarkerUpdates());
+    }
+  }
+
+  /**
+   *  Applies the intermediate issues of a running analysis that were published until the job runs, this way multiple
+   *  publications for the same file in a short time only update its markers once.
+   */
+  public static IssuesMarkerUpdateJob forIntermediatePublication(ISonarLintProject project, AnalysisState analysisState) {
+    return new IssuesMarkerUpdateJob("Update intermediate issues markers for project " + project.getName(), project, null,
+      analysisState.getTriggerType().isOnTheFly(), analysisState);
   }
 
   @Override
   protected IStatus doRun(IProgressMonitor monitor) throws CoreException {
-    SonarLintLogger.get().info("Found " + countAllIssues() + " issue(s) on project '"
-      + project.getName() + "'");
+    var isIntermediate = issuesByFileUri == null;
+    var issues = getIssues();
+    if (isIntermediate && issues.isEmpty()) {
+      return Status.OK_STATUS;
+    }
+
+    var issueCount = countAllIssues(issues);
+    if (isIntermediate) {
+      SonarLintLogger.get().debugLazy(() -> "Found " + issueCount + " issue(s) so far in " + issues.size() + " file(s) on project '"
+        + project.getName() + "'");
+    } else {
+      SonarLintLogger.get().info("Found " + issueCount + " issue(s) on project '"
+        + project.getName() + "'");
+    }
 
     // To access the preference service only once and not per issue
     var issuesIncludingResolved = SonarLintGlobalConfiguration.issuesIncludingResolved();
@@ -58,10 +95,10 @@ public class IssuesMarkerUpdateJob extends AbstractSonarJob {
 
     // If the project connection offers changing the status on anticipated issues (SonarQube 10.2+) we can enable the
     // context menu option on the markers.
-    var viableForStatusChange = SonarLintUtils.checkProjectSupportsAnticipatedStatusChange(project);
+    var viableForStatusChange = AnticipatedStatusChangeCache.INSTANCE.isSupported(project);
 
     ResourcesPlugin.getWorkspace().run(m -> {
-      for (var entry : issuesByFileUri.entrySet()) {
+      for (var entry : issues.entrySet()) {
         var slFile = SonarLintUtils.findFileFromUri(entry.getKey());
         if (slFile != null) {
           SonarLintMarkerUpdater.createOrUpdateMarkers(slFile, entry.getValue(), issuesAreOnTheFly,
@@ -72,10 +109,20 @@ public class IssuesMarkerUpdateJob extends AbstractSonarJob {
       SonarLintCorePlugin.getAnalysisListenerManager().notifyListeners(() -> Set.of(project));
     }, monitor);
 
+    if (analysisState != null) {
+      analysisState.issuesPublished(issueCount);
+    }
     return Status.OK_STATUS;
   }
 
-  private int countAllIssues() {
+  private Map<URI, List<RaisedIssueDto>> getIssues() {
+    if (issuesByFileUri != null) {
+      return issuesByFileUri;
+    }
+    return analysisState != null ? analysisState.takeIntermediateIssues() : Map.of();
+  }
+
+  private static int countAllIssues(Map<URI, List<RaisedIssueDto>> issuesByFileUri) {
     return issuesByFileUri.values().stream().mapToInt(List::size).sum();
   }
 }
@@ -72,7 +72,7 @@ public class MarkAsResolvedJob extends Job {
         .showNotification(new Notification("Issue marked as resolved", "The issue was successfully marked as resolved", null));
       if (!isTaint) {
         var request = new AnalyzeProjectRequest(project, List.of(new FileWithDocument(file, null)), TriggerType.AFTER_RESOLVE, false);
-        AnalyzeProjectJob.create(request).schedule();
+        AnalysisScheduler.get().schedule(request);
       }
       return Status.OK_STATUS;
     } catch (ExecutionException e) {
@@ -21,20 +21,26 @@ package org.sonarlint.eclipse.core.internal.jobs;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.Nullable;
@@ -44,6 +50,8 @@ import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.backend.SonarLintBackendService;
 import org.sonarlint.eclipse.core.internal.engine.connected.ConnectionFacade;
+import org.sonarlint.eclipse.core.internal.markers.BulkMarkerWriter;
+import org.sonarlint.eclipse.core.internal.markers.DeferredMarker;
 import org.sonarlint.eclipse.core.internal.markers.MarkerFlow;
 import org.sonarlint.eclipse.core.internal.markers.MarkerFlowLocation;
 import org.sonarlint.eclipse.core.internal.markers.MarkerFlows;
@@ -118,81 +126,144 @@ public class SonarLintMarkerUpdater {
     } catch (CoreException e) {
       SonarLintLogger.get().error(e.getMessage(), e);
     }
+    AnalysisFingerprintCache.INSTANCE.forget(file);
   }
 
+  /**
+   *  All the markers of the file are created, updated and deleted in one workspace operation, with all the attributes
+   *  of a marker written at once, so that this results in a single resource change notification.
+   */
   public static void createOrUpdateMarkers(ISonarLintFile file, List<RaisedIssueDto> issues, boolean issuesAreOnTheFly, final boolean issuesIncludingResolved,
     final boolean issuesOnlyNewCode, final boolean viableForStatusChange) {
-
     try {
-      var markersForFile = Stream.of(file.getResource().findMarkers(
-        issuesAreOnTheFly ? SonarLintCorePlugin.MARKER_ON_THE_FLY_ID : SonarLintCorePlugin.MARKER_REPORT_ID,
-        false,
-        IResource.DEPTH_ZERO))
-        .collect(Collectors.toMap(MarkerUtils::getTrackedIssueId, marker -> marker));
-
-      var issueIds = issues.stream().map(issue -> issue.getId()).collect(Collectors.toSet());
-
-      // All markers that have no associated issue (anymore)
-      // -> markers not to be shown based on New Code / Issue Filter will be determined one by one and deleted directly
-      Set<IMarker> previousMarkersToDelete = markersForFile.entrySet().stream()
-        .filter(entry -> !issueIds.contains(entry.getKey()))
-        .map(Entry::getValue)
-        .collect(Collectors.toSet());
-
-      if (!issues.isEmpty()) {
-        createOrUpdateMarkers(file, markersForFile, issues, issuesAreOnTheFly, issuesIncludingResolved, issuesOnlyNewCode, viableForStatusChange);
+      ResourcesPlugin.getWorkspace().run(m -> createOrUpdateMarkersInWorkspaceOperation(file, issues, issuesAreOnTheFly, issuesIncludingResolved,
+        issuesOnlyNewCode, viableForStatusChange), null, IWorkspace.AVOID_UPDATE, null);
+    } catch (CoreException e) {
+      SonarLintLogger.get().error(e.getMessage(), e);
+    }
+  }
+
+  private static void createOrUpdateMarkersInWorkspaceOperation(ISonarLintFile file, List<RaisedIssueDto> issues, boolean issuesAreOnTheFly,
+    final boolean issuesIncludingResolved, final boolean issuesOnlyNewCode, final boolean viableForStatusChange) throws CoreException {
+    var markersForFile = Stream.of(file.getResource().findMarkers(
+      issuesAreOnTheFly ? SonarLintCorePlugin.MARKER_ON_THE_FLY_ID : SonarLintCorePlugin.MARKER_REPORT_ID,
+      false,
+      IResource.DEPTH_ZERO))
+      .collect(Collectors.toMap(MarkerUtils::getTrackedIssueId, marker -> marker));
+
+    var issueIds = issues.stream().map(issue -> issue.getId()).collect(Collectors.toSet());
+
+    // All markers that have no associated issue (anymore)
+    // -> markers not to be shown based on New Code / Issue Filter will be determined one by one and deleted directly
+    Set<IMarker> previousMarkersToDelete = markersForFile.entrySet().stream()
+      .filter(entry -> !issueIds.contains(entry.getKey()))
+      .map(Entry::getValue)
+      .collect(Collectors.toSet());
+
+    var writer = new BulkMarkerWriter();
+    if (!issues.isEmpty()) {
+      createOrUpdateMarkers(writer, file, markersForFile, issues, issuesAreOnTheFly, issuesIncludingResolved, issuesOnlyNewCode, viableForStatusChange);
+    }
+
+    for (var marker : previousMarkersToDelete) {
+      deleteSecondaryMarkers(marker);
+      writer.delete(marker);
+    }
+    writer.flush();
+
+    if (issuesAreOnTheFly) {
+      AnalysisFingerprintCache.INSTANCE.markersUpdated(file);
+    }
+  }
+
+  /** The flow and quick fix markers only exist when they were materialized, e.g. because the issue was selected */
+  private static void deleteSecondaryMarkers(IMarker primaryLocationMarker) {
+    MarkerUtils.getIssueFlows(primaryLocationMarker).deleteAllMarkers();
+    MarkerUtils.getIssueQuickFixes(primaryLocationMarker).deleteAllMarkers();
+  }
+
+  /**
+   *  Refresh the taint markers of multiple files at once: the taint vulnerabilities are only fetched once per project
+   *  (configuration scope) and indexed by file, then the markers of all the files are replaced in a single workspace
+   *  operation.
+   */
+  public static void refreshMarkersForTaint(Collection<ISonarLintFile> files, ConnectionFacade facade, final boolean issuesIncludingResolved,
+    final boolean issuesOnlyNewCode, IProgressMonitor monitor) throws InterruptedException, ExecutionException, CoreException {
+    var filesPerProject = files.stream()
+      .collect(Collectors.groupingBy(ISonarLintFile::getProject, LinkedHashMap::new, Collectors.toCollection(LinkedHashSet::new)));
+
+    var refreshes = new ArrayList<TaintMarkersRefresh>();
+    for (var entry : filesPerProject.entrySet()) {
+      if (monitor.isCanceled()) {
+        return;
       }
+      refreshes.add(fetchTaintVulnerabilities(entry.getKey(), entry.getValue(), facade, issuesIncludingResolved, issuesOnlyNewCode, monitor));
+    }
 
-      for (var marker : previousMarkersToDelete) {
-        marker.delete();
+    var actualTaintMarkersCreated = new AtomicBoolean(false);
+    ResourcesPlugin.getWorkspace().run(m -> {
+      for (var refresh : refreshes) {
+        for (var entry : refresh.taintVulnerabilitiesPerFile.entrySet()) {
+          var file = entry.getKey();
+          deleteTaintMarkers(file);
+          var taintVulnerabilities = entry.getValue();
+          if (taintVulnerabilities.isEmpty()) {
+            continue;
+          }
+          var document = file.getDocument();
+          for (var taintIssue : taintVulnerabilities) {
+            createTaintMarker(document, file, taintIssue, refresh.bindingsPerProjects);
+          }
+          actualTaintMarkersCreated.set(true);
+        }
       }
-    } catch (CoreException e) {
-      SonarLintLogger.get().error(e.getMessage(), e);
+    }, monitor);
+
+    if (actualTaintMarkersCreated.get() && taintVulnerabilitiesListener != null) {
+      taintVulnerabilitiesListener.markersCreated(facade.isSonarCloud());
     }
   }
 
-  public static void refreshMarkersForTaint(ISonarLintFile currentFile, ConnectionFacade facade, final boolean issuesIncludingResolved,
-    final boolean issuesOnlyNewCode, IProgressMonitor monitor) throws InterruptedException, ExecutionException {
-    deleteTaintMarkers(currentFile);
+  private static TaintMarkersRefresh fetchTaintVulnerabilities(ISonarLintProject project, Set<ISonarLintFile> files, ConnectionFacade facade,
+    final boolean issuesIncludingResolved, final boolean issuesOnlyNewCode, IProgressMonitor monitor) throws InterruptedException, ExecutionException {
+    var refresh = new TaintMarkersRefresh();
+    // Every file is part of the refresh, so that its stale markers are removed even when there is no taint anymore
+    files.forEach(f -> refresh.taintVulnerabilitiesPerFile.put(f, new ArrayList<>()));
 
-    var project = currentFile.getProject();
-    var config = SonarLintCorePlugin.loadConfig(project);
-    var projectBinding = config.getProjectBinding();
+    var projectBinding = SonarLintCorePlugin.loadConfig(project).getProjectBinding();
     if (projectBinding.isEmpty()) {
-      return;
+      return refresh;
     }
-    var binding = projectBinding.get();
 
     var future = SonarLintBackendService.get().listAllTaintVulnerabilities(project);
     var response = JobUtils.waitForFuture(monitor, future);
 
-    var taintVulnerabilities = response.getTaintVulnerabilities();
-
-    var boundSiblingProjects = facade.getBoundProjects(binding.getProjectKey());
-    var bindings = boundSiblingProjects.stream()
-      .collect(Collectors.toMap(p -> p, p -> SonarLintCorePlugin.loadConfig(p).getProjectBinding().get()));
+    var boundSiblingProjects = facade.getBoundProjects(projectBinding.get().getProjectKey());
+    boundSiblingProjects.forEach(p -> refresh.bindingsPerProjects.put(p, SonarLintCorePlugin.loadConfig(p).getProjectBinding().get()));
 
-    var actualTaintMarkersCreated = false;
-    for (var taintIssue : taintVulnerabilities) {
-      if (!(shouldHideResolvedTaintMarker(taintIssue, issuesIncludingResolved)
-        || shouldHidePreNewCodeTaintMarker(taintIssue, issuesOnlyNewCode))) {
-        var optFileForTaint = findFileForLocationInBoundProjects(bindings, taintIssue.getIdeFilePath());
-        if (optFileForTaint.isEmpty()) {
-          continue;
-        }
-        var fileForTaint = optFileForTaint.get();
-        if (!fileForTaint.equals(currentFile)) {
-          continue;
+    // Many taint vulnerabilities are usually located in the same file, only resolve each path once
+    var filesPerIdePath = new HashMap<Path, Optional<ISonarLintFile>>();
+    for (var taintIssue : response.getTaintVulnerabilities()) {
+      if (shouldHideResolvedTaintMarker(taintIssue, issuesIncludingResolved)
+        || shouldHidePreNewCodeTaintMarker(taintIssue, issuesOnlyNewCode)) {
+        continue;
+      }
+      var fileForTaint = filesPerIdePath.computeIfAbsent(taintIssue.getIdeFilePath(),
+        path -> findFileForLocationInBoundProjects(refresh.bindingsPerProjects, path));
+      if (fileForTaint.isPresent()) {
+        var taintVulnerabilitiesForFile = refresh.taintVulnerabilitiesPerFile.get(fileForTaint.get());
+        if (taintVulnerabilitiesForFile != null) {
+          taintVulnerabilitiesForFile.add(taintIssue);
         }
-
-        createTaintMarker(fileForTaint.getDocument(), fileForTaint, taintIssue, bindings);
-        actualTaintMarkersCreated = true;
       }
     }
-    if (actualTaintMarkersCreated && taintVulnerabilitiesListener != null) {
-      taintVulnerabilitiesListener.markersCreated(facade.isSonarCloud());
-    }
+    return refresh;
+  }
 
+  /** Taint vulnerabilities of one project, indexed by the file they are located in */
+  private static class TaintMarkersRefresh {
+    private final Map<ISonarLintProject, EclipseProjectBinding> bindingsPerProjects = new HashMap<>();
+    private final Map<ISonarLintFile, List<TaintVulnerabilityDto>> taintVulnerabilitiesPerFile = new LinkedHashMap<>();
   }
 
   private static Optional<ISonarLintFile> findFileForLocationInBoundProjects(Map<ISonarLintProject, EclipseProjectBinding> bindingsPerProjects, Path filePath) {
@@ -205,7 +276,7 @@ public class SonarLintMarkerUpdater {
     return Optional.empty();
   }
 
-  private static void createOrUpdateMarkers(ISonarLintFile file, Map<UUID, IMarker> markersForFile,
+  private static void createOrUpdateMarkers(BulkMarkerWriter writer, ISonarLintFile file, Map<UUID, IMarker> markersForFile,
     List<RaisedIssueDto> issues, boolean issuesAreOnTheFly, final boolean issuesIncludingResolved,
     final boolean issuesOnlyNewCode, final boolean viableForStatusChange) throws CoreException {
 
@@ -219,29 +290,31 @@ public class SonarLintMarkerUpdater {
       if (shouldHideResolvedIssueMarker(issue, issuesIncludingResolved)
         || shouldHidePreNewCodeIssueMarker(issue, issuesOnlyNewCode)) {
         if (markerForIssue != null) {
-          markerForIssue.delete();
+          deleteSecondaryMarkers(markerForIssue);
+          writer.delete(markerForIssue);
         }
         continue;
       }
 
+      var attributes = getMarkerAttributes(lazyInitDocument, issue, viableForStatusChange);
+      attributes.put(MarkerUtils.SONAR_MARKER_EXTRA_LOCATIONS_ATTR, createFlowMarkersForLocalIssues(lazyInitDocument, file, issue, issuesAreOnTheFly));
+      if (issuesAreOnTheFly) {
+        attributes.put(MarkerUtils.SONAR_MARKER_QUICK_FIXES_ATTR,
+          createQuickFixMarkersForLocalIssues(lazyInitDocument, file, issue, (Integer) attributes.get(IMarker.CHAR_START)));
+      }
+
       // try to update the marker (if possible), otherwise create it
       if (markerForIssue == null) {
-        markerForIssue = createMarker(issueId, file, issuesAreOnTheFly);
+        attributes.put(MarkerUtils.SONAR_MARKER_TRACKED_ISSUE_ID_ATTR, MarkerUtils.encodeUuid(issueId));
+        writer.create(file.getResource(), issuesAreOnTheFly ? SonarLintCorePlugin.MARKER_ON_THE_FLY_ID : SonarLintCorePlugin.MARKER_REPORT_ID,
+          attributes);
+      } else {
+        deleteSecondaryMarkers(markerForIssue);
+        writer.update(markerForIssue, attributes);
       }
-
-      updateMarkerAttributes(lazyInitDocument, issue, markerForIssue, viableForStatusChange);
-      createFlowMarkersForLocalIssues(lazyInitDocument, file, issue, markerForIssue, issuesAreOnTheFly);
-      createQuickFixMarkersForLocalIssues(lazyInitDocument, file, issue, markerForIssue, issuesAreOnTheFly);
     }
   }
 
-  private static IMarker createMarker(UUID id, ISonarLintIssuable issuable, boolean issuesAreOnTheFly) throws CoreException {
-    var marker = issuable.getResource()
-      .createMarker(issuesAreOnTheFly ? SonarLintCorePlugin.MARKER_ON_THE_FLY_ID : SonarLintCorePlugin.MARKER_REPORT_ID);
-    marker.setAttribute(MarkerUtils.SONAR_MARKER_TRACKED_ISSUE_ID_ATTR, MarkerUtils.encodeUuid(id));
-    return marker;
-  }
-
   private static String markerIdForFlows(boolean issuesAreOnTheFly) {
     return issuesAreOnTheFly ? SonarLintCorePlugin.MARKER_ON_THE_FLY_FLOW_ID : SonarLintCorePlugin.MARKER_REPORT_FLOW_ID;
   }
@@ -304,59 +377,47 @@ public class SonarLintMarkerUpdater {
     marker.setAttribute("org.eclipse.ui.views.markers.path", issuable.getResourceContainerForMarker());
   }
 
-  private static void updateMarkerAttributes(IDocument document, RaisedIssueDto issue, IMarker marker,
-    final boolean viableForStatusChange) throws CoreException {
-    var existingAttributes = marker.getAttributes();
+  private static Map<String, Object> getMarkerAttributes(IDocument document, RaisedIssueDto issue, final boolean viableForStatusChange) {
+    var attributes = new LinkedHashMap<String, Object>();
 
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_RULE_KEY_ATTR, issue.getRuleKey());
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_RULE_DESC_CONTEXT_KEY_ATTR,
-      issue.getRuleDescriptionContextKey());
-    setMarkerAttributeIfDifferent(marker, existingAttributes, IMarker.SEVERITY, SonarLintGlobalConfiguration.getMarkerSeverity());
-    setMarkerAttributeIfDifferent(marker, existingAttributes, IMarker.MESSAGE, issue.getPrimaryMessage());
+    attributes.put(MarkerUtils.SONAR_MARKER_RULE_KEY_ATTR, issue.getRuleKey());
+    attributes.put(MarkerUtils.SONAR_MARKER_RULE_DESC_CONTEXT_KEY_ATTR, issue.getRuleDescriptionContextKey());
+    attributes.put(IMarker.SEVERITY, SonarLintGlobalConfiguration.getMarkerSeverity());
+    attributes.put(IMarker.MESSAGE, issue.getPrimaryMessage());
 
     var textRange = issue.getTextRange();
     var position = MarkerUtils.getPosition(document, textRange);
 
     // File level issues (line == null) are displayed on line 1
-    setMarkerAttributeIfDifferent(marker, existingAttributes, IMarker.LINE_NUMBER, textRange != null ? textRange.getStartLine() : 1);
+    attributes.put(IMarker.LINE_NUMBER, textRange != null ? textRange.getStartLine() : 1);
 
-    setMarkerAttributeIfDifferent(marker, existingAttributes, IMarker.CHAR_START, position != null ? position.getOffset() : null);
-    setMarkerAttributeIfDifferent(marker, existingAttributes, IMarker.CHAR_END, position != null ? (position.getOffset() + position.getLength()) : null);
+    attributes.put(IMarker.CHAR_START, position != null ? position.getOffset() : null);
+    attributes.put(IMarker.CHAR_END, position != null ? (position.getOffset() + position.getLength()) : null);
 
     var severityModeEither = issue.getSeverityMode();
     if (severityModeEither.isLeft()) {
       var standardModeDetails = severityModeEither.getLeft();
-      setMarkerAttributeIfDifferent(marker, existingAttributes, IMarker.PRIORITY,
-        getPriority(standardModeDetails.getSeverity()));
-      setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_ISSUE_SEVERITY_ATTR,
-        standardModeDetails.getSeverity());
-      setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_ISSUE_TYPE_ATTR,
-        standardModeDetails.getType());
+      attributes.put(IMarker.PRIORITY, getPriority(standardModeDetails.getSeverity()));
+      attributes.put(MarkerUtils.SONAR_MARKER_ISSUE_SEVERITY_ATTR, standardModeDetails.getSeverity());
+      attributes.put(MarkerUtils.SONAR_MARKER_ISSUE_TYPE_ATTR, standardModeDetails.getType());
     } else {
       var mqrModeDetails = severityModeEither.getRight();
-      setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_ISSUE_ATTRIBUTE_ATTR,
-        mqrModeDetails.getCleanCodeAttribute());
+      attributes.put(MarkerUtils.SONAR_MARKER_ISSUE_ATTRIBUTE_ATTR, mqrModeDetails.getCleanCodeAttribute());
       var highestImpactSeverityEncoded = MarkerUtils.encodeHighestImpact(mqrModeDetails.getImpacts());
-      setMarkerAttributeIfDifferent(marker, existingAttributes, IMarker.PRIORITY,
-        getPriority(highestImpactSeverityEncoded));
-      setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_ISSUE_HIGHEST_IMPACT_ATTR,
-        highestImpactSeverityEncoded);
+      attributes.put(IMarker.PRIORITY, getPriority(highestImpactSeverityEncoded));
+      attributes.put(MarkerUtils.SONAR_MARKER_ISSUE_HIGHEST_IMPACT_ATTR, highestImpactSeverityEncoded);
     }
 
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_SERVER_ISSUE_KEY_ATTR,
-      issue.getServerKey());
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_ANTICIPATED_ISSUE_ATTR,
-      viableForStatusChange);
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_RESOLVED_ATTR,
-      issue.isResolved());
+    attributes.put(MarkerUtils.SONAR_MARKER_SERVER_ISSUE_KEY_ATTR, issue.getServerKey());
+    attributes.put(MarkerUtils.SONAR_MARKER_ANTICIPATED_ISSUE_ATTR, viableForStatusChange);
+    attributes.put(MarkerUtils.SONAR_MARKER_RESOLVED_ATTR, issue.isResolved());
 
     var introductionDate = issue.getIntroductionDate().toEpochMilli();
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_CREATION_DATE_ATTR,
-      String.valueOf(introductionDate));
+    attributes.put(MarkerUtils.SONAR_MARKER_CREATION_DATE_ATTR, String.valueOf(introductionDate));
+    return attributes;
   }
 
-  private static void createFlowMarkersForLocalIssues(IDocument document, ISonarLintIssuable issuable, RaisedIssueDto issue, IMarker marker, boolean issuesAreOnTheFly)
-    throws CoreException {
+  private static MarkerFlows createFlowMarkersForLocalIssues(IDocument document, ISonarLintIssuable issuable, RaisedIssueDto issue, boolean issuesAreOnTheFly) {
     var flowMarkerId = markerIdForFlows(issuesAreOnTheFly);
     var flows = new ArrayList<MarkerFlow>();
     var i = 1;
@@ -367,27 +428,25 @@ public class SonarLintMarkerUpdater {
       Collections.reverse(locations);
       for (var l : locations) {
         var flowLocation = new MarkerFlowLocation(flow, l.getMessage());
-        createMarkerForTextRange(document, issuable.getResource(), flowMarkerId, l.getMessage(), l.getTextRange()).ifPresent(flowLocation::setMarker);
+        deferMarkerForTextRange(document, issuable.getResource(), flowMarkerId, l.getMessage(), l.getTextRange()).ifPresent(flowLocation::setMarker);
       }
       i++;
     }
-    marker.setAttribute(MarkerUtils.SONAR_MARKER_EXTRA_LOCATIONS_ATTR, new MarkerFlows(flows));
+    return new MarkerFlows(flows);
   }
 
-  private static void createQuickFixMarkersForLocalIssues(IDocument document, ISonarLintIssuable issuable, RaisedIssueDto issue, IMarker marker, boolean issuesAreOnTheFly)
-    throws CoreException {
-    if (!issuesAreOnTheFly) {
-      return;
-    }
+  private static MarkerQuickFixes createQuickFixMarkersForLocalIssues(IDocument document, ISonarLintIssuable issuable, RaisedIssueDto issue,
+    @Nullable Integer issueStartOffset) {
     var qfs = new ArrayList<MarkerQuickFix>();
     for (var engineQuickFix : issue.getQuickFixes()) {
-      createQuickFix(document, issuable, qfs, engineQuickFix);
+      createQuickFix(document, issuable, qfs, engineQuickFix, issueStartOffset);
     }
-    marker.setAttribute(MarkerUtils.SONAR_MARKER_QUICK_FIXES_ATTR, new MarkerQuickFixes(qfs));
+    return new MarkerQuickFixes(qfs);
   }
 
-  private static void createQuickFix(IDocument document, ISonarLintIssuable issuable, List<MarkerQuickFix> qfs, QuickFixDto rpcQuickFix) {
-    var qf = new MarkerQuickFix(rpcQuickFix.message());
+  private static void createQuickFix(IDocument document, ISonarLintIssuable issuable, List<MarkerQuickFix> qfs, QuickFixDto rpcQuickFix,
+    @Nullable Integer issueStartOffset) {
+    var qf = new MarkerQuickFix(rpcQuickFix.message(), issueStartOffset);
     for (var edits : rpcQuickFix.fileEdits()) {
       var fileWithEdit = SonarLintUtils.findFileFromUri(edits.target());
       if (!issuable.equals(fileWithEdit)) {
@@ -396,7 +455,7 @@ public class SonarLintMarkerUpdater {
       }
       // should we discard the quick fix if the document has changed since the analysis?
       for (var txtEditFromEngine : edits.textEdits()) {
-        var markerForTextEdit = createMarkerForTextRange(document, issuable.getResource(), SonarLintCorePlugin.MARKER_ON_THE_FLY_QUICK_FIX_ID, null,
+        var markerForTextEdit = deferMarkerForTextRange(document, issuable.getResource(), SonarLintCorePlugin.MARKER_ON_THE_FLY_QUICK_FIX_ID, null,
           txtEditFromEngine.range());
         if (markerForTextEdit.isPresent()) {
           var textEdit = new MarkerTextEdit(markerForTextEdit.get(), txtEditFromEngine.newText());
@@ -410,26 +469,29 @@ public class SonarLintMarkerUpdater {
     qfs.add(qf);
   }
 
-  private static Optional<IMarker> createMarkerForTextRange(IDocument document, IResource resource, String markerId, @Nullable String message, @Nullable TextRangeDto textRange) {
+  private static Optional<DeferredMarker> deferMarkerForTextRange(IDocument document, IResource resource, String markerId, @Nullable String message,
+    @Nullable TextRangeDto textRange) {
     try {
-      var marker = resource.createMarker(markerId);
+      var attributes = new HashMap<String, Object>();
+      String expectedText = null;
       if (message != null) {
-        marker.setAttribute(IMarker.MESSAGE, message);
+        attributes.put(IMarker.MESSAGE, message);
       }
       if (textRange == null) {
         // File level
-        marker.setAttribute(IMarker.LINE_NUMBER, 1);
+        attributes.put(IMarker.LINE_NUMBER, 1);
       } else {
-        marker.setAttribute(IMarker.LINE_NUMBER, textRange.getStartLine());
+        attributes.put(IMarker.LINE_NUMBER, textRange.getStartLine());
         var position = MarkerUtils.getPosition(document, textRange);
         if (position != null) {
-          marker.setAttribute(IMarker.CHAR_START, position.getOffset());
-          marker.setAttribute(IMarker.CHAR_END, position.getOffset() + position.getLength());
+          attributes.put(IMarker.CHAR_START, position.getOffset());
+          attributes.put(IMarker.CHAR_END, position.getOffset() + position.getLength());
+          expectedText = document.get(position.getOffset(), position.getLength());
         } else {
           SonarLintLogger.get().debug("Position cannot be set on resource '" + resource.getFullPath() + "'");
         }
       }
-      return Optional.of(marker);
+      return Optional.of(new DeferredMarker(resource, markerId, attributes, expectedText));
     } catch (Exception e) {
       SonarLintLogger.get().debug("Unable to create marker", e);
       return Optional.empty();
@@ -459,7 +521,7 @@ public class SonarLintMarkerUpdater {
         }
         var file = locationFile.get();
         try {
-          var marker = createMarker(file, l);
+          var marker = deferMarker(file, l);
           if (marker != null) {
             flowLocation.setMarker(marker);
           } else {
@@ -475,53 +537,41 @@ public class SonarLintMarkerUpdater {
   }
 
   @Nullable
-  private static IMarker createMarker(ISonarLintFile file, LocationDto l) throws BadLocationException, CoreException {
+  private static DeferredMarker deferMarker(ISonarLintFile file, LocationDto l) throws BadLocationException {
     var document = file.getDocument();
     var textRange = l.getTextRange();
     if (textRange != null) {
-      return createMarkerIfCodeMatches(file, document, textRange, l);
+      return deferMarkerIfCodeMatches(file, document, textRange, l);
     } else {
-      return createFileLevelMarker(file, l);
+      return deferFileLevelMarker(file, l);
     }
   }
 
-  private static IMarker createFileLevelMarker(ISonarLintFile file, LocationDto l) throws CoreException {
-    var marker = file.getResource().createMarker(SonarLintCorePlugin.MARKER_TAINT_FLOW_ID);
-    marker.setAttribute(IMarker.MESSAGE, l.getMessage());
-    marker.setAttribute(IMarker.LINE_NUMBER, 1);
-    return marker;
+  private static DeferredMarker deferFileLevelMarker(ISonarLintFile file, LocationDto l) {
+    var attributes = new HashMap<String, Object>();
+    attributes.put(IMarker.MESSAGE, l.getMessage());
+    attributes.put(IMarker.LINE_NUMBER, 1);
+    return new DeferredMarker(file.getResource(), SonarLintCorePlugin.MARKER_TAINT_FLOW_ID, attributes, null);
   }
 
   @Nullable
-  private static IMarker createMarkerIfCodeMatches(ISonarLintFile file, IDocument document, TextRangeWithHashDto textRange, LocationDto l)
-    throws BadLocationException, CoreException {
+  private static DeferredMarker deferMarkerIfCodeMatches(ISonarLintFile file, IDocument document, TextRangeWithHashDto textRange, LocationDto l)
+    throws BadLocationException {
     var startOffset = document.getLineOffset(textRange.getStartLine() - 1) + textRange.getStartLineOffset();
     var endOffset = document.getLineOffset(textRange.getEndLine() - 1) + textRange.getEndLineOffset();
     var inEditorCode = document.get(startOffset, endOffset - startOffset);
     var inEditorDigest = DigestUtils.digest(inEditorCode);
     if (inEditorDigest.equals(textRange.getHash())) {
-      var marker = file.getResource().createMarker(SonarLintCorePlugin.MARKER_TAINT_FLOW_ID);
-      marker.setAttribute(IMarker.MESSAGE, l.getMessage());
-      marker.setAttribute(IMarker.LINE_NUMBER, textRange.getStartLine());
-      var flowPosition = MarkerUtils.getPosition(document, textRange);
-      if (flowPosition != null) {
-        marker.setAttribute(IMarker.CHAR_START, flowPosition.getOffset());
-        marker.setAttribute(IMarker.CHAR_END, flowPosition.getOffset() + flowPosition.getLength());
-      } else {
-        SonarLintLogger.get().debug("Position cannot be set for flow on '" + file.getProjectRelativePath() + "'");
-      }
-      return marker;
+      var attributes = new HashMap<String, Object>();
+      attributes.put(IMarker.MESSAGE, l.getMessage());
+      attributes.put(IMarker.LINE_NUMBER, textRange.getStartLine());
+      attributes.put(IMarker.CHAR_START, startOffset);
+      attributes.put(IMarker.CHAR_END, endOffset);
+      return new DeferredMarker(file.getResource(), SonarLintCorePlugin.MARKER_TAINT_FLOW_ID, attributes, inEditorCode);
     }
     return null;
   }
 
-  private static void setMarkerAttributeIfDifferent(IMarker marker, @Nullable Map<String, Object> existingAttributes, String attributeName, @Nullable Object value)
-    throws CoreException {
-    if (!Objects.equals(value, existingAttributes != null ? existingAttributes.get(attributeName) : null)) {
-      marker.setAttribute(attributeName, value);
-    }
-  }
-
   private static int getPriority(final IssueSeverity severity) {
     switch (severity) {
       case BLOCKER:
@@ -55,13 +55,8 @@ public class TaintIssuesMarkerUpdateJob extends Job {
       var issuesIncludingResolved = SonarLintGlobalConfiguration.issuesIncludingResolved();
       var issuesOnlyNewCode = SonarLintGlobalConfiguration.issuesOnlyNewCode();
 
-      for (var issuable : issuables) {
-        if (monitor.isCanceled()) {
-          return Status.CANCEL_STATUS;
-        }
-        SonarLintMarkerUpdater.refreshMarkersForTaint(issuable, engineFacade, issuesIncludingResolved, issuesOnlyNewCode, monitor);
-      }
-      return Status.OK_STATUS;
+      SonarLintMarkerUpdater.refreshMarkersForTaint(issuables, engineFacade, issuesIncludingResolved, issuesOnlyNewCode, monitor);
+      return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
     } catch (Throwable t) {
       // note: without catching Throwable, any exceptions raised in the thread will not be visible
       SonarLintLogger.get().error("Error while refreshing synced taint issues", t);
@@ -20,6 +20,7 @@
 package org.sonarlint.eclipse.core.internal.jobs;
 
 import java.util.Collection;
+import java.util.stream.Collectors;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -56,16 +57,12 @@ public class TaintIssuesUpdateOnFileOpenedJob extends Job {
       var issuesIncludingResolved = SonarLintGlobalConfiguration.issuesIncludingResolved();
       var issuesOnlyNewCode = SonarLintGlobalConfiguration.issuesOnlyNewCode();
 
-      for (var issuable : issuables) {
-        if (monitor.isCanceled()) {
-          return Status.CANCEL_STATUS;
-        }
-        if (issuable instanceof ISonarLintFile) {
-          var file = ((ISonarLintFile) issuable);
-          SonarLintMarkerUpdater.refreshMarkersForTaint(file, engineFacade, issuesIncludingResolved, issuesOnlyNewCode, monitor);
-        }
-      }
-      return Status.OK_STATUS;
+      var files = issuables.stream()
+        .filter(ISonarLintFile.class::isInstance)
+        .map(ISonarLintFile.class::cast)
+        .collect(Collectors.toList());
+      SonarLintMarkerUpdater.refreshMarkersForTaint(files, engineFacade, issuesIncludingResolved, issuesOnlyNewCode, monitor);
+      return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
     } catch (Throwable t) {
       // note: without catching Throwable, any exceptions raised in the thread will not be visible
       SonarLintLogger.get().error("Error while fetching server taint issues", t);
@@ -27,23 +27,29 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.analysis.IFileTypeProvider.ISonarLintFileType;
+import org.sonarlint.eclipse.core.internal.cache.FileClassificationCache;
 import org.sonarlint.eclipse.core.internal.extension.SonarLintExtensionTracker;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfiguration;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 
+/**
+ *  Decides whether a file is a test file, first by asking the file type providers (e.g. JDT based on the classpath)
+ *  and then by matching the test file patterns of the preferences. The result is kept per file in the
+ *  {@link FileClassificationCache}, the classifier can be used by concurrent jobs.
+ */
 public class TestFileClassifier {
-  private static TestFileClassifier instance;
-  private List<PathMatcher> pathMatchersForTests;
+  private volatile List<PathMatcher> pathMatchersForTests;
 
   public TestFileClassifier() {
-    reload();
+    pathMatchersForTests = createMatchersForTests(SonarLintGlobalConfiguration.getTestFileGlobPatterns());
+  }
+
+  private static class Holder {
+    private static final TestFileClassifier INSTANCE = new TestFileClassifier();
   }
 
   public static TestFileClassifier get() {
-    if (instance == null) {
-      instance = new TestFileClassifier();
-    }
-    return instance;
+    return Holder.INSTANCE;
   }
 
   /**
@@ -51,29 +57,34 @@ public class TestFileClassifier {
    * Should be called when preferences are changed.
    */
   public void reload() {
-    var allTestPattern = SonarLintGlobalConfiguration.getTestFileGlobPatterns();
-    var testPatterns = allTestPattern.split(",");
-    pathMatchersForTests = createMatchersForTests(testPatterns);
+    pathMatchersForTests = createMatchersForTests(SonarLintGlobalConfiguration.getTestFileGlobPatterns());
+    FileClassificationCache.INSTANCE.invalidateTestFiles();
   }
 
-  private static List<PathMatcher> createMatchersForTests(String[] testPatterns) {
+  private static List<PathMatcher> createMatchersForTests(String allTestPatterns) {
     var fs = FileSystems.getDefault();
-    return Stream.of(testPatterns)
+    return Stream.of(allTestPatterns.split(","))
+      .filter(pattern -> !pattern.isEmpty())
       .map(pattern -> fs.getPathMatcher("glob:" + pattern))
-      .collect(Collectors.toList());
+      .collect(Collectors.toUnmodifiableList());
   }
 
   public boolean isTest(ISonarLintFile file) {
+    return FileClassificationCache.INSTANCE.isTest(file, this::classify);
+  }
+
+  private boolean classify(ISonarLintFile file) {
     for (var typeProvider : SonarLintExtensionTracker.getInstance().getTypeProviders()) {
       if (typeProvider.qualify(file) == ISonarLintFileType.TEST) {
-        SonarLintLogger.get().traceIdeMessage("File '" + file.getProjectRelativePath() + "' qualified as test by '" + typeProvider.getClass().getSimpleName() + "'");
+        SonarLintLogger.get().traceIdeMessageLazy(() -> "File '" + file.getProjectRelativePath() + "' qualified as test by '"
+          + typeProvider.getClass().getSimpleName() + "'");
         return true;
       }
     }
     var fileRelativePath = Paths.get(file.getProjectRelativePath());
     for (var matcher : pathMatchersForTests) {
       if (matcher.matches(fileRelativePath)) {
-        SonarLintLogger.get().debug("File '" + file.getProjectRelativePath() + "' qualified as test by file pattern");
+        SonarLintLogger.get().debugLazy(() -> "File '" + file.getProjectRelativePath() + "' qualified as test by file pattern");
         return true;
       }
     }
@@ -0,0 +1,89 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.markers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ *  Writes markers with all their attributes at once instead of attribute by attribute: a marker is created with its
+ *  attributes, an existing marker only gets the attributes that differ from a single snapshot of its current ones and
+ *  all the markers to delete are deleted together on {@link #flush()}. Every call to {@link IMarker#setAttribute} is a
+ *  workspace modification on its own, this keeps it to one per marker (two for a new one). To be used inside a
+ *  workspace operation so that all the changes are reported in a single resource change event.
+ *
+ *  A null value in the desired attributes means the attribute should not be set (anymore).
+ */
+public class BulkMarkerWriter {
+  private final List<IMarker> markersToDelete = new ArrayList<>();
+
+  public IMarker create(IResource resource, String type, Map<String, Object> attributes) throws CoreException {
+    var nonNullAttributes = new LinkedHashMap<String, Object>(attributes.size());
+    attributes.forEach((name, value) -> {
+      if (value != null) {
+        nonNullAttributes.put(name, value);
+      }
+    });
+    // IResource#createMarker(String, Map) only exists since Eclipse 4.22, to be called inside a workspace operation so
+    // that the creation and the attributes end up in the same delta
+    var marker = resource.createMarker(type);
+    if (!nonNullAttributes.isEmpty()) {
+      marker.setAttributes(nonNullAttributes.keySet().toArray(new String[0]), nonNullAttributes.values().toArray());
+    }
+    return marker;
+  }
+
+  public void update(IMarker marker, Map<String, Object> attributes) throws CoreException {
+    var changes = diff(marker.getAttributes(), attributes);
+    if (!changes.isEmpty()) {
+      marker.setAttributes(changes.keySet().toArray(new String[0]), changes.values().toArray());
+    }
+  }
+
+  public void delete(IMarker marker) {
+    markersToDelete.add(marker);
+  }
+
+  public void flush() throws CoreException {
+    if (!markersToDelete.isEmpty()) {
+      ResourcesPlugin.getWorkspace().deleteMarkers(markersToDelete.toArray(new IMarker[0]));
+      markersToDelete.clear();
+    }
+  }
+
+  /** The attributes whose desired value differs from the existing one, in the order of the desired attributes */
+  private static Map<String, Object> diff(@Nullable Map<String, Object> existingAttributes, Map<String, Object> desiredAttributes) {
+    var changes = new LinkedHashMap<String, Object>();
+    desiredAttributes.forEach((name, value) -> {
+      if (!Objects.equals(value, existingAttributes != null ? existingAttributes.get(name) : null)) {
+        changes.put(name, value);
+      }
+    });
+    return changes;
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.markers;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.text.BadLocationException;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+
+/**
+ *  A secondary marker (flow location, quick fix text edit) that is only created when it is actually needed, e.g. when
+ *  the issue is selected or a quick fix is applied, instead of for every issue on every analysis.
+ *
+ *  When the text of the location at analysis time is provided, the marker is only created if the file still contains
+ *  the same text at this location, as it is not tracked by the editor until the marker exists. The caller can move the
+ *  location when it knows the code was edited above it, e.g. from the current position of the issue marker.
+ */
+public class DeferredMarker {
+  private final IResource resource;
+  private final String type;
+  private final Map<String, Object> attributes;
+  @Nullable
+  private final String expectedText;
+  @Nullable
+  private IMarker marker;
+
+  public DeferredMarker(IResource resource, String type, Map<String, Object> attributes, @Nullable String expectedText) {
+    this.resource = resource;
+    this.type = type;
+    this.attributes = Map.copyOf(attributes);
+    this.expectedText = expectedText;
+  }
+
+  /** The marker if it was already created and still exists, null otherwise */
+  @Nullable
+  public synchronized IMarker getMarker() {
+    return marker != null && marker.exists() ? marker : null;
+  }
+
+  /**
+   *  Whether the marker exists or could still be created, without creating it or reading the file: the text at the
+   *  location is only compared when the marker is actually created.
+   */
+  public synchronized boolean isValid() {
+    return (marker != null && marker.exists()) || resource.isAccessible();
+  }
+
+  public IResource getResource() {
+    return resource;
+  }
+
+  /** Create the marker if not done yet, null if it cannot be created (anymore) */
+  @Nullable
+  public IMarker materialize() {
+    return materialize(0);
+  }
+
+  /**
+   *  Create the marker if not done yet, with its offsets moved by the given amount of characters as the code was
+   *  edited above the location since the analysis. Null if it cannot be created (anymore).
+   */
+  @Nullable
+  public synchronized IMarker materialize(int offsetShift) {
+    if (marker != null && marker.exists()) {
+      return marker;
+    }
+    marker = null;
+    if (!resource.isAccessible()) {
+      return null;
+    }
+    var shiftedAttributes = shiftedAttributes(offsetShift);
+    if (shiftedAttributes == null) {
+      return null;
+    }
+    try {
+      // IResource#createMarker(String, Map) only exists since Eclipse 4.22, the attributes are set in the same workspace
+      // operation so that the marker is reported with them in a single delta
+      var workspace = ResourcesPlugin.getWorkspace();
+      workspace.run(m -> {
+        var newMarker = resource.createMarker(type);
+        newMarker.setAttributes(shiftedAttributes.keySet().toArray(new String[0]), shiftedAttributes.values().toArray());
+        marker = newMarker;
+      }, workspace.getRuleFactory().markerRule(resource), IWorkspace.AVOID_UPDATE, null);
+    } catch (CoreException e) {
+      SonarLintLogger.get().debug("Unable to create marker", e);
+    }
+    return marker;
+  }
+
+  public synchronized void delete() {
+    if (marker != null) {
+      try {
+        marker.delete();
+      } catch (CoreException e) {
+        SonarLintLogger.get().debug("Unable to delete marker", e);
+      }
+      marker = null;
+    }
+  }
+
+  /**
+   *  The attributes of the marker at its current location, null if the file does not contain the text found at
+   *  analysis time at this location anymore
+   */
+  @Nullable
+  private Map<String, Object> shiftedAttributes(int offsetShift) {
+    var start = (Integer) attributes.get(IMarker.CHAR_START);
+    var end = (Integer) attributes.get(IMarker.CHAR_END);
+    if (start == null || end == null || (expectedText == null && offsetShift == 0)) {
+      return attributes;
+    }
+    var file = SonarLintUtils.adapt(resource, ISonarLintFile.class,
+      "[DeferredMarker#shiftedAttributes] Try get file of resource '" + resource + "'");
+    if (file == null) {
+      return null;
+    }
+    var document = file.getDocument();
+    var shiftedStart = start + offsetShift;
+    var shiftedEnd = end + offsetShift;
+    try {
+      if (expectedText != null && !expectedText.equals(document.get(shiftedStart, shiftedEnd - shiftedStart))) {
+        return null;
+      }
+      if (offsetShift == 0) {
+        return attributes;
+      }
+      var shifted = new HashMap<String, Object>(attributes);
+      shifted.put(IMarker.CHAR_START, shiftedStart);
+      shifted.put(IMarker.CHAR_END, shiftedEnd);
+      shifted.put(IMarker.LINE_NUMBER, document.getLineOfOffset(shiftedStart) + 1);
+      return shifted;
+    } catch (BadLocationException e) {
+      return null;
+    }
+  }
+}
@@ -29,7 +29,7 @@ public class MarkerFlowLocation {
   @Nullable
   private final String message;
   @Nullable
-  private IMarker marker;
+  private DeferredMarker marker;
   private boolean deleted;
   @Nullable
   private Path filePath;
@@ -59,13 +59,26 @@ public class MarkerFlowLocation {
     return message;
   }
 
-  public void setMarker(IMarker marker) {
+  public void setMarker(DeferredMarker marker) {
     this.marker = marker;
   }
 
+  /** The marker of this location, only available while the markers of the flows are materialized */
   @Nullable
   public IMarker getMarker() {
-    return marker;
+    return marker != null ? marker.getMarker() : null;
+  }
+
+  void materializeMarker() {
+    if (marker != null) {
+      marker.materialize();
+    }
+  }
+
+  void deleteMarker() {
+    if (marker != null) {
+      marker.delete();
+    }
   }
 
   public boolean isDeleted() {
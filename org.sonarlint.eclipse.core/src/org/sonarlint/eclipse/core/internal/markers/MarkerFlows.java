@@ -20,10 +20,7 @@
 package org.sonarlint.eclipse.core.internal.markers;
 
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Stream;
-import org.eclipse.core.runtime.CoreException;
-import org.sonarlint.eclipse.core.SonarLintLogger;
 
 public class MarkerFlows {
 
@@ -37,18 +34,14 @@ public class MarkerFlows {
     return flows;
   }
 
+  /** Create the markers of all the locations, e.g. when the issue is selected */
+  public void materializeAllMarkers() {
+    allLocationsAsStream().forEach(MarkerFlowLocation::materializeMarker);
+  }
+
+  /** Delete the markers of all the locations, they can be materialized again later */
   public void deleteAllMarkers() {
-    flows.stream()
-      .flatMap(f -> f.getLocations().stream())
-      .map(MarkerFlowLocation::getMarker)
-      .filter(Objects::nonNull)
-      .forEach(m -> {
-        try {
-          m.delete();
-        } catch (CoreException e) {
-          SonarLintLogger.get().error(e.getMessage(), e);
-        }
-      });
+    allLocationsAsStream().forEach(MarkerFlowLocation::deleteMarker);
   }
 
   /**
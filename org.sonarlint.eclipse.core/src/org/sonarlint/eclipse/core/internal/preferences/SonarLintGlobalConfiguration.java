@@ -56,6 +56,8 @@ import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.backend.SonarLintBackendService;
 import org.sonarlint.eclipse.core.internal.engine.AnalysisRequirementNotifications;
+import org.sonarlint.eclipse.core.internal.jobs.AnalysisFingerprintCache;
+import org.sonarlint.eclipse.core.internal.jobs.TestFileClassifier;
 import org.sonarlint.eclipse.core.internal.resources.ExclusionItem;
 import org.sonarlint.eclipse.core.internal.resources.SonarLintProperty;
 import org.sonarlint.eclipse.core.internal.utils.StringUtils;
@@ -86,6 +88,9 @@ public class SonarLintGlobalConfiguration {
   public static final String PREF_SKIP_CONFIRM_ANALYZE_MULTIPLE_FILES = "skipConfirmAnalyzeMultipleFiles"; //$NON-NLS-1$
   public static final String PREF_NODEJS_PATH = "nodeJsPath"; //$NON-NLS-1$
   public static final String PREF_JAVA17_PATH = "java17Path"; //$NON-NLS-1$
+  public static final String PREF_ANALYSIS_PARALLELISM = "analysisParallelism"; //$NON-NLS-1$
+  public static final int PREF_ANALYSIS_PARALLELISM_DEFAULT = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+  public static final String PREF_CHANGED_FILES_TARGET_BRANCH = "changedFilesTargetBranch"; //$NON-NLS-1$
   private static final String PREF_TAINT_VULNERABILITY_DISPLAYED = "taintVulnerabilityDisplayed";
   private static final String PREF_SECRETS_EVER_DETECTED = "secretsEverDetected";
   private static final String PREF_USER_SURVEY_LAST_LINK = "userSurveyLastLink"; //$NON-NLS-1$
@@ -111,14 +116,18 @@ public class SonarLintGlobalConfiguration {
 
   // For which preference is persisted where, see: https://xtranet-sonarsource.atlassian.net/l/cp/wDNK6e74
   private static final IPreferenceChangeListener applicationRootNodeChangeListener = event -> {
+    AnalysisFingerprintCache.INSTANCE.invalidate();
     if (PREF_RULES_CONFIG.equals(event.getKey())) {
       SonarLintBackendService.get().getBackend().getRulesService()
         .updateStandaloneRulesConfiguration(new UpdateStandaloneRulesConfigurationParams(buildStandaloneRulesConfigDto()));
     }
   };
   private static final IPreferenceChangeListener workspaceRootNodeChangeListener = event -> {
+    AnalysisFingerprintCache.INSTANCE.invalidate();
     if (PREF_ISSUE_ONLY_NEW_CODE.equals(event.getKey())) {
       SonarLintBackendService.get().getBackend().getNewCodeService().didToggleFocus();
+    } else if (PREF_TEST_FILE_GLOB_PATTERNS.equals(event.getKey())) {
+      TestFileClassifier.get().reload();
     } else if (PREF_NODEJS_PATH.equals(event.getKey())) {
       AnalysisRequirementNotifications.resetCachedMessages();
 
@@ -158,6 +167,34 @@ public class SonarLintGlobalConfiguration {
     return Platform.getPreferencesService().getInt(SonarLintCorePlugin.UI_PLUGIN_ID, PREF_MARKER_SEVERITY, PREF_MARKER_SEVERITY_DEFAULT, null);
   }
 
+  /**
+   *  Maximum amount of projects analyzed at the same time when the analysis is triggered on multiple projects. Can be
+   *  overridden by the "sonarlint.analysis.parallelism" system property.
+   */
+  public static int getAnalysisParallelism() {
+    var property = System.getProperty("sonarlint.analysis.parallelism");
+    int parallelism;
+    try {
+      parallelism = property == null || property.isBlank()
+        ? Platform.getPreferencesService().getInt(SonarLintCorePlugin.UI_PLUGIN_ID, PREF_ANALYSIS_PARALLELISM, PREF_ANALYSIS_PARALLELISM_DEFAULT, null)
+        : Integer.parseInt(property.strip());
+    } catch (NumberFormatException e) {
+      SonarLintLogger.get().error("Invalid value for 'sonarlint.analysis.parallelism': " + property, e);
+      parallelism = PREF_ANALYSIS_PARALLELISM_DEFAULT;
+    }
+    return Math.max(1, parallelism);
+  }
+
+  /**
+   *  Branch the changed files are computed against (based on the merge-base with HEAD) when analyzing the changed files
+   *  of Git projects. Without a branch, only the changes compared to HEAD are analyzed.
+   */
+  @Nullable
+  public static String getChangedFilesTargetBranch() {
+    var branch = getPreferenceString(PREF_CHANGED_FILES_TARGET_BRANCH).strip();
+    return branch.isEmpty() ? null : branch;
+  }
+
   public static List<SonarLintProperty> getExtraPropertiesForLocalAnalysis(ISonarLintProject project) {
     var props = new ArrayList<SonarLintProperty>();
     // First add all global properties
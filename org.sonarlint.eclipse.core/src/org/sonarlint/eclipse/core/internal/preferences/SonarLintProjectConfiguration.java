@@ -37,6 +37,20 @@ public class SonarLintProjectConfiguration {
   private boolean bindingSuggestionsDisabled = false;
   private boolean indexingBasedOnEclipsePlugIns = true;
 
+  public SonarLintProjectConfiguration() {
+    // Default configuration
+  }
+
+  /** Deep copy, so that changes on one configuration are never visible on the other one */
+  public SonarLintProjectConfiguration(SonarLintProjectConfiguration another) {
+    another.extraProperties.forEach(p -> extraProperties.add(new SonarLintProperty(p)));
+    fileExclusions.addAll(another.fileExclusions);
+    projectBinding = another.projectBinding;
+    autoEnabled = another.autoEnabled;
+    bindingSuggestionsDisabled = another.bindingSuggestionsDisabled;
+    indexingBasedOnEclipsePlugIns = another.indexingBasedOnEclipsePlugIns;
+  }
+
   public List<ExclusionItem> getFileExclusions() {
     return fileExclusions;
   }
@@ -22,12 +22,19 @@ package org.sonarlint.eclipse.core.internal.preferences;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.INodeChangeListener;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.NodeChangeEvent;
 import org.eclipse.core.runtime.preferences.IScopeContext;
 import org.osgi.service.prefs.BackingStoreException;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.engine.connected.BoundProjectsIndex;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration.EclipseProjectBinding;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 
@@ -59,6 +66,15 @@ public class SonarLintProjectConfigurationManager {
 
   private static final Map<ISonarLintProject, IPreferenceChangeListener> projectBindingPropertiesListener = new HashMap<>();
 
+  /**
+   *  The project configurations are read on hot paths (decorators, file system synchronization, post build, ...), so
+   *  they are cached until the project preferences change. The cached configurations are never handed out, callers
+   *  always get their own copy and therefore never see a half-updated configuration.
+   */
+  private final Map<ISonarLintProject, CachedConfiguration> configCache = new ConcurrentHashMap<>();
+  private final Object configCacheLock = new Object();
+  private long configCacheGeneration = 0;
+
   public static void registerPreferenceChangeListenerForBindingProperties(ISonarLintProject project, Consumer<ISonarLintProject> listener) {
     projectBindingPropertiesListener.put(project, event -> {
       if (BINDING_RELATED_PROPERTIES.contains(event.getKey())) {
@@ -80,6 +96,62 @@ public class SonarLintProjectConfigurationManager {
       });
   }
 
+  public SonarLintProjectConfiguration load(ISonarLintProject project) {
+    var cached = configCache.get(project);
+    if (cached != null) {
+      return new SonarLintProjectConfiguration(cached.snapshot);
+    }
+
+    var projectScope = project.getScopeContext();
+    var projectNode = projectScope.getNode(SonarLintCorePlugin.PLUGIN_ID);
+    if (projectNode == null || !project.isOpen()) {
+      return load(projectScope);
+    }
+
+    long generation;
+    synchronized (configCacheLock) {
+      generation = configCacheGeneration;
+    }
+    var newEntry = new CachedConfiguration(project, projectScope, projectNode);
+    var snapshot = newEntry.snapshot;
+    synchronized (configCacheLock) {
+      // When the preferences were changed while reading them, the snapshot might already be outdated
+      if (generation == configCacheGeneration && !configCache.containsKey(project)) {
+        configCache.put(project, newEntry);
+        newEntry = null;
+      }
+    }
+    if (newEntry != null) {
+      newEntry.dispose();
+    }
+    return new SonarLintProjectConfiguration(snapshot);
+  }
+
+  public void save(ISonarLintProject project, SonarLintProjectConfiguration configuration) {
+    save(project.getScopeContext(), configuration);
+    invalidate(project);
+  }
+
+  public void invalidate(ISonarLintProject project) {
+    CachedConfiguration removed;
+    synchronized (configCacheLock) {
+      configCacheGeneration++;
+      removed = configCache.remove(project);
+    }
+    BoundProjectsIndex.INSTANCE.invalidate();
+    if (removed != null) {
+      removed.dispose();
+    }
+  }
+
+  /** When a project is closed or deleted it might not be adaptable anymore, therefore rely on the underlying resource */
+  public void invalidate(IProject project) {
+    configCache.keySet().stream()
+      .filter(p -> project.equals(p.getResource()))
+      .collect(Collectors.toList())
+      .forEach(this::invalidate);
+  }
+
   public SonarLintProjectConfiguration load(IScopeContext projectScope) {
     var projectNode = projectScope.getNode(SonarLintCorePlugin.PLUGIN_ID);
     var projectConfig = new SonarLintProjectConfiguration();
@@ -156,4 +228,53 @@ public class SonarLintProjectConfigurationManager {
     }
   }
 
+  /** Cache entry that is watching the project preferences to invalidate itself */
+  private class CachedConfiguration {
+    private final SonarLintProjectConfiguration snapshot;
+    private final IEclipsePreferences projectNode;
+    private final IPreferenceChangeListener preferenceChangeListener;
+    private final INodeChangeListener nodeChangeListener;
+
+    private CachedConfiguration(ISonarLintProject project, IScopeContext projectScope, IEclipsePreferences projectNode) {
+      this.projectNode = projectNode;
+      this.preferenceChangeListener = event -> invalidate(project);
+      this.nodeChangeListener = new INodeChangeListener() {
+        @Override
+        public void added(NodeChangeEvent event) {
+          invalidateOnNodeChange(event);
+        }
+
+        @Override
+        public void removed(NodeChangeEvent event) {
+          invalidateOnNodeChange(event);
+        }
+
+        private void invalidateOnNodeChange(NodeChangeEvent event) {
+          if (SonarLintCorePlugin.PLUGIN_ID.equals(event.getChild().name())) {
+            invalidate(project);
+          }
+        }
+      };
+      projectNode.addPreferenceChangeListener(preferenceChangeListener);
+      var parentNode = projectNode.parent();
+      if (parentNode instanceof IEclipsePreferences) {
+        ((IEclipsePreferences) parentNode).addNodeChangeListener(nodeChangeListener);
+      }
+      // Only read once the listeners are registered, a change while reading then invalidates this entry
+      this.snapshot = load(projectScope);
+    }
+
+    private void dispose() {
+      try {
+        projectNode.removePreferenceChangeListener(preferenceChangeListener);
+        var parentNode = projectNode.parent();
+        if (parentNode instanceof IEclipsePreferences) {
+          ((IEclipsePreferences) parentNode).removeNodeChangeListener(nodeChangeListener);
+        }
+      } catch (IllegalStateException e) {
+        // The node was already removed together with its listeners, e.g. when the project was deleted
+      }
+    }
+  }
+
 }
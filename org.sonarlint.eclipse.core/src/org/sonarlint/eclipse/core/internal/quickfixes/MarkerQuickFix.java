@@ -22,14 +22,26 @@ package org.sonarlint.eclipse.core.internal.quickfixes;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import org.eclipse.jdt.annotation.Nullable;
 
 public class MarkerQuickFix {
 
   private final String message;
+  @Nullable
+  private final Integer issueStartOffset;
   private final List<MarkerTextEdit> textEdits = new ArrayList<>();
 
   public MarkerQuickFix(String message) {
+    this(message, null);
+  }
+
+  /**
+   *  @param issueStartOffset the start offset of the issue at analysis time, to find the text edits again when the
+   *  code was edited above the issue before the quick fix is applied
+   */
+  public MarkerQuickFix(String message, @Nullable Integer issueStartOffset) {
     this.message = message;
+    this.issueStartOffset = issueStartOffset;
   }
 
   public String getMessage() {
@@ -48,4 +60,33 @@ public class MarkerQuickFix {
     return textEdits.stream().allMatch(MarkerTextEdit::isValid);
   }
 
+  /**
+   *  Create the markers of all the text edits before applying any of them, so that their positions are tracked while
+   *  the document is edited.
+   *
+   *  @return false if one of the markers could not be created, e.g. because the code changed in the meantime
+   */
+  public boolean materializeMarkers() {
+    return materializeMarkers(null);
+  }
+
+  /**
+   *  Same as {@link #materializeMarkers()}, the text edits being moved by as many characters as the issue moved since
+   *  the analysis.
+   *
+   *  @param currentIssueStartOffset the start offset of the issue in the document now, e.g. tracked by the editor
+   */
+  public boolean materializeMarkers(@Nullable Integer currentIssueStartOffset) {
+    var offsetShift = currentIssueStartOffset != null && issueStartOffset != null ? currentIssueStartOffset - issueStartOffset : 0;
+    var allMaterialized = true;
+    for (var textEdit : textEdits) {
+      allMaterialized &= textEdit.materializeMarker(offsetShift) != null;
+    }
+    return allMaterialized;
+  }
+
+  void deleteAllMarkers() {
+    textEdits.forEach(MarkerTextEdit::deleteMarker);
+  }
+
 }
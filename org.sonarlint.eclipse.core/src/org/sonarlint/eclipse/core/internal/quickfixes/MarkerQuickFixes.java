@@ -33,4 +33,9 @@ public class MarkerQuickFixes {
     return quickFixes;
   }
 
+  /** Delete the markers of the text edits that were created when the quick fixes were offered */
+  public void deleteAllMarkers() {
+    quickFixes.forEach(MarkerQuickFix::deleteAllMarkers);
+  }
+
 }
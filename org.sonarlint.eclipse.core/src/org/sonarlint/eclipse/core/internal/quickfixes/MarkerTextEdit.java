@@ -20,15 +20,17 @@
 package org.sonarlint.eclipse.core.internal.quickfixes;
 
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.internal.markers.DeferredMarker;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 
 public class MarkerTextEdit {
 
   private final String newText;
-  private final IMarker marker;
+  private final DeferredMarker marker;
 
-  public MarkerTextEdit(IMarker marker, String newText) {
+  public MarkerTextEdit(DeferredMarker marker, String newText) {
     this.marker = marker;
     this.newText = newText;
   }
@@ -37,14 +39,34 @@ public class MarkerTextEdit {
     return newText;
   }
 
+  /** The marker of this text edit if it was already created, see {@link #materializeMarker()} */
+  @Nullable
   public IMarker getMarker() {
-    return marker;
+    return marker.getMarker();
   }
 
+  /** The marker is only created when the quick fix is applied, null if the location does not match anymore */
+  @Nullable
+  public IMarker materializeMarker() {
+    return marker.materialize();
+  }
+
+  /** Same as {@link #materializeMarker()}, for a location moved by the given amount of characters since the analysis */
+  @Nullable
+  public IMarker materializeMarker(int offsetShift) {
+    return marker.materialize(offsetShift);
+  }
+
+  /** Does not create the marker, as it is called when computing the resolutions of an issue */
   public boolean isValid() {
-    return marker.exists()
-      && SonarLintUtils.adapt(marker.getResource(), ISonarLintFile.class,
-        "[MarkerTextEdit#isValid] Try get file of marker '" + marker.toString() + "'") != null;
+    var resource = marker.getResource();
+    return marker.isValid()
+      && SonarLintUtils.adapt(resource, ISonarLintFile.class,
+        "[MarkerTextEdit#isValid] Try get file of resource '" + resource + "'") != null;
+  }
+
+  void deleteMarker() {
+    marker.delete();
   }
 
 }
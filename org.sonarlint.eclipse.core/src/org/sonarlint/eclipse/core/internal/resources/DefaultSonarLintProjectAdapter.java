@@ -26,11 +26,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.resources.IResourceVisitor;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -40,10 +38,9 @@ import org.eclipse.team.core.subscribers.Subscriber;
 import org.eclipse.team.core.synchronize.SyncInfo;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
-import org.sonarlint.eclipse.core.internal.backend.FileSystemSynchronizer;
-import org.sonarlint.eclipse.core.internal.cache.DefaultSonarLintProjectAdapterCache;
 import org.sonarlint.eclipse.core.internal.cache.IProjectScopeProviderCache;
 import org.sonarlint.eclipse.core.internal.extension.SonarLintExtensionTracker;
+import org.sonarlint.eclipse.core.internal.utils.PathPrefixTrie;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
@@ -85,59 +82,7 @@ public class DefaultSonarLintProjectAdapter implements ISonarLintProject {
 
   @Override
   public Collection<ISonarLintFile> files() {
-    var configScopeId = getConfigScopeId();
-
-    var cachedFiles = DefaultSonarLintProjectAdapterCache.INSTANCE.getEntry(configScopeId);
-    if (cachedFiles != null) {
-      return cachedFiles;
-    }
-
-    var exclusions = getExclusions(configScopeId);
-    var result = new ArrayList<ISonarLintFile>();
-    try {
-      project.accept(new IResourceVisitor() {
-        @Override
-        public boolean visit(IResource resource) throws CoreException {
-          var fullPath = resource.getFullPath();
-
-          // Immediately rule out files in the VCS and files related to Node.js "metadata" / storage or Python virtual
-          // environments. We don't care for these ones no matter if removed, changed, or added!
-          if (SonarLintUtils.insideVCSFolder(fullPath)
-            || SonarLintUtils.isNodeJsRelated(fullPath)
-            || SonarLintUtils.isPythonRelated(fullPath)) {
-            return false;
-          }
-
-          // Compared to "FileSystemSynchronizer#visitDeltaPostChange" this is on all files and folders and not only
-          // the delta. Therefore we can check for a folder whether its "whole" path is in there!
-          if (exclusions.contains(fullPath)) {
-            return false;
-          }
-
-          // We don't want to visit all the folders except the ".sonarlint" one due to it possibly containing shared
-          // Connected Mode configuration files!
-          if (resource.getType() == IResource.FOLDER
-            && FileSystemSynchronizer.SONARLINT_FOLDER.equals(resource.getName())) {
-            return true;
-          }
-
-          if (!SonarLintUtils.isSonarLintFileCandidate(resource)) {
-            return false;
-          }
-          var sonarLintFile = SonarLintUtils.adapt(resource, ISonarLintFile.class,
-            "[DefaultSonarLintProjectAdapter#files] Try get file of resource '" + resource + "'");
-          if (sonarLintFile != null) {
-            result.add(sonarLintFile);
-          }
-          return true;
-        }
-      });
-    } catch (CoreException e) {
-      SonarLintLogger.get().error("Error collecting files in project " + project.getName(), e);
-    }
-
-    DefaultSonarLintProjectAdapterCache.INSTANCE.putEntry(getConfigScopeId(), result);
-    return result;
+    return ProjectFilesIndex.INSTANCE.getFiles(project, getExclusions(getConfigScopeId()));
   }
 
   /**
@@ -149,21 +94,22 @@ public class DefaultSonarLintProjectAdapter implements ISonarLintProject {
    *  @param configScopeId used in the cache as a key
    *  @return based on the user decision to opt out or not, no exclusions or the ones coming from the extension points
    */
-  private Set<IPath> getExclusions(String configScopeId) {
-    Set<IPath> exclusions;
+  private PathPrefixTrie getExclusions(String configScopeId) {
+    PathPrefixTrie exclusions;
     if (SonarLintCorePlugin.loadConfig(this).isIndexingBasedOnEclipsePlugIns()) {
       exclusions = IProjectScopeProviderCache.INSTANCE.getEntry(configScopeId);
       if (exclusions == null) {
-        exclusions = new HashSet<>();
+        var paths = new HashSet<IPath>();
         for (var projectScopeProvider : SonarLintExtensionTracker.getInstance().getProjectScopeProviders()) {
-          exclusions.addAll(projectScopeProvider.getExclusions(project));
+          paths.addAll(projectScopeProvider.getExclusions(project));
         }
+        exclusions = new PathPrefixTrie(paths);
         IProjectScopeProviderCache.INSTANCE.putEntry(configScopeId, exclusions);
       }
     } else {
       SonarLintLogger.get().traceIdeMessage("[DefaultSonarLintProjectAdapter#files] No exclusions calculated as '"
         + this.getName() + "' opted out of indexing based on other Eclipse plug-ins!");
-      exclusions = new HashSet<>();
+      exclusions = PathPrefixTrie.EMPTY;
     }
     return exclusions;
   }
@@ -0,0 +1,314 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.resources;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.backend.FileSystemSynchronizer;
+import org.sonarlint.eclipse.core.internal.utils.PathPrefixTrie;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+
+/**
+ *  Index of the files of each project, used for {@link DefaultSonarLintProjectAdapter#files()}. The index of a project
+ *  is built with a full visit the first time its files are requested and is then kept up-to-date with the resource
+ *  deltas, so that listing the files doesn't require walking the whole resource tree again. Readers get an immutable
+ *  snapshot that is only re-created after the files of the project changed.
+ *
+ *  Changes that might have an impact on what is considered a file of the project and that cannot be derived from the
+ *  delta itself (project description, ".settings", ".classpath", derived flag, exclusions of other plug-ins) lead to
+ *  the index of the project being built again the next time it is requested.
+ */
+public class ProjectFilesIndex implements IResourceChangeListener {
+  public static final ProjectFilesIndex INSTANCE = new ProjectFilesIndex();
+
+  private final Map<IProject, ProjectFiles> indexPerProject = new ConcurrentHashMap<>();
+  private final AtomicBoolean listening = new AtomicBoolean();
+
+  private ProjectFilesIndex() {
+  }
+
+  /**
+   *  @param exclusions the paths (workspace relative) not to be indexed, provided by other plug-ins
+   *  @return immutable snapshot of the files of the project
+   */
+  List<ISonarLintFile> getFiles(IProject project, PathPrefixTrie exclusions) {
+    // Has to happen before the first full visit, otherwise changes done during the visit might be missed
+    if (listening.compareAndSet(false, true)) {
+      ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+    }
+    return indexPerProject.computeIfAbsent(project, ProjectFiles::new).getFiles(exclusions);
+  }
+
+  /** The index of this project will be built from scratch the next time it is requested */
+  public void invalidate(IProject project) {
+    var projectFiles = indexPerProject.remove(project);
+    if (projectFiles != null) {
+      projectFiles.invalidate();
+    }
+  }
+
+  public void stop() {
+    if (listening.compareAndSet(true, false)) {
+      ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+    }
+    indexPerProject.values().forEach(ProjectFiles::invalidate);
+    indexPerProject.clear();
+  }
+
+  @Override
+  public void resourceChanged(IResourceChangeEvent event) {
+    var delta = event.getDelta();
+    if (delta == null || indexPerProject.isEmpty()) {
+      return;
+    }
+    for (var projectDelta : delta.getAffectedChildren()) {
+      var project = (IProject) projectDelta.getResource();
+      var projectFiles = indexPerProject.get(project);
+      if (projectFiles == null) {
+        continue;
+      }
+      if (projectDelta.getKind() != IResourceDelta.CHANGED
+        || (projectDelta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION | IResourceDelta.MOVED_FROM)) != 0) {
+        invalidate(project);
+      } else {
+        projectFiles.apply(projectDelta);
+      }
+    }
+  }
+
+  /**
+   *  Same rules for the full visit and for the deltas. Files are added to the index, the return value tells whether
+   *  the children of the resource have to be visited.
+   */
+  private static boolean visit(IResource resource, PathPrefixTrie exclusions, Map<String, ISonarLintFile> files) {
+    var fullPath = resource.getFullPath();
+
+    // Immediately rule out files in the VCS and files related to Node.js "metadata" / storage or Python virtual
+    // environments. We don't care for these ones no matter if removed, changed, or added!
+    if (SonarLintUtils.insideVCSFolder(fullPath)
+      || SonarLintUtils.isNodeJsRelated(fullPath)
+      || SonarLintUtils.isPythonRelated(fullPath)) {
+      return false;
+    }
+
+    // As the visit goes top-down, the children of an excluded folder are not visited anyway
+    if (exclusions.matches(fullPath)) {
+      return false;
+    }
+
+    // We don't want to visit all the folders except the ".sonarlint" one due to it possibly containing shared
+    // Connected Mode configuration files!
+    if (resource.getType() == IResource.FOLDER
+      && FileSystemSynchronizer.SONARLINT_FOLDER.equals(resource.getName())) {
+      return true;
+    }
+
+    if (!SonarLintUtils.isSonarLintFileCandidate(resource)) {
+      return false;
+    }
+    if (resource.getType() == IResource.FILE) {
+      var sonarLintFile = SonarLintUtils.adapt(resource, ISonarLintFile.class,
+        "[ProjectFilesIndex#visit] Try get file of resource '" + resource + "'");
+      if (sonarLintFile != null) {
+        files.put(key(resource), sonarLintFile);
+      }
+    }
+    return true;
+  }
+
+  private static String key(IResource resource) {
+    return resource.getProjectRelativePath().toString();
+  }
+
+  private static class ProjectFiles {
+    private final IProject project;
+
+    /** Guards all the fields below, except the snapshot that can be read without */
+    private final Object lock = new Object();
+    @Nullable
+    private TreeMap<String, ISonarLintFile> filesPerPath;
+    @Nullable
+    private PathPrefixTrie indexedExclusions;
+    /**
+     *  Incremented on every change of the files, a full visit running concurrently to such a change must not be used as
+     *  index. Marker changes are not counted, otherwise a visit would hardly ever be kept during an analysis.
+     */
+    private long modificationCount;
+    @Nullable
+    private volatile Snapshot snapshot;
+
+    private ProjectFiles(IProject project) {
+      this.project = project;
+    }
+
+    private List<ISonarLintFile> getFiles(PathPrefixTrie exclusions) {
+      var current = snapshot;
+      if (current != null && current.exclusions.equals(exclusions)) {
+        return current.files;
+      }
+
+      long modificationCountBeforeVisit;
+      synchronized (lock) {
+        if (filesPerPath != null && exclusions.equals(indexedExclusions)) {
+          var updated = new Snapshot(exclusions, List.copyOf(filesPerPath.values()));
+          snapshot = updated;
+          return updated.files;
+        }
+        modificationCountBeforeVisit = modificationCount;
+      }
+
+      // The full visit is done without holding the lock in order to not block the resource change notifications
+      var visited = new TreeMap<String, ISonarLintFile>();
+      try {
+        project.accept(resource -> visit(resource, exclusions, visited));
+      } catch (CoreException e) {
+        SonarLintLogger.get().error("Error collecting files in project " + project.getName(), e);
+        return List.copyOf(visited.values());
+      }
+      var files = List.copyOf(visited.values());
+
+      synchronized (lock) {
+        if (modificationCount == modificationCountBeforeVisit) {
+          filesPerPath = visited;
+          indexedExclusions = exclusions;
+          snapshot = new Snapshot(exclusions, files);
+        }
+      }
+      return files;
+    }
+
+    private void invalidate() {
+      synchronized (lock) {
+        modificationCount++;
+        filesPerPath = null;
+        indexedExclusions = null;
+        snapshot = null;
+      }
+    }
+
+    private void apply(IResourceDelta projectDelta) {
+      synchronized (lock) {
+        var files = filesPerPath;
+        var exclusions = indexedExclusions;
+        if (files == null || exclusions == null) {
+          // A full visit might be running, it has to be done again if resources changed in the meantime
+          if (changesResources(projectDelta)) {
+            modificationCount++;
+          }
+          return;
+        }
+        var changed = new boolean[1];
+        var needsFullVisit = new boolean[1];
+        try {
+          projectDelta.accept(delta -> {
+            if (needsFullVisit[0]) {
+              return false;
+            }
+            var resource = delta.getResource();
+            if (resource.getType() == IResource.PROJECT) {
+              return true;
+            }
+            if (SonarLintUtils.isProjectMetadata(resource) || (delta.getFlags() & IResourceDelta.DERIVED_CHANGED) != 0) {
+              needsFullVisit[0] = true;
+              return false;
+            }
+            switch (delta.getKind()) {
+              case IResourceDelta.REMOVED:
+                changed[0] |= remove(files, resource);
+                return false;
+              case IResourceDelta.ADDED:
+                var sizeBefore = files.size();
+                var visitChildren = visit(resource, exclusions, files);
+                changed[0] |= files.size() != sizeBefore;
+                return visitChildren;
+              default:
+                // Content changes don't change the files of the project, but the children of a folder might have
+                return resource.getType() != IResource.FILE && visit(resource, exclusions, files);
+            }
+          });
+        } catch (CoreException e) {
+          SonarLintLogger.get().error("Error updating the files of project " + project.getName(), e);
+          needsFullVisit[0] = true;
+        }
+
+        if (needsFullVisit[0]) {
+          modificationCount++;
+          filesPerPath = null;
+          indexedExclusions = null;
+          snapshot = null;
+        } else if (changed[0]) {
+          modificationCount++;
+          snapshot = null;
+        }
+      }
+    }
+
+    /** Whether the delta contains more than changes of markers, which don't have an impact on the files */
+    private static boolean changesResources(IResourceDelta projectDelta) {
+      var resourcesChanged = new boolean[1];
+      try {
+        projectDelta.accept(delta -> {
+          if (delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & ~IResourceDelta.MARKERS) != 0) {
+            resourcesChanged[0] = true;
+          }
+          return !resourcesChanged[0];
+        });
+      } catch (CoreException e) {
+        return true;
+      }
+      return resourcesChanged[0];
+    }
+
+    private static boolean remove(TreeMap<String, ISonarLintFile> files, IResource resource) {
+      var key = key(resource);
+      if (resource.getType() == IResource.FILE) {
+        return files.remove(key) != null;
+      }
+      // All the paths below the folder, '0' being the character following '/'
+      var children = files.subMap(key + "/", key + "0");
+      var hadChildren = !children.isEmpty();
+      children.clear();
+      return hadChildren;
+    }
+  }
+
+  private static class Snapshot {
+    private final PathPrefixTrie exclusions;
+    private final List<ISonarLintFile> files;
+
+    private Snapshot(PathPrefixTrie exclusions, List<ISonarLintFile> files) {
+      this.exclusions = exclusions;
+      this.files = files;
+    }
+  }
+}
@@ -21,11 +21,13 @@ package org.sonarlint.eclipse.core.internal.utils;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.jobs.SonarLintMarkerUpdater;
@@ -36,49 +38,60 @@ import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 import org.sonarsource.sonarlint.core.client.utils.ClientFileExclusions;
 
+/**
+ *  Checks files against the exclusions configured by the user on the project and globally. The file and directory
+ *  exclusions are looked up in a set and a trie, the glob patterns are compiled once. A checker is only built again
+ *  when the exclusions changed, so it is shared by all the analyses of a project.
+ */
 public class FileExclusionsChecker {
-  private final ClientFileExclusions projectExclusions;
-  private final ClientFileExclusions globalExclusions;
-
-  public FileExclusionsChecker(ISonarLintProject project) {
-    var projectConfiguration = SonarLintCorePlugin.loadConfig(project);
-    var globalExclusionItems = SonarLintGlobalConfiguration.getGlobalExclusions();
-    var projectExclusionItems = projectConfiguration.getFileExclusions();
-
-    var projectFileExclusions = getExclusionsOfType(projectExclusionItems, Type.FILE);
-    var projectDirectoryExclusions = getExclusionsOfType(projectExclusionItems, Type.DIRECTORY);
-    var projectGlobExclusions = getExclusionsOfType(projectExclusionItems, Type.GLOB);
-    var globalGlobExclusions = getExclusionsOfType(globalExclusionItems, Type.GLOB);
-
-    projectExclusions = new ClientFileExclusions(projectFileExclusions, projectDirectoryExclusions, projectGlobExclusions);
-    globalExclusions = new ClientFileExclusions(Collections.emptySet(), Collections.emptySet(), globalGlobExclusions);
+  private static final Map<ISonarLintProject, FileExclusionsChecker> CHECKER_PER_PROJECT = new ConcurrentHashMap<>();
+
+  private final List<ExclusionItem> projectExclusionItems;
+  private final List<ExclusionItem> globalExclusionItems;
+
+  private final Set<String> projectFileExclusions;
+  private final PathPrefixTrie projectDirectoryExclusions;
+  private final ClientFileExclusions projectGlobExclusions;
+  private final ClientFileExclusions globalGlobExclusions;
+
+  private FileExclusionsChecker(List<ExclusionItem> projectExclusionItems, List<ExclusionItem> globalExclusionItems) {
+    this.projectExclusionItems = projectExclusionItems;
+    this.globalExclusionItems = globalExclusionItems;
+
+    projectFileExclusions = getExclusionsOfType(projectExclusionItems, Type.FILE);
+    projectDirectoryExclusions = new PathPrefixTrie(getExclusionsOfType(projectExclusionItems, Type.DIRECTORY).stream()
+      .map(Path::new)
+      .collect(Collectors.toList()));
+    projectGlobExclusions = new ClientFileExclusions(Collections.emptySet(), Collections.emptySet(),
+      getExclusionsOfType(projectExclusionItems, Type.GLOB));
+    globalGlobExclusions = new ClientFileExclusions(Collections.emptySet(), Collections.emptySet(),
+      getExclusionsOfType(globalExclusionItems, Type.GLOB));
   }
 
-  private Collection<ISonarLintFile> filterExcludedFiles(ISonarLintProject project, Collection<ISonarLintFile> files, boolean log, IProgressMonitor monitor) {
-    var filesByUri = files
-      .stream()
-      .filter(file -> !isExcludedByLocalConfiguration(file, log))
-      .collect(Collectors.toMap(ISonarLintFile::uri, f -> f));
-
-    var notExcluded = new HashSet<ISonarLintFile>();
-    notExcluded.addAll(filesByUri.values());
-
-    return notExcluded;
+  /** @return the checker for the current exclusions of the project, only re-created when they changed */
+  public static FileExclusionsChecker get(ISonarLintProject project) {
+    var projectExclusionItems = List.copyOf(SonarLintCorePlugin.loadConfig(project).getFileExclusions());
+    var globalExclusionItems = List.copyOf(SonarLintGlobalConfiguration.getGlobalExclusions());
+    return CHECKER_PER_PROJECT.compute(project, (p, checker) -> checker != null
+      && checker.projectExclusionItems.equals(projectExclusionItems)
+      && checker.globalExclusionItems.equals(globalExclusionItems)
+        ? checker
+        : new FileExclusionsChecker(projectExclusionItems, globalExclusionItems));
   }
 
-  public boolean isExcluded(ISonarLintFile file, boolean log, IProgressMonitor monitor) {
-    return filterExcludedFiles(file.getProject(), List.of(file), log, monitor).isEmpty();
+  public static void forget(ISonarLintProject project) {
+    CHECKER_PER_PROJECT.remove(project);
   }
 
-  private boolean isExcludedByLocalConfiguration(ISonarLintFile file, boolean log) {
+  public boolean isExcluded(ISonarLintFile file, boolean log, IProgressMonitor monitor) {
     var relativePath = file.getProjectRelativePath();
 
-    if (globalExclusions.test(relativePath)) {
+    if (globalGlobExclusions.test(relativePath)) {
       logIfNeeded(file, log, "global");
       return true;
     }
 
-    if (projectExclusions.test(relativePath)) {
+    if (isExcludedByProject(relativePath)) {
       logIfNeeded(file, log, "project");
       return true;
     }
@@ -86,9 +99,22 @@ public class FileExclusionsChecker {
     return false;
   }
 
+  private boolean isExcludedByProject(String relativePath) {
+    if (projectFileExclusions.contains(relativePath)) {
+      return true;
+    }
+    if (!projectDirectoryExclusions.isEmpty()) {
+      var path = new Path(relativePath);
+      if (projectDirectoryExclusions.matches(path)) {
+        return true;
+      }
+    }
+    return projectGlobExclusions.test(relativePath);
+  }
+
   private static void logIfNeeded(ISonarLintFile file, boolean log, String exclusionSource) {
     if (log) {
-      SonarLintLogger.get().debug("File '" + file.getName() + "' excluded from analysis due to configured " + exclusionSource + " exclusions");
+      SonarLintLogger.get().debugLazy(() -> "File '" + file.getName() + "' excluded from analysis due to configured " + exclusionSource + " exclusions");
     }
   }
 
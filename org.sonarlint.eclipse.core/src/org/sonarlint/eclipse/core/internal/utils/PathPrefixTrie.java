@@ -0,0 +1,100 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.utils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ *  Immutable set of paths that can be queried whether it contains a path or one of its parents, with the cost of a
+ *  lookup only depending on the amount of segments of the path and not on the amount of paths in the set. Paths are
+ *  compared segment by segment, "a/b" is therefore a prefix of "a/b/c" but not of "a/bc".
+ */
+public final class PathPrefixTrie {
+  public static final PathPrefixTrie EMPTY = new PathPrefixTrie(Set.of());
+
+  private final Set<IPath> paths;
+  private final Node root = new Node();
+
+  public PathPrefixTrie(Collection<IPath> paths) {
+    this.paths = Set.copyOf(paths);
+    for (var path : this.paths) {
+      var node = root;
+      for (var segment : path.segments()) {
+        node = node.children.computeIfAbsent(segment, s -> new Node());
+      }
+      node.terminal = true;
+    }
+  }
+
+  /** @return true if the path itself or one of its parents is part of this set */
+  public boolean matches(IPath path) {
+    if (paths.isEmpty()) {
+      return false;
+    }
+    var node = root;
+    if (node.terminal) {
+      return true;
+    }
+    for (var i = 0; i < path.segmentCount(); i++) {
+      node = node.children.get(path.segment(i));
+      if (node == null) {
+        return false;
+      }
+      if (node.terminal) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public boolean isEmpty() {
+    return paths.isEmpty();
+  }
+
+  public Set<IPath> getPaths() {
+    return paths;
+  }
+
+  @Override
+  public int hashCode() {
+    return paths.hashCode();
+  }
+
+  @Override
+  public boolean equals(@Nullable Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof PathPrefixTrie)) {
+      return false;
+    }
+    return paths.equals(((PathPrefixTrie) obj).paths);
+  }
+
+  private static class Node {
+    private final Map<String, Node> children = new HashMap<>();
+    private boolean terminal;
+  }
+}
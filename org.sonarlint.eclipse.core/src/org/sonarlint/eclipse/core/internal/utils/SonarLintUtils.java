@@ -26,6 +26,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.eclipse.core.resources.IProject;
@@ -37,7 +38,6 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.analysis.SonarLintLanguage;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
-import org.sonarlint.eclipse.core.internal.backend.SonarLintBackendService;
 import org.sonarlint.eclipse.core.internal.engine.connected.ConnectionFacade;
 import org.sonarlint.eclipse.core.internal.extension.SonarLintExtensionTracker;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
@@ -58,6 +58,9 @@ public class SonarLintUtils {
    */
   public static final String SONARLINT_ANALYSIS_CDT_EXCLUSION_PROPERY = "sonarlint.internal.analysis.cdt.exclusion";
 
+  private static final String PROJECT_PREFERENCES_FOLDER = ".settings";
+  private static final Set<String> PROJECT_METADATA_FILES = Set.of(".project", ".classpath");
+
   /**
    *  Enabled languages should be consistent with https://www.sonarsource.com/products/sonarlint/features/eclipse!
    *
@@ -168,28 +171,6 @@ public class SonarLintUtils {
       && facade.getId().equals(config.getProjectBinding().get().getConnectionId());
   }
 
-  /**
-   *  Check if a project has a connection to a SonarQube 10.2+ instance can therefore offer the user the option to
-   *  transition anticipated issues. If the project is not bound to any connection, just log it and provide an error
-   *  if checking the server failed for any reason.
-   *
-   *  INFO: Because it is costly, maybe cache the information in the future and only check periodically!
-   */
-  public static boolean checkProjectSupportsAnticipatedStatusChange(ISonarLintProject project) {
-    var config = SonarLintCorePlugin.loadConfig(project);
-    if (!config.isBound()) {
-      return false;
-    }
-    var viableForStatusChange = false;
-    try {
-      viableForStatusChange = SonarLintBackendService.get().checkAnticipatedStatusChangeSupported(project).join().isSupported();
-    } catch (Exception err) {
-      SonarLintLogger.get().error("Could not check if project is bound and if connection is supporting anticipated issues", err);
-    }
-
-    return viableForStatusChange;
-  }
-
   /**
    *  Wrapper around {@link org.eclipse.core.runtime.Adapters#adapt(Object, Class)} in order to log debug information
    *  which we then can use when debugging / investigating issues. Tracing is used for checking when this does not
@@ -197,14 +178,20 @@ public class SonarLintUtils {
    */
   @Nullable
   public static <T> T adapt(@Nullable Object sourceObject, Class<T> adapter, String trace) {
+    return adapt(sourceObject, adapter, () -> trace);
+  }
+
+  /** Same as {@link #adapt(Object, Class, String)} but the trace is only computed when tracing is enabled */
+  @Nullable
+  public static <T> T adapt(@Nullable Object sourceObject, Class<T> adapter, Supplier<String> trace) {
     if (sourceObject == null) {
-      SonarLintLogger.get().traceIdeMessage(trace);
+      SonarLintLogger.get().traceIdeMessageLazy(trace);
       return null;
     }
 
     var adapted = Adapters.adapt(sourceObject, adapter);
     if (adapted == null) {
-      SonarLintLogger.get().traceIdeMessage(trace + " -> '" + sourceObject.toString() + "' could not be adapted to '"
+      SonarLintLogger.get().traceIdeMessageLazy(() -> trace.get() + " -> '" + sourceObject.toString() + "' could not be adapted to '"
         + adapter.getCanonicalName() + "'");
     }
 
@@ -253,6 +240,21 @@ public class SonarLintUtils {
     return possibleChildPath.startsWith(possibleParentPath);
   }
 
+  /**
+   *  Whether the resource is the description (".project"), the JDT classpath (".classpath") or in the preferences
+   *  (".settings") of its project. Changes to these might change which files belong to the project and how they are
+   *  classified, without this being visible from the resource delta of the files.
+   */
+  public static boolean isProjectMetadata(IResource resource) {
+    var path = resource.getProjectRelativePath();
+    if (path.segmentCount() == 0) {
+      return false;
+    }
+    return path.segmentCount() == 1
+      ? PROJECT_METADATA_FILES.contains(path.segment(0)) || PROJECT_PREFERENCES_FOLDER.equals(path.segment(0))
+      : PROJECT_PREFERENCES_FOLDER.equals(path.segment(0));
+  }
+
   /**
    *  This was not moved to a sub-plugin implementing the "IProjectScopeProvider" as it would be a bit too costly and
    *  also might have blown up the list of exclusions. It also wouldn't have made sense to rely (optionally) on Eclipse
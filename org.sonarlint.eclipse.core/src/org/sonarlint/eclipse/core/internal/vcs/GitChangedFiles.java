@@ -0,0 +1,97 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.vcs;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.lib.Constants;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.lib.IndexDiff;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.lib.ObjectId;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.lib.Repository;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.revwalk.RevWalk;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.treewalk.FileTreeIterator;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.treewalk.filter.PathFilter;
+
+/**
+ *  Changes of the working tree and of the index of a (non-bare) Git repository compared to a base commit, which is
+ *  either HEAD or the merge-base of HEAD and a target branch. Paths are relative to the root of the repository and use
+ *  '/' as separator, like in Git itself.
+ */
+public class GitChangedFiles {
+  private static final SonarLintLogger LOG = SonarLintLogger.get();
+
+  private GitChangedFiles() {
+  }
+
+  /**
+   *  @param pathPrefix only the changes below this directory are computed, empty for the whole repository
+   *  @param targetBranch when provided, the changes are computed against the merge-base of HEAD and this branch
+   *  @return paths of the files that were added, changed or are untracked, removed files are not part of it
+   */
+  public static Set<String> collect(Repository repository, String pathPrefix, @Nullable String targetBranch) throws IOException {
+    var diff = new IndexDiff(repository, resolveBaseTree(repository, targetBranch), new FileTreeIterator(repository));
+    if (!pathPrefix.isEmpty()) {
+      // Not only faster, files of the repository outside the project would be dropped anyway
+      diff.setFilter(PathFilter.create(pathPrefix));
+    }
+    diff.diff();
+
+    var changedPaths = new HashSet<String>();
+    changedPaths.addAll(diff.getAdded());
+    changedPaths.addAll(diff.getChanged());
+    changedPaths.addAll(diff.getModified());
+    changedPaths.addAll(diff.getUntracked());
+    changedPaths.addAll(diff.getConflicting());
+    return changedPaths;
+  }
+
+  /** When HEAD is unborn there is no base at all and every file of the index is considered added */
+  @Nullable
+  private static ObjectId resolveBaseTree(Repository repository, @Nullable String targetBranch) throws IOException {
+    var headId = repository.resolve(Constants.HEAD);
+    if (headId == null) {
+      return null;
+    }
+    try (var revWalk = new RevWalk(repository)) {
+      var head = revWalk.parseCommit(headId);
+      if (targetBranch == null) {
+        return head.getTree();
+      }
+      var targetId = repository.resolve(targetBranch);
+      if (targetId == null) {
+        LOG.debug("Target branch '" + targetBranch + "' not found, changed files are computed against HEAD");
+        return head.getTree();
+      }
+      revWalk.setRevFilter(RevFilter.MERGE_BASE);
+      revWalk.markStart(head);
+      revWalk.markStart(revWalk.parseCommit(targetId));
+      var mergeBase = revWalk.next();
+      if (mergeBase == null) {
+        LOG.debug("No merge-base between HEAD and '" + targetBranch + "', changed files are computed against HEAD");
+        return head.getTree();
+      }
+      return mergeBase.getTree();
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.vcs;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.ignore.IgnoreNode;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.lib.Constants;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.lib.Repository;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.revwalk.RevWalk;
+import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.treewalk.TreeWalk;
+
+/**
+ *  Compiled ignore rules of a whole Git repository: every ".gitignore" file of the hierarchy plus ".git/info/exclude".
+ *  Paths are always relative to the root of the repository and use '/' as separator, like in Git itself.
+ */
+public class GitIgnoreMatcher {
+  private static final String ROOT_DIR = "";
+
+  /** Key is the directory containing the ".gitignore" file, relative to the root of the repository */
+  private final Map<String, IgnoreNode> nodesPerDirectory = new HashMap<>();
+  @Nullable
+  private IgnoreNode infoExclude;
+  private final Map<String, Boolean> ignoredDirectories = new ConcurrentHashMap<>();
+
+  private GitIgnoreMatcher() {
+  }
+
+  public static GitIgnoreMatcher load(Repository repository) throws IOException {
+    var matcher = new GitIgnoreMatcher();
+    if (repository.isBare()) {
+      matcher.loadFromHead(repository);
+    } else {
+      matcher.loadInfoExclude(repository);
+      matcher.loadFromWorkTree(repository.getWorkTree().toPath());
+    }
+    return matcher;
+  }
+
+  public boolean isIgnored(String relativePath, boolean isDirectory) {
+    // Git does not look into ignored directories, so whatever the rules for the file itself, it is ignored
+    var separatorIdx = relativePath.indexOf('/');
+    while (separatorIdx > 0) {
+      if (isDirectoryIgnored(relativePath.substring(0, separatorIdx))) {
+        return true;
+      }
+      separatorIdx = relativePath.indexOf('/', separatorIdx + 1);
+    }
+    return matches(relativePath, isDirectory);
+  }
+
+  private boolean isDirectoryIgnored(String relativePath) {
+    return ignoredDirectories.computeIfAbsent(relativePath, p -> matches(p, true));
+  }
+
+  /** The deepest ".gitignore" having an opinion wins, ".git/info/exclude" has the lowest precedence */
+  private boolean matches(String relativePath, boolean isDirectory) {
+    var dir = parentOf(relativePath);
+    while (true) {
+      var node = nodesPerDirectory.get(dir);
+      if (node != null) {
+        var pathInDir = dir.isEmpty() ? relativePath : relativePath.substring(dir.length() + 1);
+        var result = node.checkIgnored(pathInDir, isDirectory);
+        if (result != null) {
+          return result;
+        }
+      }
+      if (dir.isEmpty()) {
+        break;
+      }
+      dir = parentOf(dir);
+    }
+    if (infoExclude != null) {
+      var result = infoExclude.checkIgnored(relativePath, isDirectory);
+      if (result != null) {
+        return result;
+      }
+    }
+    return false;
+  }
+
+  private static String parentOf(String relativePath) {
+    var separatorIdx = relativePath.lastIndexOf('/');
+    return separatorIdx < 0 ? ROOT_DIR : relativePath.substring(0, separatorIdx);
+  }
+
+  private void loadInfoExclude(Repository repository) throws IOException {
+    var excludeFile = new File(repository.getDirectory(), Constants.INFO_EXCLUDE);
+    if (excludeFile.isFile()) {
+      infoExclude = parse(excludeFile.toPath());
+    }
+  }
+
+  /** Non-bare repositories: only the directories that are not ignored themselves have to be visited */
+  private void loadFromWorkTree(Path workTree) throws IOException {
+    Files.walkFileTree(workTree, new SimpleFileVisitor<>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+        if (!dir.equals(workTree)) {
+          if (Constants.DOT_GIT.equals(dir.getFileName().toString()) || Files.exists(dir.resolve(Constants.DOT_GIT))) {
+            // Either the repository metadata or a nested repository (e.g. a submodule) having its own rules
+            return FileVisitResult.SKIP_SUBTREE;
+          }
+          if (isDirectoryIgnored(toRelativePath(workTree, dir))) {
+            return FileVisitResult.SKIP_SUBTREE;
+          }
+        }
+        var gitIgnoreFile = dir.resolve(Constants.GITIGNORE_FILENAME);
+        if (Files.isRegularFile(gitIgnoreFile)) {
+          nodesPerDirectory.put(toRelativePath(workTree, dir), parse(gitIgnoreFile));
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFileFailed(Path file, IOException exc) {
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  /** Bare repositories: the ".gitignore" files can only be accessed by walking the tree of HEAD */
+  private void loadFromHead(Repository repository) throws IOException {
+    var headId = repository.resolve(Constants.HEAD);
+    if (headId == null) {
+      return;
+    }
+    try (var revWalk = new RevWalk(repository); var treeWalk = new TreeWalk(repository)) {
+      var commit = revWalk.parseCommit(headId);
+      treeWalk.addTree(commit.getTree());
+      treeWalk.setRecursive(true);
+      while (treeWalk.next()) {
+        if (Constants.GITIGNORE_FILENAME.equals(treeWalk.getNameString())) {
+          var node = new IgnoreNode();
+          try (var inputStream = repository.open(treeWalk.getObjectId(0)).openStream()) {
+            node.parse(inputStream);
+          }
+          nodesPerDirectory.put(parentOf(treeWalk.getPathString()), node);
+        }
+      }
+    }
+  }
+
+  private static IgnoreNode parse(Path ignoreFile) throws IOException {
+    var node = new IgnoreNode();
+    try (var inputStream = new FileInputStream(ignoreFile.toFile())) {
+      node.parse(inputStream);
+    }
+    return node;
+  }
+
+  static String toRelativePath(Path root, Path path) {
+    return root.relativize(path).toString().replace(File.separatorChar, '/');
+  }
+}
@@ -20,14 +20,19 @@
 package org.sonarlint.eclipse.core.internal.vcs;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.jdt.annotation.Nullable;
 import org.sonarlint.eclipse.core.SonarLintLogger;
@@ -37,14 +42,9 @@ import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 import org.sonarsource.sonarlint.core.client.utils.GitUtils;
 import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.events.ListenerHandle;
-import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.ignore.IgnoreNode;
 import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.lib.Constants;
-import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.lib.ObjectLoader;
 import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.lib.Ref;
 import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.lib.Repository;
-import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.revwalk.RevWalk;
-import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.treewalk.TreeWalk;
-import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.treewalk.filter.PathFilter;
 
 /**
  *  Facade that only relies on the shaded JGit version coming from SonarLint CORE
@@ -52,11 +52,16 @@ import org.sonarsource.sonarlint.shaded.org.eclipse.jgit.treewalk.filter.PathFil
 public class JGitFacade {
   private static final SonarLintLogger LOG = SonarLintLogger.get();
 
+  private final Map<ISonarLintProject, Optional<RepositoryLocation>> repositoryPerProject = new ConcurrentHashMap<>();
+  private final Map<File, GitIgnoreMatcher> ignoreMatcherPerRepo = new ConcurrentHashMap<>();
+
   private ListenerHandle listenerHandle;
 
   public synchronized void addHeadRefsChangeListener(Consumer<List<ISonarLintProject>> listener) {
     removeHeadRefsChangeListener();
     listenerHandle = Repository.getGlobalListenerList().addRefsChangedListener(event -> {
+      // A checkout or a pull might have brought different ignore files
+      ignoreMatcherPerRepo.remove(event.getRepository().getDirectory());
       List<ISonarLintProject> affectedProjects = new ArrayList<>();
       SonarLintUtils.allProjects().forEach(p -> getRepo(p.getResource()).ifPresent(repo -> {
         var repoDir = repo.getDirectory();
@@ -130,95 +135,176 @@ public class JGitFacade {
   }
 
   public boolean isIgnored(ISonarLintFile file) {
-    var repoOpt = getRepo(file.getProject().getResource());
-    if (repoOpt.isEmpty()) {
-      return false;
-    }
-    var repo = repoOpt.get();
-
-    var fileResource = file.getResource();
-    var projectResource = file.getProject().getResource();
-
-    Path fileRealPath;
-    Path projectRealPath;
-    try {
-      fileRealPath = new File(fileResource.getLocationURI()).toPath().toRealPath();
-      projectRealPath = new File(projectResource.getLocationURI()).toPath().toRealPath();
-    } catch (IOException err) {
-      LOG.debug("Unable to get real path of resource: " + fileResource.getName()
-        + " or its project: " + projectResource.getName(), err);
-      return false;
-    } catch (IllegalArgumentException err) {
-      // This happens for all URI schemes that are not "file", like "rse" which is coming from the Eclipse Remote
-      // System Explorer plug-in. Before these changes it was failing internally in the EGit integration as well and
-      // would therefore not be able to check if this file is ignored or not.
-      LOG.debug("Unable to create file from resource: " + fileResource.getName(), err);
-      return false;
-    }
-
-    var ignores = getGitignoreEntries(repo);
-    LOG.debug("For project '" + projectResource.getName() + "' the ignore rules found by Git are: "
-      + ignores.toString());
+    return !getIgnoredFiles(List.of(file)).isEmpty();
+  }
 
-    // Because the return value can be null we have to check it this way!
-    var isIgnored = ignores.checkIgnored(projectRealPath.relativize(fileRealPath).toString(),
-      file.getResource().getType() == IResource.FOLDER);
-    return isIgnored == null ? false : isIgnored;
+  /**
+   *  Check a batch of files against the ignore rules. The repository and its rules are only resolved once per project
+   *  and then kept in memory until the ignore files or the references of the repository change.
+   */
+  public Set<ISonarLintFile> getIgnoredFiles(Collection<ISonarLintFile> files) {
+    var ignoredFiles = new HashSet<ISonarLintFile>();
+    files.stream()
+      .collect(Collectors.groupingBy(ISonarLintFile::getProject, LinkedHashMap::new, Collectors.toList()))
+      .forEach((project, projectFiles) -> {
+        var location = getRepositoryLocation(project);
+        if (location.isEmpty()) {
+          return;
+        }
+        var matcher = getIgnoreMatcher(location.get().repository);
+        if (matcher == null) {
+          return;
+        }
+        for (var file : projectFiles) {
+          var relativePath = location.get().relativePathOf(file);
+          if (relativePath != null && matcher.isIgnored(relativePath, file.getResource().getType() == IResource.FOLDER)) {
+            ignoredFiles.add(file);
+          }
+        }
+      });
+    return ignoredFiles;
   }
 
   /**
-   *  Get all the ignore rules for a specific Git repository
+   *  Files of the project added, changed or untracked compared to HEAD or, when a target branch is provided, compared
+   *  to the merge-base of HEAD and this branch. Only the Git status has to be computed, the changed paths are then
+   *  resolved with the (already indexed) files of the project.
    *
-   *  @param repository to check for ".gitignore" files
-   *  @return ignore rules, can be empty
+   *  @return empty if the project is not inside the work tree of a Git repository or if the status cannot be computed
    */
-  private static IgnoreNode getGitignoreEntries(Repository repository) {
-    var ignoreNode = new IgnoreNode();
+  public Optional<Collection<ISonarLintFile>> getChangedFiles(ISonarLintProject project, @Nullable String targetBranch) {
+    var location = getRepositoryLocation(project);
+    if (location.isEmpty() || location.get().repository.isBare()) {
+      return Optional.empty();
+    }
+    var projectPath = location.get().projectPathInRepository();
+    if (projectPath == null) {
+      return Optional.empty();
+    }
+
+    Set<String> changedPaths;
     try {
-      if (repository.isBare()) {
-        handleBareRepo(repository, ignoreNode);
-      } else {
-        handleNonBareRepo(repository, ignoreNode);
+      changedPaths = GitChangedFiles.collect(location.get().repository, projectPath, targetBranch);
+    } catch (IOException | RuntimeException err) {
+      LOG.debug("Unable to compute the changed files of project " + project.getName() + " with Git", err);
+      return Optional.empty();
+    }
+
+    var changedFiles = new ArrayList<ISonarLintFile>();
+    if (changedPaths.isEmpty()) {
+      return Optional.of(changedFiles);
+    }
+    var filesPerPath = project.files().stream()
+      .collect(Collectors.toMap(ISonarLintFile::getProjectRelativePath, f -> f, (f1, f2) -> f1));
+    var prefixLength = projectPath.isEmpty() ? 0 : (projectPath.length() + 1);
+    for (var changedPath : changedPaths) {
+      var file = filesPerPath.get(changedPath.substring(prefixLength));
+      if (file != null) {
+        changedFiles.add(file);
       }
+    }
+    return Optional.of(changedFiles);
+  }
+
+  @Nullable
+  private GitIgnoreMatcher getIgnoreMatcher(Repository repository) {
+    var repoDir = repository.getDirectory();
+    var cached = ignoreMatcherPerRepo.get(repoDir);
+    if (cached != null) {
+      return cached;
+    }
+    try {
+      var matcher = GitIgnoreMatcher.load(repository);
+      ignoreMatcherPerRepo.put(repoDir, matcher);
+      return matcher;
     } catch (IOException err) {
       LOG.debug("Cannot load ignored resources for the Git repository", err);
+      return null;
     }
-    return ignoreNode;
   }
 
-  /** Handle non-bare repositories where the root directory can be accessed quite easily */
-  private static void handleNonBareRepo(Repository repository, IgnoreNode ignoreNode) throws IOException {
-    var rootDir = repository.getWorkTree();
-    var gitIgnoreFile = new File(rootDir, Constants.GITIGNORE_FILENAME);
-    try (var inputStream = new FileInputStream(gitIgnoreFile)) {
-      ignoreNode.parse(inputStream);
+  private Optional<RepositoryLocation> getRepositoryLocation(ISonarLintProject project) {
+    return repositoryPerProject.computeIfAbsent(project, p -> getRepo(p.getResource()).flatMap(repo -> toRepositoryLocation(p, repo)));
+  }
+
+  private static Optional<RepositoryLocation> toRepositoryLocation(ISonarLintProject project, Repository repository) {
+    var projectResource = project.getResource();
+    try {
+      var projectRealPath = new File(projectResource.getLocationURI()).toPath().toRealPath();
+      // For bare repositories there is no work tree, the ".gitignore" files are then resolved relative to the project
+      var rootRealPath = repository.isBare() ? projectRealPath : repository.getWorkTree().toPath().toRealPath();
+      return Optional.of(new RepositoryLocation(repository, projectRealPath, rootRealPath));
+    } catch (IOException err) {
+      LOG.debug("Unable to get real path of project: " + projectResource.getName(), err);
+    } catch (IllegalArgumentException err) {
+      LOG.debug("Unable to create file from resource: " + projectResource.getName(), err);
     }
+    return Optional.empty();
   }
 
-  /** Handle bare repositories where the ".gitignore" can only be accessed by walking the tree */
-  private static void handleBareRepo(Repository repository, IgnoreNode ignoreNode) throws IOException {
-    var loader = readBareGitignore(repository);
-    if (loader.isPresent()) {
-      try (var inputStream = loader.get().openStream()) {
-        ignoreNode.parse(inputStream);
-      }
+  /** To be called when a project is closed or when a Git repository was created/deleted inside of it */
+  public void forgetRepository(ISonarLintProject project) {
+    repositoryPerProject.remove(project);
+  }
+
+  /** To be called when an ignore file (".gitignore", ".git/info/exclude") was added, changed or removed */
+  public void ignoreFileChanged(IResource ignoreFile) {
+    var locationUri = ignoreFile.getLocationURI();
+    if (locationUri == null) {
+      return;
+    }
+    try {
+      var location = new File(locationUri).getAbsoluteFile().toPath();
+      // Covers both the work tree and the ".git" directory itself
+      ignoreMatcherPerRepo.keySet().removeIf(repoDir -> {
+        var repoParent = repoDir.getAbsoluteFile().getParentFile();
+        return repoParent != null && location.startsWith(repoParent.toPath());
+      });
+    } catch (IllegalArgumentException err) {
+      // Not a local file, there cannot be a matcher for it
     }
   }
 
-  private static Optional<ObjectLoader> readBareGitignore(Repository repository) throws IOException {
-    var headId = repository.resolve(Constants.HEAD);
+  private static class RepositoryLocation {
+    private final Repository repository;
+    private final Path projectRealPath;
+    private final Path rootRealPath;
+
+    private RepositoryLocation(Repository repository, Path projectRealPath, Path rootRealPath) {
+      this.repository = repository;
+      this.projectRealPath = projectRealPath;
+      this.rootRealPath = rootRealPath;
+    }
 
-    try (var revWalk = new RevWalk(repository)) {
-      var commit = revWalk.parseCommit(headId);
+    /** Path of the project relative to the root of the repository (empty if it is the root), or null if outside */
+    @Nullable
+    String projectPathInRepository() {
+      return projectRealPath.startsWith(rootRealPath) ? GitIgnoreMatcher.toRelativePath(rootRealPath, projectRealPath) : null;
+    }
 
-      try (var treeWalk = new TreeWalk(repository)) {
-        treeWalk.addTree(commit.getTree());
-        treeWalk.setRecursive(true);
-        treeWalk.setFilter(PathFilter.create(Constants.GITIGNORE_FILENAME));
-        return !treeWalk.next()
-          ? Optional.empty()
-          : Optional.of(repository.open(treeWalk.getObjectId(0)));
+    /** Path of the file relative to the root of the repository, or null if it is not part of it */
+    @Nullable
+    String relativePathOf(ISonarLintFile file) {
+      var fileResource = file.getResource();
+      Path fileRealPath;
+      if (!fileResource.isLinked(IResource.CHECK_ANCESTORS)) {
+        // Avoid hitting the file system for every single file, only linked resources can escape the project
+        fileRealPath = projectRealPath.resolve(fileResource.getProjectRelativePath().toOSString());
+      } else {
+        try {
+          fileRealPath = new File(fileResource.getLocationURI()).toPath().toRealPath();
+        } catch (IOException err) {
+          LOG.debug("Unable to get real path of resource: " + fileResource.getName(), err);
+          return null;
+        } catch (IllegalArgumentException err) {
+          // This happens for all URI schemes that are not "file", like "rse" which is coming from the Eclipse Remote
+          // System Explorer plug-in. Before these changes it was failing internally in the EGit integration as well and
+          // would therefore not be able to check if this file is ignored or not.
+          LOG.debug("Unable to create file from resource: " + fileResource.getName(), err);
+          return null;
+        }
       }
+      return fileRealPath.startsWith(rootRealPath) ? GitIgnoreMatcher.toRelativePath(rootRealPath, fileRealPath) : null;
     }
   }
 }
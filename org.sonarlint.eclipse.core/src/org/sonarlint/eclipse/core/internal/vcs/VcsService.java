@@ -19,6 +19,7 @@
  */
 package org.sonarlint.eclipse.core.internal.vcs;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -33,6 +34,7 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.annotation.Nullable;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.backend.SonarLintBackendService;
+import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfiguration;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 
@@ -52,6 +54,29 @@ public class VcsService {
     return FACADE.isIgnored(file);
   }
 
+  /** Same as {@link #isIgnored(ISonarLintFile)} but checking all the files at once */
+  public static Set<ISonarLintFile> getIgnoredFiles(Collection<ISonarLintFile> files) {
+    return FACADE.getIgnoredFiles(files);
+  }
+
+  public static void ignoreFileChanged(IResource ignoreFile) {
+    FACADE.ignoreFileChanged(ignoreFile);
+  }
+
+  public static void repositoryChanged(ISonarLintProject project) {
+    FACADE.forgetRepository(project);
+  }
+
+  /**
+   *  Changed files of the project according to Git, computed against the base configured in the preferences.
+   *
+   *  @return empty if the project is not a Git project, callers should then rely on the Team provider
+   */
+  public static Optional<Collection<ISonarLintFile>> getChangedFiles(ISonarLintProject project) {
+    var targetBranch = SonarLintGlobalConfiguration.getChangedFilesTargetBranch();
+    return FACADE.getChangedFiles(project, targetBranch);
+  }
+
   public static boolean inRepository(IResource resource) {
     return FACADE.inRepository(resource);
   }
@@ -76,6 +101,7 @@ public class VcsService {
   public static void projectClosed(ISonarLintProject project) {
     previousCommitRefCache.remove(project);
     matchedSonarProjectBranchCache.remove(project);
+    FACADE.forgetRepository(project);
   }
 
   public static Optional<String> getCachedSonarProjectBranch(ISonarLintProject project) {
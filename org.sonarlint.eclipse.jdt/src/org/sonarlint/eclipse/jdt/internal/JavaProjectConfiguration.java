@@ -30,6 +30,7 @@ public class JavaProjectConfiguration {
   private final Set<String> testLibraries = new LinkedHashSet<>();
   private final Set<String> binaries = new LinkedHashSet<>();
   private final Set<String> testBinaries = new LinkedHashSet<>();
+  private boolean hasMissingEntries;
 
   public Set<Object> dependentProjects() {
     return dependentProjects;
@@ -55,4 +56,13 @@ public class JavaProjectConfiguration {
     return testBinaries;
   }
 
+  /** Some output folders / libraries were not found on disk, e.g. because the project was not built yet */
+  public boolean hasMissingEntries() {
+    return hasMissingEntries;
+  }
+
+  public void markMissingEntry() {
+    hasMissingEntries = true;
+  }
+
 }
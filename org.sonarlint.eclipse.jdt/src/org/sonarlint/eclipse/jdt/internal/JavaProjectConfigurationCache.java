@@ -0,0 +1,139 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.jdt.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.cache.FileClassificationCache;
+
+/**
+ *  Computing the classpath of a Java project means resolving the classpath of all the projects it depends on, this is
+ *  done on every analysis. The result only changes when the classpath of one of these projects changes, which is
+ *  reported by JDT as an element delta.
+ */
+public class JavaProjectConfigurationCache implements IElementChangedListener {
+  public static final JavaProjectConfigurationCache INSTANCE = new JavaProjectConfigurationCache();
+
+  private static final int CLASSPATH_CHANGED_FLAGS = IJavaElementDelta.F_CLASSPATH_CHANGED
+    | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+    | IJavaElementDelta.F_OPENED
+    | IJavaElementDelta.F_CLOSED;
+
+  private final Map<IJavaProject, JavaProjectConfiguration> cache = new ConcurrentHashMap<>();
+  /** Incremented on every invalidation so that a computation racing with it is not cached */
+  private final AtomicLong generation = new AtomicLong();
+  private boolean listening;
+  /** Once stopped nothing is cached anymore, as the classpath changes are not followed */
+  private boolean stopped;
+
+  private JavaProjectConfigurationCache() {
+  }
+
+  @FunctionalInterface
+  interface ConfigurationComputer {
+    JavaProjectConfiguration compute(IJavaProject javaProject) throws JavaModelException;
+  }
+
+  JavaProjectConfiguration getOrCompute(IJavaProject javaProject, ConfigurationComputer computer) throws JavaModelException {
+    if (!startListening()) {
+      return computer.compute(javaProject);
+    }
+    var cached = cache.get(javaProject);
+    if (cached != null) {
+      return cached;
+    }
+    var generationBefore = generation.get();
+    var configuration = computer.compute(javaProject);
+    // When some entries were not found on disk, e.g. output folders of a project not built yet, this might change
+    // without any classpath change
+    if (!configuration.hasMissingEntries() && generation.get() == generationBefore) {
+      cache.put(javaProject, configuration);
+    }
+    return configuration;
+  }
+
+  /** @return false if stopped */
+  private synchronized boolean startListening() {
+    if (!listening && !stopped) {
+      JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+      listening = true;
+    }
+    return listening;
+  }
+
+  @Override
+  public void elementChanged(ElementChangedEvent event) {
+    visit(event.getDelta());
+  }
+
+  private void visit(IJavaElementDelta delta) {
+    var element = delta.getElement();
+    if (element.getElementType() == IJavaElement.JAVA_MODEL) {
+      for (var child : delta.getAffectedChildren()) {
+        visit(child);
+      }
+    } else if (element.getElementType() == IJavaElement.JAVA_PROJECT
+      && (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & CLASSPATH_CHANGED_FLAGS) != 0)) {
+      invalidate((IJavaProject) element);
+    }
+  }
+
+  /**
+   *  Remove the configuration of this project and of all the projects depending on it. As the configuration of a
+   *  project already contains all the projects it transitively depends on, there is no need to walk the graph.
+   */
+  public void invalidate(IJavaProject javaProject) {
+    generation.incrementAndGet();
+    cache.entrySet().removeIf(entry -> entry.getKey().equals(javaProject)
+      || entry.getValue().dependentProjects().contains(javaProject)
+      || entry.getValue().testDependentProjects().contains(javaProject));
+    // Whether a file is a test file is decided based on the classpath entry containing it
+    FileClassificationCache.INSTANCE.invalidate(javaProject.getProject());
+    SonarLintLogger.get().traceIdeMessage("[JavaProjectConfigurationCache#invalidate] Classpath of project '"
+      + javaProject.getElementName() + "' changed");
+  }
+
+  /** Called when the bundle is stopped */
+  public synchronized void stop() {
+    stopped = true;
+    if (listening) {
+      JavaCore.removeElementChangedListener(this);
+      listening = false;
+    }
+    generation.incrementAndGet();
+    cache.clear();
+  }
+
+  // Visible for testing, public as the tests are in another bundle
+  @Nullable
+  public JavaProjectConfiguration getCached(IJavaProject javaProject) {
+    return cache.get(javaProject);
+  }
+}
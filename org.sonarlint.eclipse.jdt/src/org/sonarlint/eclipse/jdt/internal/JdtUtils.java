@@ -113,15 +113,20 @@ public class JdtUtils {
     context.setAnalysisProperty("sonar.java.enablePreview", javaPreview.equalsIgnoreCase(JavaCore.ENABLED) ? "true" : "false");
 
     try {
-      var configuration = new JavaProjectConfiguration();
-      configuration.dependentProjects().add(javaProject);
-      addClassPathToSonarProject(javaProject, configuration, true, false, false);
+      var configuration = JavaProjectConfigurationCache.INSTANCE.getOrCompute(javaProject, JdtUtils::computeConfiguration);
       configurationToProperties(context, configuration);
     } catch (JavaModelException e) {
       SonarLintLogger.get().error(e.getMessage(), e);
     }
   }
 
+  private static JavaProjectConfiguration computeConfiguration(IJavaProject javaProject) throws JavaModelException {
+    var configuration = new JavaProjectConfiguration();
+    configuration.dependentProjects().add(javaProject);
+    addClassPathToSonarProject(javaProject, configuration, true, false, false);
+    return configuration;
+  }
+
   /**
    * Adds the classpath of an eclipse project to the sonarProject recursively, i.e
    * it iterates all dependent projects. Libraries and output folders of dependent projects
@@ -207,6 +212,7 @@ public class JdtUtils {
         }
       }
     } else {
+      context.markMissingEntry();
       SonarLintLogger.get().debug("Binary directory '" + outputDir + "' was not added because it was not found. Maybe you should enable auto build of your project.");
     }
   }
@@ -228,7 +234,9 @@ public class JdtUtils {
       return;
     }
     final var libPath = resolveLibrary(javaProject, entry);
-    if (libPath != null) {
+    if (libPath == null) {
+      context.markMissingEntry();
+    } else {
       if (testEntry || isTest(entry)) {
         context.testLibraries().add(libPath);
       } else {
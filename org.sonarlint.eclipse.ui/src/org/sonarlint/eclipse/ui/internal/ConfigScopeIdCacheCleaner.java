@@ -19,22 +19,29 @@
  */
 package org.sonarlint.eclipse.ui.internal;
 
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.CoreException;
 import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.backend.ConfigScopeSynchronizer;
-import org.sonarlint.eclipse.core.internal.cache.DefaultSonarLintProjectAdapterCache;
 import org.sonarlint.eclipse.core.internal.cache.IProjectScopeProviderCache;
+import org.sonarlint.eclipse.core.internal.utils.FileExclusionsChecker;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 
 /**
- *  This is used for cleaning all the caches linked to a project (via its configuration scope id) when it is closed.
+ *  This is used for cleaning all the caches linked to a project (via its configuration scope id) when it is closed,
+ *  as well as the cached project configuration when the project is removed or its preferences file changed.
  *  We want to remove the cache entries immediately instead of waiting for the caches to clean themselves.
  */
 public class ConfigScopeIdCacheCleaner implements IResourceChangeListener {
+  private static final String PROJECT_PREFERENCES_FOLDER = ".settings";
+  private static final String PROJECT_PREFERENCES_FILE = SonarLintCorePlugin.PLUGIN_ID + ".prefs";
+
   @Override
   public void resourceChanged(IResourceChangeEvent event) {
     if (event.getType() == IResourceChangeEvent.POST_CHANGE) {
@@ -47,6 +54,17 @@ public class ConfigScopeIdCacheCleaner implements IResourceChangeListener {
   }
 
   private static boolean visitDelta(IResourceDelta delta) {
+    var resource = delta.getResource();
+    if (resource instanceof IProject && delta.getKind() == IResourceDelta.REMOVED) {
+      SonarLintCorePlugin.getInstance().getProjectConfigManager().invalidate((IProject) resource);
+      return false;
+    }
+    if (isSonarLintProjectPreferencesFile(resource)) {
+      // e.g. changed by a VCS operation while the project preferences are not yet (or no longer) loaded
+      SonarLintCorePlugin.getInstance().getProjectConfigManager().invalidate(resource.getProject());
+      return false;
+    }
+
     if ((delta.getFlags() & IResourceDelta.OPEN) != 0) {
       var project = SonarLintUtils.adapt(delta.getResource(), ISonarLintProject.class,
         "[DefaultSonarLintProjectAdapterCacheCleaner#visitDelta] Try get project of event '" + delta.getResource()
@@ -54,8 +72,9 @@ public class ConfigScopeIdCacheCleaner implements IResourceChangeListener {
       if (project != null && (!project.isOpen())) {
         var configScopeId = ConfigScopeSynchronizer.getConfigScopeId(project);
 
-        DefaultSonarLintProjectAdapterCache.INSTANCE.removeEntry(configScopeId);
         IProjectScopeProviderCache.INSTANCE.removeEntry(configScopeId);
+        FileExclusionsChecker.forget(project);
+        SonarLintCorePlugin.getInstance().getProjectConfigManager().invalidate(project);
       }
       return false;
     }
@@ -63,4 +82,10 @@ public class ConfigScopeIdCacheCleaner implements IResourceChangeListener {
     // We didn't close a project, maybe a container containing a project. Therefore, dig deeper!
     return true;
   }
+
+  private static boolean isSonarLintProjectPreferencesFile(IResource resource) {
+    return resource.getType() == IResource.FILE
+      && PROJECT_PREFERENCES_FILE.equals(resource.getName())
+      && PROJECT_PREFERENCES_FOLDER.equals(resource.getParent().getName());
+  }
 }
@@ -105,7 +105,7 @@ public class SonarLintPostBuildListener implements IResourceChangeListener {
           .filter(Objects::nonNull)
           .collect(Collectors.toList());
         if (!filesToAnalyze.isEmpty()) {
-          var request = new AnalyzeProjectRequest(project, filesToAnalyze, TriggerType.EDITOR_CHANGE, false);
+          var request = new AnalyzeProjectRequest(project, filesToAnalyze, TriggerType.POST_BUILD, false);
           AnalysisJobsScheduler.scheduleAutoAnalysisIfEnabled(request);
         }
       }
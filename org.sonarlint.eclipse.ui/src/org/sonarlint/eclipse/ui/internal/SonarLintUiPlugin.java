@@ -19,8 +19,6 @@
  */
 package org.sonarlint.eclipse.ui.internal;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -53,6 +51,7 @@ import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfigurat
 import org.sonarlint.eclipse.core.internal.utils.BundleUtils;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarlint.eclipse.ui.internal.backend.SonarLintEclipseRpcClient;
+import org.sonarlint.eclipse.ui.internal.console.ConsoleLogWriter;
 import org.sonarlint.eclipse.ui.internal.console.SonarLintConsole;
 import org.sonarlint.eclipse.ui.internal.extension.SonarLintUiExtensionTracker;
 import org.sonarlint.eclipse.ui.internal.flowlocations.SonarLintFlowLocationsService;
@@ -91,68 +90,69 @@ public class SonarLintUiPlugin extends AbstractUIPlugin {
 
   private class SonarLintConsoleLogger implements LogListener {
 
-    /**
-     * We need to process logs asynchronously to not slow down the source of logs, and not lock the UI. Still we need to preserve log
-     * ordering. So we don't use asyncExec, but instead use a single thread executor service + syncExec
-     * See https://bugs.eclipse.org/bugs/show_bug.cgi?id=421303
-     */
-    private final ExecutorService logConsumer = Executors.newSingleThreadExecutor(SonarLintUtils.threadFactory("sonarlint-log-consummer", true));
+    private final ConsoleLogWriter writer = new ConsoleLogWriter(SonarLintUiPlugin.this::getSonarConsole);
+
+    @Override
+    public boolean isDebugEnabled() {
+      return SonarLintConsole.isVerboseEnabled();
+    }
+
+    @Override
+    public boolean isTraceIdeMessageEnabled() {
+      return SonarLintConsole.showIdeSpecificTracing();
+    }
 
     @Override
     public void info(@Nullable String msg, boolean fromAnalyzer) {
       if (PlatformUI.isWorkbenchRunning()) {
-        doAsyncInUiThread(() -> getSonarConsole().info(msg, fromAnalyzer));
+        writer.info(msg, fromAnalyzer);
       }
     }
 
     @Override
     public void error(@Nullable String msg, boolean fromAnalyzer) {
       if (PlatformUI.isWorkbenchRunning()) {
-        doAsyncInUiThread(() -> getSonarConsole().error(msg, fromAnalyzer));
+        writer.error(msg, null, fromAnalyzer);
       }
     }
 
     @Override
     public void error(@Nullable String msg, Throwable t, boolean fromAnalyzer) {
       if (PlatformUI.isWorkbenchRunning()) {
-        doAsyncInUiThread(() -> getSonarConsole().error(msg, t, fromAnalyzer));
+        writer.error(msg, t, fromAnalyzer);
       }
     }
 
     @Override
     public void debug(@Nullable String msg, boolean fromAnalyzer) {
       if (PlatformUI.isWorkbenchRunning()) {
-        doAsyncInUiThread(() -> getSonarConsole().debug(msg, fromAnalyzer));
+        writer.debug(msg, null, fromAnalyzer);
       }
     }
 
     @Override
     public void debug(@Nullable String msg, Throwable t, boolean fromAnalyzer) {
       if (PlatformUI.isWorkbenchRunning()) {
-        doAsyncInUiThread(() -> getSonarConsole().debug(msg, t, fromAnalyzer));
+        writer.debug(msg, t, fromAnalyzer);
       }
     }
 
     @Override
     public void traceIdeMessage(@Nullable String msg) {
       if (PlatformUI.isWorkbenchRunning()) {
-        doAsyncInUiThread(() -> getSonarConsole().traceIdeMessage(msg));
+        writer.traceIdeMessage(msg, null);
       }
     }
 
     @Override
     public void traceIdeMessage(@Nullable String msg, Throwable t) {
       if (PlatformUI.isWorkbenchRunning()) {
-        doAsyncInUiThread(() -> getSonarConsole().traceIdeMessage(msg, t));
+        writer.traceIdeMessage(msg, t);
       }
     }
 
-    void doAsyncInUiThread(Runnable task) {
-      logConsumer.submit(() -> Display.getDefault().syncExec(task));
-    }
-
     public void shutdown() {
-      logConsumer.shutdown();
+      writer.shutdown();
     }
 
   }
@@ -173,6 +173,7 @@ public class SonarLintUiPlugin extends AbstractUIPlugin {
   public void start(final BundleContext context) throws Exception {
     super.start(context);
 
+    SonarLintConsole.loadPreferences();
     logListener = new SonarLintConsoleLogger();
     SonarLintLogger.get().addLogListener(logListener);
 
@@ -189,7 +190,10 @@ public class SonarLintUiPlugin extends AbstractUIPlugin {
     SonarLintRpcClientSupportSynchronizer.addListener(SONARLINT_RPC_CLIENT_SUPPORT_SERVICE);
 
     prefListener = event -> {
-      if (event.getProperty().equals(SonarLintGlobalConfiguration.PREF_MARKER_SEVERITY)) {
+      if (SonarLintConsole.isConsolePreference(event.getProperty())) {
+        SonarLintConsole.loadPreferences();
+        SonarLintLogger.get().logLevelChanged();
+      } else if (event.getProperty().equals(SonarLintGlobalConfiguration.PREF_MARKER_SEVERITY)) {
         try {
           MarkerUtils.updateAllSonarMarkerSeverity();
         } catch (CoreException e) {
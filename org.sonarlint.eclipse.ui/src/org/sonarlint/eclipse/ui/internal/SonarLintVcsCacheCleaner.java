@@ -19,6 +19,7 @@
  */
 package org.sonarlint.eclipse.ui.internal;
 
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
@@ -29,6 +30,8 @@ import org.sonarlint.eclipse.core.internal.vcs.VcsService;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 
 public class SonarLintVcsCacheCleaner implements IResourceChangeListener {
+  private static final String DOT_GIT = ".git";
+  private static final String GITIGNORE = ".gitignore";
 
   @Override
   public void resourceChanged(IResourceChangeEvent event) {
@@ -50,6 +53,27 @@ public class SonarLintVcsCacheCleaner implements IResourceChangeListener {
       }
       return false;
     }
+    var resource = delta.getResource();
+    if (resource.getType() == IResource.FILE && isIgnoreFile(resource)) {
+      VcsService.ignoreFileChanged(resource);
+    } else if (DOT_GIT.equals(resource.getName()) && (delta.getKind() == IResourceDelta.ADDED || delta.getKind() == IResourceDelta.REMOVED)) {
+      // A Git repository was created or deleted inside of the project
+      var project = SonarLintUtils.adapt(resource.getProject(), ISonarLintProject.class,
+        "[SonarLintVcsCacheCleaner#visitDelta] Try get project of event '" + resource + "'");
+      if (project != null) {
+        VcsService.repositoryChanged(project);
+      }
+    }
     return true;
   }
+
+  private static boolean isIgnoreFile(IResource resource) {
+    if (GITIGNORE.equals(resource.getName())) {
+      return true;
+    }
+    // .git/info/exclude
+    var parent = resource.getParent();
+    return "exclude".equals(resource.getName()) && parent != null && "info".equals(parent.getName())
+      && parent.getParent() != null && DOT_GIT.equals(parent.getParent().getName());
+  }
 }
@@ -19,25 +19,64 @@
  */
 package org.sonarlint.eclipse.ui.internal;
 
-import java.util.List;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ui.IPartListener2;
 import org.eclipse.ui.IWorkbenchPartReference;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.jobs.SonarLintMarkerUpdater;
 import org.sonarlint.eclipse.core.internal.jobs.TaintIssuesUpdateOnFileOpenedJob;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 
 import static org.sonarlint.eclipse.ui.internal.util.PlatformUtils.doIfSonarLintFileInEditor;
 
 public class TaintMarkersPartListener implements IPartListener2 {
+  private static final long COALESCING_DELAY_MS = 200;
+
+  /** Editors are often opened in bulk (e.g. when restoring the workbench), so the taint refresh is done per project */
+  private final Map<ISonarLintProject, Set<ISonarLintFile>> pendingFilesPerProject = new HashMap<>();
+
   @Override
   public void partOpened(IWorkbenchPartReference partRef) {
-    doIfSonarLintFileInEditor(partRef, (f, p) -> {
-      var bindingOpt = SonarLintCorePlugin.getConnectionManager().resolveBinding(f.getProject());
-      if (bindingOpt.isPresent()) {
-        new TaintIssuesUpdateOnFileOpenedJob(bindingOpt.get().getConnectionFacade(),
-          f.getProject(), List.of(f)).schedule();
+    doIfSonarLintFileInEditor(partRef, (f, p) -> queueTaintIssuesUpdate(f));
+  }
+
+  private void queueTaintIssuesUpdate(ISonarLintFile file) {
+    var project = file.getProject();
+    synchronized (pendingFilesPerProject) {
+      var pendingFiles = pendingFilesPerProject.get(project);
+      if (pendingFiles != null) {
+        pendingFiles.add(file);
+        return;
+      }
+      pendingFiles = new LinkedHashSet<>();
+      pendingFiles.add(file);
+      pendingFilesPerProject.put(project, pendingFiles);
+    }
+    var job = new Job("Queue taint issues update for " + project.getName()) {
+      @Override
+      protected IStatus run(IProgressMonitor monitor) {
+        Set<ISonarLintFile> files;
+        synchronized (pendingFilesPerProject) {
+          files = pendingFilesPerProject.remove(project);
+        }
+        var bindingOpt = SonarLintCorePlugin.getConnectionManager().resolveBinding(project);
+        if (files != null && bindingOpt.isPresent()) {
+          new TaintIssuesUpdateOnFileOpenedJob(bindingOpt.get().getConnectionFacade(), project, new ArrayList<>(files)).schedule();
+        }
+        return Status.OK_STATUS;
       }
-    });
+    };
+    job.setSystem(true);
+    job.schedule(COALESCING_DELAY_MS);
   }
 
   @Override
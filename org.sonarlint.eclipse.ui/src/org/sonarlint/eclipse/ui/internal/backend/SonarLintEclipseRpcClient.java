@@ -390,7 +390,7 @@ public class SonarLintEclipseRpcClient extends SonarLintEclipseHeadlessRpcClient
     switch (params.getLevel()) {
       case TRACE:
       case DEBUG:
-        SonarLintLogger.get().debug(message + stackTrace);
+        SonarLintLogger.get().debugLazy(() -> message + stackTrace);
         break;
       case ERROR:
         SonarLintLogger.get().error(message + stackTrace);
@@ -22,6 +22,7 @@ package org.sonarlint.eclipse.ui.internal.binding.wizard.project;
 import java.util.List;
 import java.util.Objects;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.jobs.AnalysisFingerprintCache;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration.EclipseProjectBinding;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 import org.sonarlint.eclipse.ui.internal.binding.actions.AnalysisJobsScheduler;
@@ -46,6 +47,7 @@ public class ProjectBindingProcess {
         SonarLintCorePlugin.saveConfig(p, projectConfig);
         p.deleteAllMarkers(SonarLintCorePlugin.MARKER_ON_THE_FLY_ID);
         p.deleteAllMarkers(SonarLintCorePlugin.MARKER_REPORT_ID);
+        AnalysisFingerprintCache.INSTANCE.invalidate(p);
         AnalysisJobsScheduler.notifyBindingViewAfterBindingChange(p, oldBinding.map(EclipseProjectBinding::getConnectionId).orElse(null));
       }
     });
@@ -181,6 +181,7 @@ public class SonarLintCodeMiningProvider extends AbstractCodeMiningProvider
     if (flowsMarkers.isEmpty()) {
       return CompletableFuture.completedFuture(emptyList());
     }
+    // The markers of the locations are created when the issue is selected, providing the minings doesn't create any
     var isSecondaryLocation = flowsMarkers.isSecondaryLocations();
     var lastSelectedFlow = SonarLintUiPlugin.getSonarlintMarkerSelectionService().getLastSelectedFlow();
     if (!isSecondaryLocation && lastSelectedFlow.isEmpty()) {
@@ -0,0 +1,162 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2025 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.ui.internal.console;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+
+/**
+ *  The log messages are written to the console asynchronously in order to not slow down the source of logs (e.g. the
+ *  threads handling the requests of the backend), and not lock the UI. They are queued in a bounded buffer drained
+ *  by a single thread, which preserves their ordering, and written to the console in batches with one syncExec each.
+ *  See https://bugs.eclipse.org/bugs/show_bug.cgi?id=421303 for why it is not done with asyncExec.
+ *
+ *  When the buffer is full, e.g. when the backend is very verbose, the messages are dropped instead of blocking the
+ *  logging thread. The number of dropped messages is then written to the console.
+ *
+ *  A batch that cannot be written (e.g. because the display was disposed) is reported to the Eclipse error log, the
+ *  thread keeps on draining the buffer. When shut down, the messages already queued are still written.
+ */
+public class ConsoleLogWriter {
+
+  private static final int CAPACITY = 10_000;
+  private static final int MAX_BATCH_SIZE = 500;
+
+  private final BlockingQueue<LogEntry> buffer = new ArrayBlockingQueue<>(CAPACITY);
+  private final AtomicLong droppedCount = new AtomicLong();
+  private final Supplier<SonarLintConsole> consoleSupplier;
+  private final Thread drainThread;
+
+  public ConsoleLogWriter(Supplier<SonarLintConsole> consoleSupplier) {
+    this.consoleSupplier = consoleSupplier;
+    this.drainThread = SonarLintUtils.threadFactory("sonarlint-log-consumer", true).newThread(this::drain);
+    drainThread.start();
+  }
+
+  public void info(@Nullable String msg, boolean fromAnalyzer) {
+    add(new LogEntry(LogEntry.Kind.INFO, msg, null, fromAnalyzer));
+  }
+
+  public void error(@Nullable String msg, @Nullable Throwable t, boolean fromAnalyzer) {
+    add(new LogEntry(LogEntry.Kind.ERROR, msg, t, fromAnalyzer));
+  }
+
+  public void debug(@Nullable String msg, @Nullable Throwable t, boolean fromAnalyzer) {
+    add(new LogEntry(LogEntry.Kind.DEBUG, msg, t, fromAnalyzer));
+  }
+
+  public void traceIdeMessage(@Nullable String msg, @Nullable Throwable t) {
+    add(new LogEntry(LogEntry.Kind.TRACE, msg, t, false));
+  }
+
+  /** Number of messages dropped since the start because the buffer was full */
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  /** Does not wait for the remaining messages to be written, as this is done on the UI thread */
+  public void shutdown() {
+    drainThread.interrupt();
+  }
+
+  private void add(LogEntry entry) {
+    if (!buffer.offer(entry)) {
+      droppedCount.incrementAndGet();
+    }
+  }
+
+  private void drain() {
+    var batch = new ArrayList<LogEntry>(MAX_BATCH_SIZE);
+    var reportedDroppedCount = 0L;
+    var failing = false;
+    var shutdown = false;
+    while (!shutdown) {
+      try {
+        batch.add(buffer.take());
+      } catch (InterruptedException e) {
+        shutdown = true;
+      }
+      // On shutdown all the messages that are left are written, otherwise only one batch before waiting again
+      while (buffer.drainTo(batch, MAX_BATCH_SIZE - batch.size()) > 0 || !batch.isEmpty()) {
+        // Messages are only dropped when the buffer is full, so after the ones that were already queued
+        var currentDroppedCount = droppedCount.get();
+        var newlyDroppedCount = currentDroppedCount - reportedDroppedCount;
+        reportedDroppedCount = currentDroppedCount;
+
+        var entries = List.copyOf(batch);
+        batch.clear();
+        try {
+          write(entries, newlyDroppedCount);
+          failing = false;
+        } catch (RuntimeException e) {
+          // Only reported once until writing works again, not to flood the error log
+          if (!failing) {
+            Platform.getLog(ConsoleLogWriter.class).error("Unable to write the SonarLint logs to the console", e);
+          }
+          failing = true;
+        }
+        if (!shutdown) {
+          break;
+        }
+      }
+    }
+  }
+
+  /** Called by the draining thread, with the batch of messages and the number of messages dropped before it */
+  protected void write(List<LogEntry> entries, long newlyDroppedCount) {
+    if (PlatformUI.isWorkbenchRunning()) {
+      Display.getDefault().syncExec(() -> consoleSupplier.get().write(entries, newlyDroppedCount));
+    }
+  }
+
+  public static class LogEntry {
+    enum Kind {
+      INFO, ERROR, DEBUG, TRACE
+    }
+
+    final Kind kind;
+    @Nullable
+    final String msg;
+    @Nullable
+    final Throwable throwable;
+    final boolean fromAnalyzer;
+
+    private LogEntry(Kind kind, @Nullable String msg, @Nullable Throwable throwable, boolean fromAnalyzer) {
+      this.kind = kind;
+      this.msg = msg;
+      this.throwable = throwable;
+      this.fromAnalyzer = fromAnalyzer;
+    }
+
+    @Nullable
+    public String getMessage() {
+      return msg;
+    }
+  }
+}
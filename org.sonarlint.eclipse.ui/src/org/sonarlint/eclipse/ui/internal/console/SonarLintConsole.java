@@ -21,6 +21,9 @@ package org.sonarlint.eclipse.ui.internal.console;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.preference.JFacePreferences;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.resource.JFaceColors;
@@ -35,6 +38,7 @@ import org.eclipse.ui.console.MessageConsole;
 import org.eclipse.ui.console.MessageConsoleStream;
 import org.sonarlint.eclipse.ui.internal.Messages;
 import org.sonarlint.eclipse.ui.internal.SonarLintUiPlugin;
+import org.sonarlint.eclipse.ui.internal.console.ConsoleLogWriter.LogEntry;
 import org.sonarlint.eclipse.ui.internal.popup.ErrorPopup;
 
 public class SonarLintConsole extends MessageConsole implements IPropertyChangeListener {
@@ -49,6 +53,15 @@ public class SonarLintConsole extends MessageConsole implements IPropertyChangeL
 
   public static final String TITLE = Messages.SonarConsole_title;
 
+  private static final Set<String> PREFERENCES = Set.of(P_VERBOSE_OUTPUT, P_ANALYZER_OUTPUT, P_IDE_TRACING_OUTPUT, P_SHOW_CONSOLE);
+
+  /** The preferences are checked for every logged message, so they are cached and only read again when they change */
+  private static volatile boolean verboseEnabled;
+  private static volatile boolean analysisLogsShown;
+  private static volatile boolean ideSpecificTracingShown;
+  @Nullable
+  private static volatile String showConsolePreference;
+
   private final MessageConsoleStream infoStream;
   private final MessageConsoleStream warnStream;
   private final MessageConsoleStream debugStream;
@@ -113,83 +126,110 @@ public class SonarLintConsole extends MessageConsole implements IPropertyChangeL
     return false;
   }
 
-  public void info(String msg, boolean fromAnalyzer) {
-    if (showAnalysisLogs() || !fromAnalyzer) {
-      if (isShowConsoleOnOutput()) {
-        bringConsoleToFront();
+  /**
+   *  Writes a batch of log messages, consecutive messages going to the same stream are written at once in order to not
+   *  update the console document for every single message.
+   */
+  void write(List<LogEntry> entries, long droppedCount) {
+    var batch = new Batch();
+    for (var entry : entries) {
+      switch (entry.kind) {
+        case INFO:
+          info(batch, entry.msg, entry.fromAnalyzer);
+          break;
+        case ERROR:
+          error(batch, entry.msg, entry.throwable, entry.fromAnalyzer);
+          break;
+        case DEBUG:
+          debug(batch, entry.msg, entry.throwable, entry.fromAnalyzer);
+          break;
+        default:
+          traceIdeMessage(batch, entry.msg, entry.throwable);
       }
-      write(getInfoStream(), msg);
+    }
+    if (droppedCount > 0) {
+      batch.println(getWarnStream(), droppedCount + " log message(s) dropped as they were logged faster than they could be displayed");
+    }
+    batch.flush();
+    if (batch.bringConsoleToFront) {
+      bringConsoleToFront();
     }
   }
 
-  public void error(String msg, boolean fromAnalyzer) {
+  private void info(Batch batch, @Nullable String msg, boolean fromAnalyzer) {
     if (showAnalysisLogs() || !fromAnalyzer) {
-      if (isShowConsoleOnOutput() || isShowConsoleOnError()) {
-        bringConsoleToFront();
-      }
-      write(getWarnStream(), msg);
-
-      // Display a notification when an error is logged to the SonarQube Console. The first step towards a proper error
-      // reporting mechanism.
-      ErrorPopup.displayPopupIfNotIgnored(msg, null);
+      batch.bringConsoleToFront |= isShowConsoleOnOutput();
+      batch.println(getInfoStream(), msg);
     }
   }
 
-  public void error(String msg, Throwable t, boolean fromAnalyzer) {
+  private void error(Batch batch, @Nullable String msg, @Nullable Throwable t, boolean fromAnalyzer) {
     if (showAnalysisLogs() || !fromAnalyzer) {
-      if (isShowConsoleOnOutput() || isShowConsoleOnError()) {
-        bringConsoleToFront();
+      batch.bringConsoleToFront |= isShowConsoleOnOutput() || isShowConsoleOnError();
+      batch.println(getWarnStream(), msg);
+      if (t != null) {
+        batch.println(getWarnStream(), stackTrace(t));
       }
 
-      var stack = new StringWriter();
-      t.printStackTrace(new PrintWriter(stack));
-
-      write(getWarnStream(), msg);
-      write(getWarnStream(), stack.toString());
-
       // Display a notification when an error is logged to the SonarQube Console. The first step towards a proper error
       // reporting mechanism.
-      ErrorPopup.displayPopupIfNotIgnored(msg, t);
+      if (msg != null) {
+        ErrorPopup.displayPopupIfNotIgnored(msg, t);
+      }
     }
   }
 
-  public void debug(String msg, boolean fromAnalyzer) {
+  private void debug(Batch batch, @Nullable String msg, @Nullable Throwable t, boolean fromAnalyzer) {
     if (isVerboseEnabled() && (showAnalysisLogs() || !fromAnalyzer)) {
-      if (isShowConsoleOnOutput()) {
-        bringConsoleToFront();
+      batch.bringConsoleToFront |= isShowConsoleOnOutput();
+      batch.println(getDebugStream(), msg);
+      if (t != null) {
+        batch.println(getDebugStream(), stackTrace(t));
       }
-      write(getDebugStream(), msg);
     }
   }
 
-  public void debug(String msg, Throwable t, boolean fromAnalyzer) {
-    var stack = new StringWriter();
-    t.printStackTrace(new PrintWriter(stack));
-    debug(msg, fromAnalyzer);
-    debug(stack.toString(), fromAnalyzer);
-  }
-
-  public void traceIdeMessage(String msg) {
+  private void traceIdeMessage(Batch batch, @Nullable String msg, @Nullable Throwable t) {
     if (showIdeSpecificTracing()) {
-      if (isShowConsoleOnOutput()) {
-        bringConsoleToFront();
+      batch.bringConsoleToFront |= isShowConsoleOnOutput();
+      batch.println(getTraceStream(), msg);
+      if (t != null) {
+        batch.println(getTraceStream(), stackTrace(t));
       }
-      write(getTraceStream(), msg);
     }
   }
 
-  public void traceIdeMessage(String msg, Throwable t) {
+  private static String stackTrace(Throwable t) {
     var stack = new StringWriter();
     t.printStackTrace(new PrintWriter(stack));
-    traceIdeMessage(msg);
-    traceIdeMessage(stack.toString());
+    return stack.toString();
   }
 
-  private static void write(MessageConsoleStream stream, String msg) {
-    if (msg == null) {
-      return;
+  /** Collects the consecutive messages of the same stream */
+  private static class Batch {
+    private final StringBuilder text = new StringBuilder();
+    @Nullable
+    private MessageConsoleStream stream;
+    private boolean bringConsoleToFront;
+
+    private void println(MessageConsoleStream target, @Nullable String msg) {
+      if (msg == null) {
+        return;
+      }
+      if (target != stream) {
+        flush();
+        stream = target;
+      }
+      text.append(msg).append('\n');
+    }
+
+    private void flush() {
+      if (stream != null && text.length() > 0) {
+        stream.print(text.toString());
+      }
+      text.setLength(0);
+      stream = null;
     }
-    stream.println(msg);
   }
 
   private MessageConsoleStream getInfoStream() {
@@ -208,28 +248,37 @@ public class SonarLintConsole extends MessageConsole implements IPropertyChangeL
     return traceStream;
   }
 
-  private static String getShowConsolePreference() {
-    return SonarLintUiPlugin.getDefault().getPreferenceStore().getString(SonarLintConsole.P_SHOW_CONSOLE);
+  public static boolean isConsolePreference(String property) {
+    return PREFERENCES.contains(property);
+  }
+
+  /** Has to be called on startup and whenever one of the console preferences changed */
+  public static void loadPreferences() {
+    var preferenceStore = SonarLintUiPlugin.getDefault().getPreferenceStore();
+    verboseEnabled = preferenceStore.getBoolean(P_VERBOSE_OUTPUT);
+    analysisLogsShown = preferenceStore.getBoolean(P_ANALYZER_OUTPUT);
+    ideSpecificTracingShown = preferenceStore.getBoolean(P_IDE_TRACING_OUTPUT);
+    showConsolePreference = preferenceStore.getString(P_SHOW_CONSOLE);
   }
 
   private static boolean isShowConsoleOnOutput() {
-    return P_SHOW_CONSOLE_ON_OUTPUT.equals(getShowConsolePreference());
+    return P_SHOW_CONSOLE_ON_OUTPUT.equals(showConsolePreference);
   }
 
   private static boolean isShowConsoleOnError() {
-    return P_SHOW_CONSOLE_ON_ERROR.equals(getShowConsolePreference());
+    return P_SHOW_CONSOLE_ON_ERROR.equals(showConsolePreference);
   }
 
   public static boolean isVerboseEnabled() {
-    return SonarLintUiPlugin.getDefault().getPreferenceStore().getBoolean(SonarLintConsole.P_VERBOSE_OUTPUT);
+    return verboseEnabled;
   }
 
   public static boolean showAnalysisLogs() {
-    return SonarLintUiPlugin.getDefault().getPreferenceStore().getBoolean(SonarLintConsole.P_ANALYZER_OUTPUT);
+    return analysisLogsShown;
   }
 
   public static boolean showIdeSpecificTracing() {
-    return SonarLintUiPlugin.getDefault().getPreferenceStore().getBoolean(SonarLintConsole.P_IDE_TRACING_OUTPUT);
+    return ideSpecificTracingShown;
   }
 
   @Override
@@ -121,7 +121,7 @@ public class SonarLintFlowAnnotator implements SonarLintMarkerSelectionListener,
         SonarLintUiPlugin.getSonarlintMarkerSelectionService().getLastSelectedMarker().ifPresent(selectedMarker -> {
           var issueFlows = MarkerUtils.getIssueFlows(selectedMarker);
           var view = (IssueLocationsView) PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage().findView(IssueLocationsView.ID);
-          issueFlows.allLocationsAsStream().forEach(l -> {
+          issueFlows.allLocationsAsStream().filter(l -> l.getMarker() != null).forEach(l -> {
             var markerPosition = LocationsUtils.getMarkerPosition(l.getMarker(), textEditor);
             if (markerPosition != null && markerPosition.isDeleted() != l.isDeleted()) {
               l.setDeleted(markerPosition.isDeleted());
@@ -76,7 +76,9 @@ public class SonarLintFlowLocationsService implements ISelectionListener, Analys
           // Marker has been deleted during the last analysis
           markerSelected(null, false, false);
         } else {
+          // The analysis replaced the flows of the marker (and deleted the markers of the previous ones)
           var newIssueFlows = MarkerUtils.getIssueFlows(lastSelectedMarker.get());
+          newIssueFlows.materializeAllMarkers();
           // Try to reselect the same flow number than before
           var pastFlowNum = lastSelectedFlow.map(MarkerFlow::getNumber).orElse(null);
           if (pastFlowNum != null && newIssueFlows.count() >= pastFlowNum) {
@@ -155,11 +157,13 @@ public class SonarLintFlowLocationsService implements ISelectionListener, Analys
       openIssueLocationsView(forceShowAnnotationsInEditor, bringLocationViewToTop);
     }
     if (!Objects.equals(lastSelectedMarker.orElse(null), selectedMarker)) {
+      lastSelectedMarker.ifPresent(SonarLintFlowLocationsService::deleteSecondaryMarkers);
       lastSelectedMarker = Optional.ofNullable(selectedMarker);
       lastSelectedFlow = Optional.empty();
       lastSelectedFlowLocation = Optional.empty();
       if (selectedMarker != null) {
         var issueFlow = MarkerUtils.getIssueFlows(selectedMarker);
+        issueFlow.materializeAllMarkers();
         if (!issueFlow.isSecondaryLocations() && !issueFlow.isEmpty()) {
           // Select the first flow
           lastSelectedFlow = Optional.of(issueFlow.getFlows().get(0));
@@ -170,6 +174,17 @@ public class SonarLintFlowLocationsService implements ISelectionListener, Analys
     }
   }
 
+  /**
+   *  The flow locations and quick fix text edits only have markers while the issue is selected, this also drops the
+   *  markers of the quick fixes that were materialized when one of them was applied.
+   */
+  private static void deleteSecondaryMarkers(IMarker deselectedMarker) {
+    if (deselectedMarker.exists()) {
+      MarkerUtils.getIssueFlows(deselectedMarker).deleteAllMarkers();
+      MarkerUtils.getIssueQuickFixes(deselectedMarker).deleteAllMarkers();
+    }
+  }
+
   private void notifyAllOfMarkerChange() {
     markerSelectionListeners.forEach(l -> l.markerSelected(lastSelectedMarker));
   }
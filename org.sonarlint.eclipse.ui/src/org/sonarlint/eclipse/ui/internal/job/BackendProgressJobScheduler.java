@@ -21,13 +21,11 @@ package org.sonarlint.eclipse.ui.internal.job;
 
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarsource.sonarlint.core.rpc.protocol.client.progress.ProgressUpdateNotification;
 import org.sonarsource.sonarlint.core.rpc.protocol.client.progress.StartProgressParams;
@@ -84,52 +82,90 @@ public class BackendProgressJobScheduler {
     job.complete();
   }
 
-  /** This job is only an IDE frontend for a job running in the SonarLintBackend */
+  /**
+   *  This job is only an IDE frontend for a job running in the SonarLintBackend. It sleeps until the backend reports
+   *  progress or completion and only wakes up regularly on its own to check whether it was cancelled by the user.
+   */
   private static class BackendProgressJob extends Job {
+    private static final long CANCELLATION_CHECK_INTERVAL_MS = 1000;
+    private static final int TOTAL_WORK = 100;
+
+    private final String taskId;
     private final Object waitMonitor = new Object();
-    private final AtomicReference<String> message;
-    private final AtomicInteger percentage = new AtomicInteger(0);
-    private final AtomicBoolean complete = new AtomicBoolean(false);
+    @Nullable
+    private String message;
+    private int percentage = 0;
+    private boolean updated = false;
+    private boolean complete = false;
 
     public BackendProgressJob(StartProgressParams params) {
       super(params.getTitle());
       setPriority(DECORATE);
 
-      this.message = new AtomicReference<>(params.getMessage());
+      this.taskId = params.getTaskId();
+      this.message = params.getMessage();
     }
 
     @Override
     protected IStatus run(IProgressMonitor monitor) {
-      monitor.setTaskName(message.get());
-      monitor.worked(percentage.get());
-
-      while (!complete.get()) {
-        synchronized (waitMonitor) {
-          monitor.setTaskName(message.get());
-          monitor.worked(percentage.get());
+      monitor.beginTask(getName(), TOTAL_WORK);
+      var reportedPercentage = 0;
+      try {
+        while (!monitor.isCanceled()) {
+          String currentMessage;
+          int currentPercentage;
+          boolean isComplete;
+          synchronized (waitMonitor) {
+            if (!updated && !complete) {
+              waitMonitor.wait(CANCELLATION_CHECK_INTERVAL_MS);
+            }
+            updated = false;
+            currentMessage = message;
+            currentPercentage = percentage;
+            isComplete = complete;
+          }
+
+          if (currentMessage != null) {
+            monitor.subTask(currentMessage);
+          }
+          if (currentPercentage > reportedPercentage) {
+            monitor.worked(Math.min(currentPercentage, TOTAL_WORK) - reportedPercentage);
+            reportedPercentage = currentPercentage;
+          }
+          if (isComplete) {
+            break;
+          }
         }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        monitor.done();
       }
 
-      monitor.done();
-      return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+      if (monitor.isCanceled()) {
+        // The backend task is not cancelled, only its progress won't be reported anymore
+        get().jobPool.remove(taskId, this);
+        return Status.CANCEL_STATUS;
+      }
+      return Status.OK_STATUS;
     }
 
     public void update(ProgressUpdateNotification notification) {
-      var newMessage = notification.getMessage();
-      if (newMessage != null) {
-        message.set(newMessage);
-      }
-      percentage.set(notification.getPercentage());
-
       synchronized (waitMonitor) {
-        waitMonitor.notify();
+        var newMessage = notification.getMessage();
+        if (newMessage != null) {
+          message = newMessage;
+        }
+        percentage = notification.getPercentage();
+        updated = true;
+        waitMonitor.notifyAll();
       }
     }
 
     public void complete() {
-      complete.set(true);
       synchronized (waitMonitor) {
-        waitMonitor.notify();
+        complete = true;
+        waitMonitor.notifyAll();
       }
     }
   }
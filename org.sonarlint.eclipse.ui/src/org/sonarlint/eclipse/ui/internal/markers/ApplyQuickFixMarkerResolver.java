@@ -77,7 +77,8 @@ public class ApplyQuickFixMarkerResolver extends SortableMarkerResolver {
     }
     Display.getDefault().asyncExec(() -> {
       var openEditor = openEditor(file, marker);
-      if (fix.isValid()) {
+      // The text edits are only materialized now, they are moved along with the issue marker tracked by the editor
+      if (fix.isValid() && fix.materializeMarkers(currentStartOffset(openEditor, marker))) {
         var document = applyIn(openEditor, fix);
         SonarLintTelemetry.addQuickFixAppliedForRule(MarkerUtils.getRuleKey(marker));
         scheduleAnalysis(new FileWithDocument(file, document));
@@ -87,6 +88,18 @@ public class ApplyQuickFixMarkerResolver extends SortableMarkerResolver {
     });
   }
 
+  @Nullable
+  private static Integer currentStartOffset(@Nullable ITextEditor openEditor, IMarker marker) {
+    if (openEditor != null) {
+      var markerPosition = LocationsUtils.getMarkerPosition(marker, openEditor);
+      if (markerPosition != null && !markerPosition.isDeleted()) {
+        return markerPosition.getOffset();
+      }
+    }
+    var start = MarkerUtilities.getCharStart(marker);
+    return start >= 0 ? start : null;
+  }
+
   private static void scheduleAnalysis(FileWithDocument fileWithDoc) {
     var file = fileWithDoc.getFile();
 
@@ -143,7 +156,7 @@ public class ApplyQuickFixMarkerResolver extends SortableMarkerResolver {
   private static void apply(ITextEditor textEditor, IDocumentExtension4 document, MarkerTextEdit textEdit, boolean selectUpdatedText) {
     var editMarker = textEdit.getMarker();
     try {
-      if (editMarker.exists()) {
+      if (editMarker != null && editMarker.exists()) {
         var start = MarkerUtilities.getCharStart(editMarker);
         var end = MarkerUtilities.getCharEnd(editMarker);
         // look up the current range of the marker when the document has been edited
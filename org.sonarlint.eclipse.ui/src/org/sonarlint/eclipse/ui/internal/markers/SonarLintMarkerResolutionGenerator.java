@@ -76,6 +76,7 @@ public class SonarLintMarkerResolutionGenerator implements IMarkerResolutionGene
   }
 
   private static List<SortableMarkerResolver> getQuickFixesResolutions(IMarker marker) {
+    // Checking the validity doesn't create the markers of the text edits, this is only done when a quick fix is applied
     return MarkerUtils.getIssueQuickFixes(marker).getQuickFixes()
       .stream()
       .filter(MarkerQuickFix::isValid)
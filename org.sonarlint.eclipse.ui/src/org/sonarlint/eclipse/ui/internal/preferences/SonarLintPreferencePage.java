@@ -26,6 +26,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.ComboFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.jface.preference.StringFieldEditor;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.GridData;
@@ -125,6 +126,21 @@ public class SonarLintPreferencePage extends FieldEditorPreferencePage implement
       e -> BrowserUtils.openExternalBrowser(SonarLintDocumentation.PROVIDE_JAVA_RUNTIME_LINK, e.display));
 
     addField(new Java17Field(getFieldEditorParent()));
+
+    var analysisParallelism = new IntegerFieldEditor(SonarLintGlobalConfiguration.PREF_ANALYSIS_PARALLELISM,
+      "Maximum number of projects analyzed in parallel:", getFieldEditorParent());
+    analysisParallelism.setValidRange(1, 32);
+    analysisParallelism.getLabelControl(getFieldEditorParent())
+      .setToolTipText("When analyzing multiple projects, this many projects are analyzed at the same time. Higher "
+        + "values speed up the analysis of many projects at the cost of more memory and CPU usage.");
+    addField(analysisParallelism);
+
+    var changedFilesTargetBranch = new StringFieldEditor(SonarLintGlobalConfiguration.PREF_CHANGED_FILES_TARGET_BRANCH,
+      "Target branch of changed files analysis:", getFieldEditorParent());
+    changedFilesTargetBranch.getLabelControl(getFieldEditorParent())
+      .setToolTipText("For Git projects, files changed since the merge-base with this branch (e.g. main) are analyzed "
+        + "together with the uncommitted changes. Leave blank to only analyze the changes compared to HEAD.");
+    addField(changedFilesTargetBranch);
   }
 
   private static class NodeJsField extends AbstractPathField {
@@ -40,6 +40,8 @@ public class SonarLintPreferencesInitializer extends AbstractPreferenceInitializ
     node.putBoolean(SonarLintGlobalConfiguration.PREF_ISSUE_ONLY_NEW_CODE, false);
     node.put(SonarLintGlobalConfiguration.PREF_EXTRA_ARGS, SonarLintGlobalConfiguration.PREF_DEFAULT);
     node.put(SonarLintGlobalConfiguration.PREF_TEST_FILE_GLOB_PATTERNS, SonarLintGlobalConfiguration.PREF_TEST_FILE_GLOB_PATTERNS_DEFAULT);
+    node.putInt(SonarLintGlobalConfiguration.PREF_ANALYSIS_PARALLELISM, SonarLintGlobalConfiguration.PREF_ANALYSIS_PARALLELISM_DEFAULT);
+    node.put(SonarLintGlobalConfiguration.PREF_CHANGED_FILES_TARGET_BRANCH, SonarLintGlobalConfiguration.PREF_DEFAULT);
   }
 
 }